@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks;
+
+import org.redisson.config.Config;
+
+/**
+ * Configuration of benchmarks which require Redis server.
+ * Address is defined by <code>redis.address</code> system property.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+final class BenchmarkConfig {
+
+    static final String ADDRESS = System.getProperty("redis.address", "redis://127.0.0.1:6379");
+
+    private BenchmarkConfig() {
+    }
+
+    static Config create() {
+        Config config = new Config();
+        config.useSingleServer()
+                .setAddress(ADDRESS);
+        return config;
+    }
+
+}
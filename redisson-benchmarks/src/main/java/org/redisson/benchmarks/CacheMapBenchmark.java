@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.redisson.cache.*;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of local cache map implementations used by
+ * local cached objects. Keys are taken from a range twice
+ * bigger than cache size, so about half of lookups are misses
+ * and puts cause evictions.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class CacheMapBenchmark {
+
+    @Param({"LRU", "LFU", "SOFT", "WEAK", "NONE"})
+    public String type;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Map<Integer, Object> cache;
+    private Integer[] keys;
+
+    @Setup
+    public void setup() {
+        cache = createCache(type, size);
+        keys = new Integer[size * 2];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i;
+        }
+        for (int i = 0; i < size; i++) {
+            cache.put(keys[i], "value" + i);
+        }
+    }
+
+    static Map<Integer, Object> createCache(String type, int size) {
+        switch (type) {
+            case "LRU":
+                return new LRUCacheMap<>(size, 0, 0);
+            case "LFU":
+                return new LFUCacheMap<>(size, 0, 0);
+            case "SOFT":
+                return ReferenceCacheMap.soft(0, 0);
+            case "WEAK":
+                return ReferenceCacheMap.weak(0, 0);
+            case "NONE":
+                return new NoneCacheMap<>(0, 0);
+            default:
+                throw new IllegalArgumentException("Unknown cache type: " + type);
+        }
+    }
+
+    private Integer nextKey() {
+        return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+    }
+
+    @Benchmark
+    public Object get() {
+        return cache.get(nextKey());
+    }
+
+    @Benchmark
+    public Object put() {
+        Integer key = nextKey();
+        return cache.put(key, key);
+    }
+
+    @Benchmark
+    public Object getOrPut() {
+        Integer key = nextKey();
+        Object value = cache.get(key);
+        if (value == null) {
+            cache.put(key, key);
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+import org.redisson.codec.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding throughput of value codecs.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecBenchmark {
+
+    @Param({"Kryo5Codec", "JsonJacksonCodec", "SerializationCodec", "MarshallingCodec", "LZ4Codec", "SnappyCodecV2"})
+    public String codecName;
+
+    @Param({"1", "100"})
+    public int payloadSize;
+
+    private Codec codec;
+    private Payload payload;
+    private ByteBuf encoded;
+    private final State state = new State();
+
+    @Setup
+    public void setup() throws IOException {
+        codec = createCodec(codecName);
+        payload = Payload.create(payloadSize);
+        encoded = codec.getValueEncoder().encode(payload);
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoded.release();
+    }
+
+    static Codec createCodec(String name) {
+        switch (name) {
+            case "Kryo5Codec":
+                return new Kryo5Codec();
+            case "JsonJacksonCodec":
+                return new JsonJacksonCodec();
+            case "SerializationCodec":
+                return new SerializationCodec();
+            case "MarshallingCodec":
+                return new MarshallingCodec();
+            case "LZ4Codec":
+                return new LZ4Codec();
+            case "SnappyCodecV2":
+                return new SnappyCodecV2();
+            default:
+                throw new IllegalArgumentException("Unknown codec: " + name);
+        }
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        ByteBuf buf = codec.getValueEncoder().encode(payload);
+        int size = buf.readableBytes();
+        buf.release();
+        return size;
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) throws IOException {
+        blackhole.consume(codec.getValueDecoder().decode(encoded.duplicate(), state));
+    }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.redisson.Redisson;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.benchmarks.server.RespServer;
+import org.redisson.benchmarks.server.RespServerOptions;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation of single command execution measured against in-process {@link RespServer}.
+ * <p>
+ * Should be run with <code>-prof gc</code>, <code>gc.alloc.rate.norm</code>
+ * reports bytes allocated per command. Commands are executed from
+ * application thread and from Netty thread in callback of previous command.
+ * Retry settings define which timeouts are scheduled per command.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommandAllocationBenchmark {
+
+    private static final int OPERATIONS = 100;
+
+    @Param({"0", "3"})
+    public int retryAttempts;
+
+    private RespServer server;
+    private RedissonClient redisson;
+    private RBucket<String> bucket;
+
+    @Setup
+    public void setup() {
+        server = new RespServer(RespServerOptions.defaults()).start();
+
+        Config config = new Config();
+        config.setCodec(StringCodec.INSTANCE);
+        config.useSingleServer()
+                .setAddress(server.getAddress())
+                .setRetryAttempts(retryAttempts);
+
+        redisson = Redisson.create(config);
+        bucket = redisson.getBucket("benchmark:bucket");
+        bucket.set("value");
+    }
+
+    @TearDown
+    public void tearDown() {
+        redisson.shutdown();
+        server.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void sync(Blackhole blackhole) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            blackhole.consume(bucket.get());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void chained(Blackhole blackhole) {
+        CompletableFuture<String> f = bucket.getAsync().toCompletableFuture();
+        for (int i = 1; i < OPERATIONS; i++) {
+            f = f.thenCompose(r -> bucket.getAsync());
+        }
+        blackhole.consume(f.join());
+    }
+
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+import org.redisson.codec.CompressionCodec;
+import org.redisson.codec.JsonJacksonCodec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and compression ratio of {@link CompressionCodec} algorithms
+ * on JSON documents. Ratio is <code>outputBytes / inputBytes</code>
+ * reported by <code>encode</code> benchmark.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompressionBenchmark {
+
+    private static final int DOCUMENTS = 1000;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+
+        public long inputBytes;
+        public long outputBytes;
+
+    }
+
+    @Param({"NONE", "LZ4", "SNAPPY", "ZSTD", "ZSTD_DICTIONARY"})
+    public String algorithm;
+
+    @Param({"5", "50"})
+    public int payloadSize;
+
+    @Param({"128"})
+    public int threshold;
+
+    private final JsonJacksonCodec innerCodec = new JsonJacksonCodec();
+    private final State state = new State();
+
+    private Codec codec;
+    private List<Payload> documents;
+    private List<ByteBuf> encoded;
+    private int[] inputSizes;
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+        documents = new ArrayList<>(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            Payload payload = Payload.create(payloadSize);
+            payload.setId(i);
+            payload.setName("payload-" + i);
+            payload.setScore(i * 0.25);
+            documents.add(payload);
+        }
+
+        switch (algorithm) {
+            case "NONE":
+                codec = innerCodec;
+                break;
+            case "ZSTD_DICTIONARY":
+                byte[] dictionary = new CompressionCodec(innerCodec).trainDictionary(documents, 16 * 1024);
+                codec = new CompressionCodec(innerCodec, threshold, dictionary);
+                break;
+            default:
+                codec = new CompressionCodec(innerCodec, CompressionCodec.Algorithm.valueOf(algorithm), threshold);
+        }
+
+        encoded = new ArrayList<>(DOCUMENTS);
+        inputSizes = new int[DOCUMENTS];
+        for (int i = 0; i < DOCUMENTS; i++) {
+            encoded.add(codec.getValueEncoder().encode(documents.get(i)));
+            ByteBuf buf = innerCodec.getValueEncoder().encode(documents.get(i));
+            inputSizes[i] = buf.readableBytes();
+            buf.release();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (ByteBuf buf : encoded) {
+            buf.release();
+        }
+    }
+
+    private int nextIndex() {
+        index++;
+        if (index == DOCUMENTS) {
+            index = 0;
+        }
+        return index;
+    }
+
+    @Benchmark
+    public void encode(Sizes sizes) throws IOException {
+        int i = nextIndex();
+        ByteBuf buf = codec.getValueEncoder().encode(documents.get(i));
+        sizes.inputBytes += inputSizes[i];
+        sizes.outputBytes += buf.readableBytes();
+        buf.release();
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) throws IOException {
+        blackhole.consume(codec.getValueDecoder().decode(encoded.get(nextIndex()).duplicate(), state));
+    }
+
+}
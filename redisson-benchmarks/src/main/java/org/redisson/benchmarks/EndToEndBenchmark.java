@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.redisson.Redisson;
+import org.redisson.api.*;
+import org.redisson.benchmarks.server.RespCluster;
+import org.redisson.benchmarks.server.RespSentinel;
+import org.redisson.benchmarks.server.RespServer;
+import org.redisson.benchmarks.server.RespServerOptions;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+import org.redisson.config.ReadMode;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end client throughput and latency measured against in-process
+ * {@link RespServer}, so Redis server CPU usage isn't mixed into results.
+ * Each invocation executes {@value #OPERATIONS} operations through
+ * sync, async, reactive or batch API.
+ * <p>
+ * Throughput is reported in ops/ms, SampleTime mode reports
+ * p50/p99/p999 percentiles and <code>-prof gc</code> reports allocation per operation.
+ * Allocation includes in-process server which is small compared to client.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+
+    private static final int OPERATIONS = 16;
+
+    @Param({"single", "cluster", "sentinel"})
+    public String topology;
+
+    @Param({"sync", "async", "reactive", "batch"})
+    public String api;
+
+    @Param({"0"})
+    public long responseDelayMicros;
+
+    @Param({"0"})
+    public double movedRate;
+
+    @Param({"0"})
+    public double askRate;
+
+    private RespServer server;
+    private RespCluster cluster;
+    private RespSentinel sentinel;
+
+    private RedissonClient redisson;
+    private RedissonReactiveClient reactive;
+    private String[] names;
+
+    @Setup
+    public void setup() {
+        RespServerOptions options = RespServerOptions.defaults()
+                                        .responseDelay(responseDelayMicros, TimeUnit.MICROSECONDS)
+                                        .movedRate(movedRate)
+                                        .askRate(askRate);
+
+        Config config = new Config();
+        config.setCodec(StringCodec.INSTANCE);
+        switch (topology) {
+            case "single":
+                server = new RespServer(options).start();
+                config.useSingleServer()
+                        .setAddress(server.getAddress());
+                break;
+            case "cluster":
+                cluster = new RespCluster(3, options).start();
+                config.useClusterServers()
+                        .setReadMode(ReadMode.MASTER)
+                        .addNodeAddress(cluster.getNodeAddresses().toArray(new String[0]));
+                break;
+            case "sentinel":
+                sentinel = new RespSentinel("mymaster", options).start();
+                config.useSentinelServers()
+                        .setMasterName(sentinel.getMasterName())
+                        .setReadMode(ReadMode.MASTER)
+                        .setCheckSentinelsList(false)
+                        .addSentinelAddress(sentinel.getSentinelAddress());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown topology: " + topology);
+        }
+
+        redisson = Redisson.create(config);
+        reactive = redisson.reactive();
+
+        names = new String[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            names[i] = "benchmark:key:" + i;
+            redisson.getBucket(names[i]).set("value" + i);
+        }
+        redisson.getTopic("benchmark:topic").addListener(String.class, (channel, msg) -> {
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        redisson.shutdown();
+        if (server != null) {
+            server.stop();
+        }
+        if (cluster != null) {
+            cluster.stop();
+        }
+        if (sentinel != null) {
+            sentinel.stop();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void get(Blackhole blackhole) {
+        switch (api) {
+            case "sync":
+                for (String name : names) {
+                    blackhole.consume(redisson.getBucket(name).get());
+                }
+                break;
+            case "async":
+                CompletableFuture<?>[] futures = new CompletableFuture[OPERATIONS];
+                for (int i = 0; i < OPERATIONS; i++) {
+                    futures[i] = redisson.getBucket(names[i]).getAsync().toCompletableFuture();
+                }
+                blackhole.consume(CompletableFuture.allOf(futures).join());
+                break;
+            case "reactive":
+                blackhole.consume(Flux.fromArray(names)
+                                        .flatMap(name -> reactive.getBucket(name).get())
+                                        .blockLast());
+                break;
+            case "batch":
+                RBatch batch = redisson.createBatch();
+                for (String name : names) {
+                    batch.getBucket(name).getAsync();
+                }
+                blackhole.consume(batch.execute());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown api: " + api);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void set(Blackhole blackhole) {
+        switch (api) {
+            case "sync":
+                for (String name : names) {
+                    redisson.getBucket(name).set(name);
+                }
+                break;
+            case "async":
+                CompletableFuture<?>[] futures = new CompletableFuture[OPERATIONS];
+                for (int i = 0; i < OPERATIONS; i++) {
+                    futures[i] = redisson.getBucket(names[i]).setAsync(names[i]).toCompletableFuture();
+                }
+                blackhole.consume(CompletableFuture.allOf(futures).join());
+                break;
+            case "reactive":
+                blackhole.consume(Flux.fromArray(names)
+                                        .flatMap(name -> reactive.getBucket(name).set(name))
+                                        .blockLast());
+                break;
+            case "batch":
+                RBatch batch = redisson.createBatch();
+                for (String name : names) {
+                    batch.getBucket(name).setAsync(name);
+                }
+                blackhole.consume(batch.execute());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown api: " + api);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void publish(Blackhole blackhole) {
+        switch (api) {
+            case "sync":
+                RTopic topic = redisson.getTopic("benchmark:topic");
+                for (String name : names) {
+                    blackhole.consume(topic.publish(name));
+                }
+                break;
+            case "async":
+                RTopic asyncTopic = redisson.getTopic("benchmark:topic");
+                CompletableFuture<?>[] futures = new CompletableFuture[OPERATIONS];
+                for (int i = 0; i < OPERATIONS; i++) {
+                    futures[i] = asyncTopic.publishAsync(names[i]).toCompletableFuture();
+                }
+                blackhole.consume(CompletableFuture.allOf(futures).join());
+                break;
+            case "reactive":
+                RTopicReactive reactiveTopic = reactive.getTopic("benchmark:topic");
+                blackhole.consume(Flux.fromArray(names)
+                                        .flatMap(reactiveTopic::publish)
+                                        .blockLast());
+                break;
+            case "batch":
+                RBatch batch = redisson.createBatch();
+                RTopicAsync batchTopic = batch.getTopic("benchmark:topic");
+                for (String name : names) {
+                    batchTopic.publishAsync(name);
+                }
+                blackhole.consume(batch.execute());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown api: " + api);
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.redisson.Redisson;
+import org.redisson.api.RExecutorBatchFuture;
+import org.redisson.api.RExecutorService;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.WorkerOptions;
+
+import java.io.Serializable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task throughput of RExecutorService for CPU-light and IO-heavy tasks
+ * with different worker options. Workers are registered in the same
+ * Redisson instance which submits tasks.
+ * <p>
+ * Virtual threads require Java 21+.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutorBenchmark {
+
+    private static final int TASKS = 1000;
+
+    public static class CpuTask implements Callable<Long>, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Long call() {
+            long result = 0;
+            for (int i = 0; i < 1000; i++) {
+                result += i * 31L;
+            }
+            return result;
+        }
+
+    }
+
+    public static class IoTask implements Callable<Long>, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Long call() throws InterruptedException {
+            Thread.sleep(5);
+            return 1L;
+        }
+
+    }
+
+    @Param({"cpu", "io"})
+    public String workload;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"1", "16"})
+    public int prefetch;
+
+    @Param({"16", "256"})
+    public int workers;
+
+    private RedissonClient redisson;
+    private RExecutorService executor;
+    private Callable<?>[] tasks;
+
+    @Setup
+    public void setup() {
+        redisson = Redisson.create(BenchmarkConfig.create());
+        executor = redisson.getExecutorService("benchmark:executor");
+        executor.registerWorkers(WorkerOptions.defaults()
+                                    .workers(workers)
+                                    .virtualThreads(virtualThreads)
+                                    .prefetch(prefetch));
+
+        tasks = new Callable<?>[TASKS];
+        for (int i = 0; i < tasks.length; i++) {
+            if ("io".equals(workload)) {
+                tasks[i] = new IoTask();
+            } else {
+                tasks[i] = new CpuTask();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+        executor.delete();
+        redisson.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public void execute() throws ExecutionException, InterruptedException {
+        RExecutorBatchFuture future = executor.submit(tasks);
+        future.get();
+    }
+
+}
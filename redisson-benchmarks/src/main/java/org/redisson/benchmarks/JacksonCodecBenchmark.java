@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import org.openjdk.jmh.annotations.*;
+import org.redisson.client.handler.State;
+import org.redisson.codec.JsonJacksonCodec;
+import org.redisson.codec.TypedJsonJacksonCodec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Jackson codecs decode and encode paths on direct buffers,
+ * as they are received from network.
+ * <code>stream</code> codec reproduces previous stream based implementation.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JacksonCodecBenchmark {
+
+    @Param({"stream", "json", "typed", "typed-blackbird"})
+    public String codecName;
+
+    @Param({"10", "1000"})
+    public int payloadSize;
+
+    private static final int LARGE_PAYLOAD_SIZE = 10000;
+
+    private static final int LARGE_PAYLOAD_INTERVAL = 100;
+
+    private JsonJacksonCodec codec;
+    private Payload payload;
+    private Payload largePayload;
+    private int invocations;
+    private ByteBuf encoded;
+    private final State state = new State();
+
+    @Setup
+    public void setup() throws IOException {
+        switch (codecName) {
+            case "stream":
+            case "json":
+                codec = new JsonJacksonCodec();
+                break;
+            case "typed":
+                codec = new TypedJsonJacksonCodec(Payload.class);
+                break;
+            case "typed-blackbird":
+                codec = new TypedJsonJacksonCodec(Payload.class, JsonJacksonCodec.withBytecodeAccessors(new ObjectMapper()));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown codec: " + codecName);
+        }
+
+        payload = Payload.create(payloadSize);
+        largePayload = Payload.create(LARGE_PAYLOAD_SIZE);
+        ByteBuf buf = codec.getValueEncoder().encode(payload);
+        encoded = ByteBufAllocator.DEFAULT.directBuffer(buf.readableBytes());
+        encoded.writeBytes(buf);
+        buf.release();
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoded.release();
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        ByteBuf buf = encoded.duplicate();
+        if ("stream".equals(codecName)) {
+            return codec.getObjectMapper().readValue((InputStream) new ByteBufInputStream(buf), Object.class);
+        }
+        return codec.getValueDecoder().decode(buf, state);
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        return encode(payload);
+    }
+
+    /**
+     * Encodes large value followed by small values,
+     * so buffer size estimate of codec has to shrink back.
+     */
+    @Benchmark
+    public int encodeAfterLarge() throws IOException {
+        Payload value = payload;
+        if (invocations++ % LARGE_PAYLOAD_INTERVAL == 0) {
+            value = largePayload;
+        }
+        return encode(value);
+    }
+
+    private int encode(Payload value) throws IOException {
+        ByteBuf buf;
+        if ("stream".equals(codecName)) {
+            buf = ByteBufAllocator.DEFAULT.buffer();
+            codec.getObjectMapper().writeValue((OutputStream) new ByteBufOutputStream(buf), value);
+        } else {
+            buf = codec.getValueEncoder().encode(value);
+        }
+        int size = buf.readableBytes();
+        buf.release();
+        return size;
+    }
+
+}
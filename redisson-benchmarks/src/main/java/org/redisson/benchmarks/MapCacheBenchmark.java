@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.redisson.Redisson;
+import org.redisson.api.RMap;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RMapCacheNative;
+import org.redisson.api.RedissonClient;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares script based RMapCache with implementation
+ * based on native hash field expiration (Redis 7.4+).
+ *
+ * @author Nikita Koksharov
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class MapCacheBenchmark {
+
+    private static final int KEYS = 10000;
+
+    @Param({"script", "native"})
+    public String implementation;
+
+    private RedissonClient redisson;
+    private RMap<Integer, String> map;
+    private RMapCache<Integer, String> mapCache;
+    private RMapCacheNative<Integer, String> mapCacheNative;
+
+    @Setup
+    public void setup() {
+        redisson = Redisson.create(BenchmarkConfig.create());
+        if ("native".equals(implementation)) {
+            mapCacheNative = redisson.getMapCacheNative("benchmark:mapcache:native");
+            map = mapCacheNative;
+        } else {
+            mapCache = redisson.getMapCache("benchmark:mapcache:script");
+            map = mapCache;
+        }
+        for (int i = 0; i < KEYS; i++) {
+            fastPut(i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        map.delete();
+        redisson.shutdown();
+    }
+
+    private boolean fastPut(int key) {
+        if (mapCacheNative != null) {
+            return mapCacheNative.fastPut(key, "value" + key, Duration.ofMinutes(10));
+        }
+        return mapCache.fastPut(key, "value" + key, 10, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    public boolean fastPutWithTTL() {
+        return fastPut(ThreadLocalRandom.current().nextInt(KEYS));
+    }
+
+    @Benchmark
+    public String get() {
+        return map.get(ThreadLocalRandom.current().nextInt(KEYS));
+    }
+
+}
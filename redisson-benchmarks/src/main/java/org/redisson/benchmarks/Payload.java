@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Value object used as payload by codec and protocol benchmarks.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class Payload implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long id;
+    private String name;
+    private double score;
+    private List<String> tags;
+    private Map<String, Integer> counters;
+
+    public Payload() {
+    }
+
+    public static Payload create(int size) {
+        Payload payload = new Payload();
+        payload.setId(size);
+        payload.setName("payload-" + size);
+        payload.setScore(size * 0.5);
+        List<String> tags = new ArrayList<>(size);
+        Map<String, Integer> counters = new HashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            tags.add("tag-" + i);
+            counters.put("counter-" + i, i);
+        }
+        payload.setTags(tags);
+        payload.setCounters(counters);
+        return payload;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public Map<String, Integer> getCounters() {
+        return counters;
+    }
+
+    public void setCounters(Map<String, Integer> counters) {
+        this.counters = counters;
+    }
+
+}
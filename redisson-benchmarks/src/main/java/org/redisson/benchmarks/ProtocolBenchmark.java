@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import org.openjdk.jmh.annotations.*;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.CommandDecoder;
+import org.redisson.client.handler.CommandEncoder;
+import org.redisson.client.handler.CommandsQueue;
+import org.redisson.client.protocol.CommandData;
+import org.redisson.client.protocol.QueueCommandHolder;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.codec.Kryo5Codec;
+import org.redisson.config.CommandMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis protocol encoding and decoding throughput measured
+ * through {@link EmbeddedChannel}, so no Redis server is required.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProtocolBenchmark {
+
+    @Param({"1", "100"})
+    public int payloadSize;
+
+    @Param({"1", "16"})
+    public int keys;
+
+    private final Codec codec = new Kryo5Codec();
+
+    private EmbeddedChannel encoderChannel;
+    private EmbeddedChannel decoderChannel;
+
+    private ByteBuf value;
+    private Object[] setParams;
+    private Object[] mgetParams;
+
+    private ByteBuf getReply;
+    private ByteBuf mgetReply;
+
+    @Setup
+    public void setup() throws IOException {
+        encoderChannel = new EmbeddedChannel(new CommandEncoder(CommandMapper.direct()));
+        decoderChannel = new EmbeddedChannel(new CommandDecoder("redis"));
+        decoderChannel.attr(CommandsQueue.COMMANDS_QUEUE).set(new ConcurrentLinkedDeque<>());
+
+        value = codec.getValueEncoder().encode(Payload.create(payloadSize));
+        setParams = new Object[] {"benchmark:key", value};
+
+        List<Object> names = new ArrayList<>(keys);
+        for (int i = 0; i < keys; i++) {
+            names.add("benchmark:key:" + i);
+        }
+        mgetParams = names.toArray();
+
+        getReply = Unpooled.buffer();
+        writeBulk(getReply, value);
+
+        mgetReply = Unpooled.buffer();
+        mgetReply.writeCharSequence("*" + keys + "\r\n", CharsetUtil.US_ASCII);
+        for (int i = 0; i < keys; i++) {
+            writeBulk(mgetReply, value);
+        }
+    }
+
+    private void writeBulk(ByteBuf out, ByteBuf data) {
+        out.writeCharSequence("$" + data.readableBytes() + "\r\n", CharsetUtil.US_ASCII);
+        out.writeBytes(data, data.readerIndex(), data.readableBytes());
+        out.writeCharSequence("\r\n", CharsetUtil.US_ASCII);
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoderChannel.finishAndReleaseAll();
+        decoderChannel.finishAndReleaseAll();
+        value.release();
+        getReply.release();
+        mgetReply.release();
+    }
+
+    @Benchmark
+    public int encodeSet() {
+        return encode(RedisCommands.SET, setParams);
+    }
+
+    @Benchmark
+    public int encodeMGet() {
+        return encode(RedisCommands.MGET, mgetParams);
+    }
+
+    @Benchmark
+    public Object decodeGet() {
+        return decode(RedisCommands.GET, getReply);
+    }
+
+    @Benchmark
+    public Object decodeMGet() {
+        return decode(RedisCommands.MGET, mgetReply);
+    }
+
+    private <T> int encode(RedisCommand<T> command, Object[] params) {
+        CommandData<T, T> data = new CommandData<>(new CompletableFuture<>(), codec, command, params);
+        encoderChannel.writeOutbound(data);
+        ByteBuf out = encoderChannel.readOutbound();
+        int size = out.readableBytes();
+        out.release();
+        return size;
+    }
+
+    private <T> T decode(RedisCommand<T> command, ByteBuf reply) {
+        CompletableFuture<T> promise = new CompletableFuture<>();
+        CommandData<T, T> data = new CommandData<>(promise, codec, command, mgetParams);
+        decoderChannel.attr(CommandsQueue.COMMANDS_QUEUE).get()
+                        .add(new QueueCommandHolder(data, decoderChannel.newPromise()));
+        decoderChannel.writeInbound(reply.retainedDuplicate());
+        return promise.getNow(null);
+    }
+
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.redisson.Redisson;
+import org.redisson.api.RBatch;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisClient;
+import org.redisson.client.RedisClientConfig;
+import org.redisson.client.RedisConnection;
+import org.redisson.client.protocol.RedisStrictCommand;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time required to restore all subscriptions after
+ * PubSub connections have been killed on server side.
+ * Each invocation kills connections with <code>CLIENT KILL TYPE pubsub</code>
+ * and completes once every channel has received a probe message.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResubscribeBenchmark {
+
+    private static final RedisStrictCommand<Long> CLIENT_KILL = new RedisStrictCommand<>("CLIENT", "KILL");
+
+    @Param({"100", "1000", "10000"})
+    public int channels;
+
+    private RedissonClient redisson;
+    private RedisClient client;
+    private RedisConnection connection;
+
+    private final Set<String> received = ConcurrentHashMap.newKeySet();
+
+    @Setup
+    public void setup() {
+        redisson = Redisson.create(BenchmarkConfig.create());
+        for (int i = 0; i < channels; i++) {
+            redisson.getTopic(channelName(i)).addListener(String.class, (channel, msg) -> {
+                received.add(channel.toString());
+            });
+        }
+
+        RedisClientConfig config = new RedisClientConfig();
+        config.setAddress(BenchmarkConfig.ADDRESS);
+        client = RedisClient.create(config);
+        connection = client.connect();
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        received.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        connection.closeAsync();
+        client.shutdown();
+        redisson.shutdown();
+    }
+
+    private String channelName(int index) {
+        return "benchmark:resubscribe:" + index;
+    }
+
+    @Benchmark
+    public int resubscribe() throws InterruptedException {
+        connection.sync(CLIENT_KILL, "TYPE", "pubsub");
+
+        while (received.size() < channels) {
+            RBatch batch = redisson.createBatch();
+            for (int i = 0; i < channels; i++) {
+                String name = channelName(i);
+                if (!received.contains(name)) {
+                    batch.getTopic(name).publishAsync("probe");
+                }
+            }
+            batch.execute();
+            Thread.sleep(10);
+        }
+        return received.size();
+    }
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.redisson.Redisson;
+import org.redisson.api.RFuture;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publish throughput of single PUBLISH commands compared with
+ * {@link RTopic#publishAll(java.util.Collection)} and publish accumulator
+ * enabled by {@link Config#setPublishLingerTime(int)}.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TopicPublishBenchmark {
+
+    private static final int MESSAGES = 100;
+
+    @Param({"publish", "publishAll", "linger"})
+    public String mode;
+
+    private RedissonClient redisson;
+    private RTopic topic;
+    private List<String> messages;
+
+    @Setup
+    public void setup() {
+        Config config = BenchmarkConfig.create();
+        if ("linger".equals(mode)) {
+            config.setPublishLingerTime(1);
+        }
+        redisson = Redisson.create(config);
+        topic = redisson.getTopic("benchmark:topic");
+        topic.addListener(String.class, (channel, msg) -> {
+        });
+
+        messages = new ArrayList<>(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            messages.add("message" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        redisson.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public long publish() {
+        if ("publishAll".equals(mode)) {
+            return topic.publishAll(messages);
+        }
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            RFuture<Long> future = topic.publishAsync(message);
+            futures.add(future.toCompletableFuture());
+        }
+        long receivers = 0;
+        for (CompletableFuture<Long> future : futures) {
+            receivers += future.join();
+        }
+        return receivers;
+    }
+
+}
@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks.server;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Channel and pattern subscriptions. Single instance is shared by
+ * all nodes of {@link RespCluster}, so messages are broadcasted
+ * across the cluster as Redis does.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+class PubSubRegistry {
+
+    enum Type {
+
+        CHANNEL("subscribe", "unsubscribe", "message"),
+        PATTERN("psubscribe", "punsubscribe", "pmessage"),
+        SHARD("ssubscribe", "sunsubscribe", "smessage");
+
+        final String subscribe;
+        final String unsubscribe;
+        final String message;
+
+        Type(String subscribe, String unsubscribe, String message) {
+            this.subscribe = subscribe;
+            this.unsubscribe = unsubscribe;
+            this.message = message;
+        }
+
+    }
+
+    static final AttributeKey<Map<Type, Set<String>>> SUBSCRIPTIONS = AttributeKey.valueOf("RESP_SUBSCRIPTIONS");
+
+    private final Map<String, Set<Channel>> channels = new ConcurrentHashMap<>();
+    private final Map<String, Set<Channel>> shardChannels = new ConcurrentHashMap<>();
+    private final Map<String, Set<Channel>> patterns = new ConcurrentHashMap<>();
+    private final Map<String, Pattern> compiledPatterns = new ConcurrentHashMap<>();
+
+    private Map<String, Set<Channel>> registry(Type type) {
+        switch (type) {
+            case PATTERN:
+                return patterns;
+            case SHARD:
+                return shardChannels;
+            default:
+                return channels;
+        }
+    }
+
+    static Map<Type, Set<String>> subscriptions(Channel channel) {
+        Map<Type, Set<String>> subscriptions = channel.attr(SUBSCRIPTIONS).get();
+        if (subscriptions == null) {
+            subscriptions = new ConcurrentHashMap<>();
+            Map<Type, Set<String>> prev = channel.attr(SUBSCRIPTIONS).setIfAbsent(subscriptions);
+            if (prev != null) {
+                subscriptions = prev;
+            }
+        }
+        return subscriptions;
+    }
+
+    static int subscriptionsCount(Channel channel) {
+        int count = 0;
+        for (Set<String> names : subscriptions(channel).values()) {
+            count += names.size();
+        }
+        return count;
+    }
+
+    void subscribe(Type type, String name, Channel channel, ByteBuf out) {
+        registry(type).computeIfAbsent(name, k -> ConcurrentHashMap.newKeySet()).add(channel);
+        subscriptions(channel).computeIfAbsent(type, k -> ConcurrentHashMap.newKeySet()).add(name);
+        if (type == Type.PATTERN) {
+            compiledPatterns.computeIfAbsent(name, PubSubRegistry::compile);
+        }
+        writeReply(out, type.subscribe, name, subscriptionsCount(channel));
+    }
+
+    void unsubscribe(Type type, String name, Channel channel, ByteBuf out) {
+        Set<Channel> subscribers = registry(type).get(name);
+        if (subscribers != null) {
+            subscribers.remove(channel);
+        }
+        Set<String> names = subscriptions(channel).get(type);
+        if (names != null) {
+            names.remove(name);
+        }
+        writeReply(out, type.unsubscribe, name, subscriptionsCount(channel));
+    }
+
+    void unsubscribeAll(Type type, Channel channel, ByteBuf out) {
+        Set<String> names = subscriptions(channel).get(type);
+        if (names == null || names.isEmpty()) {
+            writeReply(out, type.unsubscribe, null, subscriptionsCount(channel));
+            return;
+        }
+        for (String name : names.toArray(new String[0])) {
+            unsubscribe(type, name, channel, out);
+        }
+    }
+
+    void remove(Channel channel) {
+        Map<Type, Set<String>> subscriptions = channel.attr(SUBSCRIPTIONS).get();
+        if (subscriptions == null) {
+            return;
+        }
+        for (Map.Entry<Type, Set<String>> entry : subscriptions.entrySet()) {
+            for (String name : entry.getValue()) {
+                Set<Channel> subscribers = registry(entry.getKey()).get(name);
+                if (subscribers != null) {
+                    subscribers.remove(channel);
+                }
+            }
+        }
+    }
+
+    long publish(Type type, String name, byte[] message) {
+        long receivers = 0;
+        Set<Channel> subscribers = registry(type).get(name);
+        if (subscribers != null) {
+            for (Channel subscriber : subscribers) {
+                ByteBuf buf = subscriber.alloc().buffer();
+                RespWriter.writeArrayHeader(buf, 3);
+                RespWriter.writeBulk(buf, type.message);
+                RespWriter.writeBulk(buf, name);
+                RespWriter.writeBulk(buf, message);
+                subscriber.writeAndFlush(buf);
+                receivers++;
+            }
+        }
+        if (type == Type.SHARD) {
+            return receivers;
+        }
+
+        for (Map.Entry<String, Set<Channel>> entry : patterns.entrySet()) {
+            if (entry.getValue().isEmpty()
+                    || !compiledPatterns.get(entry.getKey()).matcher(name).matches()) {
+                continue;
+            }
+            for (Channel subscriber : entry.getValue()) {
+                ByteBuf buf = subscriber.alloc().buffer();
+                RespWriter.writeArrayHeader(buf, 4);
+                RespWriter.writeBulk(buf, Type.PATTERN.message);
+                RespWriter.writeBulk(buf, entry.getKey());
+                RespWriter.writeBulk(buf, name);
+                RespWriter.writeBulk(buf, message);
+                subscriber.writeAndFlush(buf);
+                receivers++;
+            }
+        }
+        return receivers;
+    }
+
+    private void writeReply(ByteBuf out, String kind, String name, int count) {
+        RespWriter.writeArrayHeader(out, 3);
+        RespWriter.writeBulk(out, kind);
+        if (name == null) {
+            RespWriter.writeBulk(out, (byte[]) null);
+        } else {
+            RespWriter.writeBulk(out, name);
+        }
+        RespWriter.writeLong(out, count);
+    }
+
+    private static Pattern compile(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '*':
+                    regex.append(".*");
+                    break;
+                case '?':
+                    regex.append('.');
+                    break;
+                case '[':
+                case ']':
+                    regex.append(c);
+                    break;
+                case '\\':
+                    if (i + 1 < glob.length()) {
+                        regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                    }
+                    break;
+                default:
+                    regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+}
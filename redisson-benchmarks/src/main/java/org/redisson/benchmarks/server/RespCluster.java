@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks.server;
+
+import io.netty.buffer.ByteBuf;
+import org.redisson.connection.MasterSlaveConnectionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cluster of {@link RespServer} master nodes. Slots are split evenly
+ * between nodes. Key based commands sent to wrong node are answered
+ * with MOVED error. PubSub messages are broadcasted to all nodes.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class RespCluster {
+
+    private final List<RespServer> masters = new ArrayList<>();
+    private final RespServer[] slots = new RespServer[MasterSlaveConnectionManager.MAX_SLOT];
+
+    /**
+     * Creates cluster.
+     * If port is defined in options then nodes use
+     * sequential ports starting from it.
+     *
+     * @param size - amount of master nodes
+     * @param options - nodes options
+     */
+    public RespCluster(int size, RespServerOptions options) {
+        PubSubRegistry pubSub = new PubSubRegistry();
+        for (int i = 0; i < size; i++) {
+            int port = 0;
+            if (options.getPort() != 0) {
+                port = options.getPort() + i;
+            }
+            masters.add(new RespServer(options, port, pubSub));
+        }
+    }
+
+    public RespCluster start() {
+        int size = masters.size();
+        for (int i = 0; i < size; i++) {
+            RespServer master = masters.get(i);
+            master.start();
+            master.joinCluster(this, String.format("%040x", master.getPort()));
+
+            int from = slotFrom(i);
+            int to = slotFrom(i + 1);
+            for (int slot = from; slot < to; slot++) {
+                slots[slot] = master;
+            }
+        }
+        return this;
+    }
+
+    public void stop() {
+        for (RespServer master : masters) {
+            master.stop();
+        }
+    }
+
+    public List<RespServer> getMasters() {
+        return masters;
+    }
+
+    public List<String> getNodeAddresses() {
+        List<String> addresses = new ArrayList<>(masters.size());
+        for (RespServer master : masters) {
+            addresses.add(master.getAddress());
+        }
+        return addresses;
+    }
+
+    RespServer getOwner(int slot) {
+        return slots[slot];
+    }
+
+    private int slotFrom(int index) {
+        return (int) ((long) MasterSlaveConnectionManager.MAX_SLOT * index / masters.size());
+    }
+
+    String getNodes(RespServer self) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < masters.size(); i++) {
+            RespServer master = masters.get(i);
+            result.append(master.getNodeId()).append(' ')
+                    .append(RespServer.HOST).append(':').append(master.getPort())
+                    .append('@').append(master.getPort() + 10000).append(' ')
+                    .append(master == self ? "myself,master" : "master")
+                    .append(" - 0 0 ").append(i + 1).append(" connected ")
+                    .append(slotFrom(i)).append('-').append(slotFrom(i + 1) - 1)
+                    .append('\n');
+        }
+        return result.toString();
+    }
+
+    void writeSlots(ByteBuf out) {
+        RespWriter.writeArrayHeader(out, masters.size());
+        for (int i = 0; i < masters.size(); i++) {
+            RespServer master = masters.get(i);
+            RespWriter.writeArrayHeader(out, 3);
+            RespWriter.writeLong(out, slotFrom(i));
+            RespWriter.writeLong(out, slotFrom(i + 1) - 1);
+            RespWriter.writeArrayHeader(out, 3);
+            RespWriter.writeBulk(out, RespServer.HOST);
+            RespWriter.writeLong(out, master.getPort());
+            RespWriter.writeBulk(out, master.getNodeId());
+        }
+    }
+
+}
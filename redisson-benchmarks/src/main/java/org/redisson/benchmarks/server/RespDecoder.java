@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks.server;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.DecoderException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes RESP multi-bulk requests into list of arguments.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+class RespDecoder extends ByteToMessageDecoder {
+
+    private static final long INCOMPLETE = Long.MIN_VALUE;
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+        while (in.isReadable()) {
+            in.markReaderIndex();
+            List<byte[]> args = decodeRequest(in);
+            if (args == null) {
+                in.resetReaderIndex();
+                return;
+            }
+            out.add(args);
+        }
+    }
+
+    private List<byte[]> decodeRequest(ByteBuf in) {
+        if (in.readByte() != '*') {
+            throw new DecoderException("Multi-bulk request expected");
+        }
+        long size = readLong(in);
+        if (size == INCOMPLETE) {
+            return null;
+        }
+
+        List<byte[]> args = new ArrayList<>((int) size);
+        for (int i = 0; i < size; i++) {
+            if (!in.isReadable()) {
+                return null;
+            }
+            if (in.readByte() != '$') {
+                throw new DecoderException("Bulk string expected");
+            }
+            long len = readLong(in);
+            if (len == INCOMPLETE || in.readableBytes() < len + 2) {
+                return null;
+            }
+            byte[] arg = new byte[(int) len];
+            in.readBytes(arg);
+            in.skipBytes(2);
+            args.add(arg);
+        }
+        return args;
+    }
+
+    private long readLong(ByteBuf in) {
+        int end = in.indexOf(in.readerIndex(), in.writerIndex(), (byte) '\n');
+        if (end == -1) {
+            return INCOMPLETE;
+        }
+        long value = 0;
+        boolean negative = false;
+        while (in.readerIndex() < end - 1) {
+            byte b = in.readByte();
+            if (b == '-') {
+                negative = true;
+            } else {
+                value = value * 10 + (b - '0');
+            }
+        }
+        in.skipBytes(2);
+        return negative ? -value : value;
+    }
+
+}
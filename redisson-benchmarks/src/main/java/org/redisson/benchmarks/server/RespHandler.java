@@ -0,0 +1,490 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks.server;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.util.CharsetUtil;
+import org.redisson.connection.CRC16;
+import org.redisson.connection.MasterSlaveConnectionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes commands decoded by {@link RespDecoder}.
+ * Replies are flushed once per read, so pipelined commands
+ * are answered with single write.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+@Sharable
+class RespHandler extends SimpleChannelInboundHandler<List<byte[]>> {
+
+    private static final byte[] INFO = ("# Server\r\nredis_version:7.2.0\r\nredis_mode:standalone\r\n")
+                                            .getBytes(CharsetUtil.US_ASCII);
+
+    private final AtomicLong clientIds = new AtomicLong();
+    private final RespServer server;
+
+    RespHandler(RespServer server) {
+        this.server = server;
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        server.getPubSub().remove(ctx.channel());
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        ctx.flush();
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, List<byte[]> args) {
+        if (args.isEmpty()) {
+            return;
+        }
+
+        ByteBuf out = ctx.alloc().buffer();
+        String command = toString(args.get(0)).toUpperCase();
+        try {
+            execute(ctx, command, args, out);
+        } catch (IndexOutOfBoundsException e) {
+            out.clear();
+            RespWriter.writeError(out, "ERR wrong number of arguments for '" + command.toLowerCase() + "' command");
+        } catch (ClassCastException e) {
+            out.clear();
+            RespWriter.writeError(out, "WRONGTYPE Operation against a key holding the wrong kind of value");
+        } catch (RuntimeException e) {
+            out.clear();
+            RespWriter.writeError(out, "ERR " + e.getMessage());
+        }
+
+        long delay = server.getOptions().getResponseDelay();
+        if (delay > 0 && PubSubRegistry.subscriptionsCount(ctx.channel()) == 0) {
+            ctx.executor().schedule(() -> ctx.writeAndFlush(out), delay, TimeUnit.NANOSECONDS);
+        } else {
+            ctx.write(out);
+        }
+    }
+
+    private void execute(ChannelHandlerContext ctx, String command, List<byte[]> args, ByteBuf out) {
+        Map<String, Object> data = server.getData();
+        switch (command) {
+            case "PING":
+                if (PubSubRegistry.subscriptionsCount(ctx.channel()) > 0) {
+                    RespWriter.writeArrayHeader(out, 2);
+                    RespWriter.writeBulk(out, "pong");
+                    RespWriter.writeBulk(out, args.size() > 1 ? args.get(1) : new byte[0]);
+                } else if (args.size() > 1) {
+                    RespWriter.writeBulk(out, args.get(1));
+                } else {
+                    RespWriter.writeStatus(out, "PONG");
+                }
+                break;
+            case "ECHO":
+                RespWriter.writeBulk(out, args.get(1));
+                break;
+            case "AUTH":
+            case "SELECT":
+            case "READONLY":
+            case "READWRITE":
+            case "ASKING":
+            case "QUIT":
+                RespWriter.writeStatus(out, "OK");
+                break;
+            case "CLIENT":
+                client(args, out);
+                break;
+            case "INFO":
+                RespWriter.writeBulk(out, INFO);
+                break;
+            case "DBSIZE":
+                RespWriter.writeLong(out, data.size());
+                break;
+            case "FLUSHALL":
+            case "FLUSHDB":
+                server.flushAll();
+                RespWriter.writeStatus(out, "OK");
+                break;
+            case "GET":
+                if (!redirect(args.get(1), out)) {
+                    RespWriter.writeBulk(out, (byte[]) data.get(key(args.get(1))));
+                }
+                break;
+            case "SET":
+                if (!redirect(args.get(1), out)) {
+                    set(data, args, out);
+                }
+                break;
+            case "MGET":
+                if (!redirect(args.get(1), out)) {
+                    RespWriter.writeArrayHeader(out, args.size() - 1);
+                    for (int i = 1; i < args.size(); i++) {
+                        Object value = data.get(key(args.get(i)));
+                        RespWriter.writeBulk(out, value instanceof byte[] ? (byte[]) value : null);
+                    }
+                }
+                break;
+            case "DEL":
+            case "UNLINK":
+                if (!redirect(args.get(1), out)) {
+                    long deleted = 0;
+                    for (int i = 1; i < args.size(); i++) {
+                        if (data.remove(key(args.get(i))) != null) {
+                            deleted++;
+                        }
+                    }
+                    RespWriter.writeLong(out, deleted);
+                }
+                break;
+            case "EXISTS":
+                if (!redirect(args.get(1), out)) {
+                    long exists = 0;
+                    for (int i = 1; i < args.size(); i++) {
+                        if (data.containsKey(key(args.get(i)))) {
+                            exists++;
+                        }
+                    }
+                    RespWriter.writeLong(out, exists);
+                }
+                break;
+            case "HGET":
+                if (!redirect(args.get(1), out)) {
+                    Map<String, byte[]> hash = hash(data, args.get(1), false);
+                    RespWriter.writeBulk(out, hash != null ? hash.get(key(args.get(2))) : null);
+                }
+                break;
+            case "HSET":
+                if (!redirect(args.get(1), out)) {
+                    if (args.size() < 4 || args.size() % 2 != 0) {
+                        throw new IndexOutOfBoundsException();
+                    }
+                    Map<String, byte[]> hash = hash(data, args.get(1), true);
+                    long added = 0;
+                    for (int i = 2; i < args.size(); i += 2) {
+                        if (hash.put(key(args.get(i)), args.get(i + 1)) == null) {
+                            added++;
+                        }
+                    }
+                    RespWriter.writeLong(out, added);
+                }
+                break;
+            case "HDEL":
+                if (!redirect(args.get(1), out)) {
+                    Map<String, byte[]> hash = hash(data, args.get(1), false);
+                    long deleted = 0;
+                    for (int i = 2; hash != null && i < args.size(); i++) {
+                        if (hash.remove(key(args.get(i))) != null) {
+                            deleted++;
+                        }
+                    }
+                    RespWriter.writeLong(out, deleted);
+                }
+                break;
+            case "HGETALL":
+                if (!redirect(args.get(1), out)) {
+                    Map<String, byte[]> hash = hash(data, args.get(1), false);
+                    if (hash == null) {
+                        RespWriter.writeArrayHeader(out, 0);
+                        break;
+                    }
+                    Object[] entries = hash.entrySet().toArray();
+                    RespWriter.writeArrayHeader(out, entries.length * 2);
+                    for (Object e : entries) {
+                        Map.Entry<String, byte[]> entry = (Map.Entry<String, byte[]>) e;
+                        RespWriter.writeBulk(out, entry.getKey().getBytes(StandardCharsets.ISO_8859_1));
+                        RespWriter.writeBulk(out, entry.getValue());
+                    }
+                }
+                break;
+            case "EVAL":
+            case "EVALSHA":
+                int keys = Integer.parseInt(toString(args.get(2)));
+                if (keys == 0 || !redirect(args.get(3), out)) {
+                    RespWriter.writeBulk(out, (byte[]) null);
+                }
+                break;
+            case "SCRIPT":
+                script(args, out);
+                break;
+            case "PUBLISH":
+                RespWriter.writeLong(out, server.getPubSub().publish(PubSubRegistry.Type.CHANNEL, toString(args.get(1)), args.get(2)));
+                break;
+            case "SPUBLISH":
+                if (!redirect(args.get(1), out)) {
+                    RespWriter.writeLong(out, server.getPubSub().publish(PubSubRegistry.Type.SHARD, toString(args.get(1)), args.get(2)));
+                }
+                break;
+            case "SUBSCRIBE":
+                subscribe(ctx, PubSubRegistry.Type.CHANNEL, args, out);
+                break;
+            case "PSUBSCRIBE":
+                subscribe(ctx, PubSubRegistry.Type.PATTERN, args, out);
+                break;
+            case "SSUBSCRIBE":
+                subscribe(ctx, PubSubRegistry.Type.SHARD, args, out);
+                break;
+            case "UNSUBSCRIBE":
+                unsubscribe(ctx, PubSubRegistry.Type.CHANNEL, args, out);
+                break;
+            case "PUNSUBSCRIBE":
+                unsubscribe(ctx, PubSubRegistry.Type.PATTERN, args, out);
+                break;
+            case "SUNSUBSCRIBE":
+                unsubscribe(ctx, PubSubRegistry.Type.SHARD, args, out);
+                break;
+            case "CLUSTER":
+                cluster(args, out);
+                break;
+            case "SENTINEL":
+                sentinel(args, out);
+                break;
+            default:
+                RespWriter.writeError(out, "ERR unknown command '" + command.toLowerCase() + "'");
+        }
+    }
+
+    private void set(Map<String, Object> data, List<byte[]> args, ByteBuf out) {
+        boolean nx = false;
+        boolean xx = false;
+        for (int i = 3; i < args.size(); i++) {
+            String option = toString(args.get(i)).toUpperCase();
+            if ("NX".equals(option)) {
+                nx = true;
+            } else if ("XX".equals(option)) {
+                xx = true;
+            }
+        }
+
+        String key = key(args.get(1));
+        byte[] value = args.get(2);
+        boolean stored;
+        if (nx) {
+            stored = data.putIfAbsent(key, value) == null;
+        } else if (xx) {
+            stored = data.computeIfPresent(key, (k, v) -> value) != null;
+        } else {
+            data.put(key, value);
+            stored = true;
+        }
+
+        if (stored) {
+            RespWriter.writeStatus(out, "OK");
+        } else {
+            RespWriter.writeBulk(out, (byte[]) null);
+        }
+    }
+
+    private Map<String, byte[]> hash(Map<String, Object> data, byte[] name, boolean create) {
+        String key = key(name);
+        if (create) {
+            return (Map<String, byte[]>) data.computeIfAbsent(key, k -> new ConcurrentHashMap<String, byte[]>());
+        }
+        return (Map<String, byte[]>) data.get(key);
+    }
+
+    private void client(List<byte[]> args, ByteBuf out) {
+        String subCommand = toString(args.get(1)).toUpperCase();
+        switch (subCommand) {
+            case "ID":
+                RespWriter.writeLong(out, clientIds.incrementAndGet());
+                break;
+            case "GETNAME":
+                RespWriter.writeBulk(out, (byte[]) null);
+                break;
+            case "LIST":
+                RespWriter.writeBulk(out, new byte[0]);
+                break;
+            default:
+                RespWriter.writeStatus(out, "OK");
+        }
+    }
+
+    private void script(List<byte[]> args, ByteBuf out) {
+        String subCommand = toString(args.get(1)).toUpperCase();
+        switch (subCommand) {
+            case "LOAD":
+                RespWriter.writeBulk(out, sha1(args.get(2)));
+                break;
+            case "EXISTS":
+                RespWriter.writeArrayHeader(out, args.size() - 2);
+                for (int i = 2; i < args.size(); i++) {
+                    RespWriter.writeLong(out, 1);
+                }
+                break;
+            default:
+                RespWriter.writeStatus(out, "OK");
+        }
+    }
+
+    private void subscribe(ChannelHandlerContext ctx, PubSubRegistry.Type type, List<byte[]> args, ByteBuf out) {
+        for (int i = 1; i < args.size(); i++) {
+            server.getPubSub().subscribe(type, toString(args.get(i)), ctx.channel(), out);
+        }
+    }
+
+    private void unsubscribe(ChannelHandlerContext ctx, PubSubRegistry.Type type, List<byte[]> args, ByteBuf out) {
+        if (args.size() == 1) {
+            server.getPubSub().unsubscribeAll(type, ctx.channel(), out);
+            return;
+        }
+        for (int i = 1; i < args.size(); i++) {
+            server.getPubSub().unsubscribe(type, toString(args.get(i)), ctx.channel(), out);
+        }
+    }
+
+    private void cluster(List<byte[]> args, ByteBuf out) {
+        RespCluster cluster = server.getCluster();
+        if (cluster == null) {
+            RespWriter.writeError(out, "ERR This instance has cluster support disabled");
+            return;
+        }
+
+        String subCommand = toString(args.get(1)).toUpperCase();
+        switch (subCommand) {
+            case "NODES":
+                RespWriter.writeBulk(out, cluster.getNodes(server));
+                break;
+            case "SLOTS":
+                cluster.writeSlots(out);
+                break;
+            case "MYID":
+                RespWriter.writeBulk(out, server.getNodeId());
+                break;
+            case "INFO":
+                RespWriter.writeBulk(out, "cluster_state:ok\r\ncluster_slots_assigned:"
+                                                + MasterSlaveConnectionManager.MAX_SLOT + "\r\n");
+                break;
+            default:
+                RespWriter.writeError(out, "ERR unknown subcommand '" + subCommand.toLowerCase() + "'");
+        }
+    }
+
+    private void sentinel(List<byte[]> args, ByteBuf out) {
+        RespServer master = server.getMaster();
+        if (master == null) {
+            RespWriter.writeError(out, "ERR unknown command 'sentinel'");
+            return;
+        }
+
+        String subCommand = toString(args.get(1)).toUpperCase();
+        switch (subCommand) {
+            case "GET-MASTER-ADDR-BY-NAME":
+                if (!server.getMasterName().equals(toString(args.get(2)))) {
+                    out.writeCharSequence("*-1\r\n", CharsetUtil.US_ASCII);
+                    break;
+                }
+                RespWriter.writeArrayHeader(out, 2);
+                RespWriter.writeBulk(out, RespServer.HOST);
+                RespWriter.writeBulk(out, String.valueOf(master.getPort()));
+                break;
+            case "SLAVES":
+            case "REPLICAS":
+            case "SENTINELS":
+                RespWriter.writeArrayHeader(out, 0);
+                break;
+            default:
+                RespWriter.writeError(out, "ERR unknown subcommand '" + subCommand.toLowerCase() + "'");
+        }
+    }
+
+    /**
+     * Writes MOVED error if key slot is served by another cluster node
+     * or if redirection is injected according to configured rates.
+     */
+    private boolean redirect(byte[] key, ByteBuf out) {
+        RespCluster cluster = server.getCluster();
+        if (cluster == null) {
+            return false;
+        }
+
+        int slot = calcSlot(key);
+        RespServer owner = cluster.getOwner(slot);
+        if (owner != server) {
+            RespWriter.writeError(out, "MOVED " + slot + " " + RespServer.HOST + ":" + owner.getPort());
+            return true;
+        }
+
+        RespServerOptions options = server.getOptions();
+        if (options.getMovedRate() == 0 && options.getAskRate() == 0) {
+            return false;
+        }
+        double value = ThreadLocalRandom.current().nextDouble();
+        if (value < options.getMovedRate()) {
+            RespWriter.writeError(out, "MOVED " + slot + " " + RespServer.HOST + ":" + server.getPort());
+            return true;
+        }
+        if (value < options.getMovedRate() + options.getAskRate()) {
+            RespWriter.writeError(out, "ASK " + slot + " " + RespServer.HOST + ":" + server.getPort());
+            return true;
+        }
+        return false;
+    }
+
+    static int calcSlot(byte[] key) {
+        int start = indexOf(key, (byte) '{');
+        if (start != -1) {
+            int end = indexOf(key, (byte) '}');
+            if (end != -1 && start + 1 < end) {
+                key = Arrays.copyOfRange(key, start + 1, end);
+            }
+        }
+        return CRC16.crc16(key) % MasterSlaveConnectionManager.MAX_SLOT;
+    }
+
+    private static int indexOf(byte[] array, byte element) {
+        for (int i = 0; i < array.length; ++i) {
+            if (array[i] == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String key(byte[] key) {
+        return new String(key, StandardCharsets.ISO_8859_1);
+    }
+
+    private static String toString(byte[] value) {
+        return new String(value, CharsetUtil.UTF_8);
+    }
+
+    private static String sha1(byte[] script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return ByteBufUtil.hexDump(digest.digest(script));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks.server;
+
+/**
+ * Sentinel topology with single sentinel and single master {@link RespServer}.
+ * Sentinel reports no slaves and no other sentinels, so
+ * <code>checkSentinelsList</code> setting should be disabled.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class RespSentinel {
+
+    private final String masterName;
+    private final RespServer master;
+    private final RespServer sentinel;
+
+    public RespSentinel(String masterName, RespServerOptions options) {
+        this.masterName = masterName;
+        this.master = new RespServer(options);
+        this.sentinel = new RespServer(RespServerOptions.defaults().threads(1), 0, new PubSubRegistry());
+    }
+
+    public RespSentinel start() {
+        master.start();
+        sentinel.start();
+        sentinel.monitor(masterName, master);
+        return this;
+    }
+
+    public void stop() {
+        sentinel.stop();
+        master.stop();
+    }
+
+    public String getMasterName() {
+        return masterName;
+    }
+
+    public RespServer getMaster() {
+        return master;
+    }
+
+    public String getSentinelAddress() {
+        return sentinel.getAddress();
+    }
+
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks.server;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lightweight in-process server speaking RESP2 protocol.
+ * Used as Redis stand-in to measure client side overhead
+ * without Redis server CPU usage mixed into results.
+ * <p>
+ * Supports connection commands, GET/SET/MGET/DEL/EXISTS, HGET/HSET/HDEL/HGETALL,
+ * PUBLISH and (P|S)SUBSCRIBE. EVAL and EVALSHA are stubs which always return <code>nil</code>.
+ * Cluster and sentinel topologies are provided by {@link RespCluster} and {@link RespSentinel}.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class RespServer {
+
+    public static final String HOST = "127.0.0.1";
+
+    private final Map<String, Object> data = new ConcurrentHashMap<>();
+    private final RespServerOptions options;
+    private final PubSubRegistry pubSub;
+    private final int port;
+
+    private EventLoopGroup group;
+    private Channel serverChannel;
+
+    private volatile RespCluster cluster;
+    private volatile String nodeId;
+
+    private volatile String masterName;
+    private volatile RespServer master;
+
+    public RespServer(RespServerOptions options) {
+        this(options, options.getPort(), new PubSubRegistry());
+    }
+
+    RespServer(RespServerOptions options, int port, PubSubRegistry pubSub) {
+        this.options = options;
+        this.port = port;
+        this.pubSub = pubSub;
+    }
+
+    public RespServer start() {
+        group = new NioEventLoopGroup(options.getThreads(), new DefaultThreadFactory("resp-server"));
+        RespHandler handler = new RespHandler(this);
+        ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(group)
+                .channel(NioServerSocketChannel.class)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast(new RespDecoder(), handler);
+                    }
+                });
+        serverChannel = bootstrap.bind(HOST, port).syncUninterruptibly().channel();
+        return this;
+    }
+
+    public void stop() {
+        if (serverChannel != null) {
+            serverChannel.close().syncUninterruptibly();
+        }
+        if (group != null) {
+            group.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).syncUninterruptibly();
+        }
+    }
+
+    public int getPort() {
+        return ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    }
+
+    public String getAddress() {
+        return "redis://" + HOST + ":" + getPort();
+    }
+
+    /**
+     * Removes all stored data.
+     */
+    public void flushAll() {
+        data.clear();
+    }
+
+    RespServerOptions getOptions() {
+        return options;
+    }
+
+    Map<String, Object> getData() {
+        return data;
+    }
+
+    PubSubRegistry getPubSub() {
+        return pubSub;
+    }
+
+    void joinCluster(RespCluster cluster, String nodeId) {
+        this.nodeId = nodeId;
+        this.cluster = cluster;
+    }
+
+    RespCluster getCluster() {
+        return cluster;
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    void monitor(String masterName, RespServer master) {
+        this.masterName = masterName;
+        this.master = master;
+    }
+
+    String getMasterName() {
+        return masterName;
+    }
+
+    RespServer getMaster() {
+        return master;
+    }
+
+}
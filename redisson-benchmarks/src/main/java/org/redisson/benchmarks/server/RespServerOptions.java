@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks.server;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration for {@link RespServer}.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public final class RespServerOptions {
+
+    private int port;
+    private int threads = 2;
+    private long responseDelay;
+    private double movedRate;
+    private double askRate;
+
+    private RespServerOptions() {
+    }
+
+    public static RespServerOptions defaults() {
+        return new RespServerOptions();
+    }
+
+    /**
+     * Defines port to listen on.
+     * <p>
+     * Default is <code>0</code> which means random free port.
+     *
+     * @param port - port number
+     * @return self instance
+     */
+    public RespServerOptions port(int port) {
+        this.port = port;
+        return this;
+    }
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Defines amount of Netty event loop threads.
+     * <p>
+     * Default is <code>2</code>
+     *
+     * @param threads - amount of threads
+     * @return self instance
+     */
+    public RespServerOptions threads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Defines delay applied to each response.
+     * <p>
+     * Default is <code>0</code>
+     *
+     * @param delay - response delay
+     * @param unit - time unit
+     * @return self instance
+     */
+    public RespServerOptions responseDelay(long delay, TimeUnit unit) {
+        this.responseDelay = unit.toNanos(delay);
+        return this;
+    }
+    public long getResponseDelay() {
+        return responseDelay;
+    }
+
+    /**
+     * Defines probability of MOVED redirection returned for
+     * key based commands. Redirection points to the same node.
+     * Applied only to cluster nodes.
+     * <p>
+     * Default is <code>0</code>
+     *
+     * @param movedRate - probability from 0 to 1
+     * @return self instance
+     */
+    public RespServerOptions movedRate(double movedRate) {
+        this.movedRate = movedRate;
+        return this;
+    }
+    public double getMovedRate() {
+        return movedRate;
+    }
+
+    /**
+     * Defines probability of ASK redirection returned for
+     * key based commands. Redirection points to the same node.
+     * Applied only to cluster nodes.
+     * <p>
+     * Default is <code>0</code>
+     *
+     * @param askRate - probability from 0 to 1
+     * @return self instance
+     */
+    public RespServerOptions askRate(double askRate) {
+        this.askRate = askRate;
+        return this;
+    }
+    public double getAskRate() {
+        return askRate;
+    }
+
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.benchmarks.server;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
+import org.redisson.client.handler.CommandEncoder;
+
+/**
+ * RESP2 reply writer.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+final class RespWriter {
+
+    private static final byte[] CRLF = "\r\n".getBytes(CharsetUtil.US_ASCII);
+    private static final byte[] NULL_BULK = "$-1\r\n".getBytes(CharsetUtil.US_ASCII);
+
+    private RespWriter() {
+    }
+
+    static void writeStatus(ByteBuf out, String status) {
+        out.writeByte('+');
+        out.writeCharSequence(status, CharsetUtil.US_ASCII);
+        out.writeBytes(CRLF);
+    }
+
+    static void writeError(ByteBuf out, String error) {
+        out.writeByte('-');
+        out.writeCharSequence(error, CharsetUtil.UTF_8);
+        out.writeBytes(CRLF);
+    }
+
+    static void writeLong(ByteBuf out, long value) {
+        out.writeByte(':');
+        writeNumber(out, value);
+    }
+
+    static void writeBulk(ByteBuf out, byte[] value) {
+        if (value == null) {
+            out.writeBytes(NULL_BULK);
+            return;
+        }
+        out.writeByte('$');
+        writeNumber(out, value.length);
+        out.writeBytes(value);
+        out.writeBytes(CRLF);
+    }
+
+    static void writeBulk(ByteBuf out, String value) {
+        writeBulk(out, value.getBytes(CharsetUtil.UTF_8));
+    }
+
+    static void writeArrayHeader(ByteBuf out, int size) {
+        out.writeByte('*');
+        writeNumber(out, size);
+    }
+
+    private static void writeNumber(ByteBuf out, long value) {
+        if (value >= 0) {
+            out.writeBytes(CommandEncoder.longToString(value));
+        } else {
+            out.writeCharSequence(Long.toString(value), CharsetUtil.US_ASCII);
+        }
+        out.writeBytes(CRLF);
+    }
+
+}
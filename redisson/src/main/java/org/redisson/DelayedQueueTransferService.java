@@ -0,0 +1,308 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import io.netty.util.Timeout;
+import org.redisson.api.RFuture;
+import org.redisson.api.RTopic;
+import org.redisson.api.listener.BaseStatusListener;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.command.CommandBatchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single transfer scheduler for all {@link org.redisson.api.RDelayedQueue} objects.
+ * <p>
+ * Queues are ordered by next due time and tracked by one timer. Due queues are
+ * transferred using single pipelined batch, which is split by nodes. Transfer
+ * chunk size is doubled while queue has a backlog of expired elements.
+ * Chunk size is additionally limited by queue length in transfer script,
+ * since each transferred element is removed from the queue list with LREM.
+ * <p>
+ * Queues are notified about new head element through one shared channel.
+ * Message published to any channel in Redis cluster is broadcast to all nodes,
+ * so a channel per queue or per node doesn't reduce Redis traffic. Single channel
+ * requires one subscription per Redisson instance instead of one per queue.
+ * Each instance receives notifications of all queues and ignores notifications
+ * of queues it doesn't serve. Notification is published only if offered element
+ * becomes the queue head, so their rate doesn't exceed the rate of offers.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class DelayedQueueTransferService {
+
+    public interface Transfer {
+
+        /**
+         * Moves up to <code>limit</code> expired elements to destination queue.
+         *
+         * @param executor executor used to send command
+         * @param limit max amount of elements to move
+         * @return time of the next element or <code>null</code> if queue is empty
+         */
+        RFuture<Long> transferAsync(CommandAsyncExecutor executor, int limit);
+
+    }
+
+    public static final String CHANNEL_NAME = "redisson_delay_queue_shared_channel";
+
+    private static final Logger log = LoggerFactory.getLogger(DelayedQueueTransferService.class);
+
+    static final int MIN_CHUNK_SIZE = 100;
+    private static final int MAX_CHUNK_SIZE = 10000;
+    // max amount of list elements scanned by LREM calls in single transfer
+    static final int MAX_SCAN_SIZE = 1000000;
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final class Registration {
+
+        final String name;
+        final Transfer transfer;
+        int usage = 1;
+        volatile int chunkSize = MIN_CHUNK_SIZE;
+        long dueTime = -1;
+
+        Registration(String name, Transfer transfer) {
+            this.name = name;
+            this.transfer = transfer;
+        }
+
+    }
+
+    private final CommandAsyncExecutor executor;
+    private final Map<String, Registration> registrations = new HashMap<>();
+    private final NavigableSet<Registration> dueQueue = new TreeSet<>(
+            Comparator.<Registration>comparingLong(r -> r.dueTime).thenComparing(r -> r.name));
+    private Timeout timeout;
+    private long timeoutTime;
+    private RFuture<Integer> messageListenerFuture;
+    private RFuture<Integer> statusListenerFuture;
+
+    public DelayedQueueTransferService(CommandAsyncExecutor executor) {
+        this.executor = executor;
+    }
+
+    public void schedule(String name, Transfer transfer) {
+        Registration registration;
+        synchronized (this) {
+            Registration oldRegistration = registrations.get(name);
+            if (oldRegistration != null) {
+                oldRegistration.usage++;
+                return;
+            }
+
+            registration = new Registration(name, transfer);
+            registrations.put(name, registration);
+            if (messageListenerFuture == null) {
+                start();
+            }
+        }
+        schedule(registration, System.currentTimeMillis());
+    }
+
+    public synchronized void remove(String name) {
+        Registration registration = registrations.get(name);
+        if (registration == null) {
+            return;
+        }
+
+        registration.usage--;
+        if (registration.usage > 0) {
+            return;
+        }
+
+        registrations.remove(name);
+        if (registration.dueTime >= 0) {
+            dueQueue.remove(registration);
+            registration.dueTime = -1;
+        }
+        if (registrations.isEmpty()) {
+            stop();
+        }
+    }
+
+    private RTopic getTopic() {
+        return RedissonTopic.createRaw(StringCodec.INSTANCE, executor, CHANNEL_NAME);
+    }
+
+    private void start() {
+        RTopic topic = getTopic();
+        statusListenerFuture = topic.addListenerAsync(new BaseStatusListener() {
+            @Override
+            public void onSubscribe(String channel) {
+                scheduleAll();
+            }
+        });
+        messageListenerFuture = topic.addListenerAsync(String.class, (channel, msg) -> {
+            int index = msg.indexOf(':');
+            if (index == -1) {
+                return;
+            }
+
+            Registration registration;
+            synchronized (this) {
+                registration = registrations.get(msg.substring(index + 1));
+            }
+            if (registration != null) {
+                schedule(registration, Long.parseLong(msg.substring(0, index)));
+            }
+        });
+    }
+
+    private void stop() {
+        RFuture<Integer> statusFuture = statusListenerFuture;
+        RFuture<Integer> messageFuture = messageListenerFuture;
+        statusListenerFuture = null;
+        messageListenerFuture = null;
+
+        RTopic topic = getTopic();
+        statusFuture.thenAccept(id -> topic.removeListenerAsync(id));
+        messageFuture.thenAccept(id -> topic.removeListenerAsync(id));
+
+        if (timeout != null) {
+            timeout.cancel();
+            timeout = null;
+        }
+    }
+
+    private void scheduleAll() {
+        long currentTime = System.currentTimeMillis();
+        List<Registration> list;
+        synchronized (this) {
+            list = new ArrayList<>(registrations.values());
+        }
+        for (Registration registration : list) {
+            schedule(registration, currentTime);
+        }
+    }
+
+    private void schedule(Registration registration, long dueTime) {
+        synchronized (this) {
+            if (registrations.get(registration.name) != registration) {
+                return;
+            }
+
+            if (registration.dueTime >= 0) {
+                if (registration.dueTime <= dueTime) {
+                    return;
+                }
+                dueQueue.remove(registration);
+            }
+            registration.dueTime = dueTime;
+            dueQueue.add(registration);
+
+            scheduleTimeout();
+        }
+    }
+
+    private void scheduleTimeout() {
+        if (dueQueue.isEmpty()) {
+            return;
+        }
+
+        long dueTime = dueQueue.first().dueTime;
+        if (timeout != null) {
+            if (timeoutTime <= dueTime) {
+                return;
+            }
+            timeout.cancel();
+        }
+
+        long delay = Math.max(0, dueTime - System.currentTimeMillis());
+        timeoutTime = dueTime;
+        timeout = executor.getServiceManager().newTimeout(t -> {
+            synchronized (this) {
+                if (timeout != t) {
+                    return;
+                }
+                timeout = null;
+            }
+            transfer();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void transfer() {
+        if (executor.getServiceManager().isShuttingDown()) {
+            return;
+        }
+
+        List<Registration> dueRegistrations = new ArrayList<>();
+        synchronized (this) {
+            long currentTime = System.currentTimeMillis();
+            while (!dueQueue.isEmpty()
+                    && dueRegistrations.size() < MAX_BATCH_SIZE) {
+                Registration registration = dueQueue.first();
+                if (registration.dueTime > currentTime + 10) {
+                    break;
+                }
+
+                dueQueue.pollFirst();
+                registration.dueTime = -1;
+                dueRegistrations.add(registration);
+            }
+            scheduleTimeout();
+        }
+
+        if (dueRegistrations.isEmpty()) {
+            return;
+        }
+
+        CommandBatchService batch = new CommandBatchService(executor);
+        List<RFuture<Long>> futures = new ArrayList<>(dueRegistrations.size());
+        for (Registration registration : dueRegistrations) {
+            futures.add(registration.transfer.transferAsync(batch, registration.chunkSize));
+        }
+
+        batch.executeAsync().whenComplete((r, e) -> {
+            if (e != null && !(e instanceof RedissonShutdownException)) {
+                log.error("Unable to transfer elements of delayed queues", e);
+            }
+
+            long currentTime = System.currentTimeMillis();
+            for (int i = 0; i < dueRegistrations.size(); i++) {
+                Registration registration = dueRegistrations.get(i);
+                RFuture<Long> future = futures.get(i);
+                if (e != null || future.toCompletableFuture().isCompletedExceptionally()) {
+                    if (e instanceof RedissonShutdownException) {
+                        return;
+                    }
+                    schedule(registration, currentTime + 5 * 1000L);
+                    continue;
+                }
+
+                Long nextTime = future.toCompletableFuture().getNow(null);
+                if (nextTime == null) {
+                    registration.chunkSize = MIN_CHUNK_SIZE;
+                    continue;
+                }
+
+                if (nextTime <= currentTime) {
+                    registration.chunkSize = Math.min(registration.chunkSize * 2, MAX_CHUNK_SIZE);
+                } else {
+                    registration.chunkSize = MIN_CHUNK_SIZE;
+                }
+                schedule(registration, nextTime);
+            }
+        });
+    }
+
+}
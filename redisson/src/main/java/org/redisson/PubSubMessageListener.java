@@ -15,10 +15,14 @@
  */
 package org.redisson;
 
+import org.redisson.api.listener.BatchMessageListener;
 import org.redisson.api.listener.MessageListener;
 import org.redisson.client.RedisPubSubListener;
 import org.redisson.client.protocol.pubsub.PubSubType;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  *
  * @author Nikita Koksharov
@@ -80,6 +84,33 @@ public class PubSubMessageListener<V> implements RedisPubSubListener<Object> {
         }
     }
 
+    @Override
+    public void onMessages(CharSequence channel, List<Object> messages) {
+        // could be subscribed to multiple channels
+        if (!name.equals(channel.toString())) {
+            return;
+        }
+
+        if (listener instanceof BatchMessageListener) {
+            List<V> values = new ArrayList<>(messages.size());
+            for (Object message : messages) {
+                if (type.isInstance(message)) {
+                    values.add((V) message);
+                }
+            }
+            if (!values.isEmpty()) {
+                ((BatchMessageListener<V>) listener).onMessages(channel, values);
+            }
+            return;
+        }
+
+        for (Object message : messages) {
+            if (type.isInstance(message)) {
+                listener.onMessage(channel, (V) message);
+            }
+        }
+    }
+
     @Override
     public void onPatternMessage(CharSequence pattern, CharSequence channel, Object message) {
         // could be subscribed to multiple channels
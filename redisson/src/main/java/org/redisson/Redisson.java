@@ -52,6 +52,7 @@ public class Redisson implements RedissonClient {
     }
 
     protected final QueueTransferService queueTransferService = new QueueTransferService();
+    protected final DelayedQueueTransferService delayedQueueTransferService;
     protected final EvictionScheduler evictionScheduler;
     protected final WriteBehindService writeBehindService;
     protected final ConnectionManager connectionManager;
@@ -74,6 +75,7 @@ public class Redisson implements RedissonClient {
         commandExecutor = new CommandAsyncService(connectionManager, objectBuilder, RedissonObjectBuilder.ReferenceType.DEFAULT);
         evictionScheduler = new EvictionScheduler(commandExecutor);
         writeBehindService = new WriteBehindService(commandExecutor);
+        delayedQueueTransferService = new DelayedQueueTransferService(commandExecutor);
     }
 
     public EvictionScheduler getEvictionScheduler() {
@@ -277,6 +279,26 @@ public class Redisson implements RedissonClient {
                 options, evictionScheduler, this, writeBehindService);
     }
 
+    @Override
+    public <K, V> RMapCacheNative<K, V> getMapCacheNative(String name) {
+        return new RedissonMapCacheNative<>(commandExecutor, name, this, null, null);
+    }
+
+    @Override
+    public <K, V> RMapCacheNative<K, V> getMapCacheNative(String name, MapOptions<K, V> options) {
+        return new RedissonMapCacheNative<>(commandExecutor, name, this, options, writeBehindService);
+    }
+
+    @Override
+    public <K, V> RMapCacheNative<K, V> getMapCacheNative(String name, Codec codec) {
+        return new RedissonMapCacheNative<>(codec, commandExecutor, name, this, null, null);
+    }
+
+    @Override
+    public <K, V> RMapCacheNative<K, V> getMapCacheNative(String name, Codec codec, MapOptions<K, V> options) {
+        return new RedissonMapCacheNative<>(codec, commandExecutor, name, this, options, writeBehindService);
+    }
+
     @Override
     public <K, V> RMap<K, V> getMap(String name) {
         return new RedissonMap<K, V>(commandExecutor, name, this, null, null);
@@ -352,6 +374,26 @@ public class Redisson implements RedissonClient {
         return new RedissonMap<K, V>(codec, commandExecutor, name, this, null, null);
     }
 
+    @Override
+    public <K, V> RShardedMap<K, V> getShardedMap(String name, int shards) {
+        return new RedissonShardedMap<>(commandExecutor, name, shards, this, null, null);
+    }
+
+    @Override
+    public <K, V> RShardedMap<K, V> getShardedMap(String name, int shards, Codec codec) {
+        return new RedissonShardedMap<>(codec, commandExecutor, name, shards, this, null, null);
+    }
+
+    @Override
+    public <K, V> RShardedMap<K, V> getShardedMap(String name, int shards, MapOptions<K, V> options) {
+        return new RedissonShardedMap<>(commandExecutor, name, shards, this, options, writeBehindService);
+    }
+
+    @Override
+    public <K, V> RShardedMap<K, V> getShardedMap(String name, int shards, Codec codec, MapOptions<K, V> options) {
+        return new RedissonShardedMap<>(codec, commandExecutor, name, shards, this, options, writeBehindService);
+    }
+
     @Override
     public <K, V> RMap<K, V> getMap(String name, Codec codec, MapOptions<K, V> options) {
         return new RedissonMap<K, V>(codec, commandExecutor, name, this, options, writeBehindService);
@@ -541,7 +583,7 @@ public class Redisson implements RedissonClient {
         if (destinationQueue == null) {
             throw new NullPointerException();
         }
-        return new RedissonDelayedQueue<V>(queueTransferService, destinationQueue.getCodec(), commandExecutor, destinationQueue.getName());
+        return new RedissonDelayedQueue<V>(queueTransferService, delayedQueueTransferService, destinationQueue.getCodec(), commandExecutor, destinationQueue.getName());
     }
 
     @Override
@@ -693,6 +735,16 @@ public class Redisson implements RedissonClient {
         return createBatch(BatchOptions.defaults());
     }
 
+    @Override
+    public RBulkLoader getBulkLoader(BulkLoadOptions options) {
+        return new RedissonBulkLoader(commandExecutor, options);
+    }
+
+    @Override
+    public RBulkLoader getBulkLoader() {
+        return getBulkLoader(BulkLoadOptions.defaults());
+    }
+
     @Override
     public RLiveObjectService getLiveObjectService() {
         return new RedissonLiveObjectService(liveObjectClassCache, commandExecutor);
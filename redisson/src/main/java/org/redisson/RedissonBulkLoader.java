@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import org.reactivestreams.Publisher;
+import org.redisson.api.BulkLoadOptions;
+import org.redisson.api.BulkLoadProgress;
+import org.redisson.api.RBulkLoader;
+import org.redisson.api.RFuture;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.client.protocol.ScoredEntry;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.misc.CompletableFutureWrapper;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class RedissonBulkLoader implements RBulkLoader {
+
+    private static final class Encoded {
+
+        final Object[] args;
+        final int size;
+
+        Encoded(Object... args) {
+            this.args = args;
+            int s = 0;
+            for (Object arg : args) {
+                if (arg instanceof byte[]) {
+                    s += ((byte[]) arg).length;
+                } else {
+                    s += arg.toString().length();
+                }
+            }
+            this.size = s;
+        }
+
+    }
+
+    private final class ChunkLimiter implements Predicate<Encoded> {
+
+        private int count;
+        private long bytes;
+
+        @Override
+        public boolean test(Encoded encoded) {
+            count++;
+            bytes += encoded.size;
+            if (count >= options.getChunkSize()
+                    || bytes >= options.getChunkSizeInBytes()) {
+                count = 0;
+                bytes = 0;
+                return true;
+            }
+            return false;
+        }
+
+    }
+
+    private final CommandAsyncExecutor commandExecutor;
+    private final BulkLoadOptions options;
+    private final Codec codec;
+
+    public RedissonBulkLoader(CommandAsyncExecutor commandExecutor, BulkLoadOptions options) {
+        this.commandExecutor = commandExecutor;
+        this.options = options;
+        if (options.getCodec() != null) {
+            this.codec = options.getCodec();
+        } else {
+            this.codec = commandExecutor.getServiceManager().getCfg().getCodec();
+        }
+    }
+
+    @Override
+    public <K, V> BulkLoadProgress loadMap(String name, Iterator<? extends Map.Entry<K, V>> entries) {
+        return commandExecutor.get(loadMapAsync(name, fromIterator(entries)));
+    }
+
+    @Override
+    public <K, V> BulkLoadProgress loadMap(String name, Stream<? extends Map.Entry<K, V>> entries) {
+        return loadMap(name, entries.iterator());
+    }
+
+    @Override
+    public <K, V> RFuture<BulkLoadProgress> loadMapAsync(String name, Publisher<? extends Map.Entry<K, V>> entries) {
+        return load(name, entries, RedisCommands.HMSET, e -> {
+            byte[] key = toBytes(commandExecutor.encodeMapKey(codec, e.getKey()));
+            byte[] value = toBytes(commandExecutor.encodeMapValue(codec, e.getValue()));
+            return new Encoded(key, value);
+        });
+    }
+
+    @Override
+    public <V> BulkLoadProgress loadSet(String name, Iterator<? extends V> elements) {
+        return commandExecutor.get(loadSetAsync(name, fromIterator(elements)));
+    }
+
+    @Override
+    public <V> BulkLoadProgress loadSet(String name, Stream<? extends V> elements) {
+        return loadSet(name, elements.iterator());
+    }
+
+    @Override
+    public <V> RFuture<BulkLoadProgress> loadSetAsync(String name, Publisher<? extends V> elements) {
+        return load(name, elements, RedisCommands.SADD, v -> {
+            return new Encoded(toBytes(commandExecutor.encode(codec, v)));
+        });
+    }
+
+    @Override
+    public <V> BulkLoadProgress loadScoredSortedSet(String name, Iterator<? extends ScoredEntry<V>> entries) {
+        return commandExecutor.get(loadScoredSortedSetAsync(name, fromIterator(entries)));
+    }
+
+    @Override
+    public <V> BulkLoadProgress loadScoredSortedSet(String name, Stream<? extends ScoredEntry<V>> entries) {
+        return loadScoredSortedSet(name, entries.iterator());
+    }
+
+    @Override
+    public <V> RFuture<BulkLoadProgress> loadScoredSortedSetAsync(String name, Publisher<? extends ScoredEntry<V>> entries) {
+        return load(name, entries, RedisCommands.ZADD_INT, e -> {
+            String score = BigDecimal.valueOf(e.getScore()).toPlainString();
+            return new Encoded(score, toBytes(commandExecutor.encode(codec, e.getValue())));
+        });
+    }
+
+    private <T> Publisher<T> fromIterator(Iterator<T> iterator) {
+        // iterator may block, so it's consumed by Redisson executor instead of netty threads
+        return Flux.fromIterable(() -> iterator)
+                    .subscribeOn(Schedulers.fromExecutor(commandExecutor.getServiceManager().getExecutor()));
+    }
+
+    private byte[] toBytes(ByteBuf buf) {
+        try {
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private <T> RFuture<BulkLoadProgress> load(String name, Publisher<T> source,
+                                               RedisCommand<?> command, Function<T, Encoded> encoder) {
+        String targetName = commandExecutor.getServiceManager().getConfig().getNameMapper().map(name);
+        String loadName;
+        if (options.isSwap()) {
+            loadName = RedissonObject.prefixName("redisson__bulk_load", targetName);
+        } else {
+            loadName = targetName;
+        }
+
+        Mono<BulkLoadProgress> result = Mono.defer(() -> {
+            long startTime = System.currentTimeMillis();
+            AtomicLong entries = new AtomicLong();
+            AtomicLong bytes = new AtomicLong();
+            AtomicLong chunks = new AtomicLong();
+
+            Mono<?> prepare = Mono.empty();
+            if (options.isSwap()) {
+                prepare = Mono.fromCompletionStage(() ->
+                        commandExecutor.writeAsync(loadName, StringCodec.INSTANCE, RedisCommands.DEL, loadName));
+            }
+
+            Flux<Void> load = Flux.from(source)
+                    .map(encoder)
+                    .bufferUntil(new ChunkLimiter())
+                    .flatMap(chunk -> {
+                        List<Object> params = new ArrayList<>(chunk.size() * 2 + 1);
+                        params.add(loadName);
+                        long size = 0;
+                        for (Encoded e : chunk) {
+                            params.addAll(Arrays.asList(e.args));
+                            size += e.size;
+                        }
+                        long chunkSize = size;
+                        return Mono.fromCompletionStage(() ->
+                                commandExecutor.writeAsync(loadName, ByteArrayCodec.INSTANCE, command, params.toArray()))
+                                .then(Mono.<Void>fromRunnable(() -> {
+                                    BulkLoadProgress progress = new BulkLoadProgress(
+                                                                        entries.addAndGet(chunk.size()),
+                                                                        bytes.addAndGet(chunkSize),
+                                                                        chunks.incrementAndGet(),
+                                                                        System.currentTimeMillis() - startTime);
+                                    if (options.getProgressListener() != null) {
+                                        options.getProgressListener().onProgress(progress);
+                                    }
+                                }));
+                    }, options.getMaxInFlightChunks());
+
+            Mono<?> complete = Mono.empty();
+            if (options.isSwap()) {
+                complete = Mono.fromCompletionStage(() -> swapAsync(targetName, loadName));
+            }
+
+            return prepare
+                    .thenMany(load)
+                    .then(complete)
+                    .then(Mono.fromCallable(() -> new BulkLoadProgress(entries.get(), bytes.get(), chunks.get(),
+                                                            System.currentTimeMillis() - startTime)));
+        });
+
+        if (options.isSwap()) {
+            result = result.onErrorResume(e -> Mono.fromCompletionStage(() ->
+                            commandExecutor.writeAsync(loadName, StringCodec.INSTANCE, RedisCommands.DEL, loadName))
+                            .onErrorResume(ex -> Mono.empty())
+                            .then(Mono.error(e)));
+        }
+
+        return new CompletableFutureWrapper<>(result.toFuture());
+    }
+
+    private RFuture<Void> swapAsync(String targetName, String loadName) {
+        return commandExecutor.evalWriteAsync(targetName, StringCodec.INSTANCE, RedisCommands.EVAL_VOID,
+                "if redis.call('exists', KEYS[2]) == 1 then "
+                    + "redis.call('rename', KEYS[2], KEYS[1]); "
+                + "else "
+                    + "redis.call('del', KEYS[1]); "
+                + "end;",
+                Arrays.asList(targetName, loadName));
+    }
+
+}
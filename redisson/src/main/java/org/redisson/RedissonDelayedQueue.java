@@ -36,38 +36,38 @@ import java.util.concurrent.TimeUnit;
 public class RedissonDelayedQueue<V> extends RedissonExpirable implements RDelayedQueue<V> {
 
     private final QueueTransferService queueTransferService;
+    private final DelayedQueueTransferService sharedTransferService;
     private final String channelName;
     private final String queueName;
     private final String timeoutSetName;
     
     protected RedissonDelayedQueue(QueueTransferService queueTransferService, Codec codec, final CommandAsyncExecutor commandExecutor, String name) {
+        this(queueTransferService, null, codec, commandExecutor, name);
+    }
+
+    protected RedissonDelayedQueue(QueueTransferService queueTransferService, DelayedQueueTransferService sharedTransferService,
+                                   Codec codec, final CommandAsyncExecutor commandExecutor, String name) {
         super(codec, commandExecutor, name);
-        channelName = prefixName("redisson_delay_queue_channel", getRawName());
         queueName = prefixName("redisson_delay_queue", getRawName());
         timeoutSetName = prefixName("redisson_delay_queue_timeout", getRawName());
-        
+
+        this.queueTransferService = queueTransferService;
+        if (sharedTransferService != null
+                && getServiceManager().getCfg().isSharedDelayedQueueTransfer()) {
+            this.sharedTransferService = sharedTransferService;
+            channelName = DelayedQueueTransferService.CHANNEL_NAME;
+            sharedTransferService.schedule(queueName, this::transferAsync);
+            return;
+        }
+
+        this.sharedTransferService = null;
+        channelName = prefixName("redisson_delay_queue_channel", getRawName());
+
         QueueTransferTask task = new QueueTransferTask(commandExecutor.getServiceManager()) {
             
             @Override
             protected RFuture<Long> pushTaskAsync() {
-                return commandExecutor.evalWriteAsync(getRawName(), LongCodec.INSTANCE, RedisCommands.EVAL_LONG,
-                        "local expiredValues = redis.call('zrangebyscore', KEYS[2], 0, ARGV[1], 'limit', 0, ARGV[2]); "
-                      + "if #expiredValues > 0 then "
-                          + "for i, v in ipairs(expiredValues) do "
-                              + "local randomId, value = struct.unpack('Bc0Lc0', v);"
-                              + "redis.call('rpush', KEYS[1], value);"
-                              + "redis.call('lrem', KEYS[3], 1, v);"
-                          + "end; "
-                          + "redis.call('zrem', KEYS[2], unpack(expiredValues));"
-                      + "end; "
-                        // get startTime from scheduler queue head task
-                      + "local v = redis.call('zrange', KEYS[2], 0, 0, 'WITHSCORES'); "
-                      + "if v[1] ~= nil then "
-                         + "return v[2]; "
-                      + "end "
-                      + "return nil;",
-                      Arrays.asList(getRawName(), timeoutSetName, queueName),
-                      System.currentTimeMillis(), 100);
+                return transferAsync(commandExecutor, 100);
             }
             
             @Override
@@ -77,8 +77,39 @@ public class RedissonDelayedQueue<V> extends RedissonExpirable implements RDelay
         };
         
         queueTransferService.schedule(queueName, task);
-        
-        this.queueTransferService = queueTransferService;
+    }
+
+    private RFuture<Long> transferAsync(CommandAsyncExecutor executor, int limit) {
+        return executor.evalWriteAsync(getRawName(), LongCodec.INSTANCE, RedisCommands.EVAL_LONG,
+                // each element is removed from the list with LREM which is O(N),
+                // so chunk size is reduced for long queues to keep script execution time bounded
+                "local limit = tonumber(ARGV[2]); "
+              + "if limit > tonumber(ARGV[4]) then "
+                  + "local size = redis.call('llen', KEYS[3]); "
+                  + "if size > 0 then "
+                      + "limit = math.max(tonumber(ARGV[4]), math.min(limit, math.floor(tonumber(ARGV[3]) / size))); "
+                  + "end; "
+              + "end; "
+              + "local expiredValues = redis.call('zrangebyscore', KEYS[2], 0, ARGV[1], 'limit', 0, limit); "
+              + "if #expiredValues > 0 then "
+                  + "for i, v in ipairs(expiredValues) do "
+                      + "local randomId, value = struct.unpack('Bc0Lc0', v);"
+                      + "redis.call('rpush', KEYS[1], value);"
+                      + "redis.call('lrem', KEYS[3], 1, v);"
+                  + "end; "
+                  + "for i = 1, #expiredValues, 5000 do "
+                      + "redis.call('zrem', KEYS[2], unpack(expiredValues, i, math.min(i+4999, #expiredValues))); "
+                  + "end; "
+              + "end; "
+                // get startTime from scheduler queue head task
+              + "local v = redis.call('zrange', KEYS[2], 0, 0, 'WITHSCORES'); "
+              + "if v[1] ~= nil then "
+                 + "return v[2]; "
+              + "end "
+              + "return nil;",
+              Arrays.asList(getRawName(), timeoutSetName, queueName),
+              System.currentTimeMillis(), limit, DelayedQueueTransferService.MAX_SCAN_SIZE,
+              DelayedQueueTransferService.MIN_CHUNK_SIZE);
     }
 
     @Override
@@ -96,6 +127,10 @@ public class RedissonDelayedQueue<V> extends RedissonExpirable implements RDelay
         long timeout = System.currentTimeMillis() + delayInMs;
 
         byte[] random = getServiceManager().generateIdArray(8);
+        String message = String.valueOf(timeout);
+        if (sharedTransferService != null) {
+            message += ":" + queueName;
+        }
         return commandExecutor.evalWriteNoRetryAsync(getRawName(), codec, RedisCommands.EVAL_VOID,
                 "local value = struct.pack('Bc0Lc0', string.len(ARGV[2]), ARGV[2], string.len(ARGV[3]), ARGV[3]);"
               + "redis.call('zadd', KEYS[2], ARGV[1], value);"
@@ -104,10 +139,10 @@ public class RedissonDelayedQueue<V> extends RedissonExpirable implements RDelay
               // to all scheduler workers 
               + "local v = redis.call('zrange', KEYS[2], 0, 0); "
               + "if v[1] == value then "
-                 + "redis.call('publish', KEYS[4], ARGV[1]); "
+                 + "redis.call('publish', ARGV[4], ARGV[5]); "
               + "end;",
-              Arrays.asList(getRawName(), timeoutSetName, queueName, channelName),
-              timeout, random, encode(e));
+              Arrays.asList(getRawName(), timeoutSetName, queueName),
+              timeout, random, encode(e), channelName, message);
     }
 
     @Override
@@ -524,6 +559,10 @@ public class RedissonDelayedQueue<V> extends RedissonExpirable implements RDelay
 
     @Override
     public void destroy() {
+        if (sharedTransferService != null) {
+            sharedTransferService.remove(queueName);
+            return;
+        }
         queueTransferService.remove(queueName);
     }
     
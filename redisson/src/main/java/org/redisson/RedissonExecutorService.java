@@ -16,8 +16,10 @@
 package org.redisson;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.redisson.api.*;
 import org.redisson.api.listener.MessageListener;
+import org.redisson.client.codec.ByteArrayCodec;
 import org.redisson.client.codec.Codec;
 import org.redisson.client.codec.LongCodec;
 import org.redisson.client.codec.StringCodec;
@@ -26,6 +28,7 @@ import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.executor.*;
 import org.redisson.executor.params.*;
 import org.redisson.misc.CompletableFutureWrapper;
+import org.redisson.misc.Hash;
 import org.redisson.misc.Injector;
 import org.redisson.remote.ResponseEntry;
 import org.redisson.remote.ResponseEntry.Result;
@@ -40,6 +43,7 @@ import java.lang.reflect.Modifier;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 
@@ -64,6 +68,8 @@ public class RedissonExecutorService implements RScheduledExecutorService {
     private final String schedulerChannelName;
     private final String tasksRetryIntervalName;
     private final String tasksExpirationTimeName;
+    private final String classesName;
+    private final boolean classRegistry;
     
     private final String workersChannelName;
     private final String workersSemaphoreName;
@@ -75,6 +81,7 @@ public class RedissonExecutorService implements RScheduledExecutorService {
     private final RedissonExecutorRemoteService remoteService;
     private final RTopic workersTopic;
     private int workersGroupListenerId;
+    private ExecutorService virtualThreadsExecutor;
 
     private final RemoteExecutorServiceAsync asyncScheduledService;
     private final RemoteExecutorServiceAsync asyncScheduledServiceAtFixed;
@@ -126,6 +133,8 @@ public class RedissonExecutorService implements RScheduledExecutorService {
 
         tasksRetryIntervalName = objectName + ":retry-interval";
         tasksExpirationTimeName = objectName + ":expiration";
+        classesName = objectName + ":classes";
+        classRegistry = options.isClassRegistry();
         schedulerChannelName = objectName + ":scheduler-channel";
         schedulerQueueName = objectName + ":scheduler";
         
@@ -152,6 +161,10 @@ public class RedissonExecutorService implements RScheduledExecutorService {
         executorRemoteService.setTasksRetryIntervalName(tasksRetryIntervalName);
         executorRemoteService.setTasksExpirationTimeName(tasksExpirationTimeName);
         executorRemoteService.setTasksRetryInterval(options.getTaskRetryInterval());
+        if (classRegistry) {
+            executorRemoteService.setClassesName(classesName);
+            executorRemoteService.setClassBodyResolver(this::resolveClassBody);
+        }
         asyncService = executorRemoteService.get(RemoteExecutorServiceAsync.class, RESULT_OPTIONS);
         asyncServiceWithoutResult = executorRemoteService.get(RemoteExecutorServiceAsync.class, RemoteInvocationOptions.defaults().noAck().noResult());
         
@@ -297,6 +310,7 @@ public class RedissonExecutorService implements RScheduledExecutorService {
         service.setSchedulerQueueName(schedulerQueueName);
         service.setTasksExpirationTimeName(tasksExpirationTimeName);
         service.setTasksRetryIntervalName(tasksRetryIntervalName);
+        service.setClassesName(classesName);
         if (options.getTasksInjector() != null) {
             service.setTasksInjector(options.getTasksInjector());
         }
@@ -304,11 +318,18 @@ public class RedissonExecutorService implements RScheduledExecutorService {
         ExecutorService es = commandExecutor.getServiceManager().getExecutor();
         if (options.getExecutorService() != null) {
             es = options.getExecutorService();
+        } else if (options.isVirtualThreads()) {
+            virtualThreadsExecutor = createVirtualThreadsExecutor();
+            es = virtualThreadsExecutor;
         }
 
         remoteService.setListeners(options.getListeners());
         remoteService.setTaskTimeout(options.getTaskTimeout());
-        remoteService.register(RemoteExecutorService.class, service, options.getWorkers(), es);
+        remoteService.register(RemoteExecutorService.class, service,
+                                    RemoteWorkerOptions.defaults()
+                                        .workers(options.getWorkers())
+                                        .executorService(es)
+                                        .batchSize(options.getPrefetch()));
         workersGroupListenerId = workersTopic.addListener(String.class, new MessageListener<String>() {
             @Override
             public void onMessage(CharSequence channel, String id) {
@@ -360,6 +381,9 @@ public class RedissonExecutorService implements RScheduledExecutorService {
         executorRemoteService.setSchedulerChannelName(schedulerChannelName);
         executorRemoteService.setSchedulerQueueName(schedulerQueueName);
         executorRemoteService.setTasksRetryIntervalName(tasksRetryIntervalName);
+        if (classRegistry) {
+            executorRemoteService.setClassBodyResolver(this::resolveClassBody);
+        }
         return executorRemoteService;
     }
     
@@ -387,12 +411,26 @@ public class RedissonExecutorService implements RScheduledExecutorService {
         private byte[] lambda;
         private byte[] clazz;
         private String clazzName;
+        private String hash;
+        private final AtomicBoolean registering = new AtomicBoolean();
+        private volatile boolean registered;
         
         public ClassBody(byte[] lambda, byte[] clazz, String clazzName) {
             super();
             this.lambda = lambda;
             this.clazz = clazz;
             this.clazzName = clazzName;
+
+            ByteBuf buf = Unpooled.wrappedBuffer(clazz);
+            try {
+                this.hash = Hash.hash128toBase64(buf);
+            } finally {
+                buf.release();
+            }
+        }
+        
+        public String getHash() {
+            return hash;
         }
         
         public String getClazzName() {
@@ -462,10 +500,65 @@ public class RedissonExecutorService implements RScheduledExecutorService {
         return result;
     }
 
+    private byte[] resolveClassBody(String hash) {
+        for (ClassBody classBody : class2body.values()) {
+            if (classBody.getHash().equals(hash)) {
+                return classBody.getClazz();
+            }
+        }
+        return null;
+    }
+
+    private <P extends TaskParameters> P applyClassBody(P params, ClassBody classBody) {
+        params.setClassName(classBody.getClazzName());
+        params.setLambdaBody(classBody.getLambda());
+        // scheduled tasks are stored and rescheduled by workers with the same parameters,
+        // so they keep bytecode and don't depend on registry state
+        if (!classRegistry || params instanceof ScheduledParameters) {
+            params.setClassBody(classBody.getClazz());
+            return params;
+        }
+
+        params.setClassHash(classBody.getHash());
+        if (classBody.registered) {
+            return params;
+        }
+
+        // bytecode is sent along with task until it's stored in registry
+        params.setClassBody(classBody.getClazz());
+        if (classBody.registering.compareAndSet(false, true)) {
+            RFuture<Boolean> f = commandExecutor.writeAsync(classesName, ByteArrayCodec.INSTANCE, RedisCommands.HSET,
+                                                            classesName, classBody.getHash(), classBody.getClazz());
+            f.whenComplete((r, e) -> {
+                if (e != null) {
+                    LOGGER.error("Unable to store class {} in registry", classBody.getClazzName(), e);
+                    classBody.registering.set(false);
+                    return;
+                }
+                classBody.registered = true;
+            });
+        }
+        return params;
+    }
+
+    private ExecutorService createVirtualThreadsExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 and higher", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to create virtual threads executor", e);
+        }
+    }
+
     @Override
     public void shutdown() {
         queueTransferService.remove(getName());
         remoteService.deregister(RemoteExecutorService.class);
+        if (virtualThreadsExecutor != null) {
+            virtualThreadsExecutor.shutdown();
+        }
         if (workersGroupListenerId != 0) {
             workersTopic.removeListener(workersGroupListenerId);
         }
@@ -495,8 +588,9 @@ public class RedissonExecutorService implements RScheduledExecutorService {
     
     @Override
     public RFuture<Boolean> deleteAsync() {
+        class2body.clear();
         RFuture<Long> deleteFuture = redisson.getKeys().deleteAsync(
-                requestQueueName, statusName, tasksCounterName, schedulerQueueName, tasksName, tasksRetryIntervalName);
+                requestQueueName, statusName, tasksCounterName, schedulerQueueName, tasksName, tasksRetryIntervalName, classesName);
         CompletionStage<Boolean> f = deleteFuture.thenApply(res -> res > 0);
         return new CompletableFutureWrapper<>(f);
     }
@@ -608,7 +702,9 @@ public class RedissonExecutorService implements RScheduledExecutorService {
         ClassBody classBody = getClassBody(task);
         byte[] state = encode(task);
         String id = taskId;
-        return new TaskParameters(id, classBody.getClazzName(), classBody.getClazz(), classBody.getLambda(), state);
+        TaskParameters params = new TaskParameters(id);
+        params.setState(state);
+        return applyClassBody(params, classBody);
     }
     
     protected TaskParameters createTaskParameters(Runnable task) {
@@ -619,7 +715,9 @@ public class RedissonExecutorService implements RScheduledExecutorService {
         ClassBody classBody = getClassBody(task);
         byte[] state = encode(task);
         String id = taskId;
-        return new TaskParameters(id, classBody.getClazzName(), classBody.getClazz(), classBody.getLambda(), state);
+        TaskParameters params = new TaskParameters(id);
+        params.setState(state);
+        return applyClassBody(params, classBody);
     }
 
     @Override
@@ -884,7 +982,10 @@ public class RedissonExecutorService implements RScheduledExecutorService {
     }
 
     private ScheduledParameters createScheduledParameters(String id, Duration timeToLive, ClassBody classBody, byte[] state, long startTime) {
-        ScheduledParameters params = new ScheduledParameters(id, classBody.getClazzName(), classBody.getClazz(), classBody.getLambda(), state, startTime);
+        ScheduledParameters params = new ScheduledParameters(id);
+        params.setState(state);
+        params.setStartTime(startTime);
+        applyClassBody(params, classBody);
         if (timeToLive.toMillis() > 0) {
             params.setTtl(timeToLive.toMillis());
         }
@@ -1154,9 +1255,7 @@ public class RedissonExecutorService implements RScheduledExecutorService {
 
         String taskId = id;
         ScheduledAtFixedRateParameters params = new ScheduledAtFixedRateParameters(taskId);
-        params.setClassName(classBody.getClazzName());
-        params.setClassBody(classBody.getClazz());
-        params.setLambdaBody(classBody.getLambda());
+        applyClassBody(params, classBody);
         params.setState(state);
         params.setStartTime(startTime);
         params.setPeriod(period.toMillis());
@@ -1183,9 +1282,7 @@ public class RedissonExecutorService implements RScheduledExecutorService {
 
         String taskId = id;
         ScheduledWithFixedDelayParameters params = new ScheduledWithFixedDelayParameters(taskId);
-        params.setClassName(classBody.getClazzName());
-        params.setClassBody(classBody.getClazz());
-        params.setLambdaBody(classBody.getLambda());
+        applyClassBody(params, classBody);
         params.setState(state);
         params.setStartTime(startTime);
         params.setDelay(delay.toMillis());
@@ -1216,9 +1313,7 @@ public class RedissonExecutorService implements RScheduledExecutorService {
 
         String taskId = id;
         ScheduledCronExpressionParameters params = new ScheduledCronExpressionParameters(taskId);
-        params.setClassName(classBody.getClazzName());
-        params.setClassBody(classBody.getClazz());
-        params.setLambdaBody(classBody.getLambda());
+        applyClassBody(params, classBody);
         params.setState(state);
         params.setStartTime(startTime);
         params.setCronExpression(cronSchedule.getExpression().getCronExpression());
@@ -41,6 +41,7 @@ import org.redisson.client.protocol.decoder.ListScanResultReplayDecoder;
 import org.redisson.client.protocol.decoder.ObjectListReplayDecoder;
 import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.command.CommandBatchService;
+import org.redisson.liveobject.CompositeIndex;
 import org.redisson.liveobject.LiveObjectSearch;
 import org.redisson.liveobject.LiveObjectTemplate;
 import org.redisson.liveobject.core.*;
@@ -157,6 +158,58 @@ public class RedissonLiveObjectService implements RLiveObjectService {
         return null;
     }
 
+    @Override
+    public <T> List<T> get(Class<T> entityClass, Collection<?> ids) {
+        return get(entityClass, ids, false);
+    }
+
+    @Override
+    public <T> List<T> get(Class<T> entityClass, Collection<?> ids, boolean bufferWrites) {
+        registerClass(entityClass);
+        NamingScheme namingScheme = commandExecutor.getObjectBuilder().getNamingScheme(entityClass);
+
+        CommandBatchService ce = new CommandBatchService(commandExecutor);
+        List<RFuture<Map<String, Object>>> futures = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            RMap<String, Object> map = new RedissonMap<>(namingScheme.getCodec(), ce,
+                                                namingScheme.getName(entityClass, id), null, null, null);
+            futures.add(map.readAllMapAsync());
+        }
+        ce.execute();
+
+        Set<String> indexedFields = Introspectior.getFieldsWithAnnotation(entityClass, RIndex.class).stream()
+                                                    .map(f -> f.getName())
+                                                    .collect(Collectors.toSet());
+        List<T> result = new ArrayList<>(ids.size());
+        Iterator<RFuture<Map<String, Object>>> iterator = futures.iterator();
+        for (Object id : ids) {
+            Map<String, Object> values = iterator.next().toCompletableFuture().getNow(null);
+            if (values == null || values.isEmpty()) {
+                continue;
+            }
+
+            T proxied = createLiveObject(entityClass, id);
+            RMap<String, Object> liveMap = new LiveObjectMap<>(namingScheme.getCodec(), commandExecutor,
+                                                namingScheme.getName(entityClass, id), values, bufferWrites, indexedFields);
+            ClassUtils.setField(proxied, "liveObjectLiveMap", liveMap);
+            result.add(proxied);
+        }
+        return result;
+    }
+
+    @Override
+    public void flush(Object... attachedObjects) {
+        CommandBatchService ce = new CommandBatchService(commandExecutor);
+        for (Object attachedObject : attachedObjects) {
+            validateAttached(attachedObject);
+            RMap<String, Object> liveMap = getMap(attachedObject);
+            if (liveMap instanceof LiveObjectMap) {
+                ((LiveObjectMap<String, Object>) liveMap).flush(ce);
+            }
+        }
+        ce.execute();
+    }
+
     @Override
     public <T> Collection<T> find(Class<T> entityClass, Condition condition) {
         Set<Object> ids = seachEngine.find(entityClass, condition);
@@ -166,10 +219,36 @@ public class RedissonLiveObjectService implements RLiveObjectService {
                     .collect(Collectors.toList());
     }
 
+    @Override
+    public <T> List<T> find(Class<T> entityClass, Condition condition, FindOptions options) {
+        List<Object> ids = seachEngine.find(entityClass, condition, options);
+
+        return ids.stream()
+                    .map(id -> createLiveObject(entityClass, id))
+                    .collect(Collectors.toList());
+    }
+
+    @Override
+    public <T> Iterable<T> findIterable(Class<T> entityClass, Condition condition, FindOptions options) {
+        return () -> {
+            Iterator<Object> ids = seachEngine.iterator(entityClass, condition, options);
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return ids.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    return createLiveObject(entityClass, ids.next());
+                }
+            };
+        };
+    }
+
     @Override
     public long count(Class<?> entityClass, Condition condition) {
-        Set<Object> ids = seachEngine.find(entityClass, condition);
-        return ids.size();
+        return seachEngine.count(entityClass, condition);
     }
 
     @Override
@@ -262,14 +341,51 @@ public class RedissonLiveObjectService implements RLiveObjectService {
 
             String idFieldName = getRIdFieldName(detachedObject.getClass());
             copy(detachedObject, attachedObject, Arrays.asList(idFieldName));
+            storeCompositeIndexes(detachedObject, ((RLiveObject) attachedObject).getLiveObjectId(), batchService);
         }
 
         ClassIntrospector.get().reset();
 
+        Set<Class<?>> entityClasses = new HashSet<>();
+        for (T detachedObject : detached2Attached.keySet()) {
+            if (entityClasses.add(detachedObject.getClass())) {
+                markCompositeIndexesBuilt(detachedObject.getClass());
+            }
+        }
+
         batchService.execute();
         return new ArrayList<>(detached2Attached.keySet());
     }
 
+    private void markCompositeIndexesBuilt(Class<?> entityClass) {
+        NamingScheme namingScheme = commandExecutor.getObjectBuilder().getNamingScheme(entityClass);
+        if (!CompositeIndex.of(entityClass, namingScheme).isEmpty()) {
+            // indexes of entity class without objects are marked as built before the first object is stored
+            CompositeIndex.readBuilt(commandExecutor, entityClass, namingScheme);
+        }
+    }
+
+    private void storeCompositeIndexes(Object detachedObject, Object id, CommandBatchService batchService) {
+        Class<?> entityClass = detachedObject.getClass();
+        NamingScheme namingScheme = commandExecutor.getObjectBuilder().getNamingScheme(entityClass);
+        List<CompositeIndex> indexes = new ArrayList<>();
+        Map<String, Object> values = new HashMap<>();
+        for (CompositeIndex index : CompositeIndex.of(entityClass, namingScheme)) {
+            boolean defined = false;
+            for (String field : index.getFields()) {
+                Object value = ClassUtils.getField(detachedObject, field);
+                values.put(field, value);
+                defined |= value != null;
+            }
+            if (defined) {
+                indexes.add(index);
+            }
+        }
+        if (!indexes.isEmpty()) {
+            CompositeIndex.storeAsync(batchService, indexes, namingScheme.getCodec(), id, values);
+        }
+    }
+
     private <T> Object getId(T detachedObject) {
         String idFieldName = getRIdFieldName(detachedObject.getClass());
         Object id = ClassUtils.getField(detachedObject, idFieldName);
@@ -296,6 +412,7 @@ public class RedissonLiveObjectService implements RLiveObjectService {
         List<String> excludedFields = new ArrayList<>();
         String idFieldName = getRIdFieldName(detachedObject.getClass());
         excludedFields.add(idFieldName);
+        markCompositeIndexesBuilt(detachedObject.getClass());
         boolean fastResult = liveMap.fastPut("redisson_live_object", "1");
         if (type == RCascadeType.PERSIST && !fastResult) {
             throw new IllegalArgumentException("This REntity already exists.");
@@ -639,6 +756,7 @@ public class RedissonLiveObjectService implements RLiveObjectService {
                 idsMultimap.removeAsync(value, liveObjectId);
             }
         }
+        CompositeIndex.removeAsync(ce, entityClass, namingScheme, liveObjectId);
         return new RedissonKeys(ce).deleteAsync(mapName);
     }
 
@@ -664,6 +782,7 @@ public class RedissonLiveObjectService implements RLiveObjectService {
                 idsMultimap.fastRemoveValueAsync(liveObjectId);
             }
         }
+        CompositeIndex.removeAsync(ce, entityClass, namingScheme, liveObjectId);
         ce.execute();
     }
 
@@ -713,6 +832,12 @@ public class RedissonLiveObjectService implements RLiveObjectService {
         return keys.getKeysByPattern(command, pattern, 0, count);
     }
 
+    @Override
+    public void rebuildIndexes(Class<?> entityClass) {
+        NamingScheme namingScheme = commandExecutor.getObjectBuilder().getNamingScheme(entityClass);
+        CompositeIndex.rebuild(commandExecutor, entityClass, namingScheme, findIds(entityClass, 100));
+    }
+
     @Override
     public <T> RLiveObject asLiveObject(T instance) {
         return (RLiveObject) instance;
@@ -813,6 +938,7 @@ public class RedissonLiveObjectService implements RLiveObjectService {
         for (InDefinedShape field : fields) {
             throw new IllegalArgumentException("RIndex annotation couldn't be defined for field '" + field.getName() + "' with type '" + field.getType() + "'");
         }
+        CompositeIndex.validate(entityClass);
         
         FieldList<FieldDescription.InDefinedShape> fieldsWithRIdAnnotation
                 = Introspectior.getFieldsWithAnnotation(entityClass, RId.class);
@@ -381,8 +381,8 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
     @Override
     public void destroy() {
         super.destroy();
-        cache.clear();
         listener.remove();
+        cache.clear();
     }
 
     @Override
@@ -0,0 +1,354 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import org.redisson.api.MapOptions;
+import org.redisson.api.RFuture;
+import org.redisson.api.RMapCacheNative;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * <p>Map-based cache with per entry TTL based on native Redis hash field expiration
+ * (HPEXPIRE, HPTTL, HPERSIST commands). Requires Redis 7.4.0 and higher.</p>
+ *
+ * <p>Entries are stored as plain hash fields and expired by Redis itself.
+ * Thus read operations are executed as plain commands and no eviction task is required.</p>
+ *
+ * <p>Data format isn't compatible with {@link RedissonMapCache}.</p>
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <K> key
+ * @param <V> value
+ */
+public class RedissonMapCacheNative<K, V> extends RedissonMap<K, V> implements RMapCacheNative<K, V> {
+
+    public RedissonMapCacheNative(CommandAsyncExecutor commandExecutor, String name, RedissonClient redisson,
+                                  MapOptions<K, V> options, WriteBehindService writeBehindService) {
+        super(commandExecutor, name, redisson, options, writeBehindService);
+    }
+
+    public RedissonMapCacheNative(Codec codec, CommandAsyncExecutor commandExecutor, String name, RedissonClient redisson,
+                                  MapOptions<K, V> options, WriteBehindService writeBehindService) {
+        super(codec, commandExecutor, name, redisson, options, writeBehindService);
+    }
+
+    private long toTTL(Duration ttl) {
+        if (ttl == null || ttl.isZero()) {
+            return 0;
+        }
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl can't be negative");
+        }
+        return ttl.toMillis();
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value, Duration ttl) {
+        return get(putIfAbsentAsync(key, value, ttl));
+    }
+
+    @Override
+    public RFuture<V> putIfAbsentAsync(K key, V value, Duration ttl) {
+        checkKey(key);
+        checkValue(value);
+
+        long ttlMillis = toTTL(ttl);
+        if (ttlMillis == 0) {
+            return putIfAbsentAsync(key, value);
+        }
+
+        String name = getRawName(key);
+        RFuture<V> future = commandExecutor.evalWriteAsync(name, codec, RedisCommands.EVAL_MAP_VALUE,
+                "local value = redis.call('hget', KEYS[1], ARGV[2]); "
+                    + "if value ~= false then "
+                        + "return value; "
+                    + "end; "
+                    + "redis.call('hset', KEYS[1], ARGV[2], ARGV[3]); "
+                    + "redis.call('hpexpire', KEYS[1], ARGV[1], 'fields', 1, ARGV[2]); "
+                    + "return nil;",
+                Collections.singletonList(name),
+                ttlMillis, encodeMapKey(key), encodeMapValue(value));
+        if (hasNoWriter()) {
+            return future;
+        }
+
+        MapWriterTask.Add task = new MapWriterTask.Add(key, value);
+        return mapWriterFuture(future, task, r -> r == null);
+    }
+
+    @Override
+    public V put(K key, V value, Duration ttl) {
+        return get(putAsync(key, value, ttl));
+    }
+
+    @Override
+    public RFuture<V> putAsync(K key, V value, Duration ttl) {
+        checkKey(key);
+        checkValue(value);
+
+        long ttlMillis = toTTL(ttl);
+        if (ttlMillis == 0) {
+            return putAsync(key, value);
+        }
+
+        String name = getRawName(key);
+        RFuture<V> future = commandExecutor.evalWriteAsync(name, codec, RedisCommands.EVAL_MAP_VALUE,
+                "local value = redis.call('hget', KEYS[1], ARGV[2]); "
+                    + "redis.call('hset', KEYS[1], ARGV[2], ARGV[3]); "
+                    + "redis.call('hpexpire', KEYS[1], ARGV[1], 'fields', 1, ARGV[2]); "
+                    + "return value;",
+                Collections.singletonList(name),
+                ttlMillis, encodeMapKey(key), encodeMapValue(value));
+        if (hasNoWriter()) {
+            return future;
+        }
+
+        MapWriterTask.Add task = new MapWriterTask.Add(key, value);
+        return mapWriterFuture(future, task);
+    }
+
+    @Override
+    public boolean fastPut(K key, V value, Duration ttl) {
+        return get(fastPutAsync(key, value, ttl));
+    }
+
+    @Override
+    public RFuture<Boolean> fastPutAsync(K key, V value, Duration ttl) {
+        checkKey(key);
+        checkValue(value);
+
+        long ttlMillis = toTTL(ttl);
+        if (ttlMillis == 0) {
+            return fastPutAsync(key, value);
+        }
+
+        String name = getRawName(key);
+        RFuture<Boolean> future = commandExecutor.evalWriteAsync(name, codec, RedisCommands.EVAL_BOOLEAN,
+                "local added = redis.call('hset', KEYS[1], ARGV[2], ARGV[3]); "
+                    + "redis.call('hpexpire', KEYS[1], ARGV[1], 'fields', 1, ARGV[2]); "
+                    + "return added;",
+                Collections.singletonList(name),
+                ttlMillis, encodeMapKey(key), encodeMapValue(value));
+        if (hasNoWriter()) {
+            return future;
+        }
+
+        return mapWriterFuture(future, new MapWriterTask.Add(key, value));
+    }
+
+    @Override
+    public boolean fastPutIfAbsent(K key, V value, Duration ttl) {
+        return get(fastPutIfAbsentAsync(key, value, ttl));
+    }
+
+    @Override
+    public RFuture<Boolean> fastPutIfAbsentAsync(K key, V value, Duration ttl) {
+        checkKey(key);
+        checkValue(value);
+
+        long ttlMillis = toTTL(ttl);
+        if (ttlMillis == 0) {
+            return fastPutIfAbsentAsync(key, value);
+        }
+
+        String name = getRawName(key);
+        RFuture<Boolean> future = commandExecutor.evalWriteAsync(name, codec, RedisCommands.EVAL_BOOLEAN,
+                "if redis.call('hsetnx', KEYS[1], ARGV[2], ARGV[3]) == 0 then "
+                        + "return 0; "
+                    + "end; "
+                    + "redis.call('hpexpire', KEYS[1], ARGV[1], 'fields', 1, ARGV[2]); "
+                    + "return 1;",
+                Collections.singletonList(name),
+                ttlMillis, encodeMapKey(key), encodeMapValue(value));
+        if (hasNoWriter()) {
+            return future;
+        }
+
+        MapWriterTask.Add task = new MapWriterTask.Add(key, value);
+        return mapWriterFuture(future, task, r -> r);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map, Duration ttl) {
+        get(putAllAsync(map, ttl));
+    }
+
+    @Override
+    public RFuture<Void> putAllAsync(Map<? extends K, ? extends V> map, Duration ttl) {
+        if (map.isEmpty()) {
+            return new CompletableFutureWrapper<>((Void) null);
+        }
+
+        long ttlMillis = toTTL(ttl);
+        if (ttlMillis == 0) {
+            return putAllAsync(map);
+        }
+
+        List<Object> params = new ArrayList<>(map.size()*2 + 1);
+        params.add(ttlMillis);
+        for (Map.Entry<? extends K, ? extends V> t : map.entrySet()) {
+            checkKey(t.getKey());
+            checkValue(t.getValue());
+
+            params.add(encodeMapKey(t.getKey()));
+            params.add(encodeMapValue(t.getValue()));
+        }
+
+        RFuture<Void> future = commandExecutor.evalWriteAsync(getRawName(), codec, RedisCommands.EVAL_VOID,
+                "for i = 2, #ARGV, 2 do "
+                    + "redis.call('hset', KEYS[1], ARGV[i], ARGV[i+1]); "
+                    + "redis.call('hpexpire', KEYS[1], ARGV[1], 'fields', 1, ARGV[i]); "
+                + "end;",
+                Collections.singletonList(getRawName()), params.toArray());
+        if (hasNoWriter()) {
+            return future;
+        }
+
+        MapWriterTask listener = new MapWriterTask.Add(map);
+        return mapWriterFuture(future, listener);
+    }
+
+    @Override
+    public boolean expireEntry(K key, Duration ttl) {
+        return get(expireEntryAsync(key, ttl));
+    }
+
+    @Override
+    public RFuture<Boolean> expireEntryAsync(K key, Duration ttl) {
+        checkKey(key);
+
+        long ttlMillis = toTTL(ttl);
+        String name = getRawName(key);
+        return commandExecutor.evalWriteAsync(name, codec, RedisCommands.EVAL_BOOLEAN,
+                "if redis.call('hexists', KEYS[1], ARGV[2]) == 0 then "
+                        + "return 0; "
+                    + "end; "
+                    + "if tonumber(ARGV[1]) > 0 then "
+                        + "redis.call('hpexpire', KEYS[1], ARGV[1], 'fields', 1, ARGV[2]); "
+                    + "else "
+                        + "redis.call('hpersist', KEYS[1], 'fields', 1, ARGV[2]); "
+                    + "end; "
+                    + "return 1;",
+                Collections.singletonList(name),
+                ttlMillis, encodeMapKey(key));
+    }
+
+    @Override
+    public boolean expireEntryIfNotSet(K key, Duration ttl) {
+        return get(expireEntryIfNotSetAsync(key, ttl));
+    }
+
+    @Override
+    public RFuture<Boolean> expireEntryIfNotSetAsync(K key, Duration ttl) {
+        checkKey(key);
+
+        long ttlMillis = toTTL(ttl);
+        if (ttlMillis == 0) {
+            return new CompletableFutureWrapper<>(false);
+        }
+
+        String name = getRawName(key);
+        return commandExecutor.evalWriteAsync(name, codec, RedisCommands.EVAL_BOOLEAN,
+                "local result = redis.call('hpexpire', KEYS[1], ARGV[1], 'nx', 'fields', 1, ARGV[2]); "
+                    + "if result[1] == 1 then "
+                        + "return 1; "
+                    + "end; "
+                    + "return 0;",
+                Collections.singletonList(name),
+                ttlMillis, encodeMapKey(key));
+    }
+
+    @Override
+    public int expireEntries(Set<K> keys, Duration ttl) {
+        return get(expireEntriesAsync(keys, ttl));
+    }
+
+    @Override
+    public RFuture<Integer> expireEntriesAsync(Set<K> keys, Duration ttl) {
+        return expireEntriesAsync(keys, ttl, false);
+    }
+
+    @Override
+    public int expireEntriesIfNotSet(Set<K> keys, Duration ttl) {
+        return get(expireEntriesIfNotSetAsync(keys, ttl));
+    }
+
+    @Override
+    public RFuture<Integer> expireEntriesIfNotSetAsync(Set<K> keys, Duration ttl) {
+        return expireEntriesAsync(keys, ttl, true);
+    }
+
+    private RFuture<Integer> expireEntriesAsync(Set<K> keys, Duration ttl, boolean ifNotSet) {
+        if (keys.isEmpty()) {
+            return new CompletableFutureWrapper<>(0);
+        }
+
+        long ttlMillis = toTTL(ttl);
+        if (ttlMillis == 0 && ifNotSet) {
+            return new CompletableFutureWrapper<>(0);
+        }
+
+        List<Object> params = new ArrayList<>(keys.size() + 2);
+        params.add(ttlMillis);
+        params.add(ifNotSet);
+        encodeMapKeys(params, keys);
+
+        return commandExecutor.evalWriteAsync(getRawName(), codec, RedisCommands.EVAL_INTEGER,
+                "local result = 0; "
+                    + "for i = 3, #ARGV, 1 do "
+                        + "if tonumber(ARGV[1]) == 0 then "
+                            + "if redis.call('hexists', KEYS[1], ARGV[i]) == 1 then "
+                                + "redis.call('hpersist', KEYS[1], 'fields', 1, ARGV[i]); "
+                                + "result = result + 1; "
+                            + "end; "
+                        + "else "
+                            + "local r; "
+                            + "if ARGV[2] == 'true' then "
+                                + "r = redis.call('hpexpire', KEYS[1], ARGV[1], 'nx', 'fields', 1, ARGV[i]); "
+                            + "else "
+                                + "r = redis.call('hpexpire', KEYS[1], ARGV[1], 'fields', 1, ARGV[i]); "
+                            + "end; "
+                            + "if r[1] == 1 then "
+                                + "result = result + 1; "
+                            + "end; "
+                        + "end; "
+                    + "end; "
+                    + "return result;",
+                Collections.singletonList(getRawName()), params.toArray());
+    }
+
+    @Override
+    public long remainTimeToLive(K key) {
+        return get(remainTimeToLiveAsync(key));
+    }
+
+    @Override
+    public RFuture<Long> remainTimeToLiveAsync(K key) {
+        checkKey(key);
+
+        String name = getRawName(key);
+        return commandExecutor.readAsync(name, codec, RedisCommands.HPTTL, name, "FIELDS", 1, encodeMapKey(key));
+    }
+
+}
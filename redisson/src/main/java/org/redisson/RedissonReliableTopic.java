@@ -32,7 +32,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -92,6 +94,14 @@ public class RedissonReliableTopic extends RedissonExpirable implements RReliabl
         return suffixName(getRawName(), "timeout");
     }
 
+    private String getOffsets() {
+        return suffixName(getRawName(), "offsets");
+    }
+
+    private String getOffsetIds() {
+        return suffixName(getRawName(), "offset_ids");
+    }
+
     @Override
     public long publish(Object message) {
         return get(publishAsync(message));
@@ -154,8 +164,36 @@ public class RedissonReliableTopic extends RedissonExpirable implements RReliabl
 
         RFuture<Void> addFuture = commandExecutor.evalWriteNoRetryAsync(getRawName(), StringCodec.INSTANCE, RedisCommands.EVAL_VOID,
                           "redis.call('zadd', KEYS[2], ARGV[3], ARGV[2]);" +
-                                "redis.call('xgroup', 'create', KEYS[1], ARGV[2], ARGV[1], 'MKSTREAM'); ",
-                Arrays.asList(getRawName(), getTimeout()),
+                                "redis.call('xgroup', 'create', KEYS[1], ARGV[2], ARGV[1], 'MKSTREAM'); " +
+                                "redis.call('zadd', KEYS[3], 0, ARGV[2]); " +
+                                "redis.call('hset', KEYS[4], ARGV[2], '0-0'); " +
+
+                                // groups without stored offset (created by other clients or before offsets
+                                // were tracked) are seeded once, so their messages aren't trimmed before consumption
+                                "local groups = redis.call('xinfo', 'groups', KEYS[1]); " +
+                                "if #groups > redis.call('hlen', KEYS[4]) then " +
+                                    "for i, group in ipairs(groups) do " +
+                                        "local name, pending, lastId; " +
+                                        "for j = 1, #group, 2 do " +
+                                            "if group[j] == 'name' then " +
+                                                "name = group[j + 1]; " +
+                                            "elseif group[j] == 'pending' then " +
+                                                "pending = group[j + 1]; " +
+                                            "elseif group[j] == 'last-delivered-id' then " +
+                                                "lastId = group[j + 1]; " +
+                                            "end; " +
+                                        "end; " +
+                                        "if redis.call('hexists', KEYS[4], name) == 0 then " +
+                                            "local offset = '0-0'; " +
+                                            "if pending == 0 then " +
+                                                "offset = lastId; " +
+                                            "end; " +
+                                            "redis.call('hset', KEYS[4], name, offset); " +
+                                            "redis.call('zadd', KEYS[3], string.match(offset, '(%d+)%-'), name); " +
+                                        "end; " +
+                                    "end; " +
+                                "end; ",
+                Arrays.asList(getRawName(), getTimeout(), getOffsets(), getOffsetIds()),
         StreamMessageId.ALL, subscriberId, System.currentTimeMillis() + getServiceManager().getCfg().getReliableTopicWatchdogTimeout());
         CompletionStage<String> f = addFuture.thenApply(r -> {
             poll(subscriberId);
@@ -166,7 +204,8 @@ public class RedissonReliableTopic extends RedissonExpirable implements RReliabl
     }
 
     private void poll(String id) {
-        RFuture<Map<StreamMessageId, Map<String, Object>>> f = stream.pendingRangeAsync(id, StreamMessageId.MIN, StreamMessageId.MAX, 100);
+        int batchSize = getServiceManager().getCfg().getReliableTopicBatchSize();
+        RFuture<Map<StreamMessageId, Map<String, Object>>> f = stream.pendingRangeAsync(id, StreamMessageId.MIN, StreamMessageId.MAX, batchSize);
         CompletionStage<Map<StreamMessageId, Map<String, Object>>> ff = f.thenCompose(r -> {
             if (!subscribed.get()) {
                 return CompletableFuture.completedFuture(r);
@@ -174,7 +213,7 @@ public class RedissonReliableTopic extends RedissonExpirable implements RReliabl
 
             if (r.isEmpty()) {
                 readFuture = stream.readGroupAsync(id, "consumer",
-                                        StreamReadGroupArgs.neverDelivered().timeout(Duration.ofSeconds(0)));
+                                        StreamReadGroupArgs.neverDelivered().count(batchSize).timeout(Duration.ofSeconds(0)));
                 return readFuture;
             }
             return CompletableFuture.completedFuture(r);
@@ -198,50 +237,75 @@ public class RedissonReliableTopic extends RedissonExpirable implements RReliabl
                 return;
             }
 
-            CompletableFuture<Void> done = new CompletableFuture<>();
-            if (!listeners.isEmpty()) {
-                getServiceManager().getExecutor().execute(() -> {
-                    for (Map.Entry<StreamMessageId, Map<String, Object>> entry : res.entrySet()) {
-                        Object m = entry.getValue().get("m");
-                        listeners.values().forEach(e -> {
-                            if (e.getType().isInstance(m)) {
-                                ((MessageListener<Object>) e.getListener()).onMessage(getRawName(), m);
-                                stream.ack(id, entry.getKey());
-                            }
-                        });
-                    }
-                    done.complete(null);
-                });
+            CompletableFuture<Void> done;
+            if (!listeners.isEmpty() && !res.isEmpty()) {
+                done = notifyListeners(res);
             } else {
-                done.complete(null);
+                done = CompletableFuture.completedFuture(null);
             }
 
             done.thenAccept(r -> {
-                long time = System.currentTimeMillis();
+                List<Object> args = new ArrayList<>(res.size() + 3);
+                args.add(id);
+                args.add(System.currentTimeMillis());
+                StreamMessageId lastId = null;
+                for (StreamMessageId messageId : res.keySet()) {
+                    if (lastId == null
+                            || messageId.getId0() > lastId.getId0()
+                                || (messageId.getId0() == lastId.getId0() && messageId.getId1() > lastId.getId1())) {
+                        lastId = messageId;
+                    }
+                }
+                args.add(String.valueOf(lastId));
+                args.addAll(res.keySet());
+
+                // acknowledges batch, stores offset of subscriber and
+                // trims messages consumed by all subscribers
                 RFuture<Boolean> updateFuture = commandExecutor.evalWriteAsync(getRawName(), StringCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
                                 "local expired = redis.call('zrangebyscore', KEYS[2], 0, tonumber(ARGV[2]) - 1); "
                                 + "for i, v in ipairs(expired) do "
                                     + "redis.call('xgroup', 'destroy', KEYS[1], v); "
+                                    + "redis.call('zrem', KEYS[2], v); "
+                                    + "redis.call('zrem', KEYS[3], v); "
+                                    + "redis.call('hdel', KEYS[4], v); "
                                 + "end; "
                                 + "local r = redis.call('zscore', KEYS[2], ARGV[1]); "
+                                + "if r == false then "
+                                    + "return 0; "
+                                + "end; "
 
-                                + "local score = 92233720368547758;"
-                                + "local groups = redis.call('xinfo', 'groups', KEYS[1]); " +
-                                  "for i, v in ipairs(groups) do "
-                                     + "local id1, id2 = string.match(v[8], '(.*)%-(.*)'); "
-                                     + "score = math.min(tonumber(id1), score); "
-                                + "end; " +
-
-                                  "score = tostring(score) .. '-0';"
-                                + "local range = redis.call('xrange', KEYS[1], score, '+'); "
-                                + "if #range == 0 or (#range == 1 and range[1][1] == score) then "
-                                    + "redis.call('xtrim', KEYS[1], 'maxlen', 0); "
-                                + "else "
-                                    + "redis.call('xtrim', KEYS[1], 'maxlen', #range); "
-                                + "end;"
-                                + "return r ~= false; ",
-                        Arrays.asList(getRawName(), getTimeout()),
-                        id, time);
+                                + "if #ARGV > 3 then "
+                                    + "for i = 4, #ARGV, 1000 do "
+                                        + "redis.call('xack', KEYS[1], ARGV[1], unpack(ARGV, i, math.min(i + 999, #ARGV))); "
+                                    + "end; "
+                                    + "local ms = string.match(ARGV[3], '(%d+)%-'); "
+                                    + "redis.call('zadd', KEYS[3], ms, ARGV[1]); "
+                                    + "redis.call('hset', KEYS[4], ARGV[1], ARGV[3]); "
+                                + "end; "
+
+                                + "local first = redis.call('zrange', KEYS[3], 0, 0, 'withscores'); "
+                                + "if #first == 0 then "
+                                    + "return 1; "
+                                + "end; "
+                                + "local minMs = nil; "
+                                + "local minSeq = nil; "
+                                + "local candidates = redis.call('zrangebyscore', KEYS[3], first[2], first[2]); "
+                                + "for i, v in ipairs(candidates) do "
+                                    + "local offset = redis.call('hget', KEYS[4], v); "
+                                    + "if offset ~= false then "
+                                        + "local id1, id2 = string.match(offset, '(%d+)%-(%d+)'); "
+                                        + "if minSeq == nil or tonumber(id2) < minSeq then "
+                                            + "minMs = id1; "
+                                            + "minSeq = tonumber(id2); "
+                                        + "end; "
+                                    + "end; "
+                                + "end; "
+                                + "if minSeq ~= nil then "
+                                    + "redis.call('xtrim', KEYS[1], 'minid', minMs .. '-' .. string.format('%d', minSeq + 1)); "
+                                + "end; "
+                                + "return 1; ",
+                        Arrays.asList(getRawName(), getTimeout(), getOffsets(), getOffsetIds()),
+                        args.toArray());
 
                 updateFuture.whenComplete((re, exc) -> {
                     if (exc != null) {
@@ -263,29 +327,67 @@ public class RedissonReliableTopic extends RedissonExpirable implements RReliabl
         });
     }
 
+    private CompletableFuture<Void> notifyListeners(Map<StreamMessageId, Map<String, Object>> messages) {
+        List<Entry> entries = new ArrayList<>(listeners.values());
+        if (!getServiceManager().getCfg().isReliableTopicParallelListeners()
+                || entries.size() == 1) {
+            return CompletableFuture.runAsync(() -> {
+                for (Map<String, Object> message : messages.values()) {
+                    Object m = message.get("m");
+                    for (Entry entry : entries) {
+                        notifyListener(entry, m);
+                    }
+                }
+            }, getServiceManager().getExecutor());
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            CompletableFuture<Void> f = CompletableFuture.runAsync(() -> {
+                for (Map<String, Object> message : messages.values()) {
+                    notifyListener(entry, message.get("m"));
+                }
+            }, getServiceManager().getExecutor());
+            futures.add(f);
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    private void notifyListener(Entry entry, Object m) {
+        if (!entry.getType().isInstance(m)) {
+            return;
+        }
+
+        try {
+            ((MessageListener<Object>) entry.getListener()).onMessage(getRawName(), m);
+        } catch (Exception e) {
+            log.error("Unable to handle message of {} topic", getRawName(), e);
+        }
+    }
+
     @Override
     public RFuture<Boolean> deleteAsync() {
-        return deleteAsync(getRawName(), getTimeout());
+        return deleteAsync(getRawName(), getTimeout(), getOffsets(), getOffsetIds());
     }
 
     @Override
     public RFuture<Long> sizeInMemoryAsync() {
-        return super.sizeInMemoryAsync(Arrays.asList(getRawName(), getTimeout()));
+        return super.sizeInMemoryAsync(Arrays.asList(getRawName(), getTimeout(), getOffsets(), getOffsetIds()));
     }
 
     @Override
     public RFuture<Boolean> expireAsync(long timeToLive, TimeUnit timeUnit, String param, String... keys) {
-        return super.expireAsync(timeToLive, timeUnit, param, getRawName(), getTimeout());
+        return super.expireAsync(timeToLive, timeUnit, param, getRawName(), getTimeout(), getOffsets(), getOffsetIds());
     }
 
     @Override
     protected RFuture<Boolean> expireAtAsync(long timestamp, String param, String... keys) {
-        return super.expireAtAsync(timestamp, param, getRawName(), getTimeout());
+        return super.expireAtAsync(timestamp, param, getRawName(), getTimeout(), getOffsets(), getOffsetIds());
     }
 
     @Override
     public RFuture<Boolean> clearExpireAsync() {
-        return clearExpireAsync(getRawName(), getTimeout());
+        return clearExpireAsync(getRawName(), getTimeout(), getOffsets(), getOffsetIds());
     }
 
     @Override
@@ -305,8 +407,10 @@ public class RedissonReliableTopic extends RedissonExpirable implements RReliabl
 
         return commandExecutor.evalWriteAsync(getRawName(), StringCodec.INSTANCE, RedisCommands.EVAL_VOID,
                 "redis.call('xgroup', 'destroy', KEYS[1], ARGV[1]); "
-                      + "redis.call('zrem', KEYS[2], ARGV[1]); ",
-                Arrays.asList(getRawName(), getTimeout()),
+                      + "redis.call('zrem', KEYS[2], ARGV[1]); "
+                      + "redis.call('zrem', KEYS[3], ARGV[1]); "
+                      + "redis.call('hdel', KEYS[4], ARGV[1]); ",
+                Arrays.asList(getRawName(), getTimeout(), getOffsets(), getOffsetIds()),
                 subscriberId);
     }
 
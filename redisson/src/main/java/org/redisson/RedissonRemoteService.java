@@ -27,11 +27,11 @@ import org.redisson.remote.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Arrays;
-import java.util.Map;
-import java.util.Optional;
+import java.time.Duration;
+import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * 
@@ -42,24 +42,40 @@ public class RedissonRemoteService extends BaseRemoteService implements RRemoteS
 
     public static class Entry {
         
-        RFuture<String> future;
+        RFuture<?> future;
         final AtomicInteger counter;
+        final int batchSize;
+        final RemoteServiceBatchingQueue batchingQueue;
         
         public Entry(int workers) {
+            this(workers, 1, null);
+        }
+
+        public Entry(int workers, int batchSize, RemoteServiceBatchingQueue batchingQueue) {
             counter = new AtomicInteger(workers);
+            this.batchSize = batchSize;
+            this.batchingQueue = batchingQueue;
         }
         
-        public void setFuture(RFuture<String> future) {
+        public void setFuture(RFuture<?> future) {
             this.future = future;
         }
         
-        public RFuture<String> getFuture() {
+        public RFuture<?> getFuture() {
             return future;
         }
         
         public AtomicInteger getCounter() {
             return counter;
         }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public RemoteServiceBatchingQueue getBatchingQueue() {
+            return batchingQueue;
+        }
         
     }
     
@@ -146,11 +162,31 @@ public class RedissonRemoteService extends BaseRemoteService implements RRemoteS
 
     @Override
     public <T> void register(Class<T> remoteInterface, T object, int workers, ExecutorService executor) {
-        if (workers < 1) {
+        register(remoteInterface, object, RemoteWorkerOptions.defaults()
+                                                .workers(workers)
+                                                .executorService(executor));
+    }
+
+    @Override
+    public <T> void register(Class<T> remoteInterface, T object, RemoteWorkerOptions options) {
+        if (options.getWorkers() < 1) {
             throw new IllegalArgumentException("executorsAmount can't be lower than 1");
         }
+        if (options.getBatchSize() < 1) {
+            throw new IllegalArgumentException("batchSize can't be lower than 1");
+        }
 
-        if (remoteMap.putIfAbsent(remoteInterface, new Entry(workers)) != null) {
+        ExecutorService executor = options.getExecutorService();
+        if (executor == null) {
+            executor = commandExecutor.getServiceManager().getExecutor();
+        }
+
+        RemoteServiceBatchingQueue batchingQueue = null;
+        if (options.getBatchSize() > 1) {
+            batchingQueue = new RemoteServiceBatchingQueue(commandExecutor, options.getBatchSize(), options.getBatchDelay());
+        }
+        Entry entry = new Entry(options.getWorkers(), options.getBatchSize(), batchingQueue);
+        if (remoteMap.putIfAbsent(remoteInterface, entry) != null) {
             return;
         }
         
@@ -181,7 +217,7 @@ public class RedissonRemoteService extends BaseRemoteService implements RRemoteS
             throw new IllegalStateException("Task can't be found for request: " + requestId);
         }
 
-        RFuture<RRemoteServiceResponse> r = executeMethod(remoteInterface, requestQueue, executorService, request, object);
+        RFuture<RRemoteServiceResponse> r = executeMethod(remoteInterface, requestQueue, executorService, request, object, null);
         commandExecutor.getInterrupted(r);
         return true;
     }
@@ -214,7 +250,7 @@ public class RedissonRemoteService extends BaseRemoteService implements RRemoteS
                     throw new CompletionException(new IllegalStateException("Task can't be found for request: " + requestId));
                 }
 
-                RFuture<RRemoteServiceResponse> future = executeMethod(remoteInterface, requestQueue, executor, request, object);
+                RFuture<RRemoteServiceResponse> future = executeMethod(remoteInterface, requestQueue, executor, request, object, null);
                 return future.thenApply(r -> true);
             });
         });
@@ -232,6 +268,11 @@ public class RedissonRemoteService extends BaseRemoteService implements RRemoteS
         if (entry == null) {
             return;
         }
+        if (entry.getBatchSize() > 1) {
+            subscribeBatch(entry, remoteInterface, requestQueue, executor, bean);
+            return;
+        }
+
         RFuture<String> take = requestQueue.pollAsync(60, TimeUnit.SECONDS);
         entry.setFuture(take);
         take.whenComplete((requestId, e) -> {
@@ -290,86 +331,164 @@ public class RedissonRemoteService extends BaseRemoteService implements RRemoteS
                         resubscribe(remoteInterface, requestQueue, executor, bean);
                         return;
                     }
-                    
-                    long elapsedTime = System.currentTimeMillis() - request.getDate();
-                    // check the ack only if expected
-                    if (request.getOptions().isAckExpected() && elapsedTime > request
-                            .getOptions().getAckTimeoutInMillis()) {
-                        log.debug("request: {} has been skipped due to ackTimeout. Elapsed time: {}ms", request.getId(), elapsedTime);
-                        
-                        // re-subscribe after a skipped ackTimeout
-                        resubscribe(remoteInterface, requestQueue, executor, bean);
+
+                    processRequest(remoteInterface, requestQueue, executor, bean, request, null);
+                });
+        });
+    }
+
+    private <T> void subscribeBatch(Entry entry, Class<T> remoteInterface, RBlockingQueue<String> requestQueue,
+            ExecutorService executor, Object bean) {
+        int count = Math.min(entry.getBatchSize(), entry.getCounter().get());
+        if (count == 0) {
+            return;
+        }
+
+        RFuture<Map<String, List<String>>> take = requestQueue.pollFirstFromAnyAsync(Duration.ofSeconds(60), count);
+        entry.setFuture(take);
+        take.whenComplete((res, e) -> {
+            if (remoteMap.get(remoteInterface) != entry) {
+                return;
+            }
+
+            if (e != null) {
+                if (e instanceof RedissonShutdownException) {
+                    return;
+                }
+                log.error("Can't process the remote service request.", e);
+                // re-subscribe after a failed takeAsync
+                subscribe(remoteInterface, requestQueue, executor, bean);
+                return;
+            }
+
+            List<String> requestIds = Collections.emptyList();
+            if (res != null && !res.isEmpty()) {
+                requestIds = res.values().iterator().next();
+            }
+            if (requestIds.isEmpty()) {
+                subscribe(remoteInterface, requestQueue, executor, bean);
+                return;
+            }
+
+            if (entry.getCounter().addAndGet(-requestIds.size()) > 0) {
+                subscribe(remoteInterface, requestQueue, executor, bean);
+            }
+
+            List<String> ids = requestIds;
+            RFuture<List<RemoteServiceRequest>> tasksFuture = getTasks(requestQueue, ids);
+            tasksFuture.whenComplete((requests, exc) -> {
+                if (exc != null) {
+                    if (exc instanceof RedissonShutdownException) {
                         return;
                     }
+                    log.error("Can't process the remote service requests with ids {}", ids, exc);
 
+                    for (int i = 0; i < ids.size(); i++) {
+                        resubscribe(remoteInterface, requestQueue, executor, bean);
+                    }
+                    return;
+                }
 
-                    // send the ack only if expected
-                    if (request.getOptions().isAckExpected()) {
-                        String responseName = getResponseQueueName(request.getExecutorId());
-                        String ackName = getAckName(request.getId());
-                                RFuture<Boolean> ackClientsFuture = commandExecutor.evalWriteNoRetryAsync(responseName,
-                                        LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
-                                            "if redis.call('setnx', KEYS[1], 1) == 1 then " 
-                                                + "redis.call('pexpire', KEYS[1], ARGV[1]);"
-//                                                    + "redis.call('rpush', KEYS[2], ARGV[1]);"
-//                                                    + "redis.call('pexpire', KEYS[2], ARGV[2]);" 
-                                                + "return 1;" 
-                                            + "end;" 
-                                            + "return 0;",
-                                        Arrays.<Object>asList(ackName),
-                                        request.getOptions().getAckTimeoutInMillis());
-//                                            Arrays.<Object>asList(ackName, responseName),
-//                                            encode(new RemoteServiceAck(request.getId())), request.getOptions().getAckTimeoutInMillis());
-
-                                ackClientsFuture.whenComplete((r, ex) -> {
-                                    if (ex != null) {
-                                        if (ex instanceof RedissonShutdownException) {
-                                            return;
-                                        }
-                                        log.error("Can't send ack for request: {}", request, ex);
-
-                                        // re-subscribe after a failed send (ack)
-                                        resubscribe(remoteInterface, requestQueue, executor, bean);
-                                        return;
-                                    }
-
-                                    if (!r) {
-                                        resubscribe(remoteInterface, requestQueue, executor, bean);
-                                        return;
-                                    }
-                                    
-
-                                    RList<Object> list = new RedissonList<>(codec, commandExecutor, responseName, null);
-                                    RFuture<Boolean> addFuture = list.addAsync(new RemoteServiceAck(request.getId()));
-                                    addFuture.whenComplete((res, exce) -> {
-                                        if (exce != null) {
-                                            if (exce instanceof RedissonShutdownException) {
-                                                return;
-                                            }
-                                            log.error("Can't send ack for request: {}", request, exce);
-
-                                            // re-subscribe after a failed send (ack)
-                                            resubscribe(remoteInterface, requestQueue, executor, bean);
-                                            return;
-                                        }
-
-                                        if (!res) {
-                                            resubscribe(remoteInterface, requestQueue, executor, bean);
-                                            return;
-                                        }
-                                        
-                                        executeMethod(remoteInterface, requestQueue, executor, request, bean);
-                                    });
-                                });
-                    } else {
-                        executeMethod(remoteInterface, requestQueue, executor, request, bean);
+                for (int i = 0; i < ids.size(); i++) {
+                    RemoteServiceRequest request = requests.get(i);
+                    if (request == null) {
+                        log.debug("Task can't be found for request: {}", ids.get(i));
+
+                        resubscribe(remoteInterface, requestQueue, executor, bean);
+                        continue;
                     }
-                });
+
+                    processRequest(remoteInterface, requestQueue, executor, bean, request, entry.getBatchingQueue());
+                }
+            });
         });
     }
-    
+
+    private <T> void processRequest(Class<T> remoteInterface, RBlockingQueue<String> requestQueue,
+            ExecutorService executor, Object bean, RemoteServiceRequest request, RemoteServiceBatchingQueue batchingQueue) {
+        long elapsedTime = System.currentTimeMillis() - request.getDate();
+        // check the ack only if expected
+        if (request.getOptions().isAckExpected() && elapsedTime > request
+                .getOptions().getAckTimeoutInMillis()) {
+            log.debug("request: {} has been skipped due to ackTimeout. Elapsed time: {}ms", request.getId(), elapsedTime);
+
+            // re-subscribe after a skipped ackTimeout
+            resubscribe(remoteInterface, requestQueue, executor, bean);
+            return;
+        }
+
+        // send the ack only if expected
+        if (!request.getOptions().isAckExpected()) {
+            executeMethod(remoteInterface, requestQueue, executor, request, bean, batchingQueue);
+            return;
+        }
+
+        String responseName = getResponseQueueName(request.getExecutorId());
+        String ackName = getAckName(request.getId());
+        CompletionStage<Boolean> ackClientsFuture = execute(batchingQueue, executorService ->
+                executorService.evalWriteNoRetryAsync(responseName,
+                    LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                        "if redis.call('setnx', KEYS[1], 1) == 1 then "
+                            + "redis.call('pexpire', KEYS[1], ARGV[1]);"
+                            + "return 1;"
+                        + "end;"
+                        + "return 0;",
+                    Arrays.<Object>asList(ackName),
+                    request.getOptions().getAckTimeoutInMillis()));
+
+        ackClientsFuture.whenComplete((r, ex) -> {
+            if (ex != null) {
+                if (ex instanceof RedissonShutdownException) {
+                    return;
+                }
+                log.error("Can't send ack for request: {}", request, ex);
+
+                // re-subscribe after a failed send (ack)
+                resubscribe(remoteInterface, requestQueue, executor, bean);
+                return;
+            }
+
+            if (!r) {
+                resubscribe(remoteInterface, requestQueue, executor, bean);
+                return;
+            }
+
+            CompletionStage<Boolean> addFuture = execute(batchingQueue, executorService -> {
+                RList<Object> list = new RedissonList<>(codec, executorService, responseName, null);
+                return list.addAsync(new RemoteServiceAck(request.getId()));
+            });
+            addFuture.whenComplete((res, exce) -> {
+                if (exce != null) {
+                    if (exce instanceof RedissonShutdownException) {
+                        return;
+                    }
+                    log.error("Can't send ack for request: {}", request, exce);
+
+                    // re-subscribe after a failed send (ack)
+                    resubscribe(remoteInterface, requestQueue, executor, bean);
+                    return;
+                }
+
+                if (!res) {
+                    resubscribe(remoteInterface, requestQueue, executor, bean);
+                    return;
+                }
+
+                executeMethod(remoteInterface, requestQueue, executor, request, bean, batchingQueue);
+            });
+        });
+    }
+
+    private <R> CompletionStage<R> execute(RemoteServiceBatchingQueue batchingQueue,
+                                           Function<CommandAsyncExecutor, RFuture<R>> function) {
+        if (batchingQueue == null) {
+            return function.apply(commandExecutor);
+        }
+        return batchingQueue.add(function);
+    }
+
     private <T> RFuture<RRemoteServiceResponse> executeMethod(Class<T> remoteInterface, RBlockingQueue<String> requestQueue,
-            ExecutorService executor, RemoteServiceRequest request, Object bean) {
+            ExecutorService executor, RemoteServiceRequest request, Object bean, RemoteServiceBatchingQueue batchingQueue) {
         RemoteServiceMethod method = Arrays.stream(remoteInterface.getMethods())
                 .filter(m -> m.getName().equals(request.getMethodName())
                                 && Arrays.equals(getMethodSignature(m), request.getSignature()))
@@ -391,7 +510,6 @@ public class RedissonRemoteService extends BaseRemoteService implements RRemoteS
                     timeout = request.getOptions().getExecutionTimeoutInMillis();
                 }
 
-                RBlockingQueueAsync<RRemoteServiceResponse> queue = getBlockingQueue(responseName, codec);
                 try {
                     RRemoteServiceResponse response;
                     if (result instanceof RemoteServiceResponse
@@ -401,8 +519,13 @@ public class RedissonRemoteService extends BaseRemoteService implements RRemoteS
                     } else {
                         response = result;
                     }
-                    RFuture<Void> clientsFuture = queue.putAsync(response);
-                    queue.expireAsync(timeout, TimeUnit.MILLISECONDS);
+                    long responseTimeout = timeout;
+                    CompletionStage<Void> clientsFuture = execute(batchingQueue, executorService -> {
+                        RBlockingQueueAsync<RRemoteServiceResponse> queue = new RedissonBlockingQueue<>(codec, executorService, responseName);
+                        RFuture<Void> putFuture = queue.putAsync(response);
+                        queue.expireAsync(responseTimeout, TimeUnit.MILLISECONDS);
+                        return putFuture;
+                    });
 
                     clientsFuture.whenComplete((res, exc) -> {
                         if (exc != null) {
@@ -482,4 +605,13 @@ public class RedissonRemoteService extends BaseRemoteService implements RRemoteS
         return tasks.removeAsync(requestId);
     }
 
+    protected RFuture<List<RemoteServiceRequest>> getTasks(RBlockingQueue<String> requestQueue, List<String> requestIds) {
+        String tasksName = ((RedissonObject) requestQueue).getRawName() + ":tasks";
+        return commandExecutor.evalWriteNoRetryAsync(tasksName, codec, RedisCommands.EVAL_LIST,
+                "local tasks = redis.call('hmget', KEYS[1], unpack(ARGV)); "
+              + "redis.call('hdel', KEYS[1], unpack(ARGV)); "
+              + "return tasks;",
+                Collections.singletonList(tasksName), requestIds.toArray());
+    }
+
 }
@@ -311,6 +311,34 @@ public class RedissonRx implements RedissonRxClient {
                 new RedissonSetMultimapCacheRx<K, V>(setMultimap, commandExecutor, this), RSetMultimapCacheRx.class);
     }
 
+    @Override
+    public <K, V> RMapCacheNativeRx<K, V> getMapCacheNative(String name) {
+        RMap<K, V> map = new RedissonMapCacheNative<>(commandExecutor, name, null, null, null);
+        return RxProxyBuilder.create(commandExecutor, map,
+                new RedissonMapRx<>(map, commandExecutor), RMapCacheNativeRx.class);
+    }
+
+    @Override
+    public <K, V> RMapCacheNativeRx<K, V> getMapCacheNative(String name, MapOptions<K, V> options) {
+        RMap<K, V> map = new RedissonMapCacheNative<>(commandExecutor, name, null, options, writeBehindService);
+        return RxProxyBuilder.create(commandExecutor, map,
+                new RedissonMapRx<>(map, commandExecutor), RMapCacheNativeRx.class);
+    }
+
+    @Override
+    public <K, V> RMapCacheNativeRx<K, V> getMapCacheNative(String name, Codec codec) {
+        RMap<K, V> map = new RedissonMapCacheNative<>(codec, commandExecutor, name, null, null, null);
+        return RxProxyBuilder.create(commandExecutor, map,
+                new RedissonMapRx<>(map, commandExecutor), RMapCacheNativeRx.class);
+    }
+
+    @Override
+    public <K, V> RMapCacheNativeRx<K, V> getMapCacheNative(String name, Codec codec, MapOptions<K, V> options) {
+        RMap<K, V> map = new RedissonMapCacheNative<>(codec, commandExecutor, name, null, options, writeBehindService);
+        return RxProxyBuilder.create(commandExecutor, map,
+                new RedissonMapRx<>(map, commandExecutor), RMapCacheNativeRx.class);
+    }
+
     @Override
     public <K, V> RMapRx<K, V> getMap(String name) {
         RedissonMap<K, V> map = new RedissonMap<K, V>(commandExecutor, name, null, null, null);
@@ -0,0 +1,1744 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import io.netty.buffer.ByteBuf;
+import org.redisson.api.*;
+import org.redisson.api.listener.MapPutListener;
+import org.redisson.api.listener.MapRemoveListener;
+import org.redisson.api.mapreduce.RMapReduce;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.client.protocol.convertor.NumberConvertor;
+import org.redisson.client.protocol.decoder.MapValueDecoder;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.connection.decoder.MapGetAllDecoder;
+import org.redisson.mapreduce.RedissonMapReduce;
+import org.redisson.misc.CompletableFutureWrapper;
+import org.redisson.misc.CompositeIterator;
+import org.redisson.misc.Hash;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Map split into multiple Redis hashes spread across cluster slots.
+ * <p>
+ * Each shard is stored as separate {@link RedissonMap} object and key belongs to shard
+ * selected by hash of encoded key. Layout (amount of shards) is stored in separate Redis hash
+ * along with version which is changed on each resharding. Layout is cached locally.
+ * Each shard keeps a copy of layout version in the same slot and rejects operations
+ * made with another version, then layout is reloaded and operation is retried.
+ * During resharding each key is moved from previous shard to the new one
+ * before the operation over it is executed.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class RedissonShardedMap<K, V> extends RedissonExpirable implements RShardedMap<K, V> {
+
+    final class Layout {
+
+        final int shards;
+        final int prevShards;
+        final String version;
+        private final ConcurrentMap<Integer, Shard<K, V>> versionedShards = new ConcurrentHashMap<>();
+
+        Layout(int shards, int prevShards, String version) {
+            this.shards = shards;
+            this.prevShards = prevShards;
+            this.version = version;
+        }
+
+        Shard<K, V> getShard(int index) {
+            return versionedShards.computeIfAbsent(index, i -> {
+                return new Shard<>(codec, commandExecutor, getShardName(i, getName()),
+                                    redisson, options, writeBehindService, version);
+            });
+        }
+
+        boolean isResharding() {
+            return prevShards > 0;
+        }
+
+        int getPhysicalShards() {
+            return Math.max(shards, prevShards);
+        }
+
+    }
+
+    /**
+     * Shard which accepts operations only if layout version stored in shard slot
+     * is absent or equals to the version used to select this shard.
+     */
+    static final class Shard<K, V> extends RedissonMap<K, V> {
+
+        private static final String CHECK_VERSION =
+                  "local version = redis.call('get', KEYS[2]); "
+                + "if version ~= false and version ~= ARGV[1] then "
+                    + "return redis.error_reply('" + LAYOUT_CHANGED + "'); "
+                + "end; ";
+
+        private final String version;
+        private final String versionName;
+
+        Shard(Codec codec, CommandAsyncExecutor commandExecutor, String name, RedissonClient redisson,
+              MapOptions<K, V> options, WriteBehindService writeBehindService, String version) {
+            super(codec, commandExecutor, name, redisson, options, writeBehindService);
+            this.version = version;
+            this.versionName = getVersionName(getRawName());
+        }
+
+        private List<Object> args(Object... params) {
+            List<Object> args = new ArrayList<>(params.length + 1);
+            args.add(version);
+            args.addAll(Arrays.asList(params));
+            return args;
+        }
+
+        private <T, R> RFuture<R> evalRead(Codec codec, RedisCommand<T> command, String script, Object... params) {
+            return commandExecutor.evalReadAsync(getRawName(), codec, command, CHECK_VERSION + script,
+                                                    Arrays.asList(getRawName(), versionName), args(params).toArray());
+        }
+
+        private <T, R> RFuture<R> evalWrite(Codec codec, RedisCommand<T> command, String script, Object... params) {
+            return commandExecutor.evalWriteAsync(getRawName(), codec, command, CHECK_VERSION + script,
+                                                    Arrays.asList(getRawName(), versionName), args(params).toArray());
+        }
+
+        @Override
+        public RFuture<V> getOperationAsync(K key) {
+            return evalRead(codec, RedisCommands.EVAL_MAP_VALUE,
+                    "return redis.call('hget', KEYS[1], ARGV[2]); ",
+                    encodeMapKey(key));
+        }
+
+        @Override
+        protected RFuture<Boolean> containsKeyOperationAsync(String name, Object key) {
+            return evalRead(codec, RedisCommands.EVAL_BOOLEAN,
+                    "return redis.call('hexists', KEYS[1], ARGV[2]); ",
+                    encodeMapKey(key));
+        }
+
+        @Override
+        public RFuture<Integer> valueSizeAsync(K key) {
+            checkKey(key);
+
+            return evalRead(codec, RedisCommands.EVAL_INTEGER,
+                    "return redis.call('hstrlen', KEYS[1], ARGV[2]); ",
+                    encodeMapKey(key));
+        }
+
+        @Override
+        public RFuture<Map<K, V>> getAllOperationAsync(Set<K> keys) {
+            List<Object> params = new ArrayList<>(keys.size());
+            encodeMapKeys(params, keys);
+            return evalRead(codec, new RedisCommand<>("EVAL", new MapValueDecoder(new MapGetAllDecoder(new ArrayList<>(keys), 0))),
+                    "local result = {}; "
+                  + "for i = 2, #ARGV, 5000 do "
+                      + "local values = redis.call('hmget', KEYS[1], unpack(ARGV, i, math.min(i + 4999, #ARGV))); "
+                      + "for j = 1, #values do "
+                          + "table.insert(result, values[j]); "
+                      + "end; "
+                  + "end; "
+                  + "return result; ",
+                    params.toArray());
+        }
+
+        @Override
+        protected RFuture<Void> putAllOperationAsync(Map<? extends K, ? extends V> map) {
+            List<Object> params = new ArrayList<>(map.size() * 2);
+            encodeMapKeys(params, map);
+            return evalWrite(codec, RedisCommands.EVAL_VOID,
+                    "for i = 2, #ARGV, 5000 do "
+                      + "redis.call('hmset', KEYS[1], unpack(ARGV, i, math.min(i + 4999, #ARGV))); "
+                  + "end; ",
+                    params.toArray());
+        }
+
+        @Override
+        protected RFuture<V> putIfExistsOperationAsync(K key, V value) {
+            return evalWrite(codec, RedisCommands.EVAL_MAP_VALUE,
+                    "local value = redis.call('hget', KEYS[1], ARGV[2]); "
+                  + "if value ~= false then "
+                      + "redis.call('hset', KEYS[1], ARGV[2], ARGV[3]); "
+                      + "return value; "
+                  + "end; "
+                  + "return nil; ",
+                    encodeMapKey(key), encodeMapValue(value));
+        }
+
+        @Override
+        protected RFuture<V> putIfAbsentOperationAsync(K key, V value) {
+            return evalWrite(codec, RedisCommands.EVAL_MAP_VALUE,
+                    "if redis.call('hsetnx', KEYS[1], ARGV[2], ARGV[3]) == 1 then "
+                      + "return nil; "
+                  + "end; "
+                  + "return redis.call('hget', KEYS[1], ARGV[2]); ",
+                    encodeMapKey(key), encodeMapValue(value));
+        }
+
+        @Override
+        protected RFuture<Boolean> fastPutIfAbsentOperationAsync(K key, V value) {
+            return evalWrite(codec, RedisCommands.EVAL_BOOLEAN,
+                    "return redis.call('hsetnx', KEYS[1], ARGV[2], ARGV[3]); ",
+                    encodeMapKey(key), encodeMapValue(value));
+        }
+
+        @Override
+        protected RFuture<Boolean> fastPutIfExistsOperationAsync(K key, V value) {
+            return evalWrite(codec, RedisCommands.EVAL_BOOLEAN,
+                    "if redis.call('hexists', KEYS[1], ARGV[2]) == 1 then "
+                      + "redis.call('hset', KEYS[1], ARGV[2], ARGV[3]); "
+                      + "return 1; "
+                  + "end; "
+                  + "return 0; ",
+                    encodeMapKey(key), encodeMapValue(value));
+        }
+
+        @Override
+        protected RFuture<Boolean> removeOperationAsync(Object key, Object value) {
+            return evalWrite(codec, RedisCommands.EVAL_BOOLEAN,
+                    "if redis.call('hget', KEYS[1], ARGV[2]) == ARGV[3] then "
+                      + "return redis.call('hdel', KEYS[1], ARGV[2]); "
+                  + "end; "
+                  + "return 0; ",
+                    encodeMapKey(key), encodeMapValue(value));
+        }
+
+        @Override
+        protected RFuture<Boolean> replaceOperationAsync(K key, V oldValue, V newValue) {
+            return evalWrite(codec, RedisCommands.EVAL_BOOLEAN,
+                    "if redis.call('hget', KEYS[1], ARGV[2]) == ARGV[3] then "
+                      + "redis.call('hset', KEYS[1], ARGV[2], ARGV[4]); "
+                      + "return 1; "
+                  + "end; "
+                  + "return 0; ",
+                    encodeMapKey(key), encodeMapValue(oldValue), encodeMapValue(newValue));
+        }
+
+        @Override
+        protected RFuture<V> replaceOperationAsync(K key, V value) {
+            return evalWrite(codec, RedisCommands.EVAL_MAP_VALUE,
+                    "local value = redis.call('hget', KEYS[1], ARGV[2]); "
+                  + "if value ~= false then "
+                      + "redis.call('hset', KEYS[1], ARGV[2], ARGV[3]); "
+                  + "end; "
+                  + "return value; ",
+                    encodeMapKey(key), encodeMapValue(value));
+        }
+
+        @Override
+        protected RFuture<Boolean> fastReplaceOperationAsync(K key, V value) {
+            return fastPutIfExistsOperationAsync(key, value);
+        }
+
+        @Override
+        protected RFuture<V> putOperationAsync(K key, V value) {
+            return evalWrite(codec, RedisCommands.EVAL_MAP_VALUE,
+                    "local value = redis.call('hget', KEYS[1], ARGV[2]); "
+                  + "redis.call('hset', KEYS[1], ARGV[2], ARGV[3]); "
+                  + "return value; ",
+                    encodeMapKey(key), encodeMapValue(value));
+        }
+
+        @Override
+        protected RFuture<V> removeOperationAsync(K key) {
+            return evalWrite(codec, RedisCommands.EVAL_MAP_VALUE,
+                    "local value = redis.call('hget', KEYS[1], ARGV[2]); "
+                  + "redis.call('hdel', KEYS[1], ARGV[2]); "
+                  + "return value; ",
+                    encodeMapKey(key));
+        }
+
+        @Override
+        protected RFuture<Boolean> fastPutOperationAsync(K key, V value) {
+            return evalWrite(codec, RedisCommands.EVAL_BOOLEAN,
+                    "return redis.call('hset', KEYS[1], ARGV[2], ARGV[3]); ",
+                    encodeMapKey(key), encodeMapValue(value));
+        }
+
+        @Override
+        protected RFuture<Long> fastRemoveOperationAsync(K... keys) {
+            List<Object> params = new ArrayList<>(keys.length);
+            encodeMapKeys(params, Arrays.asList(keys));
+            return evalWrite(codec, RedisCommands.EVAL_LONG,
+                    "local result = 0; "
+                  + "for i = 2, #ARGV, 5000 do "
+                      + "result = result + redis.call('hdel', KEYS[1], unpack(ARGV, i, math.min(i + 4999, #ARGV))); "
+                  + "end; "
+                  + "return result; ",
+                    params.toArray());
+        }
+
+        @Override
+        protected RFuture<List<Long>> fastRemoveOperationBatchAsync(K... keys) {
+            List<Object> params = new ArrayList<>(keys.length);
+            encodeMapKeys(params, Arrays.asList(keys));
+            return evalWrite(LongCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                    "local result = {}; "
+                  + "for i = 2, #ARGV, 1 do "
+                      + "table.insert(result, redis.call('hdel', KEYS[1], ARGV[i])); "
+                  + "end; "
+                  + "return result; ",
+                    params.toArray());
+        }
+
+        @Override
+        protected RFuture<V> addAndGetOperationAsync(K key, Number value) {
+            return evalWrite(StringCodec.INSTANCE, new RedisCommand<>("EVAL", new NumberConvertor(value.getClass())),
+                    "return redis.call('hincrbyfloat', KEYS[1], ARGV[2], ARGV[3]); ",
+                    encodeMapKey(key), new BigDecimal(value.toString()).toPlainString());
+        }
+
+    }
+
+    private static final String LAYOUT_CHANGED = "LAYOUT_CHANGED";
+
+    private static final long LAYOUT_RETRY_DELAY = 10;
+
+    private static final String[] LISTENER_CHANNELS = {"__keyevent@*:hset", "__keyevent@*:hdel",
+                                                        "__keyevent@*:expired", "__keyevent@*:del"};
+
+    private final int initialShards;
+    private final RedissonClient redisson;
+    private final MapOptions<K, V> options;
+    private final WriteBehindService writeBehindService;
+    private final ConcurrentMap<Integer, RedissonMap<K, V>> shards = new ConcurrentHashMap<>();
+    private volatile Layout currentLayout;
+
+    public RedissonShardedMap(CommandAsyncExecutor commandExecutor, String name, int shards,
+                              RedissonClient redisson, MapOptions<K, V> options, WriteBehindService writeBehindService) {
+        this(commandExecutor.getServiceManager().getCfg().getCodec(), commandExecutor, name, shards,
+                redisson, options, writeBehindService);
+    }
+
+    public RedissonShardedMap(Codec codec, CommandAsyncExecutor commandExecutor, String name, int shards,
+                              RedissonClient redisson, MapOptions<K, V> options, WriteBehindService writeBehindService) {
+        super(codec, commandExecutor, name);
+        if (shards <= 0) {
+            throw new IllegalArgumentException("shards should be positive");
+        }
+        this.initialShards = shards;
+        this.redisson = redisson;
+        this.options = options;
+        this.writeBehindService = writeBehindService;
+    }
+
+    String getLayoutName() {
+        return getLayoutName(getRawName());
+    }
+
+    private static String getLayoutName(String rawName) {
+        return prefixName("redisson_sharded_map", rawName);
+    }
+
+    private static String getShardName(int index, String name) {
+        // shard index is a part of hash tag, so shards are spread across slots
+        return "redisson_map_shard:{" + index + ":" + name + "}";
+    }
+
+    private String getMovedName(RedissonMap<K, V> shard) {
+        // located in the same slot as shard
+        return suffixName(shard.getRawName(), "moved");
+    }
+
+    private static String getVersionName(String shardRawName) {
+        // located in the same slot as shard
+        return suffixName(shardRawName, "version");
+    }
+
+    RedissonMap<K, V> getShard(int index) {
+        return shards.computeIfAbsent(index, i -> {
+            return new RedissonMap<>(codec, commandExecutor, getShardName(i, getName()), redisson, options, writeBehindService);
+        });
+    }
+
+    private boolean isShardName(String rawName) {
+        String name = commandExecutor.getServiceManager().getConfig().getNameMapper().unmap(rawName);
+        return name.startsWith("redisson_map_shard:{") && name.endsWith(":" + getName() + "}");
+    }
+
+    private CompletionStage<Layout> cachedLayoutAsync() {
+        // outdated layout is detected by shard which rejects the operation
+        Layout layout = currentLayout;
+        if (layout != null) {
+            return CompletableFuture.completedFuture(layout);
+        }
+        return layoutAsync();
+    }
+
+    private CompletionStage<Layout> layoutAsync() {
+        return loadLayoutAsync().thenApply(r -> {
+            Layout layout = currentLayout;
+            if (layout != null && layout.version.equals(r.version)) {
+                return layout;
+            }
+            currentLayout = r;
+            return r;
+        });
+    }
+
+    private CompletionStage<Layout> loadLayoutAsync() {
+        RFuture<List<Object>> future = commandExecutor.evalWriteAsync(getLayoutName(), StringCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                "redis.call('hsetnx', KEYS[1], 'shards', ARGV[1]); "
+              + "redis.call('hsetnx', KEYS[1], 'version', '1'); "
+              + "return redis.call('hmget', KEYS[1], 'shards', 'prev-shards', 'version'); ",
+                Collections.singletonList(getLayoutName()), initialShards);
+        return future.thenApply(res -> {
+            int prevShards = 0;
+            if (res.get(1) != null) {
+                prevShards = Integer.parseInt(res.get(1).toString());
+            }
+            return new Layout(Integer.parseInt(res.get(0).toString()), prevShards, res.get(2).toString());
+        });
+    }
+
+    private Layout layout() {
+        return get(new CompletableFutureWrapper<>(layoutAsync()));
+    }
+
+    private CompletionStage<Layout> stableLayoutAsync() {
+        return layoutAsync().thenCompose(layout -> {
+            if (layout.isResharding()) {
+                return failed(new IllegalStateException("Resharding of " + getName() + " map is in progress"));
+            }
+            return CompletableFuture.completedFuture(layout);
+        });
+    }
+
+    private long hash(Object key) {
+        ByteBuf encodedKey = encodeMapKey(key);
+        try {
+            return Hash.hash64(encodedKey);
+        } finally {
+            encodedKey.release();
+        }
+    }
+
+    private int index(long hash, int shards) {
+        return (int) Math.floorMod(hash, (long) shards);
+    }
+
+    private CompletionStage<RedissonMap<K, V>> shardAsync(Object key) {
+        return cachedLayoutAsync().thenCompose(layout -> {
+            long hash = hash(key);
+            int index = index(hash, layout.shards);
+            RedissonMap<K, V> shard = layout.getShard(index);
+            if (!layout.isResharding()) {
+                return CompletableFuture.completedFuture(shard);
+            }
+
+            int prevIndex = index(hash, layout.prevShards);
+            if (prevIndex == index) {
+                return CompletableFuture.completedFuture(shard);
+            }
+            return moveAsync(key, getShard(prevIndex), shard, false).thenApply(r -> shard);
+        });
+    }
+
+    private boolean isLayoutChanged(Throwable e) {
+        if (e instanceof CompletionException) {
+            e = e.getCause();
+        }
+        return e instanceof RedisException
+                && e.getMessage() != null
+                    && e.getMessage().contains(LAYOUT_CHANGED);
+    }
+
+    private <R> CompletionStage<R> retryOnLayoutChange(CompletionStage<R> stage, Supplier<CompletionStage<R>> retry) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        stage.whenComplete((r, e) -> {
+            if (e == null) {
+                result.complete(r);
+                return;
+            }
+            if (!isLayoutChanged(e)) {
+                result.completeExceptionally(e);
+                return;
+            }
+
+            // shard versions are changed before layout, so new layout is awaited for a while
+            currentLayout = null;
+            commandExecutor.getServiceManager().newTimeout(t -> {
+                commandExecutor.transfer(retry.get().toCompletableFuture(), result);
+            }, LAYOUT_RETRY_DELAY, TimeUnit.MILLISECONDS);
+        });
+        return result;
+    }
+
+    private boolean isSameSlot(String name1, String name2) {
+        return commandExecutor.getConnectionManager().calcSlot(name1)
+                    == commandExecutor.getConnectionManager().calcSlot(name2);
+    }
+
+    private CompletionStage<Void> moveAsync(Object key, RedissonMap<K, V> from, RedissonMap<K, V> to, boolean removeLeftover) {
+        if (isSameSlot(from.getRawName(), to.getRawName())) {
+            // entry written to the new shard concurrently has priority
+            RFuture<Void> future = commandExecutor.evalWriteAsync(from.getRawName(), ByteArrayCodec.INSTANCE, RedisCommands.EVAL_VOID,
+                    "local value = redis.call('hget', KEYS[1], ARGV[1]); "
+                  + "if value ~= false then "
+                      + "redis.call('hdel', KEYS[1], ARGV[1]); "
+                      + "redis.call('hsetnx', KEYS[2], ARGV[1], value); "
+                  + "end; ",
+                    Arrays.asList(from.getRawName(), to.getRawName()), encodeMapKey(key));
+            return future;
+        }
+
+        // Shards are located in different slots. Moved keys are tracked in the slot of the new shard,
+        // so entry is copied only once and can't be resurrected after it was removed from the new shard.
+        // Previous shard rejects writes made with previous layout before any entry is moved,
+        // so entry is removed from it only if it still has the copied value.
+        String movedName = getMovedName(to);
+        RFuture<Object> valueFuture = commandExecutor.writeAsync(from.getRawName(), ByteArrayCodec.INSTANCE,
+                                                RedisCommands.HGET, from.getRawName(), encodeMapKey(key));
+        return valueFuture.thenCompose(value -> {
+            if (value == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            RFuture<Boolean> copyFuture = commandExecutor.evalWriteAsync(to.getRawName(), ByteArrayCodec.INSTANCE,
+                    RedisCommands.EVAL_BOOLEAN,
+                    "if redis.call('sadd', KEYS[2], ARGV[1]) == 0 then "
+                      + "return 0; "
+                  + "end; "
+                  + "redis.call('hsetnx', KEYS[1], ARGV[1], ARGV[2]); "
+                  + "return 1; ",
+                    Arrays.asList(to.getRawName(), movedName), encodeMapKey(key), value);
+            return copyFuture.thenCompose(r -> {
+                if (removeLeftover) {
+                    return commandExecutor.writeAsync(from.getRawName(), ByteArrayCodec.INSTANCE,
+                                                    RedisCommands.HDEL, from.getRawName(), encodeMapKey(key));
+                }
+                return commandExecutor.evalWriteAsync(from.getRawName(), ByteArrayCodec.INSTANCE, RedisCommands.EVAL_VOID,
+                        "if redis.call('hget', KEYS[1], ARGV[1]) == ARGV[2] then "
+                          + "redis.call('hdel', KEYS[1], ARGV[1]); "
+                      + "end; ",
+                        Collections.singletonList(from.getRawName()), encodeMapKey(key), value);
+            }).thenApply(r -> null);
+        });
+    }
+
+    private <R> RFuture<R> execute(Object key, Function<RedissonMap<K, V>, RFuture<R>> operation) {
+        return new CompletableFutureWrapper<>(executeAsync(key, operation));
+    }
+
+    private <R> CompletionStage<R> executeAsync(Object key, Function<RedissonMap<K, V>, RFuture<R>> operation) {
+        CompletionStage<R> f = shardAsync(key).thenCompose(operation);
+        return retryOnLayoutChange(f, () -> executeAsync(key, operation));
+    }
+
+    private <R> CompletionStage<List<R>> executeAll(Function<RedissonMap<K, V>, RFuture<R>> operation) {
+        return layoutAsync().thenCompose(layout -> executeAll(layout, operation));
+    }
+
+    private <R> CompletionStage<List<R>> executeAll(Layout layout, Function<RedissonMap<K, V>, RFuture<R>> operation) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(layout.getPhysicalShards());
+        for (int i = 0; i < layout.getPhysicalShards(); i++) {
+            futures.add(operation.apply(getShard(i)).toCompletableFuture());
+        }
+        CompletableFuture<Void> f = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        return f.thenApply(r -> {
+            List<R> result = new ArrayList<>(futures.size());
+            for (CompletableFuture<R> future : futures) {
+                result.add(future.join());
+            }
+            return result;
+        });
+    }
+
+    private <T> CompletionStage<Map<RedissonMap<K, V>, List<T>>> groupByShard(Collection<T> elements, Function<T, Object> keyMapper) {
+        // RedissonMap.hashCode() reads all map entries, so shards are compared by identity
+        Map<RedissonMap<K, V>, List<T>> result = Collections.synchronizedMap(new IdentityHashMap<>());
+        List<CompletableFuture<Void>> futures = new ArrayList<>(elements.size());
+        for (T element : elements) {
+            CompletionStage<Void> f = shardAsync(keyMapper.apply(element)).thenAccept(shard -> {
+                result.computeIfAbsent(shard, s -> Collections.synchronizedList(new ArrayList<>())).add(element);
+            });
+            futures.add(f.toCompletableFuture());
+        }
+        CompletableFuture<Void> f = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        return f.thenApply(r -> result);
+    }
+
+    private <T, R> CompletionStage<List<R>> executeGrouped(Collection<T> elements, Function<T, Object> keyMapper,
+                                                           BiFunction<RedissonMap<K, V>, List<T>, RFuture<R>> operation) {
+        return groupByShard(elements, keyMapper).thenCompose(groups -> {
+            List<CompletableFuture<List<R>>> futures = new ArrayList<>(groups.size());
+            for (Map.Entry<RedissonMap<K, V>, List<T>> entry : groups.entrySet()) {
+                // elements of rejected group are grouped again using reloaded layout
+                CompletionStage<List<R>> f = operation.apply(entry.getKey(), entry.getValue())
+                                                        .thenApply(Collections::singletonList);
+                futures.add(retryOnLayoutChange(f, () -> executeGrouped(entry.getValue(), keyMapper, operation))
+                                .toCompletableFuture());
+            }
+            CompletableFuture<Void> f = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+            return f.thenApply(r -> {
+                List<R> result = new ArrayList<>(futures.size());
+                for (CompletableFuture<List<R>> future : futures) {
+                    result.addAll(future.join());
+                }
+                return result;
+            });
+        });
+    }
+
+    private RFuture<Boolean> anyAsync(Function<RedissonMap<K, V>, RFuture<Boolean>> operation) {
+        CompletionStage<Boolean> f = executeAll(operation).thenApply(res -> res.contains(true));
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public int getShards() {
+        return layout().shards;
+    }
+
+    @Override
+    public void reshard(int shards) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("shards should be positive");
+        }
+
+        // next version is reserved first, so concurrent resharding is rejected
+        List<Object> res = get(commandExecutor.evalWriteAsync(getLayoutName(), StringCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                "if redis.call('hexists', KEYS[1], 'prev-shards') == 1 "
+                        + "or redis.call('hexists', KEYS[1], 'next-version') == 1 then "
+                  + "return {-1}; "
+              + "end; "
+              + "redis.call('hsetnx', KEYS[1], 'shards', ARGV[2]); "
+              + "redis.call('hsetnx', KEYS[1], 'version', '1'); "
+              + "local shards = tonumber(redis.call('hget', KEYS[1], 'shards')); "
+              + "if shards == tonumber(ARGV[1]) then "
+                  + "return {0}; "
+              + "end; "
+              + "local version = tonumber(redis.call('hget', KEYS[1], 'version')) + 1; "
+              + "redis.call('hset', KEYS[1], 'next-version', version); "
+              + "return {shards, version}; ",
+                Collections.singletonList(getLayoutName()), shards, initialShards));
+        int prevShards = Integer.parseInt(res.get(0).toString());
+        if (prevShards == -1) {
+            throw new IllegalStateException("Resharding of " + getName() + " map is already in progress");
+        }
+        if (prevShards == 0) {
+            return;
+        }
+        long version = Long.parseLong(res.get(1).toString());
+        int physicalShards = Math.max(shards, prevShards);
+
+        // shards reject operations made with previous layout before any entry is moved
+        setShardVersions(physicalShards, version);
+        get(commandExecutor.evalWriteAsync(getLayoutName(), StringCodec.INSTANCE, RedisCommands.EVAL_VOID,
+                "redis.call('hmset', KEYS[1], 'shards', ARGV[1], 'prev-shards', ARGV[2], 'version', ARGV[3]); "
+              + "redis.call('hdel', KEYS[1], 'next-version'); ",
+                Collections.singletonList(getLayoutName()), shards, prevShards, version));
+
+        // second pass removes entries left in shards they don't belong to
+        for (int pass = 0; pass < 2; pass++) {
+            boolean removeLeftover = pass == 1;
+            for (int i = 0; i < prevShards; i++) {
+                RedissonMap<K, V> shard = getShard(i);
+                for (K key : shard.keySet(1000)) {
+                    int index = index(hash(key), shards);
+                    if (index != i) {
+                        get(new CompletableFutureWrapper<>(moveAsync(key, shard, getShard(index), removeLeftover)));
+                    }
+                }
+            }
+        }
+
+        setShardVersions(physicalShards, version + 1);
+        get(commandExecutor.evalWriteAsync(getLayoutName(), StringCodec.INSTANCE, RedisCommands.EVAL_VOID,
+                "redis.call('hdel', KEYS[1], 'prev-shards'); "
+              + "redis.call('hset', KEYS[1], 'version', ARGV[1]); ",
+                Collections.singletonList(getLayoutName()), version + 1));
+        currentLayout = null;
+
+        List<RFuture<Boolean>> futures = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            String movedName = getMovedName(getShard(i));
+            futures.add(commandExecutor.writeAsync(movedName, StringCodec.INSTANCE, RedisCommands.DEL_BOOL, movedName));
+        }
+        futures.forEach(this::get);
+    }
+
+    private void setShardVersions(int amount, long version) {
+        get(new CompletableFutureWrapper<>(setShardVersionsAsync(amount, version)));
+    }
+
+    private CompletionStage<Void> setShardVersionsAsync(int amount, long version) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(amount);
+        for (int i = 0; i < amount; i++) {
+            String versionName = getVersionName(getShard(i).getRawName());
+            RFuture<Void> f = commandExecutor.writeAsync(versionName, StringCodec.INSTANCE, RedisCommands.SET,
+                                                            versionName, String.valueOf(version));
+            futures.add(f.toCompletableFuture());
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    @Override
+    public void destroy() {
+        shards.values().forEach(RedissonMap::destroy);
+    }
+
+    private boolean hasNoLoader() {
+        return options == null || (options.getLoader() == null && options.getLoaderAsync() == null);
+    }
+
+    private CompletionStage<Void> loadAsync(K key, boolean replaceExistingValues) {
+        CompletionStage<Void> f = shardAsync(key).thenCompose(shard -> {
+            if (replaceExistingValues) {
+                return shard.loadValue(key, true).thenApply(v -> null);
+            }
+
+            CompletableFuture<V> valuePromise = new CompletableFuture<>();
+            return shard.containsKeyAsync(key, valuePromise).thenApply(v -> null);
+        });
+        return retryOnLayoutChange(f, () -> loadAsync(key, replaceExistingValues));
+    }
+
+    private CompletionStage<Void> loadAllAsync(Function<Integer, CompletionStage<List<K>>> keysSupplier,
+                                               boolean replaceExistingValues, int parallelism) {
+        return keysSupplier.apply(parallelism).thenCompose(keys -> {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(keys.size());
+            for (K key : keys) {
+                futures.add(loadAsync(key, replaceExistingValues).toCompletableFuture());
+            }
+            CompletableFuture<Void> f = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+            if (keys.size() < parallelism) {
+                return f;
+            }
+            return f.thenCompose(r -> loadAllAsync(keysSupplier, replaceExistingValues, parallelism));
+        });
+    }
+
+    private CompletionStage<List<K>> nextKeys(Iterator<? extends K> iterator, int amount) {
+        // map loader may block, so keys are read outside of netty threads
+        return CompletableFuture.supplyAsync(() -> {
+            List<K> keys = new ArrayList<>(amount);
+            while (keys.size() < amount && iterator.hasNext()) {
+                K key = iterator.next();
+                if (key != null) {
+                    keys.add(key);
+                }
+            }
+            return keys;
+        }, commandExecutor.getServiceManager().getExecutor());
+    }
+
+    private CompletionStage<List<K>> nextKeys(AsyncIterator<K> iterator, List<K> keys, int amount) {
+        if (keys.size() >= amount) {
+            return CompletableFuture.completedFuture(keys);
+        }
+        return iterator.hasNext().thenCompose(hasNext -> {
+            if (!hasNext) {
+                return CompletableFuture.completedFuture(keys);
+            }
+            return iterator.next().thenCompose(key -> {
+                if (key != null) {
+                    keys.add(key);
+                }
+                return nextKeys(iterator, keys, amount);
+            });
+        });
+    }
+
+    @Override
+    public void loadAll(boolean replaceExistingValues, int parallelism) {
+        get(loadAllAsync(replaceExistingValues, parallelism));
+    }
+
+    @Override
+    public void loadAll(Set<? extends K> keys, boolean replaceExistingValues, int parallelism) {
+        get(loadAllAsync(keys, replaceExistingValues, parallelism));
+    }
+
+    @Override
+    public RFuture<Void> loadAllAsync(boolean replaceExistingValues, int parallelism) {
+        if (hasNoLoader()) {
+            throw new NullPointerException("MapLoader isn't defined");
+        }
+
+        if (options.getLoaderAsync() != null) {
+            AsyncIterator<K> iterator = options.getLoaderAsync().loadAllKeys();
+            CompletionStage<Void> f = loadAllAsync(amount -> nextKeys(iterator, new ArrayList<>(amount), amount),
+                                                    replaceExistingValues, parallelism);
+            return new CompletableFutureWrapper<>(f);
+        }
+
+        CompletionStage<Iterator<K>> iteratorFuture = CompletableFuture.supplyAsync(() -> {
+            return options.getLoader().loadAllKeys().iterator();
+        }, commandExecutor.getServiceManager().getExecutor());
+        CompletionStage<Void> f = iteratorFuture.thenCompose(iterator -> {
+            return loadAllAsync(amount -> nextKeys(iterator, amount), replaceExistingValues, parallelism);
+        });
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public RFuture<Void> loadAllAsync(Set<? extends K> keys, boolean replaceExistingValues, int parallelism) {
+        if (hasNoLoader()) {
+            throw new NullPointerException("MapLoader isn't defined");
+        }
+
+        Iterator<? extends K> iterator = keys.iterator();
+        CompletionStage<Void> f = loadAllAsync(amount -> nextKeys(iterator, amount), replaceExistingValues, parallelism);
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public <KOut, VOut> RMapReduce<K, V, KOut, VOut> mapReduce() {
+        return new RedissonMapReduce<>(this, redisson, commandExecutor);
+    }
+
+    @Override
+    public RCountDownLatch getCountDownLatch(K key) {
+        return new RedissonCountDownLatch(commandExecutor, getLockByMapKey(key, "countdownlatch"));
+    }
+
+    @Override
+    public RPermitExpirableSemaphore getPermitExpirableSemaphore(K key) {
+        return new RedissonPermitExpirableSemaphore(commandExecutor, getLockByMapKey(key, "permitexpirablesemaphore"));
+    }
+
+    @Override
+    public RSemaphore getSemaphore(K key) {
+        return new RedissonSemaphore(commandExecutor, getLockByMapKey(key, "semaphore"));
+    }
+
+    @Override
+    public RLock getFairLock(K key) {
+        return new RedissonFairLock(commandExecutor, getLockByMapKey(key, "fairlock"));
+    }
+
+    @Override
+    public RReadWriteLock getReadWriteLock(K key) {
+        return new RedissonReadWriteLock(commandExecutor, getLockByMapKey(key, "rw_lock"));
+    }
+
+    @Override
+    public RLock getLock(K key) {
+        return new RedissonLock(commandExecutor, getLockByMapKey(key, "lock"));
+    }
+
+    @Override
+    public V get(Object key) {
+        return get(getAsync((K) key));
+    }
+
+    @Override
+    public RFuture<V> getAsync(K key) {
+        return execute(key, shard -> shard.getAsync(key));
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return get(putAsync(key, value));
+    }
+
+    @Override
+    public RFuture<V> putAsync(K key, V value) {
+        return execute(key, shard -> shard.putAsync(key, value));
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return get(putIfAbsentAsync(key, value));
+    }
+
+    @Override
+    public RFuture<V> putIfAbsentAsync(K key, V value) {
+        return execute(key, shard -> shard.putIfAbsentAsync(key, value));
+    }
+
+    @Override
+    public V putIfExists(K key, V value) {
+        return get(putIfExistsAsync(key, value));
+    }
+
+    @Override
+    public RFuture<V> putIfExistsAsync(K key, V value) {
+        return execute(key, shard -> shard.putIfExistsAsync(key, value));
+    }
+
+    @Override
+    public V remove(Object key) {
+        return get(removeAsync((K) key));
+    }
+
+    @Override
+    public RFuture<V> removeAsync(K key) {
+        return execute(key, shard -> shard.removeAsync(key));
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        return get(removeAsync(key, value));
+    }
+
+    @Override
+    public RFuture<Boolean> removeAsync(Object key, Object value) {
+        return execute(key, shard -> shard.removeAsync(key, value));
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        return get(replaceAsync(key, value));
+    }
+
+    @Override
+    public RFuture<V> replaceAsync(K key, V value) {
+        return execute(key, shard -> shard.replaceAsync(key, value));
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        return get(replaceAsync(key, oldValue, newValue));
+    }
+
+    @Override
+    public RFuture<Boolean> replaceAsync(K key, V oldValue, V newValue) {
+        return execute(key, shard -> shard.replaceAsync(key, oldValue, newValue));
+    }
+
+    @Override
+    public boolean fastPut(K key, V value) {
+        return get(fastPutAsync(key, value));
+    }
+
+    @Override
+    public RFuture<Boolean> fastPutAsync(K key, V value) {
+        return execute(key, shard -> shard.fastPutAsync(key, value));
+    }
+
+    @Override
+    public boolean fastReplace(K key, V value) {
+        return get(fastReplaceAsync(key, value));
+    }
+
+    @Override
+    public RFuture<Boolean> fastReplaceAsync(K key, V value) {
+        return execute(key, shard -> shard.fastReplaceAsync(key, value));
+    }
+
+    @Override
+    public boolean fastPutIfAbsent(K key, V value) {
+        return get(fastPutIfAbsentAsync(key, value));
+    }
+
+    @Override
+    public RFuture<Boolean> fastPutIfAbsentAsync(K key, V value) {
+        return execute(key, shard -> shard.fastPutIfAbsentAsync(key, value));
+    }
+
+    @Override
+    public boolean fastPutIfExists(K key, V value) {
+        return get(fastPutIfExistsAsync(key, value));
+    }
+
+    @Override
+    public RFuture<Boolean> fastPutIfExistsAsync(K key, V value) {
+        return execute(key, shard -> shard.fastPutIfExistsAsync(key, value));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(containsKeyAsync(key));
+    }
+
+    @Override
+    public RFuture<Boolean> containsKeyAsync(Object key) {
+        return execute(key, shard -> shard.containsKeyAsync(key));
+    }
+
+    @Override
+    public int valueSize(K key) {
+        return get(valueSizeAsync(key));
+    }
+
+    @Override
+    public RFuture<Integer> valueSizeAsync(K key) {
+        return execute(key, shard -> shard.valueSizeAsync(key));
+    }
+
+    @Override
+    public V addAndGet(K key, Number delta) {
+        return get(addAndGetAsync(key, delta));
+    }
+
+    @Override
+    public RFuture<V> addAndGetAsync(K key, Number delta) {
+        return execute(key, shard -> shard.addAndGetAsync(key, delta));
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return get(mergeAsync(key, value, remappingFunction));
+    }
+
+    @Override
+    public RFuture<V> mergeAsync(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return execute(key, shard -> shard.mergeAsync(key, value, remappingFunction));
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return get(computeAsync(key, remappingFunction));
+    }
+
+    @Override
+    public RFuture<V> computeAsync(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return execute(key, shard -> shard.computeAsync(key, remappingFunction));
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        return get(computeIfAbsentAsync(key, mappingFunction));
+    }
+
+    @Override
+    public RFuture<V> computeIfAbsentAsync(K key, Function<? super K, ? extends V> mappingFunction) {
+        return execute(key, shard -> shard.computeIfAbsentAsync(key, mappingFunction));
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return get(computeIfPresentAsync(key, remappingFunction));
+    }
+
+    @Override
+    public RFuture<V> computeIfPresentAsync(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return execute(key, shard -> shard.computeIfPresentAsync(key, remappingFunction));
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        get(putAllAsync(map));
+    }
+
+    @Override
+    public RFuture<Void> putAllAsync(Map<? extends K, ? extends V> map) {
+        return putAllAsync(map, 0);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map, int batchSize) {
+        get(putAllAsync(map, batchSize));
+    }
+
+    @Override
+    public RFuture<Void> putAllAsync(Map<? extends K, ? extends V> map, int batchSize) {
+        if (map.isEmpty()) {
+            return new CompletableFutureWrapper<>((Void) null);
+        }
+
+        CompletionStage<List<Void>> f = executeGrouped(map.entrySet(), Map.Entry::getKey, (shard, entries) -> {
+            Map<K, V> values = new LinkedHashMap<>(entries.size());
+            for (Map.Entry<? extends K, ? extends V> entry : entries) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+            if (batchSize > 0) {
+                return shard.putAllAsync(values, batchSize);
+            }
+            return shard.putAllAsync(values);
+        });
+        return new CompletableFutureWrapper<>(f.thenApply(r -> null));
+    }
+
+    @Override
+    public Map<K, V> getAll(Set<K> keys) {
+        return get(getAllAsync(keys));
+    }
+
+    @Override
+    public RFuture<Map<K, V>> getAllAsync(Set<K> keys) {
+        if (keys.isEmpty()) {
+            return new CompletableFutureWrapper<>(Collections.emptyMap());
+        }
+
+        CompletionStage<List<Map<K, V>>> f = executeGrouped(keys, k -> k, (shard, shardKeys) -> {
+            return shard.getAllAsync(new HashSet<>(shardKeys));
+        });
+        return new CompletableFutureWrapper<>(f.thenApply(res -> {
+            Map<K, V> result = new HashMap<>();
+            res.forEach(result::putAll);
+            return result;
+        }));
+    }
+
+    @Override
+    public long fastRemove(K... keys) {
+        return get(fastRemoveAsync(keys));
+    }
+
+    @Override
+    public RFuture<Long> fastRemoveAsync(K... keys) {
+        if (keys == null || keys.length == 0) {
+            return new CompletableFutureWrapper<>(0L);
+        }
+
+        CompletionStage<List<Long>> f = executeGrouped(Arrays.asList(keys), k -> k, (shard, shardKeys) -> {
+            return shard.fastRemoveAsync((K[]) shardKeys.toArray());
+        });
+        return new CompletableFutureWrapper<>(f.thenApply(res -> res.stream().mapToLong(Long::longValue).sum()));
+    }
+
+    @Override
+    public int size() {
+        return get(sizeAsync());
+    }
+
+    @Override
+    public RFuture<Integer> sizeAsync() {
+        CompletionStage<Integer> f = executeAll(RedissonMap::sizeAsync)
+                                        .thenApply(res -> res.stream().mapToInt(Integer::intValue).sum());
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return get(containsValueAsync(value));
+    }
+
+    @Override
+    public RFuture<Boolean> containsValueAsync(Object value) {
+        return anyAsync(shard -> shard.containsValueAsync(value));
+    }
+
+    @Override
+    public void clear() {
+        get(clearAsync());
+    }
+
+    @Override
+    public RFuture<Boolean> clearAsync() {
+        return deleteAsync();
+    }
+
+    @Override
+    public Set<K> randomKeys(int count) {
+        return get(randomKeysAsync(count));
+    }
+
+    @Override
+    public RFuture<Set<K>> randomKeysAsync(int count) {
+        CompletionStage<Set<K>> f = executeAll(shard -> shard.randomKeysAsync(count)).thenApply(res -> {
+            List<K> keys = new ArrayList<>();
+            res.forEach(keys::addAll);
+            Collections.shuffle(keys);
+            return new LinkedHashSet<>(keys.subList(0, Math.min(count, keys.size())));
+        });
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public Map<K, V> randomEntries(int count) {
+        return get(randomEntriesAsync(count));
+    }
+
+    @Override
+    public RFuture<Map<K, V>> randomEntriesAsync(int count) {
+        CompletionStage<Map<K, V>> f = executeAll(shard -> shard.randomEntriesAsync(count)).thenApply(res -> {
+            List<Map.Entry<K, V>> entries = new ArrayList<>();
+            res.forEach(m -> entries.addAll(m.entrySet()));
+            Collections.shuffle(entries);
+            Map<K, V> result = new LinkedHashMap<>();
+            for (Map.Entry<K, V> entry : entries.subList(0, Math.min(count, entries.size()))) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+            return result;
+        });
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public Set<K> readAllKeySet() {
+        return get(readAllKeySetAsync());
+    }
+
+    @Override
+    public RFuture<Set<K>> readAllKeySetAsync() {
+        CompletionStage<Set<K>> f = executeAll(RedissonMap::readAllKeySetAsync).thenApply(res -> {
+            Set<K> result = new HashSet<>();
+            res.forEach(result::addAll);
+            return result;
+        });
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public Collection<V> readAllValues() {
+        return get(readAllValuesAsync());
+    }
+
+    @Override
+    public RFuture<Collection<V>> readAllValuesAsync() {
+        CompletionStage<Collection<V>> f = executeAll(RedissonMap::readAllValuesAsync).thenApply(res -> {
+            List<V> result = new ArrayList<>();
+            res.forEach(result::addAll);
+            return result;
+        });
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> readAllEntrySet() {
+        return get(readAllEntrySetAsync());
+    }
+
+    @Override
+    public RFuture<Set<Map.Entry<K, V>>> readAllEntrySetAsync() {
+        CompletionStage<Set<Map.Entry<K, V>>> f = executeAll(RedissonMap::readAllEntrySetAsync).thenApply(res -> {
+            Set<Map.Entry<K, V>> result = new HashSet<>();
+            res.forEach(result::addAll);
+            return result;
+        });
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public Map<K, V> readAllMap() {
+        return get(readAllMapAsync());
+    }
+
+    @Override
+    public RFuture<Map<K, V>> readAllMapAsync() {
+        CompletionStage<Map<K, V>> f = executeAll(RedissonMap::readAllMapAsync).thenApply(res -> {
+            Map<K, V> result = new HashMap<>();
+            res.forEach(result::putAll);
+            return result;
+        });
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    private <T> Iterator<T> iterator(Function<RedissonMap<K, V>, Iterator<T>> shardIterator) {
+        Layout layout = layout();
+        List<Iterator<T>> iterators = new ArrayList<>(layout.getPhysicalShards());
+        for (int i = 0; i < layout.getPhysicalShards(); i++) {
+            iterators.add(shardIterator.apply(getShard(i)));
+        }
+        return new CompositeIterator<>(iterators.iterator(), 0);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return keySet(null);
+    }
+
+    @Override
+    public Set<K> keySet(int count) {
+        return keySet(null, count);
+    }
+
+    @Override
+    public Set<K> keySet(String pattern) {
+        return keySet(pattern, 10);
+    }
+
+    @Override
+    public Set<K> keySet(String pattern, int count) {
+        return new AbstractSet<K>() {
+
+            @Override
+            public Iterator<K> iterator() {
+                return RedissonShardedMap.this.iterator(shard -> shard.keySet(pattern, count).iterator());
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                return fastRemove((K) o) == 1;
+            }
+
+            @Override
+            public int size() {
+                if (pattern != null) {
+                    return super.size();
+                }
+                return RedissonShardedMap.this.size();
+            }
+
+            @Override
+            public void clear() {
+                RedissonShardedMap.this.clear();
+            }
+
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return values(null);
+    }
+
+    @Override
+    public Collection<V> values(String keyPattern) {
+        return values(keyPattern, 10);
+    }
+
+    @Override
+    public Collection<V> values(int count) {
+        return values(null, count);
+    }
+
+    @Override
+    public Collection<V> values(String keyPattern, int count) {
+        return new AbstractCollection<V>() {
+
+            @Override
+            public Iterator<V> iterator() {
+                return RedissonShardedMap.this.iterator(shard -> shard.values(keyPattern, count).iterator());
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsValue(o);
+            }
+
+            @Override
+            public int size() {
+                if (keyPattern != null) {
+                    return super.size();
+                }
+                return RedissonShardedMap.this.size();
+            }
+
+            @Override
+            public void clear() {
+                RedissonShardedMap.this.clear();
+            }
+
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return entrySet(null);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet(String keyPattern) {
+        return entrySet(keyPattern, 10);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet(int count) {
+        return entrySet(null, count);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet(String keyPattern, int count) {
+        return new AbstractSet<Map.Entry<K, V>>() {
+
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return RedissonShardedMap.this.iterator(shard -> shard.entrySet(keyPattern, count).iterator());
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Map.Entry)) {
+                    return false;
+                }
+                Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+                Object value = get(e.getKey());
+                return value != null && value.equals(e.getValue());
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                if (!(o instanceof Map.Entry)) {
+                    return false;
+                }
+                Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+                return RedissonShardedMap.this.remove(e.getKey(), e.getValue());
+            }
+
+            @Override
+            public int size() {
+                if (keyPattern != null) {
+                    return super.size();
+                }
+                return RedissonShardedMap.this.size();
+            }
+
+            @Override
+            public void clear() {
+                RedissonShardedMap.this.clear();
+            }
+
+        };
+    }
+
+    private <T extends ObjectListener> RFuture<Integer> addListenerAsync(String name, T listener, BiConsumer<T, String> consumer) {
+        RPatternTopic topic = new RedissonPatternTopic(StringCodec.INSTANCE, commandExecutor, name);
+        // each shard is a separate Redis hash, so event is fired per shard
+        return topic.addListenerAsync(String.class, (pattern, channel, msg) -> {
+            if (isShardName(msg)) {
+                consumer.accept(listener, getRawName());
+            }
+        });
+    }
+
+    @Override
+    public int addListener(ObjectListener listener) {
+        return get(addListenerAsync(listener));
+    }
+
+    @Override
+    public RFuture<Integer> addListenerAsync(ObjectListener listener) {
+        if (listener instanceof MapPutListener) {
+            return addListenerAsync("__keyevent@*:hset", (MapPutListener) listener, MapPutListener::onPut);
+        }
+        if (listener instanceof MapRemoveListener) {
+            return addListenerAsync("__keyevent@*:hdel", (MapRemoveListener) listener, MapRemoveListener::onRemove);
+        }
+        if (listener instanceof ExpiredObjectListener) {
+            return addListenerAsync("__keyevent@*:expired", (ExpiredObjectListener) listener, ExpiredObjectListener::onExpired);
+        }
+        if (listener instanceof DeletedObjectListener) {
+            return addListenerAsync("__keyevent@*:del", (DeletedObjectListener) listener, DeletedObjectListener::onDeleted);
+        }
+        throw new IllegalArgumentException();
+    }
+
+    @Override
+    public void removeListener(int listenerId) {
+        get(removeListenerAsync(listenerId));
+    }
+
+    @Override
+    public RFuture<Void> removeListenerAsync(int listenerId) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(LISTENER_CHANNELS.length);
+        for (String channel : LISTENER_CHANNELS) {
+            RPatternTopic topic = new RedissonPatternTopic(StringCodec.INSTANCE, commandExecutor, channel);
+            futures.add(topic.removeListenerAsync(listenerId).toCompletableFuture());
+        }
+        CompletableFuture<Void> f = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    protected RFuture<Boolean> expireAsync(long timeToLive, TimeUnit timeUnit, String param, String... keys) {
+        return anyAsync(shard -> shard.expireAsync(timeToLive, timeUnit, param, shard.getRawName()));
+    }
+
+    @Override
+    protected RFuture<Boolean> expireAtAsync(long timestamp, String param, String... keys) {
+        return anyAsync(shard -> shard.expireAtAsync(timestamp, param, shard.getRawName()));
+    }
+
+    @Override
+    public RFuture<Boolean> clearExpireAsync() {
+        return anyAsync(RedissonExpirable::clearExpireAsync);
+    }
+
+    private long mergeTimeToLive(List<Long> values) {
+        long result = -2;
+        for (long value : values) {
+            if (value == -2) {
+                continue;
+            }
+            if (value == -1 || result == -1) {
+                result = -1;
+            } else if (result == -2 || value < result) {
+                result = value;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public RFuture<Long> remainTimeToLiveAsync() {
+        CompletionStage<Long> f = executeAll(RedissonExpirable::remainTimeToLiveAsync).thenApply(this::mergeTimeToLive);
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public RFuture<Long> getExpireTimeAsync() {
+        CompletionStage<Long> f = executeAll(RedissonExpirable::getExpireTimeAsync).thenApply(this::mergeTimeToLive);
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public RFuture<Long> sizeInMemoryAsync() {
+        CompletionStage<Long> f = executeAll(RedissonObject::sizeInMemoryAsync)
+                                    .thenApply(res -> res.stream().mapToLong(Long::longValue).sum());
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public RFuture<Long> getIdleTimeAsync() {
+        CompletionStage<Long> f = executeAll(RedissonObject::getIdleTimeAsync).thenApply(res -> {
+            return res.stream().filter(Objects::nonNull).min(Long::compare).orElse(null);
+        });
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public RFuture<Boolean> deleteAsync() {
+        return anyAsync(RedissonObject::deleteAsync);
+    }
+
+    @Override
+    public RFuture<Boolean> unlinkAsync() {
+        return anyAsync(RedissonObject::unlinkAsync);
+    }
+
+    @Override
+    public RFuture<Boolean> touchAsync() {
+        return anyAsync(RedissonObject::touchAsync);
+    }
+
+    @Override
+    public RFuture<Boolean> isExistsAsync() {
+        return anyAsync(RedissonObject::isExistsAsync);
+    }
+
+    private <R> CompletionStage<R> failed(Throwable cause) {
+        CompletableFuture<R> f = new CompletableFuture<>();
+        f.completeExceptionally(cause);
+        return f;
+    }
+
+    private RedissonMap<String, String> getLayoutMap() {
+        return new RedissonMap<>(StringCodec.INSTANCE, commandExecutor, getLayoutName());
+    }
+
+    private <R> CompletionStage<List<R>> executeAllWithLayout(Function<RedissonObject, RFuture<R>> operation) {
+        return stableLayoutAsync().thenCompose(layout -> {
+            CompletableFuture<R> layoutFuture = operation.apply(getLayoutMap()).toCompletableFuture();
+            return executeAll(layout, operation::apply).thenCombine(layoutFuture, (res, r) -> {
+                res.add(r);
+                return res;
+            });
+        });
+    }
+
+    @Override
+    public RFuture<byte[]> dumpAsync() {
+        CompletionStage<byte[]> f = stableLayoutAsync().thenCompose(layout -> {
+            return executeAll(layout, RedissonObject::dumpAsync);
+        }).thenApply(states -> {
+            int size = 4;
+            for (byte[] state : states) {
+                size += 4;
+                if (state != null) {
+                    size += state.length;
+                }
+            }
+
+            // amount of shards followed by length prefixed state of each shard
+            ByteBuffer buf = ByteBuffer.allocate(size);
+            buf.putInt(states.size());
+            for (byte[] state : states) {
+                if (state == null) {
+                    buf.putInt(-1);
+                } else {
+                    buf.putInt(state.length);
+                    buf.put(state);
+                }
+            }
+            return buf.array();
+        });
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    private List<byte[]> decodeStates(byte[] state) {
+        ByteBuffer buf = ByteBuffer.wrap(state);
+        int amount = buf.getInt();
+        List<byte[]> states = new ArrayList<>(amount);
+        for (int i = 0; i < amount; i++) {
+            int length = buf.getInt();
+            if (length == -1) {
+                states.add(null);
+                continue;
+            }
+            byte[] shardState = new byte[length];
+            buf.get(shardState);
+            states.add(shardState);
+        }
+        return states;
+    }
+
+    private CompletionStage<Void> restoreAsync(byte[] state, boolean replace, long timeToLive, TimeUnit timeUnit) {
+        List<byte[]> states = decodeStates(state);
+        return stableLayoutAsync().thenCompose(layout -> {
+            CompletionStage<Boolean> existsFuture = CompletableFuture.completedFuture(false);
+            if (!replace) {
+                existsFuture = executeAll(layout, RedissonObject::isExistsAsync).thenApply(res -> res.contains(true));
+            }
+            return existsFuture.thenCompose(exists -> {
+                if (exists) {
+                    return failed(new IllegalStateException("Map " + getName() + " already exists"));
+                }
+
+                // shards reject operations made with previous layout before entries are restored
+                long version = Long.parseLong(layout.version) + 1;
+                int physicalShards = Math.max(states.size(), layout.getPhysicalShards());
+                CompletionStage<Void> versionsFuture = setShardVersionsAsync(physicalShards, version);
+                return versionsFuture.thenCompose(v -> {
+                    List<CompletableFuture<Void>> futures = new ArrayList<>(physicalShards);
+                    for (int i = 0; i < physicalShards; i++) {
+                        RedissonMap<K, V> shard = getShard(i);
+                        if (i >= states.size() || states.get(i) == null) {
+                            // removes entries of shards which don't exist in restored layout
+                            futures.add(shard.deleteAsync().thenApply(r -> (Void) null).toCompletableFuture());
+                        } else if (replace) {
+                            futures.add(shard.restoreAndReplaceAsync(states.get(i), timeToLive, timeUnit).toCompletableFuture());
+                        } else {
+                            futures.add(shard.restoreAsync(states.get(i), timeToLive, timeUnit).toCompletableFuture());
+                        }
+                    }
+                    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+                }).thenCompose(r -> {
+                    return commandExecutor.evalWriteAsync(getLayoutName(), StringCodec.INSTANCE, RedisCommands.EVAL_VOID,
+                            "redis.call('hset', KEYS[1], 'shards', ARGV[1]); "
+                          + "redis.call('hset', KEYS[1], 'version', ARGV[2]); ",
+                            Collections.singletonList(getLayoutName()), states.size(), version);
+                });
+            });
+        });
+    }
+
+    @Override
+    public RFuture<Void> restoreAsync(byte[] state, long timeToLive, TimeUnit timeUnit) {
+        return new CompletableFutureWrapper<>(restoreAsync(state, false, timeToLive, timeUnit));
+    }
+
+    @Override
+    public RFuture<Void> restoreAndReplaceAsync(byte[] state, long timeToLive, TimeUnit timeUnit) {
+        return new CompletableFutureWrapper<>(restoreAsync(state, true, timeToLive, timeUnit));
+    }
+
+    @Override
+    public RFuture<Void> migrateAsync(String host, int port, int database, long timeout) {
+        CompletionStage<Void> f = executeAllWithLayout(o -> o.migrateAsync(host, port, database, timeout))
+                                        .thenApply(r -> null);
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public RFuture<Void> copyAsync(String host, int port, int database, long timeout) {
+        CompletionStage<Void> f = executeAllWithLayout(o -> o.copyAsync(host, port, database, timeout))
+                                        .thenApply(r -> null);
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public RFuture<Boolean> moveAsync(int database) {
+        CompletionStage<Boolean> f = executeAllWithLayout(o -> o.moveAsync(database)).thenApply(res -> {
+            // the last result belongs to layout object
+            return res.subList(0, res.size() - 1).contains(true);
+        });
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    private CompletionStage<Void> renameAsync(String rawName, String newRawName) {
+        // shard may not exist, so it's handled as empty one
+        if (isSameSlot(rawName, newRawName)) {
+            return commandExecutor.evalWriteAsync(rawName, StringCodec.INSTANCE, RedisCommands.EVAL_VOID,
+                    "if redis.call('exists', KEYS[1]) == 1 then "
+                      + "redis.call('rename', KEYS[1], KEYS[2]); "
+                  + "else "
+                      + "redis.call('del', KEYS[2]); "
+                  + "end; ",
+                    Arrays.asList(rawName, newRawName));
+        }
+
+        // RENAME doesn't work across slots
+        RFuture<Object> stateFuture = commandExecutor.writeAsync(rawName, ByteArrayCodec.INSTANCE, RedisCommands.DUMP, rawName);
+        RFuture<Long> ttlFuture = commandExecutor.writeAsync(rawName, StringCodec.INSTANCE, RedisCommands.PTTL, rawName);
+        return stateFuture.thenCompose(state -> ttlFuture.thenCompose(ttl -> {
+            if (state == null) {
+                return commandExecutor.writeAsync(newRawName, StringCodec.INSTANCE, RedisCommands.DEL_BOOL, newRawName);
+            }
+
+            RFuture<Void> restoreFuture = commandExecutor.writeAsync(newRawName, StringCodec.INSTANCE, RedisCommands.RESTORE,
+                                                                        newRawName, Math.max(ttl, 0), state, "REPLACE");
+            return restoreFuture.thenCompose(r -> {
+                return commandExecutor.writeAsync(rawName, StringCodec.INSTANCE, RedisCommands.DEL_BOOL, rawName);
+            });
+        })).thenApply(r -> null);
+    }
+
+    @Override
+    public RFuture<Void> renameAsync(String newName) {
+        NameMapper nameMapper = commandExecutor.getServiceManager().getConfig().getNameMapper();
+        CompletionStage<Void> f = stableLayoutAsync().thenCompose(layout -> {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(layout.getPhysicalShards() + 1);
+            for (int i = 0; i < layout.getPhysicalShards(); i++) {
+                String newShardName = nameMapper.map(getShardName(i, newName));
+                futures.add(renameAsync(getShard(i).getRawName(), newShardName).toCompletableFuture());
+                // versions are moved along with layout
+                futures.add(renameAsync(getVersionName(getShard(i).getRawName()), getVersionName(newShardName))
+                                .toCompletableFuture());
+            }
+            String newLayoutName = getLayoutName(nameMapper.map(newName));
+            futures.add(renameAsync(getLayoutName(), newLayoutName).toCompletableFuture());
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        }).thenAccept(r -> {
+            destroy();
+            shards.clear();
+            currentLayout = null;
+            setName(newName);
+        });
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    @Override
+    public RFuture<Boolean> renamenxAsync(String newName) {
+        // layout object exists for each map which has been used
+        String newLayoutName = getLayoutName(commandExecutor.getServiceManager().getConfig().getNameMapper().map(newName));
+        RFuture<Boolean> existsFuture = commandExecutor.writeAsync(newLayoutName, StringCodec.INSTANCE,
+                                                                    RedisCommands.EXISTS, newLayoutName);
+        CompletionStage<Boolean> f = existsFuture.thenCompose(exists -> {
+            if (exists) {
+                return CompletableFuture.completedFuture(false);
+            }
+            return renameAsync(newName).thenApply(r -> true);
+        });
+        return new CompletableFutureWrapper<>(f);
+    }
+
+}
@@ -21,13 +21,13 @@ import org.redisson.api.RShardedTopic;
 import org.redisson.api.listener.MessageListener;
 import org.redisson.client.RedisPubSubListener;
 import org.redisson.client.codec.Codec;
-import org.redisson.client.codec.StringCodec;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.client.protocol.pubsub.PubSubType;
 import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.misc.CompletableFutureWrapper;
 import org.redisson.pubsub.PubSubConnectionEntry;
 
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -61,8 +61,12 @@ public class RedissonShardedTopic extends RedissonTopic implements RShardedTopic
 
     @Override
     public RFuture<Long> publishAsync(Object message) {
-        String name = getName(message);
-        return commandExecutor.writeAsync(name, StringCodec.INSTANCE, RedisCommands.SPUBLISH, name, commandExecutor.encode(codec, message));
+        return publishAsync(RedisCommands.SPUBLISH, message);
+    }
+
+    @Override
+    public RFuture<Long> publishAllAsync(Collection<?> messages) {
+        return publishAllAsync(RedisCommands.SPUBLISH, messages);
     }
 
     @Override
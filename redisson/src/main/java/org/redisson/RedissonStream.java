@@ -1438,4 +1438,9 @@ public class RedissonStream<K, V> extends RedissonExpirable implements RStream<K
         return trimAsync(args, false);
     }
 
+    @Override
+    public RStreamConsumer createConsumer(StreamConsumerOptions<K, V> options) {
+        return new RedissonStreamConsumer<>(this, commandExecutor, options);
+    }
+
 }
@@ -0,0 +1,438 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import io.netty.util.Timeout;
+import org.redisson.api.*;
+import org.redisson.api.stream.StreamConsumerMetrics;
+import org.redisson.api.stream.StreamConsumerOptions;
+import org.redisson.api.stream.StreamCreateGroupArgs;
+import org.redisson.api.stream.StreamReadGroupArgs;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.misc.CompletableFutureWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consumer group worker implementation.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class RedissonStreamConsumer<K, V> implements RStreamConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(RedissonStreamConsumer.class);
+
+    private static final class Message<K, V> {
+
+        final StreamMessageId id;
+        final Map<K, V> entries;
+
+        Message(StreamMessageId id, Map<K, V> entries) {
+            this.id = id;
+            this.entries = entries;
+        }
+
+    }
+
+    private final RStream<K, V> stream;
+    private final CommandAsyncExecutor commandExecutor;
+    private final StreamConsumerOptions<K, V> options;
+    private final String consumerName;
+    private final ExecutorService executor;
+    private final int capacity;
+
+    private final Queue<Message<K, V>> messages = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final AtomicInteger activeReads = new AtomicInteger();
+    private final AtomicInteger suspendedReads = new AtomicInteger();
+
+    // messages queued, handled or waiting for acknowledgement by this consumer
+    private final Set<StreamMessageId> heldIds = ConcurrentHashMap.newKeySet();
+    private final Queue<StreamMessageId> acks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger acksSize = new AtomicInteger();
+    private final Queue<CompletableFuture<Long>> ackFutures = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong acknowledged = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile long startTime;
+    private volatile StreamMessageId claimCursor = StreamMessageId.MIN;
+    private volatile Timeout ackTask;
+    private volatile Timeout claimTask;
+    private volatile CompletableFuture<Void> stopFuture;
+
+    public RedissonStreamConsumer(RStream<K, V> stream, CommandAsyncExecutor commandExecutor, StreamConsumerOptions<K, V> options) {
+        this.stream = stream;
+        this.commandExecutor = commandExecutor;
+        this.options = options;
+        if (options.getConsumerName() != null) {
+            this.consumerName = options.getConsumerName();
+        } else {
+            this.consumerName = commandExecutor.getServiceManager().generateId();
+        }
+        if (options.getExecutor() != null) {
+            this.executor = options.getExecutor();
+        } else {
+            this.executor = commandExecutor.getServiceManager().getExecutor();
+        }
+        this.capacity = options.getBatchSize() * options.getReadsInFlight();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        RFuture<Void> groupFuture = stream.createGroupAsync(StreamCreateGroupArgs.name(options.getGroupName())
+                                                                        .id(options.getStartId())
+                                                                        .makeStream());
+        CompletableFuture<Void> f = groupFuture.toCompletableFuture().exceptionally(e -> {
+            if (e.getMessage() != null && e.getMessage().contains("BUSYGROUP")) {
+                return null;
+            }
+            if (e.getCause() != null && e.getCause().getMessage() != null
+                    && e.getCause().getMessage().contains("BUSYGROUP")) {
+                return null;
+            }
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw new IllegalStateException(e);
+        });
+        commandExecutor.get(f);
+
+        running = true;
+        stopFuture = null;
+        startTime = System.currentTimeMillis();
+        for (int i = 0; i < options.getReadsInFlight(); i++) {
+            read();
+        }
+        scheduleAck();
+        scheduleClaim();
+    }
+
+    private void read() {
+        if (!running || commandExecutor.getServiceManager().isShuttingDown()) {
+            return;
+        }
+        if (queued.get() >= capacity) {
+            suspendedReads.incrementAndGet();
+            // worker might have drained the queue before suspension
+            resumeReads();
+            return;
+        }
+
+        activeReads.incrementAndGet();
+        StreamReadGroupArgs args = StreamReadGroupArgs.neverDelivered()
+                                        .count(options.getBatchSize())
+                                        .timeout(options.getBlockTimeout());
+        RFuture<Map<StreamMessageId, Map<K, V>>> f = stream.readGroupAsync(options.getGroupName(), consumerName, args);
+        f.whenComplete((res, e) -> {
+            activeReads.decrementAndGet();
+            if (e != null) {
+                if (commandExecutor.getServiceManager().isShuttingDown()) {
+                    return;
+                }
+
+                log.error("Unable to read messages from {} stream", stream.getName(), e);
+                commandExecutor.getServiceManager().newTimeout(t -> read(), 1, TimeUnit.SECONDS);
+                tryCompleteStop();
+                return;
+            }
+
+            if (res != null && !res.isEmpty()) {
+                received.addAndGet(res.size());
+                enqueue(res);
+            }
+            read();
+            tryCompleteStop();
+        });
+    }
+
+    private void enqueue(Map<StreamMessageId, Map<K, V>> res) {
+        for (Map.Entry<StreamMessageId, Map<K, V>> entry : res.entrySet()) {
+            heldIds.add(entry.getKey());
+            messages.add(new Message<>(entry.getKey(), entry.getValue()));
+        }
+        queued.addAndGet(res.size());
+        dispatch();
+    }
+
+    private void dispatch() {
+        while (true) {
+            int workers = activeWorkers.get();
+            if (workers >= Math.min(options.getWorkers(), queued.get())) {
+                return;
+            }
+            if (activeWorkers.compareAndSet(workers, workers + 1)) {
+                executor.execute(this::work);
+            }
+        }
+    }
+
+    private void work() {
+        try {
+            while (true) {
+                Message<K, V> message = messages.poll();
+                if (message == null) {
+                    break;
+                }
+                queued.decrementAndGet();
+                resumeReads();
+
+                try {
+                    options.getHandler().onMessage(message.id, message.entries);
+                    processed.incrementAndGet();
+                    ack(message.id);
+                } catch (Exception e) {
+                    // message stays pending and could be claimed again after idle time
+                    heldIds.remove(message.id);
+                    failed.incrementAndGet();
+                    log.error("Unable to handle message {} of {} stream", message.id, stream.getName(), e);
+                }
+            }
+        } finally {
+            activeWorkers.decrementAndGet();
+        }
+
+        // message might be added after queue polling
+        if (!messages.isEmpty()) {
+            dispatch();
+        }
+        tryCompleteStop();
+    }
+
+    private void resumeReads() {
+        while (queued.get() < capacity) {
+            int value = suspendedReads.get();
+            if (value == 0) {
+                return;
+            }
+            if (suspendedReads.compareAndSet(value, value - 1)) {
+                read();
+            }
+        }
+    }
+
+    private void ack(StreamMessageId id) {
+        acks.add(id);
+        if (acksSize.incrementAndGet() >= options.getAckBatchSize()) {
+            flushAcks();
+        }
+    }
+
+    private CompletableFuture<Void> flushAcks() {
+        List<StreamMessageId> ids = new ArrayList<>();
+        while (ids.size() < options.getAckBatchSize()) {
+            StreamMessageId id = acks.poll();
+            if (id == null) {
+                break;
+            }
+            ids.add(id);
+        }
+        acksSize.addAndGet(-ids.size());
+        if (ids.isEmpty()) {
+            return CompletableFuture.allOf(ackFutures.toArray(new CompletableFuture[0]));
+        }
+
+        CompletableFuture<Long> f = stream.ackAsync(options.getGroupName(), ids.toArray(new StreamMessageId[0])).toCompletableFuture();
+        ackFutures.add(f);
+        f.whenComplete((r, e) -> {
+            ackFutures.remove(f);
+            ids.forEach(heldIds::remove);
+            if (e != null) {
+                log.error("Unable to acknowledge {} messages of {} stream", ids.size(), stream.getName(), e);
+                return;
+            }
+            acknowledged.addAndGet(r);
+        });
+
+        if (acksSize.get() >= options.getAckBatchSize()) {
+            return flushAcks();
+        }
+        return CompletableFuture.allOf(ackFutures.toArray(new CompletableFuture[0]));
+    }
+
+    private void scheduleAck() {
+        ackTask = commandExecutor.getServiceManager().newTimeout(t -> {
+            if (!running) {
+                return;
+            }
+
+            flushAcks();
+            scheduleAck();
+        }, options.getAckInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void scheduleClaim() {
+        claimTask = commandExecutor.getServiceManager().newTimeout(t -> {
+            if (!running) {
+                return;
+            }
+
+            claim();
+        }, options.getClaimInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void claim() {
+        if (queued.get() >= capacity) {
+            scheduleClaim();
+            return;
+        }
+
+        RFuture<AutoClaimResult<K, V>> f = stream.autoClaimAsync(options.getGroupName(), consumerName,
+                                                options.getClaimMinIdleTime().toMillis(), TimeUnit.MILLISECONDS,
+                                                claimCursor, options.getBatchSize());
+        f.whenComplete((res, e) -> {
+            if (e != null) {
+                if (commandExecutor.getServiceManager().isShuttingDown()) {
+                    return;
+                }
+
+                log.error("Unable to claim messages of {} stream", stream.getName(), e);
+                scheduleClaim();
+                return;
+            }
+
+            // XAUTOCLAIM returns idle messages already held by this consumer as well
+            Map<StreamMessageId, Map<K, V>> claimedMessages = new LinkedHashMap<>();
+            for (Map.Entry<StreamMessageId, Map<K, V>> entry : res.getMessages().entrySet()) {
+                if (!heldIds.contains(entry.getKey())) {
+                    claimedMessages.put(entry.getKey(), entry.getValue());
+                }
+            }
+            if (!claimedMessages.isEmpty()) {
+                claimed.addAndGet(claimedMessages.size());
+                enqueue(claimedMessages);
+            }
+
+            StreamMessageId nextId = res.getNextId();
+            if (nextId == null
+                    || (nextId.getId0() == 0 && nextId.getId1() == 0)) {
+                claimCursor = StreamMessageId.MIN;
+                scheduleClaim();
+                return;
+            }
+
+            claimCursor = nextId;
+            if (running) {
+                // continue scan without delay
+                claim();
+            }
+        });
+    }
+
+    @Override
+    public void stop() {
+        commandExecutor.get(stopAsync());
+    }
+
+    @Override
+    public synchronized RFuture<Void> stopAsync() {
+        if (stopFuture != null) {
+            return new CompletableFutureWrapper<>(stopFuture);
+        }
+
+        running = false;
+        if (ackTask != null) {
+            ackTask.cancel();
+        }
+        if (claimTask != null) {
+            claimTask.cancel();
+        }
+
+        stopFuture = new CompletableFuture<>();
+        tryCompleteStop();
+        return new CompletableFutureWrapper<>(stopFuture);
+    }
+
+    private void tryCompleteStop() {
+        CompletableFuture<Void> f = stopFuture;
+        if (f == null || f.isDone()) {
+            return;
+        }
+
+        if (activeReads.get() > 0
+                || activeWorkers.get() > 0
+                    || !messages.isEmpty()) {
+            return;
+        }
+
+        flushAcks().whenComplete((r, e) -> {
+            if (!acks.isEmpty()) {
+                flushAcks();
+            }
+            f.complete(null);
+        });
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public StreamConsumerMetrics getMetrics() {
+        return commandExecutor.get(getMetricsAsync());
+    }
+
+    @Override
+    public RFuture<StreamConsumerMetrics> getMetricsAsync() {
+        RFuture<List<StreamGroup>> f = stream.listGroupsAsync();
+        CompletableFuture<StreamConsumerMetrics> result = f.toCompletableFuture().thenApply(groups -> {
+            long pending = 0;
+            long lag = 0;
+            for (StreamGroup group : groups) {
+                if (group.getName().equals(options.getGroupName())) {
+                    pending = group.getPending();
+                    lag = group.getLag();
+                }
+            }
+
+            long elapsed = 0;
+            if (startTime > 0) {
+                elapsed = System.currentTimeMillis() - startTime;
+            }
+            return new StreamConsumerMetrics(received.get(), claimed.get(), processed.get(), failed.get(),
+                            acknowledged.get(), queued.get() + activeWorkers.get(), pending, lag, elapsed);
+        });
+        return new CompletableFutureWrapper<>(result);
+    }
+
+}
@@ -25,13 +25,20 @@ import org.redisson.client.RedisPubSubListener;
 import org.redisson.client.codec.Codec;
 import org.redisson.client.codec.LongCodec;
 import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommand;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.client.protocol.pubsub.PubSubType;
 import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.command.CommandBatchService;
 import org.redisson.misc.CompletableFutureWrapper;
 import org.redisson.pubsub.PubSubConnectionEntry;
+import org.redisson.pubsub.PublishAccumulator;
 import org.redisson.pubsub.PublishSubscribeService;
+import org.redisson.reactive.CommandReactiveBatchService;
+import org.redisson.rx.CommandRxBatchService;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -95,8 +102,61 @@ public class RedissonTopic implements RTopic {
 
     @Override
     public RFuture<Long> publishAsync(Object message) {
+        return publishAsync(RedisCommands.PUBLISH, message);
+    }
+
+    protected final RFuture<Long> publishAsync(RedisCommand<Long> command, Object message) {
         String name = getName(message);
-        return commandExecutor.writeAsync(name, StringCodec.INSTANCE, RedisCommands.PUBLISH, name, commandExecutor.encode(codec, message));
+        if (commandExecutor.getServiceManager().getCfg().getPublishLingerTime() > 0
+                && !isBatchExecutor()) {
+            PublishAccumulator accumulator = subscribeService.getPublishAccumulator(commandExecutor);
+            return accumulator.publishAsync(command, name, commandExecutor.encode(codec, message));
+        }
+        return commandExecutor.writeAsync(name, StringCodec.INSTANCE, command, name, commandExecutor.encode(codec, message));
+    }
+
+    @Override
+    public long publishAll(Collection<?> messages) {
+        return commandExecutor.get(publishAllAsync(messages));
+    }
+
+    @Override
+    public RFuture<Long> publishAllAsync(Collection<?> messages) {
+        return publishAllAsync(RedisCommands.PUBLISH, messages);
+    }
+
+    protected final RFuture<Long> publishAllAsync(RedisCommand<Long> command, Collection<?> messages) {
+        if (messages.isEmpty()) {
+            return new CompletableFutureWrapper<>(0L);
+        }
+
+        CommandAsyncExecutor executor = commandExecutor;
+        if (!isBatchExecutor()) {
+            executor = new CommandBatchService(commandExecutor);
+        }
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>(messages.size());
+        for (Object message : messages) {
+            String name = getName(message);
+            RFuture<Long> f = executor.writeAsync(name, StringCodec.INSTANCE, command, name, commandExecutor.encode(codec, message));
+            futures.add(f.toCompletableFuture());
+        }
+
+        if (executor != commandExecutor) {
+            ((CommandBatchService) executor).executeAsync();
+        }
+
+        CompletableFuture<Void> f = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        CompletableFuture<Long> result = f.thenApply(r -> {
+            return futures.stream().mapToLong(v -> v.getNow(0L)).sum();
+        });
+        return new CompletableFutureWrapper<>(result);
+    }
+
+    private boolean isBatchExecutor() {
+        return commandExecutor instanceof CommandBatchService
+                || commandExecutor instanceof CommandReactiveBatchService
+                    || commandExecutor instanceof CommandRxBatchService;
     }
 
     @Override
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+import org.redisson.api.listener.BulkLoadListener;
+import org.redisson.client.codec.Codec;
+
+/**
+ * Configuration for {@link RBulkLoader} object.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public final class BulkLoadOptions {
+
+    private int chunkSize = 500;
+    private int chunkSizeInBytes = 64 * 1024;
+    private int maxInFlightChunks = 4;
+    private boolean swap;
+    private Codec codec;
+    private BulkLoadListener progressListener;
+
+    private BulkLoadOptions() {
+    }
+
+    public static BulkLoadOptions defaults() {
+        return new BulkLoadOptions();
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Defines maximum amount of entries sent to Redis in a single command.
+     * <p>
+     * Default is <code>500</code>
+     *
+     * @param chunkSize amount of entries
+     * @return self instance
+     */
+    public BulkLoadOptions chunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize should be positive");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    public int getChunkSizeInBytes() {
+        return chunkSizeInBytes;
+    }
+
+    /**
+     * Defines maximum size of encoded entries sent to Redis in a single command.
+     * Chunk is sent once either size or amount limit is reached.
+     * <p>
+     * Default is <code>65536 bytes</code>
+     *
+     * @param chunkSizeInBytes size in bytes
+     * @return self instance
+     */
+    public BulkLoadOptions chunkSizeInBytes(int chunkSizeInBytes) {
+        if (chunkSizeInBytes <= 0) {
+            throw new IllegalArgumentException("chunkSizeInBytes should be positive");
+        }
+        this.chunkSizeInBytes = chunkSizeInBytes;
+        return this;
+    }
+
+    public int getMaxInFlightChunks() {
+        return maxInFlightChunks;
+    }
+
+    /**
+     * Defines maximum amount of chunks sent to Redis without response.
+     * Source isn't consumed further until one of them is completed.
+     * <p>
+     * Keep this value small to avoid latency growth for other Redis clients.
+     * <p>
+     * Default is <code>4</code>
+     *
+     * @param maxInFlightChunks amount of chunks
+     * @return self instance
+     */
+    public BulkLoadOptions maxInFlightChunks(int maxInFlightChunks) {
+        if (maxInFlightChunks <= 0) {
+            throw new IllegalArgumentException("maxInFlightChunks should be positive");
+        }
+        this.maxInFlightChunks = maxInFlightChunks;
+        return this;
+    }
+
+    public boolean isSwap() {
+        return swap;
+    }
+
+    /**
+     * Defines whether data is loaded into temporary object
+     * which atomically replaces target object using RENAME command
+     * after loading is completed.
+     * Target object stays unchanged if loading failed.
+     * <p>
+     * Default is <code>false</code>
+     *
+     * @param swap <code>true</code> if temporary object should be used
+     * @return self instance
+     */
+    public BulkLoadOptions swap(boolean swap) {
+        this.swap = swap;
+        return this;
+    }
+
+    public Codec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Defines codec used to encode entries.
+     * <p>
+     * Default is codec defined in Redisson configuration
+     *
+     * @param codec codec
+     * @return self instance
+     */
+    public BulkLoadOptions codec(Codec codec) {
+        this.codec = codec;
+        return this;
+    }
+
+    public BulkLoadListener getProgressListener() {
+        return progressListener;
+    }
+
+    /**
+     * Defines listener invoked after each chunk acknowledged by Redis.
+     *
+     * @param progressListener listener
+     * @return self instance
+     */
+    public BulkLoadOptions progressListener(BulkLoadListener progressListener) {
+        this.progressListener = progressListener;
+        return this;
+    }
+
+}
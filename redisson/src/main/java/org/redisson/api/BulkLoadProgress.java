@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+/**
+ * Bulk loading progress.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public final class BulkLoadProgress {
+
+    private final long entries;
+    private final long bytes;
+    private final long chunks;
+    private final long elapsedMillis;
+
+    public BulkLoadProgress(long entries, long bytes, long chunks, long elapsedMillis) {
+        this.entries = entries;
+        this.bytes = bytes;
+        this.chunks = chunks;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Returns amount of entries acknowledged by Redis.
+     *
+     * @return amount of entries
+     */
+    public long getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns size of encoded entries acknowledged by Redis.
+     *
+     * @return size in bytes
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns amount of chunks acknowledged by Redis.
+     *
+     * @return amount of chunks
+     */
+    public long getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Returns time elapsed since loading start.
+     *
+     * @return time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Returns average loading throughput.
+     *
+     * @return entries per second
+     */
+    public double getEntriesPerSecond() {
+        if (elapsedMillis == 0) {
+            return entries;
+        }
+        return entries * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * Returns average loading throughput.
+     *
+     * @return bytes per second
+     */
+    public double getBytesPerSecond() {
+        if (elapsedMillis == 0) {
+            return bytes;
+        }
+        return bytes * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkLoadProgress{" +
+                "entries=" + entries +
+                ", bytes=" + bytes +
+                ", chunks=" + chunks +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
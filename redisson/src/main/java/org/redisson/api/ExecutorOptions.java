@@ -29,6 +29,8 @@ public final class ExecutorOptions {
 
     private IdGenerator idGenerator = IdGenerator.random();
 
+    private boolean classRegistry;
+
     private ExecutorOptions() {
     }
     
@@ -76,4 +78,27 @@ public final class ExecutorOptions {
         return this;
     }
 
+    public boolean isClassRegistry() {
+        return classRegistry;
+    }
+
+    /**
+     * Defines whether task class bytecode is stored once in a class registry
+     * and referenced by tasks using its content hash.
+     * <p>
+     * Bytecode is sent along with tasks until it's stored in the registry.
+     * Workers load it from the registry on first use and cache it.
+     * <p>
+     * Requires workers of Redisson version supporting class registry.
+     * <p>
+     * Default is <code>false</code>
+     *
+     * @param classRegistry <code>true</code> if class registry is used
+     * @return self instance
+     */
+    public ExecutorOptions classRegistry(boolean classRegistry) {
+        this.classRegistry = classRegistry;
+        return this;
+    }
+
 }
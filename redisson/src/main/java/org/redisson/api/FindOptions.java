@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+/**
+ * Options for Live Objects search.
+ *
+ * @see RLiveObjectService#find(Class, org.redisson.api.condition.Condition, FindOptions)
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public final class FindOptions {
+
+    private int offset;
+    private int limit = -1;
+
+    private String sortField;
+    private SortOrder sortOrder = SortOrder.ASC;
+
+    private int batchSize = 100;
+
+    private FindOptions() {
+    }
+
+    public static FindOptions defaults() {
+        return new FindOptions();
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Defines amount of matched objects to skip.
+     * <p>
+     * Default is <code>0</code>
+     *
+     * @param offset value
+     * @return self instance
+     */
+    public FindOptions offset(int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset can't be negative");
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Defines max amount of returned objects.
+     * <code>-1</code> means no limit.
+     * <p>
+     * Default is <code>-1</code>
+     *
+     * @param limit value
+     * @return self instance
+     */
+    public FindOptions limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    public String getSortField() {
+        return sortField;
+    }
+
+    public SortOrder getSortOrder() {
+        return sortOrder;
+    }
+
+    /**
+     * Defines numeric field annotated with {@link org.redisson.api.annotation.RIndex}
+     * used to sort matched objects. Objects without value of this field are placed last.
+     * Search fails with {@link IllegalArgumentException} if field isn't numeric or indexed.
+     * <p>
+     * Default objects are sorted by id in ascending order
+     *
+     * @param fieldName field name
+     * @param sortOrder sort order
+     * @return self instance
+     */
+    public FindOptions sortBy(String fieldName, SortOrder sortOrder) {
+        this.sortField = fieldName;
+        this.sortOrder = sortOrder;
+        return this;
+    }
+
+    /**
+     * Defines objects order by id.
+     * <p>
+     * Default is <code>SortOrder.ASC</code>
+     *
+     * @param sortOrder sort order
+     * @return self instance
+     */
+    public FindOptions sortBy(SortOrder sortOrder) {
+        this.sortField = null;
+        this.sortOrder = sortOrder;
+        return this;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Defines amount of objects loaded per request
+     * by {@link RLiveObjectService#findIterable(Class, org.redisson.api.condition.Condition, FindOptions)}.
+     * <p>
+     * Default is <code>100</code>
+     *
+     * @param batchSize value
+     * @return self instance
+     */
+    public FindOptions batchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize should be positive");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+}
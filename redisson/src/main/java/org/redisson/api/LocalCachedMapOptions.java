@@ -140,6 +140,8 @@ public class LocalCachedMapOptions<K, V> extends MapOptions<K, V> {
     private StoreMode storeMode;
     private boolean storeCacheMiss;
     private boolean useKeyEventsPattern;
+    private String snapshotPath;
+    private long snapshotIntervalInMillis;
     
     protected LocalCachedMapOptions() {
     }
@@ -154,6 +156,9 @@ public class LocalCachedMapOptions<K, V> extends MapOptions<K, V> {
         this.cacheProvider = copy.cacheProvider;
         this.storeMode = copy.storeMode;
         this.storeCacheMiss = copy.storeCacheMiss;
+        this.useKeyEventsPattern = copy.useKeyEventsPattern;
+        this.snapshotPath = copy.snapshotPath;
+        this.snapshotIntervalInMillis = copy.snapshotIntervalInMillis;
     }
     
     /**
@@ -167,7 +172,8 @@ public class LocalCachedMapOptions<K, V> extends MapOptions<K, V> {
      *      .reconnectionStrategy(ReconnectionStrategy.NONE)
      *      .cacheProvider(CacheProvider.REDISSON)
      *      .syncStrategy(SyncStrategy.INVALIDATE)
-     *      .storeCacheMiss(false);
+     *      .storeCacheMiss(false)
+     *      .snapshotInterval(60000);
      * </pre>
      * 
      * @param <K> key type
@@ -185,7 +191,8 @@ public class LocalCachedMapOptions<K, V> extends MapOptions<K, V> {
                     .storeMode(StoreMode.LOCALCACHE_REDIS)
                     .syncStrategy(SyncStrategy.INVALIDATE)
                     .storeCacheMiss(false)
-                    .useKeyEventsPattern(true);
+                    .useKeyEventsPattern(true)
+                    .snapshotInterval(TimeUnit.MINUTES.toMillis(1));
     }
 
     public CacheProvider getCacheProvider() {
@@ -394,6 +401,65 @@ public class LocalCachedMapOptions<K, V> extends MapOptions<K, V> {
         return this;
     }
 
+    public String getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    /**
+     * Defines path to the file used to persist local cache state.
+     * Local cache is periodically stored into this file and restored from it
+     * during LocalCachedMap instance creation, so restarted application starts with warmed up cache.
+     * <p>
+     * Restored entries are validated against invalidation log and entries changed since
+     * the snapshot moment are skipped. Snapshot is ignored if it's older than invalidation log lifetime (10 minutes).
+     * Requires {@link ReconnectionStrategy#LOAD} reconnection strategy.
+     * <p>
+     * Default is <code>null</code>. Snapshots are disabled.
+     *
+     * @param snapshotPath - path to snapshot file
+     * @return LocalCachedMapOptions instance
+     */
+    public LocalCachedMapOptions<K, V> snapshotPath(String snapshotPath) {
+        this.snapshotPath = snapshotPath;
+        return this;
+    }
+
+    public long getSnapshotIntervalInMillis() {
+        return snapshotIntervalInMillis;
+    }
+
+    /**
+     * Defines interval in milliseconds between local cache snapshots.
+     * Applied only if {@link #snapshotPath(String)} is defined.
+     * <p>
+     * Default is <code>60000</code>
+     *
+     * @param snapshotIntervalInMillis - snapshot interval in milliseconds
+     * @return LocalCachedMapOptions instance
+     */
+    public LocalCachedMapOptions<K, V> snapshotInterval(long snapshotIntervalInMillis) {
+        if (snapshotIntervalInMillis <= 0) {
+            throw new IllegalArgumentException("snapshotInterval should be greater than zero");
+        }
+
+        this.snapshotIntervalInMillis = snapshotIntervalInMillis;
+        return this;
+    }
+
+    /**
+     * Defines interval between local cache snapshots.
+     * Applied only if {@link #snapshotPath(String)} is defined.
+     * <p>
+     * Default is <code>1 minute</code>
+     *
+     * @param snapshotInterval - snapshot interval
+     * @param timeUnit - time unit
+     * @return LocalCachedMapOptions instance
+     */
+    public LocalCachedMapOptions<K, V> snapshotInterval(long snapshotInterval, TimeUnit timeUnit) {
+        return snapshotInterval(timeUnit.toMillis(snapshotInterval));
+    }
+
     @Override
     public LocalCachedMapOptions<K, V> writeBehindBatchSize(int writeBehindBatchSize) {
         return (LocalCachedMapOptions<K, V>) super.writeBehindBatchSize(writeBehindBatchSize);
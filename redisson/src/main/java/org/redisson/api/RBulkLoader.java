@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+import org.reactivestreams.Publisher;
+import org.redisson.client.protocol.ScoredEntry;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streaming bulk loader for large amount of entries.
+ * <p>
+ * Source is consumed lazily and split into chunks limited by amount and size of entries.
+ * Amount of chunks sent to Redis without response is limited,
+ * so source isn't consumed faster than Redis is able to store it
+ * and each chunk doesn't block Redis for a long time.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public interface RBulkLoader {
+
+    /**
+     * Loads entries into map with defined name.
+     *
+     * @param name map name
+     * @param entries source of entries
+     * @param <K> key type
+     * @param <V> value type
+     * @return loading result
+     */
+    <K, V> BulkLoadProgress loadMap(String name, Iterator<? extends Map.Entry<K, V>> entries);
+
+    /**
+     * Loads entries into map with defined name.
+     *
+     * @param name map name
+     * @param entries source of entries
+     * @param <K> key type
+     * @param <V> value type
+     * @return loading result
+     */
+    <K, V> BulkLoadProgress loadMap(String name, Stream<? extends Map.Entry<K, V>> entries);
+
+    /**
+     * Loads entries into map with defined name.
+     *
+     * @param name map name
+     * @param entries source of entries
+     * @param <K> key type
+     * @param <V> value type
+     * @return loading result
+     */
+    <K, V> RFuture<BulkLoadProgress> loadMapAsync(String name, Publisher<? extends Map.Entry<K, V>> entries);
+
+    /**
+     * Loads elements into set with defined name.
+     *
+     * @param name set name
+     * @param elements source of elements
+     * @param <V> value type
+     * @return loading result
+     */
+    <V> BulkLoadProgress loadSet(String name, Iterator<? extends V> elements);
+
+    /**
+     * Loads elements into set with defined name.
+     *
+     * @param name set name
+     * @param elements source of elements
+     * @param <V> value type
+     * @return loading result
+     */
+    <V> BulkLoadProgress loadSet(String name, Stream<? extends V> elements);
+
+    /**
+     * Loads elements into set with defined name.
+     *
+     * @param name set name
+     * @param elements source of elements
+     * @param <V> value type
+     * @return loading result
+     */
+    <V> RFuture<BulkLoadProgress> loadSetAsync(String name, Publisher<? extends V> elements);
+
+    /**
+     * Loads scored elements into sorted set with defined name.
+     *
+     * @param name sorted set name
+     * @param entries source of scored elements
+     * @param <V> value type
+     * @return loading result
+     */
+    <V> BulkLoadProgress loadScoredSortedSet(String name, Iterator<? extends ScoredEntry<V>> entries);
+
+    /**
+     * Loads scored elements into sorted set with defined name.
+     *
+     * @param name sorted set name
+     * @param entries source of scored elements
+     * @param <V> value type
+     * @return loading result
+     */
+    <V> BulkLoadProgress loadScoredSortedSet(String name, Stream<? extends ScoredEntry<V>> entries);
+
+    /**
+     * Loads scored elements into sorted set with defined name.
+     *
+     * @param name sorted set name
+     * @param entries source of scored elements
+     * @param <V> value type
+     * @return loading result
+     */
+    <V> RFuture<BulkLoadProgress> loadScoredSortedSetAsync(String name, Publisher<? extends ScoredEntry<V>> entries);
+
+}
@@ -52,6 +52,50 @@ public interface RLiveObjectService {
      * @return a proxied object if it exists in redis, or null if not.
      */
     <T> T get(Class<T> entityClass, Object id);
+
+    /**
+     * Finds the entities from Redis by ids.
+     * <p>
+     * All fields of found entities are loaded using single pipelined request.
+     * Getters of returned objects read field values from the loaded state
+     * without requests to Redis. Setters update both loaded state and Redis.
+     *
+     * @param entityClass - entity class
+     * @param ids identifiers
+     * @param <T> Entity type
+     * @return list of proxied objects which exist in Redis
+     */
+    <T> List<T> get(Class<T> entityClass, Collection<?> ids);
+
+    /**
+     * Finds the entities from Redis by ids.
+     * <p>
+     * All fields of found entities are loaded using single pipelined request.
+     * Getters of returned objects read field values from the loaded state
+     * without requests to Redis.
+     * <p>
+     * If <code>bufferWrites = true</code> setters update loaded state only
+     * and changes are stored in Redis by {@link #flush(Object...)} method
+     * with single HSET command per object. Fields annotated with {@link org.redisson.api.annotation.RIndex}
+     * are always stored immediately.
+     *
+     * @param entityClass - entity class
+     * @param ids identifiers
+     * @param bufferWrites - buffer field updates until flush
+     * @param <T> Entity type
+     * @return list of proxied objects which exist in Redis
+     */
+    <T> List<T> get(Class<T> entityClass, Collection<?> ids, boolean bufferWrites);
+
+    /**
+     * Stores buffered field updates of objects returned by
+     * {@link #get(Class, Collection, boolean)} method.
+     * <p>
+     * Executed in a batch mode.
+     *
+     * @param attachedObjects - proxied objects
+     */
+    void flush(Object... attachedObjects);
     
     /**
      * Finds the entities matches specified <code>condition</code>.
@@ -70,6 +114,42 @@ public interface RLiveObjectService {
      */
     <T> Collection<T> find(Class<T> entityClass, Condition condition);
 
+    /**
+     * Finds the entities matches specified <code>condition</code>.
+     * Condition is evaluated on Redis side and only requested page of objects is returned.
+     * Usage example:
+     * <pre>
+     * List objects = liveObjectService.find(MyObject.class, Conditions.gt("field", 10),
+     *                          FindOptions.defaults().sortBy("field", SortOrder.DESC).offset(20).limit(10));
+     * </pre>
+     *
+     * @see Conditions
+     *
+     * @param <T> Entity type
+     * @param entityClass - entity class
+     * @param condition - condition object
+     * @param options - search options
+     * @return list of live objects or empty list.
+     */
+    <T> List<T> find(Class<T> entityClass, Condition condition, FindOptions options);
+
+    /**
+     * Returns iterator over entities matches specified <code>condition</code>.
+     * Objects are loaded in pages defined by {@link FindOptions#batchSize(int)}.
+     * Each page is loaded by separate request which continues after the last returned object,
+     * so added or deleted objects don't shift the pages. Object which sort field value
+     * is changed during iteration may be skipped or returned twice.
+     *
+     * @see Conditions
+     *
+     * @param <T> Entity type
+     * @param entityClass - entity class
+     * @param condition - condition object
+     * @param options - search options
+     * @return iterable of live objects
+     */
+    <T> Iterable<T> findIterable(Class<T> entityClass, Condition condition, FindOptions options);
+
     /**
      * Counts the entities matches specified <code>condition</code>.
      * Usage example:
@@ -109,6 +189,17 @@ public interface RLiveObjectService {
      */
     <K> Iterable<K> findIds(Class<?> entityClass, int count);
 
+    /**
+     * Indexes all existing objects of specified <code>entityClass</code>
+     * in composite indexes defined by {@link org.redisson.api.annotation.RCompositeIndex} annotation.
+     * Required only if objects have been persisted before the index was added to the class,
+     * indexes of class without objects are built automatically.
+     * Objects are traversed with SCAN operation.
+     *
+     * @param entityClass - entity class
+     */
+    void rebuildIndexes(Class<?> entityClass);
+
     /**
      * Returns proxied object for the detached object. Discard all the
      * field values already in the detached instance.
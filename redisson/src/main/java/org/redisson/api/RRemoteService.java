@@ -111,6 +111,25 @@ public interface RRemoteService {
      * @param executor - executor service used to invoke methods
      */
     <T> void register(Class<T> remoteInterface, T object, int workers, ExecutorService executor);
+
+    /**
+     * Register remote service with defined options.
+     * <p>
+     * Usage example:
+     * <pre>
+     *     remoteService.register(SomeService.class, someServiceImpl,
+     *              RemoteWorkerOptions.defaults()
+     *                      .workers(16)
+     *                      .batchSize(100)
+     *                      .batchDelay(5, TimeUnit.MILLISECONDS));
+     * </pre>
+     *
+     * @param <T> type of remote service
+     * @param remoteInterface - remote service interface
+     * @param object - remote service object
+     * @param options - worker options
+     */
+    <T> void register(Class<T> remoteInterface, T object, RemoteWorkerOptions options);
     
     /**
      * Deregister all workers for remote service
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+/**
+ * Map object split into defined amount of Redis hashes (shards)
+ * spread across cluster slots by hash of map key.
+ * <p>
+ * Allows to store map which exceeds single master node capacity
+ * and to spread its load across all master nodes in cluster.
+ * Operations over multiple keys are executed in parallel per shard.
+ * <p>
+ * Amount of shards is stored in Redis once map is used for the first time
+ * and can be changed online using {@link #reshard(int)} method.
+ * <p>
+ * Listeners are notified about events of each shard.
+ * Dump, restore, rename, migrate, copy and move operations
+ * are applied to all shards and fail if resharding is in progress.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public interface RShardedMap<K, V> extends RMap<K, V> {
+
+    /**
+     * Returns current amount of shards.
+     *
+     * @return amount of shards
+     */
+    int getShards();
+
+    /**
+     * Changes amount of shards and moves entries to the shards they belong to.
+     * <p>
+     * Map stays available for reads and writes during this process.
+     * Each operation over key which is not moved yet moves it first.
+     * Other Redisson instances detect new layout by its version
+     * which is checked before each operation.
+     * <p>
+     * This method blocks until all entries are moved.
+     *
+     * @param shards new amount of shards
+     * @throws IllegalStateException if resharding is already in progress
+     */
+    void reshard(int shards);
+
+}
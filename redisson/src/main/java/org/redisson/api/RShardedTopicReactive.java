@@ -20,6 +20,7 @@ import org.redisson.api.listener.StatusListener;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -45,6 +46,15 @@ public interface RShardedTopicReactive {
      */
     Mono<Long> publish(Object message);
 
+    /**
+     * Publishes messages to all subscribers of this topic.
+     * Messages are sent in a single pipelined write and delivered in iteration order.
+     *
+     * @param messages messages to send
+     * @return total number of clients that received the messages
+     */
+    Mono<Long> publishAll(Collection<?> messages);
+
     /**
      * Subscribes to status changes of this topic
      *
@@ -21,6 +21,7 @@ import io.reactivex.rxjava3.core.Single;
 import org.redisson.api.listener.MessageListener;
 import org.redisson.api.listener.StatusListener;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -46,6 +47,15 @@ public interface RShardedTopicRx {
      */
     Single<Long> publish(Object message);
 
+    /**
+     * Publishes messages to all subscribers of this topic.
+     * Messages are sent in a single pipelined write and delivered in iteration order.
+     *
+     * @param messages messages to send
+     * @return total number of clients that received the messages
+     */
+    Single<Long> publishAll(Collection<?> messages);
+
     /**
      * Subscribes to status changes of this topic
      *
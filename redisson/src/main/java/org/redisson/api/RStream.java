@@ -847,5 +847,21 @@ public interface RStream<K, V> extends RStreamAsync<K, V>, RExpirable {
      * @return list of info objects
      */
     List<StreamConsumer> listConsumers(String groupName);
-    
+
+    /**
+     * Creates consumer group worker for this stream.
+     * <p>
+     * Usage example:
+     * <pre>
+     * RStreamConsumer consumer = stream.createConsumer(StreamConsumerOptions.group("group", (id, msg) -&gt; {
+     *     // handle message
+     * }).workers(32).batchSize(500));
+     * consumer.start();
+     * </pre>
+     *
+     * @param options consumer options
+     * @return consumer object
+     */
+    RStreamConsumer createConsumer(StreamConsumerOptions<K, V> options);
+
 }
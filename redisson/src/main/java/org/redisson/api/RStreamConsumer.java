@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+import org.redisson.api.stream.StreamConsumerMetrics;
+
+/**
+ * Consumer group worker for {@link RStream} object.
+ * <p>
+ * Keeps defined amount of XREADGROUP commands in flight, dispatches received messages
+ * to bounded amount of workers, acknowledges handled messages using multi-id XACK command
+ * and periodically takes over stale messages of failed consumers using XAUTOCLAIM command.
+ * <p>
+ * Created by {@link RStream#createConsumer(org.redisson.api.stream.StreamConsumerOptions)} method.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public interface RStreamConsumer {
+
+    /**
+     * Creates consumer group if it doesn't exist and starts consumption.
+     */
+    void start();
+
+    /**
+     * Stops consumption. Waits till received messages are handled and acknowledged.
+     */
+    void stop();
+
+    /**
+     * Stops consumption. Waits till received messages are handled and acknowledged.
+     *
+     * @return void
+     */
+    RFuture<Void> stopAsync();
+
+    /**
+     * Returns <code>true</code> if consumer is started.
+     *
+     * @return <code>true</code> if consumer is started
+     */
+    boolean isRunning();
+
+    /**
+     * Returns consumer metrics.
+     * Group lag and pending amount are requested from Redis.
+     *
+     * @return metrics
+     */
+    StreamConsumerMetrics getMetrics();
+
+    /**
+     * Returns consumer metrics.
+     * Group lag and pending amount are requested from Redis.
+     *
+     * @return metrics
+     */
+    RFuture<StreamConsumerMetrics> getMetricsAsync();
+
+}
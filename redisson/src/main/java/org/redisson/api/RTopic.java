@@ -15,6 +15,7 @@
  */
 package org.redisson.api;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.redisson.api.listener.MessageListener;
@@ -43,6 +44,15 @@ public interface RTopic extends RTopicAsync {
      */
     long publish(Object message);
 
+    /**
+     * Publishes messages to all subscribers of this topic.
+     * Messages are sent in a single pipelined write and delivered in iteration order.
+     *
+     * @param messages messages to send
+     * @return total number of clients that received the messages
+     */
+    long publishAll(Collection<?> messages);
+
     /**
      * Subscribes to this topic.
      * <code>MessageListener.onMessage</code> is called when any message
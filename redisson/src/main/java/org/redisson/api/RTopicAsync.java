@@ -18,6 +18,8 @@ package org.redisson.api;
 import org.redisson.api.listener.MessageListener;
 import org.redisson.api.listener.StatusListener;
 
+import java.util.Collection;
+
 /**
  * Distributed topic. Messages are delivered to all message listeners across Redis cluster.
  *
@@ -33,6 +35,15 @@ public interface RTopicAsync {
      * @return number of clients that received the message
      */
     RFuture<Long> publishAsync(Object message);
+
+    /**
+     * Publishes messages to all subscribers of this topic.
+     * Messages are sent in a single pipelined write and delivered in iteration order.
+     *
+     * @param messages messages to send
+     * @return total number of clients that received the messages
+     */
+    RFuture<Long> publishAllAsync(Collection<?> messages);
     
     /**
      * Subscribes to status changes of this topic
@@ -15,6 +15,7 @@
  */
 package org.redisson.api;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.redisson.api.listener.MessageListener;
@@ -46,6 +47,15 @@ public interface RTopicReactive {
      */
     Mono<Long> publish(Object message);
 
+    /**
+     * Publishes messages to all subscribers of this topic.
+     * Messages are sent in a single pipelined write and delivered in iteration order.
+     *
+     * @param messages messages to send
+     * @return total number of clients that received the messages
+     */
+    Mono<Long> publishAll(Collection<?> messages);
+
     /**
      * Subscribes to status changes of this topic
      *
@@ -377,6 +377,58 @@ public interface RedissonClient {
      */
     <K, V> RLocalCachedMap<K, V> getLocalCachedMap(String name, Codec codec, LocalCachedMapOptions<K, V> options);
     
+    /**
+     * Returns map instance by name.
+     * Supports per entry time to live based on native Redis hash field expiration.
+     * Requires Redis 7.4.0 and higher.
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @return Map object
+     */
+    <K, V> RMapCacheNative<K, V> getMapCacheNative(String name);
+
+    /**
+     * Returns map instance by name.
+     * Supports per entry time to live based on native Redis hash field expiration.
+     * Requires Redis 7.4.0 and higher.
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param options - map options
+     * @return Map object
+     */
+    <K, V> RMapCacheNative<K, V> getMapCacheNative(String name, MapOptions<K, V> options);
+
+    /**
+     * Returns map instance by name.
+     * Supports per entry time to live based on native Redis hash field expiration.
+     * Requires Redis 7.4.0 and higher.
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for keys and values
+     * @return Map object
+     */
+    <K, V> RMapCacheNative<K, V> getMapCacheNative(String name, Codec codec);
+
+    /**
+     * Returns map instance by name.
+     * Supports per entry time to live based on native Redis hash field expiration.
+     * Requires Redis 7.4.0 and higher.
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for keys and values
+     * @param options - map options
+     * @return Map object
+     */
+    <K, V> RMapCacheNative<K, V> getMapCacheNative(String name, Codec codec, MapOptions<K, V> options);
+
     /**
      * Returns map instance by name.
      *
@@ -423,6 +475,74 @@ public interface RedissonClient {
      */
     <K, V> RMap<K, V> getMap(String name, Codec codec, MapOptions<K, V> options);
 
+    /**
+     * Returns sharded map instance by name.
+     * Map entries are spread across defined amount of Redis hashes
+     * located in different cluster slots.
+     * <p>
+     * Amount of shards is applied only if map doesn't exist yet.
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param shards - initial amount of shards
+     * @return ShardedMap object
+     */
+    <K, V> RShardedMap<K, V> getShardedMap(String name, int shards);
+
+    /**
+     * Returns sharded map instance by name
+     * using provided codec for both map keys and values.
+     * Map entries are spread across defined amount of Redis hashes
+     * located in different cluster slots.
+     * <p>
+     * Amount of shards is applied only if map doesn't exist yet.
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param shards - initial amount of shards
+     * @param codec - codec for keys and values
+     * @return ShardedMap object
+     */
+    <K, V> RShardedMap<K, V> getShardedMap(String name, int shards, Codec codec);
+
+    /**
+     * Returns sharded map instance by name
+     * using provided options.
+     * Map entries are spread across defined amount of Redis hashes
+     * located in different cluster slots.
+     * <p>
+     * Amount of shards is applied only if map doesn't exist yet.
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param shards - initial amount of shards
+     * @param options - map options
+     * @return ShardedMap object
+     */
+    <K, V> RShardedMap<K, V> getShardedMap(String name, int shards, MapOptions<K, V> options);
+
+    /**
+     * Returns sharded map instance by name
+     * using provided codec for both map keys and values
+     * and provided options.
+     * Map entries are spread across defined amount of Redis hashes
+     * located in different cluster slots.
+     * <p>
+     * Amount of shards is applied only if map doesn't exist yet.
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param shards - initial amount of shards
+     * @param codec - codec for keys and values
+     * @param options - map options
+     * @return ShardedMap object
+     */
+    <K, V> RShardedMap<K, V> getShardedMap(String name, int shards, Codec codec, MapOptions<K, V> options);
+
     /**
      * Returns Set based Multimap instance by name.
      *
@@ -1187,6 +1307,23 @@ public interface RedissonClient {
      * @return Batch object
      */
     RBatch createBatch();
+
+    /**
+     * Returns bulk loader used to load large amount of entries
+     * into map, set or sorted set objects.
+     *
+     * @param options - bulk loading configuration
+     * @return BulkLoader object
+     */
+    RBulkLoader getBulkLoader(BulkLoadOptions options);
+
+    /**
+     * Returns bulk loader used to load large amount of entries
+     * into map, set or sorted set objects.
+     *
+     * @return BulkLoader object
+     */
+    RBulkLoader getBulkLoader();
     
     /**
      * Returns interface with methods for Redis keys.
@@ -524,6 +524,58 @@ public interface RedissonReactiveClient {
      */
     <K, V> RSetMultimapCacheReactive<K, V> getSetMultimapCache(String name, Codec codec);
 
+    /**
+     * Returns map instance by name.
+     * Supports per entry time to live based on native Redis hash field expiration.
+     * Requires Redis 7.4.0 and higher.
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @return Map object
+     */
+    <K, V> RMapCacheNativeReactive<K, V> getMapCacheNative(String name);
+
+    /**
+     * Returns map instance by name.
+     * Supports per entry time to live based on native Redis hash field expiration.
+     * Requires Redis 7.4.0 and higher.
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param options - map options
+     * @return Map object
+     */
+    <K, V> RMapCacheNativeReactive<K, V> getMapCacheNative(String name, MapOptions<K, V> options);
+
+    /**
+     * Returns map instance by name.
+     * Supports per entry time to live based on native Redis hash field expiration.
+     * Requires Redis 7.4.0 and higher.
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for keys and values
+     * @return Map object
+     */
+    <K, V> RMapCacheNativeReactive<K, V> getMapCacheNative(String name, Codec codec);
+
+    /**
+     * Returns map instance by name.
+     * Supports per entry time to live based on native Redis hash field expiration.
+     * Requires Redis 7.4.0 and higher.
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for keys and values
+     * @param options - map options
+     * @return Map object
+     */
+    <K, V> RMapCacheNativeReactive<K, V> getMapCacheNative(String name, Codec codec, MapOptions<K, V> options);
+
     /**
      * Returns map instance by name.
      *
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration for RRemoteService workers.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public final class RemoteWorkerOptions {
+
+    private int workers = 1;
+    private ExecutorService executorService;
+    private int batchSize = 1;
+    private long batchDelay = 10;
+
+    private RemoteWorkerOptions() {
+    }
+
+    public static RemoteWorkerOptions defaults() {
+        return new RemoteWorkerOptions();
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Defines workers amount used to execute remote invocations.
+     * Default is <code>1</code>.
+     *
+     * @param workers - workers amount
+     * @return self instance
+     */
+    public RemoteWorkerOptions workers(int workers) {
+        this.workers = workers;
+        return this;
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Defines custom ExecutorService to invoke methods.
+     * {@link org.redisson.config.Config#setExecutor(ExecutorService)} is used by default.
+     *
+     * @param executorService - custom ExecutorService
+     * @return self instance
+     */
+    public RemoteWorkerOptions executorService(ExecutorService executorService) {
+        this.executorService = executorService;
+        return this;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Defines max amount of requests fetched by single poll operation.
+     * Requests are polled using BLMPOP command and their bodies are loaded
+     * in one round trip. Acks and responses are sent in pipelined batches
+     * of up to the same size.
+     * <p>
+     * Values greater than <code>1</code> require Redis 7.0.0 and higher.
+     * <p>
+     * Default is <code>1</code>.
+     *
+     * @param batchSize - max amount of requests per poll operation
+     * @return self instance
+     */
+    public RemoteWorkerOptions batchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public long getBatchDelay() {
+        return batchDelay;
+    }
+
+    /**
+     * Defines max time which acks and responses are held for
+     * before pipelined batch is sent.
+     * Applied only if <code>batchSize</code> is greater than <code>1</code>.
+     * <p>
+     * Default is <code>10</code> milliseconds.
+     *
+     * @param delay - max batching delay
+     * @param unit - time unit
+     * @return self instance
+     */
+    public RemoteWorkerOptions batchDelay(long delay, TimeUnit unit) {
+        this.batchDelay = unit.toMillis(delay);
+        return this;
+    }
+
+}
@@ -34,6 +34,8 @@ public final class TransactionOptions {
     
     private long timeout = 5000;
 
+    private boolean optimistic;
+
     private TransactionOptions() {
     }
     
@@ -161,6 +163,34 @@ public final class TransactionOptions {
         this.timeout = timeoutUnit.toMillis(timeout);
         return this;
     }
- 
+
+    public boolean isOptimistic() {
+        return optimistic;
+    }
+
+    /**
+     * Defines whether transaction uses optimistic concurrency control instead of locks.
+     * <p>
+     * In optimistic mode map entries aren't locked. Hashes of read values are recorded
+     * and writes are buffered locally. Whole map reads like size or iteration record all entries
+     * and map size. During commit single Lua script validates that read values haven't been changed
+     * and applies writes atomically.
+     * If validation fails {@link org.redisson.transaction.TransactionConflictException} is thrown
+     * and transaction could be retried from the beginning.
+     * <p>
+     * Only {@link RMap} objects are supported in optimistic mode.
+     * Map names used in the same transaction should share the same hash tag in cluster mode,
+     * otherwise {@link org.redisson.transaction.TransactionException} is thrown.
+     * <p>
+     * Default is <code>false</code>
+     *
+     * @param optimistic <code>true</code> to enable optimistic mode
+     * @return self instance
+     */
+    public TransactionOptions optimistic(boolean optimistic) {
+        this.optimistic = optimistic;
+        return this;
+    }
+
     
 }
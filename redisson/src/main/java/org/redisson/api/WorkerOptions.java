@@ -39,6 +39,8 @@ public final class WorkerOptions {
     private TasksInjector tasksInjector;
     private BeanFactory beanFactory;
     private long taskTimeout;
+    private boolean virtualThreads;
+    private int prefetch = 1;
     private List<TaskListener> listeners = new ArrayList<>();
     
     private WorkerOptions() {
@@ -103,6 +105,48 @@ public final class WorkerOptions {
         return this;
     }
 
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Defines whether each task is executed in a new virtual thread.
+     * Allows to define large workers amount for IO-bound tasks.
+     * Ignored if custom ExecutorService is defined.
+     * <p>
+     * Requires Java 21 and higher.
+     * <p>
+     * Default is <code>false</code>.
+     *
+     * @param virtualThreads - <code>true</code> to use virtual threads
+     * @return self instance
+     */
+    public WorkerOptions virtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * Defines max amount of tasks fetched by worker node in single round trip.
+     * Amount of fetched tasks never exceeds amount of free workers,
+     * so idle nodes get their share of tasks.
+     * <p>
+     * Values greater than <code>1</code> require Redis 7.0.0 and higher.
+     * <p>
+     * Default is <code>1</code>.
+     *
+     * @param prefetch - max amount of tasks per round trip
+     * @return self instance
+     */
+    public WorkerOptions prefetch(int prefetch) {
+        this.prefetch = prefetch;
+        return this;
+    }
+
     /**
      * Defines task timeout since task execution start moment
      *
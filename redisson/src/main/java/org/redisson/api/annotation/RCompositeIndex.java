@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.redisson.api.RLiveObjectService;
+import org.redisson.api.condition.Conditions;
+
+/**
+ * Specifies composite search index over multiple fields of the entity.
+ * <p>
+ * Index is stored as a single lexicographically sorted set.
+ * Search conditions on leading fields of the index are resolved with single range read.
+ * Equality conditions should be defined for all leading fields except the last one used,
+ * which could be restricted by range condition.
+ * <p>
+ * Supported field types are numbers, booleans, strings, enums and dates.
+ * Numbers and dates are compared as double values.
+ * <p>
+ * Index of a new entity class is ready for use on first persist or search.
+ * If objects have been persisted before the index was defined, search on its fields
+ * throws {@link IllegalStateException} until {@link org.redisson.api.RLiveObjectService#rebuildIndexes(Class)}
+ * is invoked once to index them.
+ * <p>
+ * Usage example:
+ * <pre>
+ * &#64;REntity
+ * &#64;RCompositeIndex(name = "tenantStatus", fields = {"tenantId", "status", "createdAt"})
+ * public class Order {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @see Conditions
+ * @see RLiveObjectService#find
+ *
+ * @author Nikita Koksharov
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+@Repeatable(RCompositeIndexes.class)
+public @interface RCompositeIndex {
+
+    /**
+     * Index name unique within the entity class.
+     *
+     * @return name
+     */
+    String name();
+
+    /**
+     * Names of indexed fields in order of significance.
+     *
+     * @return field names
+     */
+    String[] fields();
+
+}
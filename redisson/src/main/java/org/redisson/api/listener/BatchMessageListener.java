@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api.listener;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Listener for Redis messages published via RTopic Redisson object
+ * which receives messages in batches.
+ * <p>
+ * Batches are formed only if {@link org.redisson.config.Config#setDeferredPubSubDecoding(boolean)}
+ * setting is enabled, otherwise each message is passed as a single element list.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <M> message
+ *
+ * @see org.redisson.api.RTopic
+ */
+@FunctionalInterface
+public interface BatchMessageListener<M> extends MessageListener<M> {
+
+    /**
+     * Invokes on every batch of messages in topic
+     *
+     * @param channel of topic
+     * @param msgs topic messages in arrival order
+     */
+    void onMessages(CharSequence channel, List<M> msgs);
+
+    @Override
+    default void onMessage(CharSequence channel, M msg) {
+        onMessages(channel, Collections.singletonList(msg));
+    }
+
+}
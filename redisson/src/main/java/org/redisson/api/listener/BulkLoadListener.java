@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api.listener;
+
+import org.redisson.api.BulkLoadProgress;
+
+import java.util.EventListener;
+
+/**
+ * Listener for {@link org.redisson.api.RBulkLoader} progress.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+@FunctionalInterface
+public interface BulkLoadListener extends EventListener {
+
+    /**
+     * Invoked after each chunk acknowledged by Redis.
+     * Executed by Redisson thread and shouldn't block it.
+     *
+     * @param progress loading progress
+     */
+    void onProgress(BulkLoadProgress progress);
+
+}
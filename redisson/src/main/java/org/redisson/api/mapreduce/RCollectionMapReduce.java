@@ -114,5 +114,14 @@ public interface RCollectionMapReduce<VIn, KOut, VOut> extends RMapReduceExecuto
      * @return self instance
      */
     RCollectionMapReduce<VIn, KOut, VOut> reducer(RReducer<KOut, VOut> reducer);
+
+    /**
+     * Setup Combiner object applied to values emitted by Mapper
+     * before they are stored in Redis. Reduces amount of intermediate data.
+     * 
+     * @param combiner used during MapReduce
+     * @return self instance
+     */
+    RCollectionMapReduce<VIn, KOut, VOut> combiner(RCombiner<KOut, VOut> combiner);
     
 }
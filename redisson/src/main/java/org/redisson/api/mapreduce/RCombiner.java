@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api.mapreduce;
+
+import java.io.Serializable;
+
+/**
+ * Combines values emitted by {@link RMapper} with the same key
+ * in memory before they are sent to {@link RReducer}.
+ * <p>
+ * Applied to a part of values only, so the combined value
+ * should be accepted by reducer as a regular value.
+ * Usually it's the same function as reducer, e.g. sum for word count.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public interface RCombiner<K, V> extends Serializable {
+
+    /**
+     * Invoked for each emitted value if previous value
+     * with the same key is held in memory
+     *
+     * @param key - key
+     * @param previousValue - value combined so far
+     * @param value - emitted value
+     * @return combined value
+     */
+    V combine(K key, V previousValue, V value);
+
+}
@@ -109,5 +109,14 @@ public interface RMapReduce<KIn, VIn, KOut, VOut> extends RMapReduceExecutor<VIn
      * @return self instance
      */
     RMapReduce<KIn, VIn, KOut, VOut> reducer(RReducer<KOut, VOut> reducer);
+
+    /**
+     * Setup Combiner object applied to values emitted by Mapper
+     * before they are stored in Redis. Reduces amount of intermediate data.
+     * 
+     * @param combiner used during MapReduce
+     * @return self instance
+     */
+    RMapReduce<KIn, VIn, KOut, VOut> combiner(RCombiner<KOut, VOut> combiner);
     
 }
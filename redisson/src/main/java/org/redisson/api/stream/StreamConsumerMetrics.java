@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api.stream;
+
+/**
+ * Metrics of {@link org.redisson.api.RStreamConsumer} object.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public final class StreamConsumerMetrics {
+
+    private final long received;
+    private final long claimed;
+    private final long processed;
+    private final long failed;
+    private final long acknowledged;
+    private final int inFlight;
+    private final long pending;
+    private final long lag;
+    private final long elapsedMillis;
+
+    public StreamConsumerMetrics(long received, long claimed, long processed, long failed, long acknowledged,
+                                 int inFlight, long pending, long lag, long elapsedMillis) {
+        this.received = received;
+        this.claimed = claimed;
+        this.processed = processed;
+        this.failed = failed;
+        this.acknowledged = acknowledged;
+        this.inFlight = inFlight;
+        this.pending = pending;
+        this.lag = lag;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Returns amount of messages received by XREADGROUP command.
+     *
+     * @return amount of messages
+     */
+    public long getReceived() {
+        return received;
+    }
+
+    /**
+     * Returns amount of messages taken over from other consumers by XAUTOCLAIM command.
+     *
+     * @return amount of messages
+     */
+    public long getClaimed() {
+        return claimed;
+    }
+
+    /**
+     * Returns amount of successfully handled messages.
+     *
+     * @return amount of messages
+     */
+    public long getProcessed() {
+        return processed;
+    }
+
+    /**
+     * Returns amount of messages which handler threw an exception.
+     *
+     * @return amount of messages
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns amount of acknowledged messages.
+     *
+     * @return amount of messages
+     */
+    public long getAcknowledged() {
+        return acknowledged;
+    }
+
+    /**
+     * Returns amount of received messages which aren't handled yet.
+     *
+     * @return amount of messages
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Returns amount of messages in pending entries list of the group.
+     *
+     * @return amount of messages
+     */
+    public long getPending() {
+        return pending;
+    }
+
+    /**
+     * Returns amount of messages not yet delivered to the group.
+     * Requires Redis 7.0.0 and higher, <code>0</code> is returned otherwise.
+     *
+     * @return amount of messages
+     */
+    public long getLag() {
+        return lag;
+    }
+
+    /**
+     * Returns time elapsed since consumer start.
+     *
+     * @return time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Returns average amount of handled messages per second.
+     *
+     * @return messages per second
+     */
+    public double getProcessedPerSecond() {
+        if (elapsedMillis == 0) {
+            return 0;
+        }
+        return processed * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamConsumerMetrics{" +
+                "received=" + received +
+                ", claimed=" + claimed +
+                ", processed=" + processed +
+                ", failed=" + failed +
+                ", acknowledged=" + acknowledged +
+                ", inFlight=" + inFlight +
+                ", pending=" + pending +
+                ", lag=" + lag +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,279 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api.stream;
+
+import org.redisson.api.StreamMessageId;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Configuration for {@link org.redisson.api.RStreamConsumer} object.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class StreamConsumerOptions<K, V> {
+
+    private final String groupName;
+    private final StreamMessageHandler<K, V> handler;
+    private String consumerName;
+    private StreamMessageId startId = StreamMessageId.NEWEST;
+    private int batchSize = 100;
+    private int readsInFlight = 1;
+    private Duration blockTimeout = Duration.ofSeconds(1);
+    private ExecutorService executor;
+    private int workers = 16;
+    private int ackBatchSize = 100;
+    private Duration ackInterval = Duration.ofMillis(100);
+    private Duration claimInterval = Duration.ofSeconds(30);
+    private Duration claimMinIdleTime = Duration.ofMinutes(1);
+
+    private StreamConsumerOptions(String groupName, StreamMessageHandler<K, V> handler) {
+        this.groupName = groupName;
+        this.handler = handler;
+    }
+
+    /**
+     * Creates options with defined consumer group name and messages handler.
+     * Group is created if it doesn't exist.
+     *
+     * @param groupName name of group
+     * @param handler messages handler
+     * @param <K> key type
+     * @param <V> value type
+     * @return options object
+     */
+    public static <K, V> StreamConsumerOptions<K, V> group(String groupName, StreamMessageHandler<K, V> handler) {
+        return new StreamConsumerOptions<>(groupName, handler);
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public StreamMessageHandler<K, V> getHandler() {
+        return handler;
+    }
+
+    public String getConsumerName() {
+        return consumerName;
+    }
+
+    /**
+     * Defines name of consumer in group.
+     * <p>
+     * Default is random unique name
+     *
+     * @param consumerName name of consumer
+     * @return self instance
+     */
+    public StreamConsumerOptions<K, V> consumerName(String consumerName) {
+        this.consumerName = consumerName;
+        return this;
+    }
+
+    public StreamMessageId getStartId() {
+        return startId;
+    }
+
+    /**
+     * Defines Stream Message ID used for group creation.
+     * <p>
+     * Default is {@link StreamMessageId#NEWEST}
+     *
+     * @param startId Stream Message ID
+     * @return self instance
+     */
+    public StreamConsumerOptions<K, V> startId(StreamMessageId startId) {
+        this.startId = startId;
+        return this;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Defines maximum amount of messages returned by single XREADGROUP or XAUTOCLAIM command.
+     * <p>
+     * Default is <code>100</code>
+     *
+     * @param batchSize amount of messages
+     * @return self instance
+     */
+    public StreamConsumerOptions<K, V> batchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize should be positive");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public int getReadsInFlight() {
+        return readsInFlight;
+    }
+
+    /**
+     * Defines amount of XREADGROUP commands executed concurrently.
+     * Each blocking read occupies a separate connection.
+     * <p>
+     * Default is <code>1</code>
+     *
+     * @param readsInFlight amount of commands
+     * @return self instance
+     */
+    public StreamConsumerOptions<K, V> readsInFlight(int readsInFlight) {
+        if (readsInFlight <= 0) {
+            throw new IllegalArgumentException("readsInFlight should be positive");
+        }
+        this.readsInFlight = readsInFlight;
+        return this;
+    }
+
+    public Duration getBlockTimeout() {
+        return blockTimeout;
+    }
+
+    /**
+     * Defines BLOCK timeout of XREADGROUP command.
+     * <p>
+     * Default is <code>1 second</code>
+     *
+     * @param blockTimeout timeout
+     * @return self instance
+     */
+    public StreamConsumerOptions<K, V> blockTimeout(Duration blockTimeout) {
+        this.blockTimeout = blockTimeout;
+        return this;
+    }
+
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Defines executor used to invoke messages handler.
+     * Virtual threads executor can be defined here.
+     * <p>
+     * Default is executor defined in Redisson configuration
+     *
+     * @param executor executor
+     * @return self instance
+     */
+    public StreamConsumerOptions<K, V> executor(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Defines maximum amount of messages handled concurrently.
+     * Reading is suspended if amount of received but not handled messages
+     * exceeds <code>batchSize * readsInFlight</code>.
+     * <p>
+     * Default is <code>16</code>
+     *
+     * @param workers amount of workers
+     * @return self instance
+     */
+    public StreamConsumerOptions<K, V> workers(int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("workers should be positive");
+        }
+        this.workers = workers;
+        return this;
+    }
+
+    public int getAckBatchSize() {
+        return ackBatchSize;
+    }
+
+    /**
+     * Defines amount of handled messages acknowledged by single XACK command.
+     * <p>
+     * Default is <code>100</code>
+     *
+     * @param ackBatchSize amount of messages
+     * @return self instance
+     */
+    public StreamConsumerOptions<K, V> ackBatchSize(int ackBatchSize) {
+        if (ackBatchSize <= 0) {
+            throw new IllegalArgumentException("ackBatchSize should be positive");
+        }
+        this.ackBatchSize = ackBatchSize;
+        return this;
+    }
+
+    public Duration getAckInterval() {
+        return ackInterval;
+    }
+
+    /**
+     * Defines maximum time interval handled messages wait for acknowledgement
+     * if <code>ackBatchSize</code> isn't reached.
+     * <p>
+     * Default is <code>100 milliseconds</code>
+     *
+     * @param ackInterval time interval
+     * @return self instance
+     */
+    public StreamConsumerOptions<K, V> ackInterval(Duration ackInterval) {
+        this.ackInterval = ackInterval;
+        return this;
+    }
+
+    public Duration getClaimInterval() {
+        return claimInterval;
+    }
+
+    /**
+     * Defines time interval between XAUTOCLAIM invocations
+     * used to take over messages of failed consumers.
+     * <p>
+     * Default is <code>30 seconds</code>
+     *
+     * @param claimInterval time interval
+     * @return self instance
+     */
+    public StreamConsumerOptions<K, V> claimInterval(Duration claimInterval) {
+        this.claimInterval = claimInterval;
+        return this;
+    }
+
+    public Duration getClaimMinIdleTime() {
+        return claimMinIdleTime;
+    }
+
+    /**
+     * Defines minimum idle time of pending message claimed by XAUTOCLAIM command.
+     * <p>
+     * Default is <code>1 minute</code>
+     *
+     * @param claimMinIdleTime idle time
+     * @return self instance
+     */
+    public StreamConsumerOptions<K, V> claimMinIdleTime(Duration claimMinIdleTime) {
+        this.claimMinIdleTime = claimMinIdleTime;
+        return this;
+    }
+
+}
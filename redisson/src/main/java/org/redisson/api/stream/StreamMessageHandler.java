@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api.stream;
+
+import org.redisson.api.StreamMessageId;
+
+import java.util.Map;
+
+/**
+ * Handler of messages consumed by {@link org.redisson.api.RStreamConsumer}.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+@FunctionalInterface
+public interface StreamMessageHandler<K, V> {
+
+    /**
+     * Invoked for each consumed message.
+     * Message is acknowledged after successful invocation.
+     * Message stays in pending list if exception is thrown
+     * and will be claimed again after <code>claimMinIdleTime</code>.
+     *
+     * @param id message id
+     * @param message message entries
+     * @throws Exception if message can't be handled
+     */
+    void onMessage(StreamMessageId id, Map<K, V> message) throws Exception;
+
+}
@@ -19,6 +19,7 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
+import io.netty.util.Timeout;
 import org.redisson.*;
 import org.redisson.api.*;
 import org.redisson.api.LocalCachedMapOptions.EvictionPolicy;
@@ -37,6 +38,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
@@ -79,6 +82,9 @@ public abstract class LocalCacheListener {
 
     private boolean isSharded;
 
+    private Path snapshotFile;
+    private volatile Timeout snapshotTimeout;
+
     public LocalCacheListener(String name, CommandAsyncExecutor commandExecutor,
             RObject object, Codec codec, LocalCachedMapOptions<?, ?> options, long cacheUpdateLogTime, boolean isSharded) {
         super();
@@ -142,6 +148,11 @@ public abstract class LocalCacheListener {
     }
     
     public void add(Map<CacheKey, ? extends CacheValue> cache) {
+        if (options.getSnapshotPath() != null
+                && options.getReconnectionStrategy() != ReconnectionStrategy.LOAD) {
+            throw new IllegalArgumentException("Local cache snapshot requires ReconnectionStrategy.LOAD");
+        }
+
         this.cache = cache;
 
         if (isSharded) {
@@ -277,6 +288,119 @@ public abstract class LocalCacheListener {
                 disableKeys(key.getRequestId(), keysToDisable, key.getTimeout());
             }
         }
+
+        if (options.getSnapshotPath() != null) {
+            snapshotFile = Paths.get(options.getSnapshotPath());
+            restoreSnapshot();
+            scheduleSnapshot();
+        }
+    }
+
+    private void restoreSnapshot() {
+        LocalCacheSnapshot snapshot;
+        try {
+            snapshot = LocalCacheSnapshot.read(snapshotFile);
+        } catch (IOException e) {
+            log.warn("Unable to read local cache snapshot of '{}' map from {}", name, snapshotFile, e);
+            return;
+        }
+
+        if (snapshot == null) {
+            return;
+        }
+        if (System.currentTimeMillis() - snapshot.getTimestamp() > cacheUpdateLogTime) {
+            log.debug("Local cache snapshot of '{}' map is expired and skipped", name);
+            return;
+        }
+        if (!object.isExists()) {
+            return;
+        }
+
+        // entries are added before reading of invalidation log,
+        // changes made after log reading are delivered through invalidation topic
+        Map<CacheKey, CacheValue> c = (Map<CacheKey, CacheValue>) cache;
+        for (LocalCacheSnapshot.Entry entry : snapshot.getEntries()) {
+            CacheKey cacheKey = new CacheKey(entry.getKeyHash());
+            if (isDisabled(cacheKey)) {
+                continue;
+            }
+
+            ByteBuf keyBuf = Unpooled.wrappedBuffer(entry.getKey());
+            ByteBuf valueBuf = null;
+            try {
+                Object key = codec.getMapKeyDecoder().decode(keyBuf, null);
+                Object value = null;
+                if (entry.getValue() != null) {
+                    valueBuf = Unpooled.wrappedBuffer(entry.getValue());
+                    value = codec.getMapValueDecoder().decode(valueBuf, null);
+                }
+                c.putIfAbsent(cacheKey, new CacheValue(key, value));
+            } catch (IOException e) {
+                log.error("Can't decode map entry", e);
+            } finally {
+                keyBuf.release();
+                if (valueBuf != null) {
+                    valueBuf.release();
+                }
+            }
+        }
+
+        RScoredSortedSet<byte[]> logs = new RedissonScoredSortedSet<>(ByteArrayCodec.INSTANCE, commandExecutor, getUpdatesLogName(), null);
+        Collection<byte[]> updates = logs.valueRange(snapshot.getTimestamp(), true, Double.POSITIVE_INFINITY, true);
+        for (byte[] entry : updates) {
+            byte[] keyHash = Arrays.copyOf(entry, 16);
+            cache.remove(new CacheKey(keyHash));
+        }
+
+        log.debug("{} entries restored from local cache snapshot of '{}' map, {} invalidated",
+                    snapshot.getEntries().size(), name, updates.size());
+    }
+
+    private void scheduleSnapshot() {
+        snapshotTimeout = commandExecutor.getServiceManager().newTimeout(t -> {
+            commandExecutor.getServiceManager().getExecutor().execute(() -> {
+                if (snapshotTimeout == null
+                        || commandExecutor.getServiceManager().isShuttingDown()) {
+                    return;
+                }
+
+                storeSnapshot();
+                scheduleSnapshot();
+            });
+        }, options.getSnapshotIntervalInMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void storeSnapshot() {
+        // captured before iteration, so concurrent changes are covered by invalidation log
+        long timestamp = System.currentTimeMillis();
+        List<LocalCacheSnapshot.Entry> entries = new ArrayList<>(cache.size());
+        for (Map.Entry<CacheKey, ? extends CacheValue> entry : cache.entrySet()) {
+            CacheValue value = entry.getValue();
+            if (value == null || value.getKey() == null) {
+                continue;
+            }
+
+            byte[] key = toBytes(commandExecutor.encodeMapKey(codec, value.getKey()));
+            byte[] encodedValue = null;
+            if (value.getValue() != null) {
+                encodedValue = toBytes(commandExecutor.encodeMapValue(codec, value.getValue()));
+            }
+            entries.add(new LocalCacheSnapshot.Entry(entry.getKey().getKeyHash(), key, encodedValue));
+        }
+
+        try {
+            new LocalCacheSnapshot(timestamp, entries).write(snapshotFile);
+        } catch (IOException e) {
+            log.error("Unable to store local cache snapshot of '{}' map to {}", name, snapshotFile, e);
+        }
+    }
+
+    private byte[] toBytes(ByteBuf buf) {
+        try {
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
     }
 
     public void notifyUpdate(CacheValue value) {
@@ -356,6 +480,13 @@ public abstract class LocalCacheListener {
             RTopic topic = new RedissonTopic(StringCodec.INSTANCE, commandExecutor, keyeventPattern);
             topic.removeListenerAsync(expireListenerId);
         }
+
+        Timeout timeout = snapshotTimeout;
+        if (timeout != null) {
+            snapshotTimeout = null;
+            timeout.cancel();
+            storeSnapshot();
+        }
     }
 
     public String getUpdatesLogName() {
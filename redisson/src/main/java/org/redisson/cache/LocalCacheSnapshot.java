@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.cache;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local cache state persisted in memory-mapped file.
+ * <p>
+ * File layout: magic, version, snapshot timestamp, entries amount
+ * and entries. Each entry holds 16 bytes of key hash, encoded key and encoded value.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public final class LocalCacheSnapshot {
+
+    public static final class Entry {
+
+        private final byte[] keyHash;
+        private final byte[] key;
+        private final byte[] value;
+
+        public Entry(byte[] keyHash, byte[] key, byte[] value) {
+            this.keyHash = keyHash;
+            this.key = key;
+            this.value = value;
+        }
+
+        public byte[] getKeyHash() {
+            return keyHash;
+        }
+
+        public byte[] getKey() {
+            return key;
+        }
+
+        /**
+         * Returns encoded value or <code>null</code> if cache miss was stored.
+         *
+         * @return encoded value
+         */
+        public byte[] getValue() {
+            return value;
+        }
+
+        int size() {
+            int size = keyHash.length + 4 + key.length + 4;
+            if (value != null) {
+                size += value.length;
+            }
+            return size;
+        }
+
+    }
+
+    private static final int MAGIC = 0x52434C53;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4;
+    private static final int KEY_HASH_SIZE = 16;
+
+    private final long timestamp;
+    private final List<Entry> entries;
+
+    public LocalCacheSnapshot(long timestamp, List<Entry> entries) {
+        this.timestamp = timestamp;
+        this.entries = entries;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Writes snapshot to a temporary file which replaces defined file afterwards.
+     * So the file is never observed in partially written state.
+     *
+     * @param file snapshot file
+     * @throws IOException if file can't be written
+     */
+    public void write(Path file) throws IOException {
+        long size = HEADER_SIZE;
+        for (Entry entry : entries) {
+            size += entry.size();
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Local cache snapshot size exceeds 2GB limit: " + size);
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmpFile, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putLong(timestamp);
+            buffer.putInt(entries.size());
+            for (Entry entry : entries) {
+                buffer.put(entry.getKeyHash());
+                buffer.putInt(entry.getKey().length);
+                buffer.put(entry.getKey());
+                if (entry.getValue() == null) {
+                    buffer.putInt(-1);
+                } else {
+                    buffer.putInt(entry.getValue().length);
+                    buffer.put(entry.getValue());
+                }
+            }
+            buffer.force();
+        }
+
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads snapshot from defined file.
+     *
+     * @param file snapshot file
+     * @return snapshot or <code>null</code> if file doesn't exist
+     * @throws IOException if file can't be read or has invalid format
+     */
+    public static LocalCacheSnapshot read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE
+                    || buffer.getInt() != MAGIC) {
+                throw new IOException("Invalid local cache snapshot file: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported local cache snapshot version: " + version);
+            }
+
+            long timestamp = buffer.getLong();
+            int count = buffer.getInt();
+            List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] keyHash = new byte[KEY_HASH_SIZE];
+                buffer.get(keyHash);
+                byte[] key = new byte[buffer.getInt()];
+                buffer.get(key);
+                byte[] value = null;
+                int valueSize = buffer.getInt();
+                if (valueSize >= 0) {
+                    value = new byte[valueSize];
+                    buffer.get(value);
+                }
+                entries.add(new Entry(keyHash, key, value));
+            }
+            return new LocalCacheSnapshot(timestamp, entries);
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IOException("Local cache snapshot file is truncated: " + file, e);
+        }
+    }
+
+}
@@ -57,6 +57,7 @@ public class RedisClientConfig {
     private String clientName;
     private boolean readOnly;
     private boolean keepPubSubOrder = true;
+    private boolean deferredPubSubDecoding;
     private int pingConnectionInterval;
     private boolean keepAlive;
     private boolean tcpNoDelay;
@@ -99,6 +100,7 @@ public class RedisClientConfig {
         this.clientName = config.clientName;
         this.readOnly = config.readOnly;
         this.keepPubSubOrder = config.keepPubSubOrder;
+        this.deferredPubSubDecoding = config.deferredPubSubDecoding;
         this.pingConnectionInterval = config.pingConnectionInterval;
         this.keepAlive = config.keepAlive;
         this.tcpNoDelay = config.tcpNoDelay;
@@ -296,6 +298,14 @@ public class RedisClientConfig {
         return this;
     }
 
+    public boolean isDeferredPubSubDecoding() {
+        return deferredPubSubDecoding;
+    }
+    public RedisClientConfig setDeferredPubSubDecoding(boolean deferredPubSubDecoding) {
+        this.deferredPubSubDecoding = deferredPubSubDecoding;
+        return this;
+    }
+
     public int getPingConnectionInterval() {
         return pingConnectionInterval;
     }    
@@ -24,8 +24,12 @@ import org.redisson.client.protocol.RedisCommand;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.client.protocol.decoder.MultiDecoder;
 import org.redisson.client.protocol.pubsub.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
@@ -39,6 +43,16 @@ import java.util.concurrent.ConcurrentLinkedQueue;
  */
 public class RedisPubSubConnection extends RedisConnection {
 
+    private static final Logger log = LoggerFactory.getLogger(RedisPubSubConnection.class);
+
+    private static final Object DECODING_FAILED = new Object();
+
+    /**
+     * Maximum amount of channels passed to single (S|P)SUBSCRIBE command
+     * during resubscription.
+     */
+    public static final int MAX_CHANNELS_PER_COMMAND = 500;
+
     final Queue<RedisPubSubListener<Object>> listeners = new ConcurrentLinkedQueue<>();
     final Map<ChannelName, Codec> channels = new ConcurrentHashMap<>();
     final Map<ChannelName, Codec> shardedChannels = new ConcurrentHashMap<>();
@@ -64,14 +78,50 @@ public class RedisPubSubConnection extends RedisConnection {
     }
 
     public void onMessage(PubSubMessage message) {
+        Object value = decode(message.getChannel(), message.getValue());
+        if (value == DECODING_FAILED) {
+            return;
+        }
+        for (RedisPubSubListener<Object> redisPubSubListener : listeners) {
+            redisPubSubListener.onMessage(message.getChannel(), value);
+        }
+    }
+
+    public void onMessages(ChannelName channel, List<Object> messages) {
+        List<Object> values = new ArrayList<>(messages.size());
+        for (Object message : messages) {
+            Object value = decode(channel, message);
+            if (value != DECODING_FAILED) {
+                values.add(value);
+            }
+        }
+        if (values.isEmpty()) {
+            return;
+        }
         for (RedisPubSubListener<Object> redisPubSubListener : listeners) {
-            redisPubSubListener.onMessage(message.getChannel(), message.getValue());
+            redisPubSubListener.onMessages(channel, values);
         }
     }
 
     public void onMessage(PubSubPatternMessage message) {
+        Object value = decode(message.getChannel(), message.getValue());
+        if (value == DECODING_FAILED) {
+            return;
+        }
         for (RedisPubSubListener<Object> redisPubSubListener : listeners) {
-            redisPubSubListener.onPatternMessage(message.getPattern(), message.getChannel(), message.getValue());
+            redisPubSubListener.onPatternMessage(message.getPattern(), message.getChannel(), value);
+        }
+    }
+
+    private Object decode(ChannelName channel, Object value) {
+        if (!(value instanceof DeferredPayload)) {
+            return value;
+        }
+        try {
+            return ((DeferredPayload) value).decode();
+        } catch (Exception e) {
+            log.error("Unable to decode message payload. channel: {}", channel, e);
+            return DECODING_FAILED;
         }
     }
 
@@ -18,6 +18,8 @@ package org.redisson.client;
 import org.redisson.api.listener.MessageListener;
 import org.redisson.client.protocol.pubsub.PubSubType;
 
+import java.util.List;
+
 /**
  * 
  * @author Nikita Koksharov
@@ -30,4 +32,10 @@ public interface RedisPubSubListener<V> extends MessageListener<V> {
 
     void onPatternMessage(CharSequence pattern, CharSequence channel, V message);
 
+    default void onMessages(CharSequence channel, List<V> messages) {
+        for (V message : messages) {
+            onMessage(channel, message);
+        }
+    }
+
 }
@@ -16,6 +16,7 @@
 package org.redisson.client.handler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import org.redisson.client.ChannelName;
@@ -28,6 +29,7 @@ import org.redisson.client.codec.StringCodec;
 import org.redisson.client.protocol.*;
 import org.redisson.client.protocol.decoder.ListObjectDecoder;
 import org.redisson.client.protocol.decoder.MultiDecoder;
+import org.redisson.client.protocol.pubsub.DeferredPayload;
 import org.redisson.client.protocol.pubsub.Message;
 import org.redisson.client.protocol.pubsub.PubSubMessage;
 import org.redisson.client.protocol.pubsub.PubSubPatternMessage;
@@ -50,6 +52,7 @@ public class CommandPubSubDecoder extends CommandDecoder {
     private static final Set<String> SUBSCRIBE_COMMANDS = new HashSet<>(Arrays.asList(RedisCommands.PSUBSCRIBE.getName(), RedisCommands.SUBSCRIBE.getName(), RedisCommands.SSUBSCRIBE.getName()));
     private static final Set<String> MESSAGES = new HashSet<>(Arrays.asList("subscribe", "psubscribe", "punsubscribe", "unsubscribe", "ssubscribe", "sunsubscribe"));
     private static final Set<String> TYPE_MESSAGES = new HashSet<>(Arrays.asList("message", "smessage", "pmessage"));
+    private static final int MAX_BATCH_SIZE = 128;
     // It is not needed to use concurrent map because responses are coming consecutive
     private final Map<ChannelName, PubSubEntry> entries = new HashMap<>();
     private final Map<PubSubKey, CommandData<Object, Object>> commands = new ConcurrentHashMap<>();
@@ -175,13 +178,13 @@ public class CommandPubSubDecoder extends CommandDecoder {
                         channelName = ((PubSubPatternMessage) result).getPattern();
                     }
                     PubSubEntry entry = entries.remove(channelName);
-                    if (config.isKeepPubSubOrder()) {
+                    if (isQueued()) {
                         enqueueMessage(result, pubSubConnection, entry);
                     }
                 }
             }
 
-            if (config.isKeepPubSubOrder()) {
+            if (isQueued()) {
                 if (result instanceof PubSubPatternMessage) {
                     channelName = ((PubSubPatternMessage) result).getPattern();
                 }
@@ -210,6 +213,10 @@ public class CommandPubSubDecoder extends CommandDecoder {
         }
     }
 
+    private boolean isQueued() {
+        return config.isKeepPubSubOrder() || config.isDeferredPubSubDecoding();
+    }
+
     private void enqueueMessage(Object res, RedisPubSubConnection pubSubConnection, PubSubEntry entry) {
         if (res != null) {
             entry.getQueue().add((Message) res);
@@ -221,16 +228,15 @@ public class CommandPubSubDecoder extends CommandDecoder {
         
         config.getExecutor().execute(() -> {
             try {
+                if (config.isDeferredPubSubDecoding()) {
+                    dispatchBatch(pubSubConnection, entry);
+                    return;
+                }
+
                 while (true) {
                     Message result = entry.getQueue().poll();
                     if (result != null) {
-                        if (result instanceof PubSubStatusMessage) {
-                            pubSubConnection.onMessage((PubSubStatusMessage) result);
-                        } else if (result instanceof PubSubMessage) {
-                            pubSubConnection.onMessage((PubSubMessage) result);
-                        } else if (result instanceof PubSubPatternMessage) {
-                            pubSubConnection.onMessage((PubSubPatternMessage) result);
-                        }
+                        dispatch(pubSubConnection, result);
                     } else {
                         break;
                     }
@@ -244,6 +250,49 @@ public class CommandPubSubDecoder extends CommandDecoder {
         });
     }
     
+    private void dispatch(RedisPubSubConnection pubSubConnection, Message result) {
+        if (result instanceof PubSubStatusMessage) {
+            pubSubConnection.onMessage((PubSubStatusMessage) result);
+        } else if (result instanceof PubSubMessage) {
+            pubSubConnection.onMessage((PubSubMessage) result);
+        } else if (result instanceof PubSubPatternMessage) {
+            pubSubConnection.onMessage((PubSubPatternMessage) result);
+        }
+    }
+
+    private void dispatchBatch(RedisPubSubConnection pubSubConnection, PubSubEntry entry) {
+        // limited amount of messages per task, so channels with high rate don't occupy executor threads
+        ChannelName channel = null;
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+            Message result = entry.getQueue().poll();
+            if (result == null) {
+                break;
+            }
+
+            if (result instanceof PubSubMessage) {
+                if (channel != null && !channel.equals(result.getChannel())) {
+                    pubSubConnection.onMessages(channel, values);
+                    values = new ArrayList<>();
+                }
+                channel = result.getChannel();
+                values.add(((PubSubMessage) result).getValue());
+                continue;
+            }
+
+            if (!values.isEmpty()) {
+                pubSubConnection.onMessages(channel, values);
+                values = new ArrayList<>();
+            }
+            channel = null;
+            dispatch(pubSubConnection, result);
+        }
+
+        if (!values.isEmpty()) {
+            pubSubConnection.onMessages(channel, values);
+        }
+    }
+
     @Override
     protected MultiDecoder<Object> messageDecoder(CommandData<Object, Object> data, List<Object> parts) {
         if (parts.isEmpty() || parts.get(0) == null) {
@@ -304,7 +353,11 @@ public class CommandPubSubDecoder extends CommandDecoder {
     private Decoder<Object> getDecoder(Codec codec, List<Object> parts, byte[] name) {
         PubSubEntry entry = entries.get(new ChannelName(name));
         if (entry != null) {
-            return entry.getDecoder().getDecoder(codec, parts.size(), state());
+            Decoder<Object> decoder = entry.getDecoder().getDecoder(codec, parts.size(), state());
+            if (config.isDeferredPubSubDecoding()) {
+                return (buf, state) -> new DeferredPayload(ByteBufUtil.getBytes(buf), decoder);
+            }
+            return decoder;
         }
         return ByteArrayCodec.INSTANCE.getValueDecoder();
     }
@@ -15,10 +15,12 @@
  */
 package org.redisson.client.handler;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.EventExecutor;
 import org.redisson.client.WriteRedisConnectionException;
 import org.redisson.client.protocol.QueueCommand;
 import org.redisson.client.protocol.QueueCommandHolder;
@@ -28,6 +30,8 @@ import java.util.Deque;
 import java.util.Iterator;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -40,10 +44,106 @@ public class CommandsQueue extends ChannelDuplexHandler {
 
     public static final AttributeKey<Deque<QueueCommandHolder>> COMMANDS_QUEUE = AttributeKey.valueOf("COMMANDS_QUEUE");
 
+    private final Runnable responseTimeoutCheck = this::checkResponseTimeouts;
+
+    private Channel channel;
+    private ScheduledFuture<?> responseTimeoutFuture;
+    private long responseTimeoutCheckTime;
+
     @Override
     public void channelRegistered(ChannelHandlerContext ctx) throws Exception {
         super.channelRegistered(ctx);
-        ctx.channel().attr(COMMANDS_QUEUE).set(new ConcurrentLinkedDeque<>());
+        channel = ctx.channel();
+        channel.attr(COMMANDS_QUEUE).set(new ConcurrentLinkedDeque<>());
+    }
+
+    /**
+     * Tracks response timeout of command sent through this channel.
+     * <p>
+     * Instead of timer task per command, deadline is stored in command itself
+     * and single check per channel is scheduled on channel's event loop
+     * for the earliest deadline. Check scans in-flight commands
+     * and executes timeout task of commands with expired deadline.
+     *
+     * @param command - sent command
+     * @param timeout - response timeout in milliseconds
+     * @param task - task executed on response timeout
+     */
+    public void trackResponseTimeout(QueueCommand command, long timeout, Runnable task) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        if (deadline == 0) {
+            deadline = 1;
+        }
+        command.setResponseTimeout(deadline, task);
+
+        if (channel.eventLoop().inEventLoop()) {
+            addResponseTimeout(command);
+        } else {
+            channel.eventLoop().execute(() -> addResponseTimeout(command));
+        }
+    }
+
+    private void addResponseTimeout(QueueCommand command) {
+        if (!channel.isActive()) {
+            // in-flight commands have been already released by channelInactive()
+            scheduleResponseTimeout(channel.eventLoop(), command);
+            return;
+        }
+
+        scheduleResponseTimeoutCheck(command.getResponseDeadline());
+    }
+
+    private void scheduleResponseTimeout(EventExecutor executor, QueueCommand command) {
+        Runnable task = command.pollResponseTimeoutTask();
+        if (task != null) {
+            long delay = Math.max(0, command.getResponseDeadline() - System.nanoTime());
+            executor.schedule(task, delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void scheduleResponseTimeoutCheck(long deadline) {
+        if (responseTimeoutFuture != null) {
+            if (responseTimeoutCheckTime - deadline <= 0) {
+                return;
+            }
+            responseTimeoutFuture.cancel(false);
+        }
+
+        responseTimeoutCheckTime = deadline;
+        long delay = Math.max(0, deadline - System.nanoTime());
+        responseTimeoutFuture = channel.eventLoop().schedule(responseTimeoutCheck, delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void checkResponseTimeouts() {
+        responseTimeoutFuture = null;
+
+        Queue<QueueCommandHolder> queue = channel.attr(COMMANDS_QUEUE).get();
+        long currentTime = System.nanoTime();
+        long nextDeadline = 0;
+        boolean hasNext = false;
+        for (QueueCommandHolder holder : queue) {
+            QueueCommand command = holder.getCommand();
+            long deadline = command.getResponseDeadline();
+            if (deadline == 0) {
+                continue;
+            }
+            if (deadline - currentTime <= 0) {
+                Runnable task = command.pollResponseTimeoutTask();
+                if (task != null) {
+                    task.run();
+                }
+                continue;
+            }
+
+            if (!hasNext || deadline - nextDeadline < 0) {
+                nextDeadline = deadline;
+                hasNext = true;
+            }
+        }
+
+        if (hasNext) {
+            scheduleResponseTimeoutCheck(nextDeadline);
+        }
     }
 
     @Override
@@ -60,6 +160,13 @@ public class CommandsQueue extends ChannelDuplexHandler {
             command.getChannelPromise().tryFailure(
                     new WriteRedisConnectionException("Channel has been closed! Can't write command: "
                                 + LogHelper.toString(command.getCommand()) + " to channel: " + ctx.channel()));
+
+            scheduleResponseTimeout(ctx.executor(), command.getCommand());
+        }
+
+        if (responseTimeoutFuture != null) {
+            responseTimeoutFuture.cancel(false);
+            responseTimeoutFuture = null;
         }
 
         super.channelInactive(ctx);
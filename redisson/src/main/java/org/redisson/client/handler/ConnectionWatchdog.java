@@ -29,6 +29,10 @@ import org.redisson.misc.AsyncSemaphore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -172,18 +176,41 @@ public class ConnectionWatchdog extends ChannelInboundHandlerAdapter {
     private void reattachPubSub(RedisConnection connection) {
         if (connection instanceof RedisPubSubConnection) {
             RedisPubSubConnection conn = (RedisPubSubConnection) connection;
-            for (Entry<ChannelName, Codec> entry : conn.getChannels().entrySet()) {
-                conn.subscribe(entry.getValue(), entry.getKey());
+            for (Entry<Codec, List<ChannelName>> entry : groupByCodec(conn.getChannels()).entrySet()) {
+                for (ChannelName[] channels : split(entry.getValue())) {
+                    conn.subscribe(entry.getKey(), channels);
+                }
             }
-            for (Entry<ChannelName, Codec> entry : conn.getPatternChannels().entrySet()) {
-                conn.psubscribe(entry.getValue(), entry.getKey());
+            for (Entry<Codec, List<ChannelName>> entry : groupByCodec(conn.getPatternChannels()).entrySet()) {
+                for (ChannelName[] channels : split(entry.getValue())) {
+                    conn.psubscribe(entry.getKey(), channels);
+                }
             }
-            for (Entry<ChannelName, Codec> entry : conn.getShardedChannels().entrySet()) {
-                conn.ssubscribe(entry.getValue(), entry.getKey());
+            for (Entry<Codec, List<ChannelName>> entry : groupByCodec(conn.getShardedChannels()).entrySet()) {
+                for (ChannelName[] channels : split(entry.getValue())) {
+                    conn.ssubscribe(entry.getKey(), channels);
+                }
             }
         }
     }
 
+    private Map<Codec, List<ChannelName>> groupByCodec(Map<ChannelName, Codec> channels) {
+        Map<Codec, List<ChannelName>> result = new HashMap<>();
+        for (Entry<ChannelName, Codec> entry : channels.entrySet()) {
+            result.computeIfAbsent(entry.getValue(), k -> new ArrayList<>()).add(entry.getKey());
+        }
+        return result;
+    }
+
+    private List<ChannelName[]> split(List<ChannelName> channels) {
+        List<ChannelName[]> result = new ArrayList<>();
+        for (int i = 0; i < channels.size(); i += RedisPubSubConnection.MAX_CHANNELS_PER_COMMAND) {
+            int end = Math.min(i + RedisPubSubConnection.MAX_CHANNELS_PER_COMMAND, channels.size());
+            result.add(channels.subList(i, end).toArray(new ChannelName[0]));
+        }
+        return result;
+    }
+
     private void refresh(RedisConnection connection, Channel channel) {
         CommandData<?, ?> currentCommand = connection.getCurrentCommand();
         connection.fireConnected();
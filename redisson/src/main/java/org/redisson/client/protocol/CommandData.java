@@ -40,6 +40,9 @@ public class CommandData<T, R> implements QueueCommand {
     final Codec codec;
     final MultiDecoder<Object> messageDecoder;
 
+    private volatile long responseDeadline;
+    private volatile Runnable responseTimeoutTask;
+
     public CommandData(CompletableFuture<R> promise, Codec codec, RedisCommand<T> command, Object[] params) {
         this(promise, null, codec, command, params);
     }
@@ -114,4 +117,22 @@ public class CommandData<T, R> implements QueueCommand {
         return promise.isDone();
     }
 
+    @Override
+    public void setResponseTimeout(long deadline, Runnable task) {
+        this.responseDeadline = deadline;
+        this.responseTimeoutTask = task;
+    }
+
+    @Override
+    public long getResponseDeadline() {
+        return responseDeadline;
+    }
+
+    @Override
+    public Runnable pollResponseTimeoutTask() {
+        Runnable task = responseTimeoutTask;
+        responseTimeoutTask = null;
+        return task;
+    }
+
 }
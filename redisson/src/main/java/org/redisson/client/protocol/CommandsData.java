@@ -34,6 +34,9 @@ public class CommandsData implements QueueCommand {
     private final boolean queued;
     private final boolean syncSlaves;
 
+    private volatile long responseDeadline;
+    private volatile Runnable responseTimeoutTask;
+
     public CommandsData(CompletableFuture<Void> promise, List<CommandData<?, ?>> commands, boolean queued, boolean syncSlaves) {
         this(promise, commands, null, false, false, queued, syncSlaves);
     }
@@ -113,4 +116,22 @@ public class CommandsData implements QueueCommand {
         return false;
     }
 
+    @Override
+    public void setResponseTimeout(long deadline, Runnable task) {
+        this.responseDeadline = deadline;
+        this.responseTimeoutTask = task;
+    }
+
+    @Override
+    public long getResponseDeadline() {
+        return responseDeadline;
+    }
+
+    @Override
+    public Runnable pollResponseTimeoutTask() {
+        Runnable task = responseTimeoutTask;
+        responseTimeoutTask = null;
+        return task;
+    }
+
 }
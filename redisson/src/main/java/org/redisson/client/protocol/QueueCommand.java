@@ -31,5 +31,28 @@ public interface QueueCommand {
     boolean isExecuted();
 
     boolean isBlockingCommand();
-    
+
+    /**
+     * Defines response deadline and task executed if response
+     * hasn't been received before the deadline.
+     *
+     * @param deadline - deadline in {@link System#nanoTime()} units
+     * @param task - timeout task
+     */
+    void setResponseTimeout(long deadline, Runnable task);
+
+    /**
+     * Returns response deadline in {@link System#nanoTime()} units.
+     *
+     * @return deadline or <code>0</code> if response timeout isn't tracked
+     */
+    long getResponseDeadline();
+
+    /**
+     * Returns response timeout task and clears it, so it's executed only once.
+     *
+     * @return task or <code>null</code> if response timeout isn't defined
+     */
+    Runnable pollResponseTimeoutTask();
+
 }
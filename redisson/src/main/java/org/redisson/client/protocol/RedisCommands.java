@@ -496,6 +496,7 @@ public interface RedisCommands {
     RedisCommand<List<Object>> HVALS = new RedisCommand<List<Object>>("HVALS",
                         new MapValueDecoder(new ObjectListReplayDecoder<>()));
     RedisCommand<Boolean> HEXISTS = new RedisCommand<Boolean>("HEXISTS", new BooleanReplayConvertor());
+    RedisCommand<Object> HPTTL = new RedisCommand<Object>("HPTTL", new ListFirstObjectDecoder());
     RedisStrictCommand<Integer> HLEN = new RedisStrictCommand<Integer>("HLEN", new IntegerReplayConvertor());
     RedisCommand<Integer> HSTRLEN = new RedisCommand<Integer>("HSTRLEN", new IntegerReplayConvertor());
     RedisStrictCommand<Long> HLEN_LONG = new RedisStrictCommand<Long>("HLEN");
@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.client.protocol.pubsub;
+
+import io.netty.buffer.Unpooled;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+
+import java.io.IOException;
+
+/**
+ * PubSub message payload which isn't decoded yet.
+ * Holds copy of raw bytes, so it doesn't retain netty buffers.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public final class DeferredPayload {
+
+    private final byte[] data;
+    private final Decoder<Object> decoder;
+
+    public DeferredPayload(byte[] data, Decoder<Object> decoder) {
+        this.data = data;
+        this.decoder = decoder;
+    }
+
+    public Object decode() throws IOException {
+        return decoder.decode(Unpooled.wrappedBuffer(data), new State());
+    }
+
+    @Override
+    public String toString() {
+        return "DeferredPayload [size=" + data.length + "]";
+    }
+
+}
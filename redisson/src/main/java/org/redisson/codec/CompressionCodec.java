@@ -0,0 +1,395 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.codec;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdDictTrainer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import org.redisson.api.RMap;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+import org.xerial.snappy.Snappy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+/**
+ * Compression codec which compresses only values bigger than defined threshold.
+ * Uses inner <code>Codec</code> to convert object to binary stream.
+ * <code>Kryo5Codec</code> used by default.
+ * <p>
+ * Each value is prefixed with one byte header which defines compression algorithm.
+ * LZ4, Snappy and Zstandard algorithms are supported. Zstandard algorithm
+ * could use dictionary trained on sample values. Value is stored uncompressed
+ * if compression doesn't reduce its size.
+ * <p>
+ * Values written by inner codec without header are decoded as is.
+ * Header bytes are invalid in UTF-8, so this is reliable for text based
+ * inner codecs such as <code>JsonJacksonCodec</code> or <code>StringCodec</code>.
+ * <p>
+ * Algorithm libraries are optional dependencies:
+ * <a href="https://github.com/lz4/lz4-java">lz4-java</a>,
+ * <a href="https://github.com/xerial/snappy-java">snappy-java</a>,
+ * <a href="https://github.com/luben/zstd-jni">zstd-jni</a>.
+ * Only libraries of used algorithms are required.
+ *
+ * Fully thread-safe.
+ *
+ * @see org.redisson.codec.Kryo5Codec
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class CompressionCodec extends BaseCodec {
+
+    public enum Algorithm {LZ4, SNAPPY, ZSTD}
+
+    static final byte RAW_HEADER = (byte) 0xF8;
+    static final byte LZ4_HEADER = (byte) 0xF9;
+    static final byte SNAPPY_HEADER = (byte) 0xFA;
+    static final byte ZSTD_HEADER = (byte) 0xFB;
+    static final byte ZSTD_DICTIONARY_HEADER = (byte) 0xFC;
+
+    private static final int DEFAULT_THRESHOLD = 256;
+    private static final int DEFAULT_LEVEL = 3;
+
+    private final Codec innerCodec;
+    private final Algorithm algorithm;
+    private final int threshold;
+    private final int level;
+    private final byte[] dictionary;
+
+    private final Compression[] compressions = new Compression[4];
+
+    public CompressionCodec() {
+        this(new Kryo5Codec());
+    }
+
+    public CompressionCodec(ClassLoader classLoader) {
+        this(new Kryo5Codec(classLoader));
+    }
+
+    public CompressionCodec(Codec innerCodec) {
+        this(innerCodec, Algorithm.LZ4, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates codec.
+     *
+     * @param innerCodec - codec used to convert object to binary stream
+     * @param algorithm - compression algorithm
+     * @param threshold - minimal size of value in bytes to compress
+     */
+    public CompressionCodec(Codec innerCodec, Algorithm algorithm, int threshold) {
+        this(innerCodec, algorithm, threshold, DEFAULT_LEVEL, null);
+    }
+
+    /**
+     * Creates codec with Zstandard algorithm and dictionary.
+     *
+     * @see #trainDictionary(RMap, int, int)
+     *
+     * @param innerCodec - codec used to convert object to binary stream
+     * @param threshold - minimal size of value in bytes to compress
+     * @param dictionary - trained dictionary
+     */
+    public CompressionCodec(Codec innerCodec, int threshold, byte[] dictionary) {
+        this(innerCodec, Algorithm.ZSTD, threshold, DEFAULT_LEVEL, dictionary);
+    }
+
+    /**
+     * Creates codec.
+     *
+     * @param innerCodec - codec used to convert object to binary stream
+     * @param algorithm - compression algorithm
+     * @param threshold - minimal size of value in bytes to compress
+     * @param level - compression level. Used only by Zstandard algorithm
+     * @param dictionary - trained dictionary. Used only by Zstandard algorithm.
+     *                     Could be <code>null</code>
+     */
+    public CompressionCodec(Codec innerCodec, Algorithm algorithm, int threshold, int level, byte[] dictionary) {
+        if (dictionary != null && algorithm != Algorithm.ZSTD) {
+            throw new IllegalArgumentException("Dictionary is supported only by ZSTD algorithm");
+        }
+        this.innerCodec = innerCodec;
+        this.algorithm = algorithm;
+        this.threshold = threshold;
+        this.level = level;
+        this.dictionary = dictionary;
+    }
+
+    public CompressionCodec(ClassLoader classLoader, CompressionCodec codec) throws ReflectiveOperationException {
+        this(copy(classLoader, codec.innerCodec), codec.algorithm, codec.threshold, codec.level, codec.dictionary);
+    }
+
+    private byte header() {
+        switch (algorithm) {
+            case SNAPPY:
+                return SNAPPY_HEADER;
+            case ZSTD:
+                if (dictionary != null) {
+                    return ZSTD_DICTIONARY_HEADER;
+                }
+                return ZSTD_HEADER;
+            default:
+                return LZ4_HEADER;
+        }
+    }
+
+    private Compression compression(byte header) {
+        int index = header - RAW_HEADER - 1;
+        Compression compression = compressions[index];
+        if (compression != null) {
+            return compression;
+        }
+
+        switch (header) {
+            case LZ4_HEADER:
+                compression = new LZ4Compression();
+                break;
+            case SNAPPY_HEADER:
+                compression = new SnappyCompression();
+                break;
+            case ZSTD_HEADER:
+                compression = new ZstdCompression(level);
+                break;
+            case ZSTD_DICTIONARY_HEADER:
+                if (dictionary == null) {
+                    throw new IllegalStateException("Value is compressed with Zstandard dictionary, but dictionary isn't defined");
+                }
+                compression = new ZstdDictionaryCompression(dictionary, level);
+                break;
+            default:
+                throw new IllegalStateException("Unknown compression header: " + header);
+        }
+        compressions[index] = compression;
+        return compression;
+    }
+
+    private final Decoder<Object> decoder = new Decoder<Object>() {
+        @Override
+        public Object decode(ByteBuf buf, State state) throws IOException {
+            if (!buf.isReadable()) {
+                return innerCodec.getValueDecoder().decode(buf, state);
+            }
+
+            byte header = buf.getByte(buf.readerIndex());
+            if (header < RAW_HEADER || header > ZSTD_DICTIONARY_HEADER) {
+                return innerCodec.getValueDecoder().decode(buf, state);
+            }
+
+            buf.skipBytes(1);
+            if (header == RAW_HEADER) {
+                return innerCodec.getValueDecoder().decode(buf, state);
+            }
+
+            int length = buf.readInt();
+            ByteBuf out = ByteBufAllocator.DEFAULT.buffer(length);
+            try {
+                compression(header).decompress(buf, out, length);
+                return innerCodec.getValueDecoder().decode(out, state);
+            } finally {
+                out.release();
+            }
+        }
+    };
+
+    private final Encoder encoder = new Encoder() {
+        @Override
+        public ByteBuf encode(Object in) throws IOException {
+            ByteBuf bytes = innerCodec.getValueEncoder().encode(in);
+            try {
+                int length = bytes.readableBytes();
+                if (length >= threshold) {
+                    byte header = header();
+                    ByteBuf out = ByteBufAllocator.DEFAULT.buffer(length + 5);
+                    out.writeByte(header);
+                    out.writeInt(length);
+                    compression(header).compress(bytes, out);
+                    if (out.readableBytes() < length + 1) {
+                        return out;
+                    }
+                    out.release();
+                }
+
+                ByteBuf out = ByteBufAllocator.DEFAULT.buffer(length + 1);
+                out.writeByte(RAW_HEADER);
+                out.writeBytes(bytes, bytes.readerIndex(), length);
+                return out;
+            } finally {
+                bytes.release();
+            }
+        }
+    };
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+
+    /**
+     * Trains Zstandard dictionary on random values stored in map.
+     * Requires <b>Redis 6.2.0 and higher.</b>
+     *
+     * @param map - map with sample values
+     * @param samples - amount of sample values
+     * @param dictionarySize - max size of dictionary in bytes
+     * @return dictionary
+     * @throws IOException if value can't be encoded
+     */
+    public byte[] trainDictionary(RMap<?, ?> map, int samples, int dictionarySize) throws IOException {
+        return trainDictionary(map.randomEntries(samples).values(), dictionarySize);
+    }
+
+    /**
+     * Trains Zstandard dictionary on sample values.
+     * Values are encoded by inner codec.
+     *
+     * @param values - sample values
+     * @param dictionarySize - max size of dictionary in bytes
+     * @return dictionary
+     * @throws IOException if value can't be encoded
+     */
+    public byte[] trainDictionary(Collection<?> values, int dictionarySize) throws IOException {
+        byte[][] samples = new byte[values.size()][];
+        int samplesSize = 0;
+        int i = 0;
+        for (Object value : values) {
+            ByteBuf buf = innerCodec.getValueEncoder().encode(value);
+            try {
+                samples[i] = ByteBufUtil.getBytes(buf);
+            } finally {
+                buf.release();
+            }
+            samplesSize += samples[i].length;
+            i++;
+        }
+        return ZstdDictionaryCompression.train(samples, samplesSize, dictionarySize);
+    }
+
+    private interface Compression {
+
+        void compress(ByteBuf in, ByteBuf out) throws IOException;
+
+        void decompress(ByteBuf in, ByteBuf out, int length) throws IOException;
+
+    }
+
+    private static final class LZ4Compression implements Compression {
+
+        private final LZ4Factory factory = LZ4Factory.fastestInstance();
+
+        @Override
+        public void compress(ByteBuf in, ByteBuf out) {
+            LZ4Compressor compressor = factory.fastCompressor();
+            int maxLength = compressor.maxCompressedLength(in.readableBytes());
+            out.ensureWritable(maxLength);
+            ByteBuffer outBuf = out.internalNioBuffer(out.writerIndex(), maxLength);
+            int pos = outBuf.position();
+            compressor.compress(in.internalNioBuffer(in.readerIndex(), in.readableBytes()), outBuf);
+            out.writerIndex(out.writerIndex() + outBuf.position() - pos);
+        }
+
+        @Override
+        public void decompress(ByteBuf in, ByteBuf out, int length) {
+            ByteBuffer outBuf = out.internalNioBuffer(out.writerIndex(), length);
+            int pos = outBuf.position();
+            factory.safeDecompressor().decompress(in.internalNioBuffer(in.readerIndex(), in.readableBytes()), outBuf);
+            out.writerIndex(out.writerIndex() + outBuf.position() - pos);
+        }
+
+    }
+
+    private static final class SnappyCompression implements Compression {
+
+        @Override
+        public void compress(ByteBuf in, ByteBuf out) throws IOException {
+            out.writeBytes(Snappy.compress(ByteBufUtil.getBytes(in)));
+        }
+
+        @Override
+        public void decompress(ByteBuf in, ByteBuf out, int length) throws IOException {
+            out.writeBytes(Snappy.uncompress(ByteBufUtil.getBytes(in)));
+        }
+
+    }
+
+    private static final class ZstdCompression implements Compression {
+
+        private final int level;
+
+        ZstdCompression(int level) {
+            this.level = level;
+        }
+
+        @Override
+        public void compress(ByteBuf in, ByteBuf out) {
+            out.writeBytes(Zstd.compress(ByteBufUtil.getBytes(in), level));
+        }
+
+        @Override
+        public void decompress(ByteBuf in, ByteBuf out, int length) {
+            out.writeBytes(Zstd.decompress(ByteBufUtil.getBytes(in), length));
+        }
+
+    }
+
+    private static final class ZstdDictionaryCompression implements Compression {
+
+        private final ZstdDictCompress compressDictionary;
+        private final ZstdDictDecompress decompressDictionary;
+
+        ZstdDictionaryCompression(byte[] dictionary, int level) {
+            this.compressDictionary = new ZstdDictCompress(dictionary, level);
+            this.decompressDictionary = new ZstdDictDecompress(dictionary);
+        }
+
+        static byte[] train(byte[][] samples, int samplesSize, int dictionarySize) {
+            ZstdDictTrainer trainer = new ZstdDictTrainer(samplesSize, dictionarySize);
+            for (byte[] sample : samples) {
+                trainer.addSample(sample);
+            }
+            return trainer.trainSamples();
+        }
+
+        @Override
+        public void compress(ByteBuf in, ByteBuf out) {
+            out.writeBytes(Zstd.compress(ByteBufUtil.getBytes(in), compressDictionary));
+        }
+
+        @Override
+        public void decompress(ByteBuf in, ByteBuf out, int length) {
+            out.writeBytes(Zstd.decompress(ByteBufUtil.getBytes(in), decompressDictionary, length));
+        }
+
+    }
+
+}
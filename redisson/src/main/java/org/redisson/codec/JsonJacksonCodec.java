@@ -16,7 +16,6 @@
 package org.redisson.codec;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 
 import javax.xml.datatype.XMLGregorianCalendar;
@@ -36,6 +35,7 @@ import com.fasterxml.jackson.core.JsonGenerator.Feature;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectMapper.DefaultTypeResolverBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper.DefaultTyping;
@@ -45,7 +45,6 @@ import com.fasterxml.jackson.databind.type.TypeFactory;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
-import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufOutputStream;
 
 /**
@@ -75,31 +74,98 @@ public class JsonJacksonCodec extends BaseCodec {
     
     protected final ObjectMapper mapObjectMapper;
 
+    private static final int MIN_BUFFER_SIZE = 64;
+    private static final int MAX_BUFFER_SIZE = 1024 * 1024;
+
+    private volatile int bufferSize = 256;
+
     private final Encoder encoder = new Encoder() {
         @Override
         public ByteBuf encode(Object in) throws IOException {
-            ByteBuf out = ByteBufAllocator.DEFAULT.buffer();
-            try {
-                ByteBufOutputStream os = new ByteBufOutputStream(out);
-                mapObjectMapper.writeValue((OutputStream) os, in);
-                return os.buffer();
-            } catch (IOException e) {
-                out.release();
-                throw e;
-            } catch (Exception e) {
-                out.release();
-                throw new IOException(e);
-            }
+            return writeValue(os -> mapObjectMapper.writeValue((OutputStream) os, in));
         }
     };
 
     private final Decoder<Object> decoder = new Decoder<Object>() {
         @Override
         public Object decode(ByteBuf buf, State state) throws IOException {
-            return mapObjectMapper.readValue((InputStream) new ByteBufInputStream(buf), Object.class);
+            return readValue(buf, (bytes, offset, length) -> mapObjectMapper.readValue(bytes, offset, length, Object.class));
         }
     };
-    
+
+    protected interface ValueWriter {
+
+        void write(ByteBufOutputStream os) throws IOException;
+
+    }
+
+    protected interface ValueReader {
+
+        Object read(byte[] bytes, int offset, int length) throws IOException;
+
+    }
+
+    /**
+     * Writes value into buffer pre-sized according to recently encoded values.
+     * Estimate grows only if buffer was resized during write and is halved
+     * if written value takes less than half of it,
+     * so single large value doesn't inflate buffers of following small values.
+     *
+     * @param writer - value writer
+     * @return buffer
+     * @throws IOException if value can't be encoded
+     */
+    protected ByteBuf writeValue(ValueWriter writer) throws IOException {
+        int size = bufferSize;
+        int capacity = size + (size >> 3);
+        ByteBuf out = ByteBufAllocator.DEFAULT.buffer(capacity);
+        try {
+            ByteBufOutputStream os = new ByteBufOutputStream(out);
+            writer.write(os);
+        } catch (IOException e) {
+            out.release();
+            throw e;
+        } catch (Exception e) {
+            out.release();
+            throw new IOException(e);
+        }
+
+        int written = out.readableBytes();
+        if (written > capacity) {
+            bufferSize = Math.min(MAX_BUFFER_SIZE, written);
+        } else if (written < size >> 1 && size > MIN_BUFFER_SIZE) {
+            bufferSize = Math.max(MIN_BUFFER_SIZE, size >> 1);
+        }
+        return out;
+    }
+
+    /**
+     * Reads value directly from buffer's byte array.
+     * Content of direct buffer is copied into pooled heap buffer first,
+     * so parser works with single byte array instead of input stream.
+     *
+     * @param buf - buffer
+     * @param reader - value reader
+     * @return value
+     * @throws IOException if value can't be decoded
+     */
+    protected Object readValue(ByteBuf buf, ValueReader reader) throws IOException {
+        int length = buf.readableBytes();
+        if (buf.hasArray()) {
+            Object value = reader.read(buf.array(), buf.arrayOffset() + buf.readerIndex(), length);
+            buf.skipBytes(length);
+            return value;
+        }
+
+        ByteBuf heapBuf = ByteBufAllocator.DEFAULT.heapBuffer(length);
+        try {
+            heapBuf.writeBytes(buf);
+            return reader.read(heapBuf.array(), heapBuf.arrayOffset() + heapBuf.readerIndex(), length);
+        } finally {
+            heapBuf.release();
+        }
+    }
+
     public JsonJacksonCodec() {
         this(new ObjectMapper());
     }
@@ -139,6 +205,26 @@ public class JsonJacksonCodec extends BaseCodec {
         return om;
     }
 
+    /**
+     * Registers Jackson Blackbird module which replaces reflection based
+     * property access with generated bytecode accessors.
+     * <p>
+     * Requires <code>com.fasterxml.jackson.module:jackson-module-blackbird</code>
+     * in classpath and Java 11+. ObjectMapper should be configured before codec creation.
+     *
+     * @param om - object mapper
+     * @return object mapper with registered module
+     */
+    public static ObjectMapper withBytecodeAccessors(ObjectMapper om) {
+        try {
+            Class<?> moduleClass = Class.forName("com.fasterxml.jackson.module.blackbird.BlackbirdModule");
+            om.registerModule((Module) moduleClass.getDeclaredConstructor().newInstance());
+            return om;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("jackson-module-blackbird isn't found in classpath", e);
+        }
+    }
+
     public JsonJacksonCodec(ObjectMapper mapObjectMapper) {
         this(mapObjectMapper, true);
         warmup();
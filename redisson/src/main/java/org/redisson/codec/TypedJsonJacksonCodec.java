@@ -16,7 +16,6 @@
 package org.redisson.codec;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 
 import org.redisson.client.handler.State;
@@ -25,14 +24,16 @@ import org.redisson.client.protocol.Encoder;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
-import io.netty.buffer.ByteBufInputStream;
-import io.netty.buffer.ByteBufOutputStream;
 
 /**
  * Json Jackson Type codec. Doesn't include `@class` field during data encoding, and doesn't require it for data decoding. 
+ * <p>
+ * ObjectReader and ObjectWriter are resolved once during codec creation,
+ * so ObjectMapper should be configured before that.
  * 
  * @author Nikita Koksharov
  * @author Andrej Kazakov
@@ -43,33 +44,29 @@ public class TypedJsonJacksonCodec extends JsonJacksonCodec {
     private final Encoder encoder = new Encoder() {
         @Override
         public ByteBuf encode(Object in) throws IOException {
-            ByteBuf out = ByteBufAllocator.DEFAULT.buffer();
-            try {
-                ByteBufOutputStream os = new ByteBufOutputStream(out);
-                mapObjectMapper.writeValue((OutputStream) os, in);
-                return os.buffer();
-            } catch (IOException e) {
-                out.release();
-                throw e;
-            }
+            return writeValue(os -> objectWriter.writeValue((OutputStream) os, in));
         }
     };
-    
+
     private Decoder<Object> createDecoder(final Class<?> valueClass, final TypeReference<?> valueTypeReference) {
+        ObjectReader reader;
+        if (valueClass != null) {
+            reader = mapObjectMapper.readerFor(valueClass);
+        } else if (valueTypeReference != null) {
+            reader = mapObjectMapper.readerFor(valueTypeReference);
+        } else {
+            reader = mapObjectMapper.readerFor(Object.class);
+        }
+
         return new Decoder<Object>() {
             @Override
             public Object decode(ByteBuf buf, State state) throws IOException {
-                if (valueClass != null) {
-                    return mapObjectMapper.readValue((InputStream) new ByteBufInputStream(buf), valueClass);
-                }
-                if (valueTypeReference != null) {
-                    return mapObjectMapper.readValue((InputStream) new ByteBufInputStream(buf), valueTypeReference);
-                }
-                return mapObjectMapper.readValue((InputStream) new ByteBufInputStream(buf), Object.class);
+                return readValue(buf, (bytes, offset, length) -> reader.readValue(bytes, offset, length));
             }
         };
     }
-    
+
+    private final ObjectWriter objectWriter;
     private final Decoder<Object> valueDecoder;
     private final Decoder<Object> mapValueDecoder;
     private final Decoder<Object> mapKeyDecoder;
@@ -144,6 +141,7 @@ public class TypedJsonJacksonCodec extends JsonJacksonCodec {
     TypedJsonJacksonCodec(TypeReference<?> valueTypeReference, TypeReference<?> mapKeyTypeReference, TypeReference<?> mapValueTypeReference,
                             Class<?> valueClass, Class<?> mapKeyClass, Class<?> mapValueClass, ObjectMapper mapper, boolean copy) {
         super(mapper, copy);
+        this.objectWriter = mapObjectMapper.writer();
         this.mapValueDecoder = createDecoder(mapValueClass, mapValueTypeReference);
         this.mapKeyDecoder = createDecoder(mapKeyClass, mapKeyTypeReference);
         this.valueDecoder = createDecoder(valueClass, valueTypeReference);
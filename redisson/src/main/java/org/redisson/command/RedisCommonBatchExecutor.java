@@ -18,7 +18,6 @@ package org.redisson.command;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelPromise;
-import io.netty.util.Timeout;
 import org.redisson.api.BatchOptions;
 import org.redisson.api.BatchOptions.ExecutionMode;
 import org.redisson.client.RedisConnection;
@@ -115,7 +114,7 @@ public class RedisCommonBatchExecutor extends RedisExecutor<Object, Void> {
         if (list.isEmpty()) {
             writeFuture = connection.getChannel().newPromise();
             attemptPromise.complete(null);
-            timeout.ifPresent(Timeout::cancel);
+            cancelTimeout();
             return;
         }
 
@@ -137,7 +136,7 @@ public class RedisCommonBatchExecutor extends RedisExecutor<Object, Void> {
                     return;
                 }
 
-                ChannelFuture wf = connection.send(new CommandsData(attemptPromise, list, options.isSkipResult(), isAtomic, isQueued, options.getSyncSlaves() > 0));
+                ChannelFuture wf = send(connection, new CommandsData(attemptPromise, list, options.isSkipResult(), isAtomic, isQueued, options.getSyncSlaves() > 0));
                 wf.addListener((ChannelFutureListener) future -> {
                     if (future.isSuccess()) {
                         ((ChannelPromise) writeFuture).trySuccess(future.getNow());
@@ -149,7 +148,7 @@ public class RedisCommonBatchExecutor extends RedisExecutor<Object, Void> {
             return;
         }
 
-        writeFuture = connection.send(new CommandsData(attemptPromise, list, options.isSkipResult(), isAtomic, isQueued, options.getSyncSlaves() > 0));
+        writeFuture = send(connection, new CommandsData(attemptPromise, list, options.isSkipResult(), isAtomic, isQueued, options.getSyncSlaves() > 0));
     }
 
     protected boolean isWaitCommand(CommandData<?, ?> c) {
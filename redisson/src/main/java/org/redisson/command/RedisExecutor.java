@@ -15,6 +15,7 @@
  */
 package org.redisson.command;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.util.ReferenceCountUtil;
@@ -28,8 +29,10 @@ import org.redisson.cache.LRUCacheMap;
 import org.redisson.client.*;
 import org.redisson.client.codec.BaseCodec;
 import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.CommandsQueue;
 import org.redisson.client.protocol.CommandData;
 import org.redisson.client.protocol.CommandsData;
+import org.redisson.client.protocol.QueueCommand;
 import org.redisson.client.protocol.RedisCommand;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.connection.ClientConnectionsEntry;
@@ -46,7 +49,6 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -80,9 +82,10 @@ public class RedisExecutor<V, R> {
     MasterSlaveEntry entry;
     Codec codec;
     volatile int attempt;
-    volatile Optional<Timeout> timeout = Optional.empty();
+    volatile Timeout timeout;
     volatile BiConsumer<R, Throwable> mainPromiseListener;
     volatile ChannelFuture writeFuture;
+    volatile QueueCommand sentCommand;
     volatile RedisException exception;
 
     int attempts;
@@ -135,7 +138,7 @@ public class RedisExecutor<V, R> {
 
             if (connectionFuture.cancel(false)) {
                 log.debug("Connection obtaining canceled for {}", command);
-                timeout.ifPresent(Timeout::cancel);
+                cancelTimeout();
                 if (attemptPromise.cancel(false)) {
                     free();
                 }
@@ -161,9 +164,14 @@ public class RedisExecutor<V, R> {
             });
         }
 
-        scheduleRetryTimeout(connectionFuture, attemptPromise);
+        // timeouts are scheduled lazily if connection is available
+        // and command has been written immediately
+        boolean connected = connectionFuture.isDone() && !connectionFuture.isCompletedExceptionally();
+        if (!connected) {
+            scheduleRetryTimeout(connectionFuture, attemptPromise);
 
-        scheduleConnectionTimeout(attemptPromise, connectionFuture);
+            scheduleConnectionTimeout(attemptPromise, connectionFuture);
+        }
 
         connectionFuture.whenComplete((connection, e) -> {
             if (connectionFuture.isCancelled()) {
@@ -180,8 +188,18 @@ public class RedisExecutor<V, R> {
                 return;
             }
 
+            sentCommand = null;
             sendCommand(attemptPromise, connection);
 
+            if (writeFuture.isSuccess()) {
+                checkWriteFuture(writeFuture, attemptPromise, connection);
+                return;
+            }
+
+            if (connected) {
+                scheduleRetryTimeout(connectionFuture, attemptPromise);
+            }
+
             scheduleWriteTimeout(attemptPromise);
 
             writeFuture.addListener((ChannelFutureListener) future -> {
@@ -201,7 +219,7 @@ public class RedisExecutor<V, R> {
             return;
         }
 
-        timeout.ifPresent(Timeout::cancel);
+        cancelTimeout();
 
         TimerTask task = timeout -> {
             if (connectionFuture.cancel(false)) {
@@ -215,7 +233,7 @@ public class RedisExecutor<V, R> {
             }
         };
 
-        timeout = Optional.of(connectionManager.getServiceManager().newTimeout(task, responseTimeout, TimeUnit.MILLISECONDS));
+        timeout = connectionManager.getServiceManager().newTimeout(task, responseTimeout, TimeUnit.MILLISECONDS);
     }
 
     private void scheduleWriteTimeout(CompletableFuture<R> attemptPromise) {
@@ -223,7 +241,7 @@ public class RedisExecutor<V, R> {
             return;
         }
 
-        timeout.ifPresent(Timeout::cancel);
+        cancelTimeout();
 
         TimerTask task = timeout -> {
             if (writeFuture.cancel(false)) {
@@ -237,7 +255,7 @@ public class RedisExecutor<V, R> {
             }
         };
 
-        timeout = Optional.of(connectionManager.getServiceManager().newTimeout(task, responseTimeout, TimeUnit.MILLISECONDS));
+        timeout = connectionManager.getServiceManager().newTimeout(task, responseTimeout, TimeUnit.MILLISECONDS);
     }
 
     private void scheduleRetryTimeout(CompletableFuture<RedisConnection> connectionFuture, CompletableFuture<R> attemptPromise) {
@@ -319,9 +337,16 @@ public class RedisExecutor<V, R> {
 
         };
 
-        timeout = Optional.of(connectionManager.getServiceManager().newTimeout(retryTimerTask, retryInterval, TimeUnit.MILLISECONDS));
+        timeout = connectionManager.getServiceManager().newTimeout(retryTimerTask, retryInterval, TimeUnit.MILLISECONDS);
     }
     
+    void cancelTimeout() {
+        Timeout t = timeout;
+        if (t != null) {
+            t.cancel();
+        }
+    }
+
     protected void free() {
         free(params);
     }
@@ -349,11 +374,11 @@ public class RedisExecutor<V, R> {
             return;
         }
 
-        scheduleResponseTimeout(attemptPromise, connection);
+        scheduleResponseTimeout(attemptPromise, connection, future.channel());
     }
 
-    private void scheduleResponseTimeout(CompletableFuture<R> attemptPromise, RedisConnection connection) {
-        timeout.ifPresent(Timeout::cancel);
+    private void scheduleResponseTimeout(CompletableFuture<R> attemptPromise, RedisConnection connection, Channel channel) {
+        cancelTimeout();
 
         long timeoutTime = responseTimeout;
         if (command != null && command.isBlockingCommand()) {
@@ -379,35 +404,47 @@ public class RedisExecutor<V, R> {
         }
 
         long timeoutAmount = timeoutTime;
-        TimerTask timeoutResponseTask = timeout -> {
-            if (isResendAllowed(attempt, attempts)) {
-                if (!attemptPromise.cancel(false)) {
-                    return;
-                }
+        QueueCommand sent = sentCommand;
+        // connection may be already reconnected, so deadline is tracked by the channel command was written to
+        CommandsQueue commandsQueue = channel.pipeline().get(CommandsQueue.class);
+        if (sent != null && commandsQueue != null
+                && (command == null || !command.isBlockingCommand())) {
+            commandsQueue.trackResponseTimeout(sent, timeoutTime,
+                    () -> onResponseTimeout(attemptPromise, connection, timeoutAmount));
+            return;
+        }
 
-                connectionManager.getServiceManager().newTimeout(t -> {
-                    attempt++;
-                    if (log.isDebugEnabled()) {
-                        log.debug("response timeout. new attempt {} for command {} and params {} node {}",
-                                attempt, command, LogHelper.toString(params), source);
-                    }
+        timeout = connectionManager.getServiceManager().newTimeout(t -> {
+            onResponseTimeout(attemptPromise, connection, timeoutAmount);
+        }, timeoutTime, TimeUnit.MILLISECONDS);
+    }
 
-                    mainPromiseListener = null;
-                    execute();
-                }, retryInterval, TimeUnit.MILLISECONDS);
+    private void onResponseTimeout(CompletableFuture<R> attemptPromise, RedisConnection connection, long timeoutAmount) {
+        if (isResendAllowed(attempt, attempts)) {
+            if (!attemptPromise.cancel(false)) {
                 return;
             }
 
-            attemptPromise.completeExceptionally(
-                    new RedisResponseTimeoutException("Redis server response timeout (" + timeoutAmount + " ms) occured"
-                            + " after " + attempt + " retry attempts,"
-                            + " is non-idempotent command: " + (command != null && command.isNoRetry())
-                            + " Check connection with Redis node: " + connection.getRedisClient().getAddr() + " for TCP packet drops or bandwidth limits. "
-                            + " Try to increase nettyThreads and/or timeout settings. Command: "
-                            + LogHelper.toString(command, params) + ", channel: " + connection.getChannel()));
-        };
+            connectionManager.getServiceManager().newTimeout(t -> {
+                attempt++;
+                if (log.isDebugEnabled()) {
+                    log.debug("response timeout. new attempt {} for command {} and params {} node {}",
+                            attempt, command, LogHelper.toString(params), source);
+                }
+
+                mainPromiseListener = null;
+                execute();
+            }, retryInterval, TimeUnit.MILLISECONDS);
+            return;
+        }
 
-        timeout = Optional.of(connectionManager.getServiceManager().newTimeout(timeoutResponseTask, timeoutTime, TimeUnit.MILLISECONDS));
+        attemptPromise.completeExceptionally(
+                new RedisResponseTimeoutException("Redis server response timeout (" + timeoutAmount + " ms) occured"
+                        + " after " + attempt + " retry attempts,"
+                        + " is non-idempotent command: " + (command != null && command.isNoRetry())
+                        + " Check connection with Redis node: " + connection.getRedisClient().getAddr() + " for TCP packet drops or bandwidth limits. "
+                        + " Try to increase nettyThreads and/or timeout settings. Command: "
+                        + LogHelper.toString(command, params) + ", channel: " + connection.getChannel()));
     }
 
     protected boolean isResendAllowed(int attempt, int attempts) {
@@ -477,7 +514,7 @@ public class RedisExecutor<V, R> {
     }
 
     protected void checkAttemptPromise(CompletableFuture<R> attemptFuture, CompletableFuture<RedisConnection> connectionFuture) {
-        timeout.ifPresent(Timeout::cancel);
+        cancelTimeout();
 
         if (attemptFuture.isCancelled()) {
             return;
@@ -599,6 +636,16 @@ public class RedisExecutor<V, R> {
         }
     }
 
+    protected ChannelFuture send(RedisConnection connection, CommandData<?, ?> data) {
+        sentCommand = data;
+        return connection.send(data);
+    }
+
+    protected ChannelFuture send(RedisConnection connection, CommandsData data) {
+        sentCommand = data;
+        return connection.send(data);
+    }
+
     protected void sendCommand(CompletableFuture<R> attemptPromise, RedisConnection connection) {
         if (source.getRedirect() == Redirect.ASK) {
             List<CommandData<?, ?>> list = new ArrayList<>(2);
@@ -606,7 +653,7 @@ public class RedisExecutor<V, R> {
             list.add(new CommandData<>(promise, codec, RedisCommands.ASKING, new Object[]{}));
             list.add(new CommandData<>(attemptPromise, codec, command, params));
             CompletableFuture<Void> main = new CompletableFuture<>();
-            writeFuture = connection.send(new CommandsData(main, list, false, false));
+            writeFuture = send(connection, new CommandsData(main, list, false, false));
         } else {
             if (log.isDebugEnabled()) {
                 String connectionType = " ";
@@ -616,7 +663,7 @@ public class RedisExecutor<V, R> {
                 log.debug("acquired{}connection for command {} and params {} from slot {} using node {}... {}",
                         connectionType, command, LogHelper.toString(params), source, connection.getRedisClient().getAddr(), connection);
             }
-            writeFuture = connection.send(new CommandData<>(attemptPromise, codec, command, params));
+            writeFuture = send(connection, new CommandData<>(attemptPromise, codec, command, params));
 
             if (connectionManager.getServiceManager().getConfig().getMasterConnectionPoolSize() < 10
                     && !command.isBlockingCommand()) {
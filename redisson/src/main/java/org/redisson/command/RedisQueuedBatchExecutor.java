@@ -153,7 +153,7 @@ public class RedisQueuedBatchExecutor<V, R> extends BaseRedisBatchExecutor<V, R>
             }
             list.add(new CommandData<>(attemptPromise, codec, command, params));
             CompletableFuture<Void> main = new CompletableFuture<>();
-            writeFuture = connection.send(new CommandsData(main, list, true, syncSlaves));
+            writeFuture = send(connection, new CommandsData(main, list, true, syncSlaves));
         } else {
             if (log.isDebugEnabled()) {
                 log.debug("acquired connection for command {} and params {} from slot {} using node {}... {}",
@@ -165,7 +165,7 @@ public class RedisQueuedBatchExecutor<V, R> extends BaseRedisBatchExecutor<V, R>
                 list.add(new CommandData<>(new CompletableFuture<>(), codec, RedisCommands.MULTI, new Object[]{}));
                 list.add(new CommandData<>(attemptPromise, codec, command, params));
                 CompletableFuture<Void> main = new CompletableFuture<>();
-                writeFuture = connection.send(new CommandsData(main, list, true, syncSlaves));
+                writeFuture = send(connection, new CommandsData(main, list, true, syncSlaves));
                 connectionEntry.setFirstCommand(false);
             } else {
                 if (RedisCommands.EXEC.getName().equals(command.getName())) {
@@ -196,13 +196,13 @@ public class RedisQueuedBatchExecutor<V, R> extends BaseRedisBatchExecutor<V, R>
                     }
 
                     CompletableFuture<Void> main = new CompletableFuture<>();
-                    writeFuture = connection.send(new CommandsData(main, list, new ArrayList<>(entry.getCommands()),
+                    writeFuture = send(connection, new CommandsData(main, list, new ArrayList<>(entry.getCommands()),
                                 options.isSkipResult(), false, true, syncSlaves));
                 } else {
                     CompletableFuture<Void> main = new CompletableFuture<>();
                     List<CommandData<?, ?>> list = new ArrayList<>();
                     list.add(new CommandData<>(attemptPromise, codec, command, params));
-                    writeFuture = connection.send(new CommandsData(main, list, true, syncSlaves));
+                    writeFuture = send(connection, new CommandsData(main, list, true, syncSlaves));
                 }
             }
         }
@@ -76,8 +76,18 @@ public class Config {
 
     private long reliableTopicWatchdogTimeout = TimeUnit.MINUTES.toMillis(10);
 
+    private int reliableTopicBatchSize = 100;
+
+    private boolean reliableTopicParallelListeners;
+
     private boolean keepPubSubOrder = true;
 
+    private boolean deferredPubSubDecoding;
+
+    private int publishLingerTime;
+
+    private boolean sharedDelayedQueueTransfer;
+
     private boolean useScriptCache = false;
 
     private int minCleanUpDelay = 5;
@@ -86,6 +96,8 @@ public class Config {
 
     private int cleanUpKeysAmount = 100;
 
+    private boolean consolidatedCleanUp;
+
     private NettyHook nettyHook = new DefaultNettyHook();
 
     private ConnectionListener connectionListener;
@@ -113,8 +125,12 @@ public class Config {
         setMinCleanUpDelay(oldConf.getMinCleanUpDelay());
         setMaxCleanUpDelay(oldConf.getMaxCleanUpDelay());
         setCleanUpKeysAmount(oldConf.getCleanUpKeysAmount());
+        setConsolidatedCleanUp(oldConf.isConsolidatedCleanUp());
         setUseScriptCache(oldConf.isUseScriptCache());
         setKeepPubSubOrder(oldConf.isKeepPubSubOrder());
+        setDeferredPubSubDecoding(oldConf.isDeferredPubSubDecoding());
+        setPublishLingerTime(oldConf.getPublishLingerTime());
+        setSharedDelayedQueueTransfer(oldConf.isSharedDelayedQueueTransfer());
         setLockWatchdogTimeout(oldConf.getLockWatchdogTimeout());
         setCheckLockSyncedSlaves(oldConf.isCheckLockSyncedSlaves());
         setSlavesSyncTimeout(oldConf.getSlavesSyncTimeout());
@@ -126,6 +142,8 @@ public class Config {
         setTransportMode(oldConf.getTransportMode());
         setAddressResolverGroupFactory(oldConf.getAddressResolverGroupFactory());
         setReliableTopicWatchdogTimeout(oldConf.getReliableTopicWatchdogTimeout());
+        setReliableTopicBatchSize(oldConf.getReliableTopicBatchSize());
+        setReliableTopicParallelListeners(oldConf.isReliableTopicParallelListeners());
         setLazyInitialization(oldConf.isLazyInitialization());
 
         if (oldConf.getSingleServerConfig() != null) {
@@ -578,6 +596,81 @@ public class Config {
         return keepPubSubOrder;
     }
 
+    /**
+     * Defines whether to decode PubSub messages payload by Redisson executor threads
+     * instead of netty threads.
+     * <p>
+     * Raw payload is copied on netty thread and decoded with topic codec right before listeners invocation.
+     * Messages are dispatched in batches per channel, listeners implementing
+     * {@link org.redisson.api.listener.BatchMessageListener} receive the whole batch.
+     * Messages of the same channel are handled in arrival order in this mode.
+     * <p>
+     * Default is <code>false</code>.
+     *
+     * @param deferredPubSubDecoding - <code>true</code> if payload should be decoded by executor threads
+     * @return config
+     */
+    public Config setDeferredPubSubDecoding(boolean deferredPubSubDecoding) {
+        this.deferredPubSubDecoding = deferredPubSubDecoding;
+        return this;
+    }
+
+    public boolean isDeferredPubSubDecoding() {
+        return deferredPubSubDecoding;
+    }
+
+    /**
+     * Defines time window in milliseconds used to accumulate messages
+     * published by {@link org.redisson.api.RTopic} and {@link org.redisson.api.RShardedTopic} objects.
+     * <p>
+     * Messages published to the same Redis node within this window are sent
+     * as a single pipelined write. Only one write per node is in flight at a time,
+     * messages published meanwhile are sent right after it completes.
+     * Order of messages is preserved per channel.
+     * <p>
+     * <code>0</code> value disables accumulation.
+     * <p>
+     * Default is <code>0</code>.
+     *
+     * @param publishLingerTime - time window in milliseconds
+     * @return config
+     */
+    public Config setPublishLingerTime(int publishLingerTime) {
+        this.publishLingerTime = publishLingerTime;
+        return this;
+    }
+
+    public int getPublishLingerTime() {
+        return publishLingerTime;
+    }
+
+    /**
+     * Defines whether {@link org.redisson.api.RDelayedQueue} objects share
+     * single transfer scheduler and single notification channel.
+     * <p>
+     * Due queues are tracked by one timer and transferred using pipelined
+     * batches split by Redis nodes. Transfer chunk size grows while queue has
+     * a backlog of expired elements. Instead of a channel per queue, all queues
+     * are notified through one channel. Each Redisson instance receives notifications
+     * of all queues, but messages published in Redis cluster are broadcast
+     * to all nodes regardless of the channel.
+     * <p>
+     * Should be enabled on all Redisson instances working with the same delayed queues.
+     * <p>
+     * Default is <code>false</code>.
+     *
+     * @param sharedDelayedQueueTransfer <code>true</code> if shared transfer scheduler is used
+     * @return config
+     */
+    public Config setSharedDelayedQueueTransfer(boolean sharedDelayedQueueTransfer) {
+        this.sharedDelayedQueueTransfer = sharedDelayedQueueTransfer;
+        return this;
+    }
+
+    public boolean isSharedDelayedQueueTransfer() {
+        return sharedDelayedQueueTransfer;
+    }
+
     /**
      * Used to switch between {@link io.netty.resolver.dns.DnsAddressResolverGroup} implementations.
      * Switch to round robin {@link io.netty.resolver.dns.RoundRobinDnsAddressResolverGroup} when you need to optimize the url resolving.
@@ -793,6 +886,30 @@ public class Config {
         return this;
     }
 
+    public boolean isConsolidatedCleanUp() {
+        return consolidatedCleanUp;
+    }
+
+    /**
+     * Defines whether to use single scheduler for clean up process of expired entries of all objects.
+     * <p>
+     * Objects are ordered by next expected expiration time. Due objects are checked
+     * for the earliest expiration time using pipelined batch and clean up process is executed
+     * only for objects which have expired entries.
+     * Otherwise each object uses own timer.
+     * <p>
+     * Applied to JCache, RSetCache, RMapCache, RListMultimapCache, RSetMultimapCache objects.
+     * <p>
+     * Default is <code>false</code>.
+     *
+     * @param consolidatedCleanUp - <code>true</code> to use single scheduler
+     * @return config
+     */
+    public Config setConsolidatedCleanUp(boolean consolidatedCleanUp) {
+        this.consolidatedCleanUp = consolidatedCleanUp;
+        return this;
+    }
+
     public boolean isUseThreadClassLoader() {
         return useThreadClassLoader;
     }
@@ -833,6 +950,42 @@ public class Config {
         return this;
     }
 
+    public int getReliableTopicBatchSize() {
+        return reliableTopicBatchSize;
+    }
+
+    /**
+     * Defines maximum amount of messages read by Reliable Topic subscriber
+     * per single request. All messages of batch are acknowledged at once.
+     * <p>
+     * Default is <code>100</code>
+     *
+     * @param reliableTopicBatchSize amount of messages
+     * @return config
+     */
+    public Config setReliableTopicBatchSize(int reliableTopicBatchSize) {
+        this.reliableTopicBatchSize = reliableTopicBatchSize;
+        return this;
+    }
+
+    public boolean isReliableTopicParallelListeners() {
+        return reliableTopicParallelListeners;
+    }
+
+    /**
+     * Defines whether Reliable Topic listeners process batch of messages in parallel.
+     * Each listener receives messages in publish order.
+     * <p>
+     * Default is <code>false</code>
+     *
+     * @param reliableTopicParallelListeners <code>true</code> if listeners are invoked in parallel
+     * @return config
+     */
+    public Config setReliableTopicParallelListeners(boolean reliableTopicParallelListeners) {
+        this.reliableTopicParallelListeners = reliableTopicParallelListeners;
+        return this;
+    }
+
     public ConnectionListener getConnectionListener() {
         return connectionListener;
     }
@@ -343,6 +343,7 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
                 .setSslTrustManagerFactory(config.getSslTrustManagerFactory())
                 .setClientName(config.getClientName())
                 .setKeepPubSubOrder(serviceManager.getCfg().isKeepPubSubOrder())
+                .setDeferredPubSubDecoding(serviceManager.getCfg().isDeferredPubSubDecoding())
                 .setPingConnectionInterval(config.getPingConnectionInterval())
                 .setKeepAlive(config.isKeepAlive())
                 .setTcpNoDelay(config.isTcpNoDelay())
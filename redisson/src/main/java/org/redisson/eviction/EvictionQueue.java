@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.eviction;
+
+import org.redisson.api.RFuture;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.client.protocol.ScoredEntry;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.command.CommandBatchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single timer for eviction tasks of all objects.
+ * <p>
+ * Tasks are ordered by next execution time. On each tick due tasks are
+ * checked for the earliest expiration time using single pipelined batch,
+ * which is split by nodes. Clean up process is executed only for tasks
+ * with expired entries, other tasks are postponed till the earliest expiration time.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+final class EvictionQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(EvictionQueue.class);
+
+    private static final int TICK_INTERVAL = 1000;
+    private static final int TASKS_PER_TICK = 1000;
+
+    private final DelayQueue<EvictionTask> queue = new DelayQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final Map<String, EvictionTask> tasks;
+    private final CommandAsyncExecutor executor;
+
+    EvictionQueue(CommandAsyncExecutor executor, Map<String, EvictionTask> tasks) {
+        this.executor = executor;
+        this.tasks = tasks;
+    }
+
+    void add(EvictionTask task, long delayMillis) {
+        task.nextRunTime = System.currentTimeMillis() + delayMillis;
+        queue.add(task);
+
+        if (started.compareAndSet(false, true)) {
+            scheduleTick(TICK_INTERVAL);
+        }
+    }
+
+    void remove(EvictionTask task) {
+        queue.remove(task);
+    }
+
+    private void scheduleTick(long delay) {
+        executor.getServiceManager().getGroup().schedule(this::tick, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void tick() {
+        if (executor.getServiceManager().isShuttingDown()) {
+            return;
+        }
+
+        List<EvictionTask> dueTasks = new ArrayList<>();
+        while (dueTasks.size() < TASKS_PER_TICK) {
+            EvictionTask task = queue.poll();
+            if (task == null) {
+                break;
+            }
+            if (tasks.get(task.getName()) != task) {
+                continue;
+            }
+            dueTasks.add(task);
+        }
+
+        if (dueTasks.isEmpty()) {
+            scheduleTick(TICK_INTERVAL);
+            return;
+        }
+
+        CommandBatchService batch = new CommandBatchService(executor);
+        List<List<RFuture<ScoredEntry<byte[]>>>> probes = new ArrayList<>(dueTasks.size());
+        for (EvictionTask task : dueTasks) {
+            List<RFuture<ScoredEntry<byte[]>>> futures = new ArrayList<>();
+            for (String setName : task.getExpirationSetNames()) {
+                RFuture<ScoredEntry<byte[]>> f = batch.readAsync(setName, ByteArrayCodec.INSTANCE,
+                                                    RedisCommands.ZRANGE_SINGLE_ENTRY, setName, 0, 0, "WITHSCORES");
+                futures.add(f);
+            }
+            probes.add(futures);
+        }
+
+        batch.executeAsync().whenComplete((r, e) -> {
+            if (e != null) {
+                log.error("Unable to check expiration time of objects", e);
+            }
+
+            long currentTime = System.currentTimeMillis();
+            for (int i = 0; i < dueTasks.size(); i++) {
+                EvictionTask task = dueTasks.get(i);
+                List<RFuture<ScoredEntry<byte[]>>> futures = probes.get(i);
+                if (e != null || futures.isEmpty()) {
+                    task.run();
+                    continue;
+                }
+
+                long expirationTime = Long.MAX_VALUE;
+                for (RFuture<ScoredEntry<byte[]>> future : futures) {
+                    ScoredEntry<byte[]> entry = future.toCompletableFuture().getNow(null);
+                    if (entry != null) {
+                        expirationTime = Math.min(expirationTime, task.toExpirationTime(entry.getScore()));
+                    }
+                }
+
+                if (expirationTime <= currentTime) {
+                    task.run();
+                } else {
+                    task.postpone(expirationTime);
+                }
+            }
+
+            EvictionTask next = queue.peek();
+            if (next != null && next.getDelay(TimeUnit.MILLISECONDS) <= 0) {
+                scheduleTick(0);
+            } else {
+                scheduleTick(TICK_INTERVAL);
+            }
+        });
+    }
+
+}
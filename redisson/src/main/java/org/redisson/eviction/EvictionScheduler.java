@@ -26,6 +26,8 @@ import java.util.concurrent.ConcurrentMap;
  * Deletes expired entries in time interval between 5 seconds to 2 hours.
  * It analyzes deleted amount of expired keys
  * and 'tune' next execution delay depending on it.
+ * <p>
+ * Uses single timer for all objects if {@link org.redisson.config.Config#isConsolidatedCleanUp()} is enabled.
  *
  * @author Nikita Koksharov
  *
@@ -34,41 +36,43 @@ public class EvictionScheduler {
 
     private final ConcurrentMap<String, EvictionTask> tasks = new ConcurrentHashMap<>();
     private final CommandAsyncExecutor executor;
+    private final EvictionQueue queue;
 
     public EvictionScheduler(CommandAsyncExecutor executor) {
         this.executor = executor;
+        if (executor.getServiceManager().getCfg().isConsolidatedCleanUp()) {
+            this.queue = new EvictionQueue(executor, tasks);
+        } else {
+            this.queue = null;
+        }
     }
 
-    public void scheduleCleanMultimap(String name, String timeoutSetName) {
-        EvictionTask task = new MultimapEvictionTask(name, timeoutSetName, executor);
+    private void addTask(String name, EvictionTask task) {
+        task.queue = queue;
         EvictionTask prevTask = tasks.putIfAbsent(name, task);
         if (prevTask == null) {
             task.schedule();
         }
     }
 
+    public void scheduleCleanMultimap(String name, String timeoutSetName) {
+        EvictionTask task = new MultimapEvictionTask(name, timeoutSetName, executor);
+        addTask(name, task);
+    }
+
     public void scheduleJCache(String name, String timeoutSetName, String expiredChannelName) {
         EvictionTask task = new JCacheEvictionTask(name, timeoutSetName, expiredChannelName, executor);
-        EvictionTask prevTask = tasks.putIfAbsent(name, task);
-        if (prevTask == null) {
-            task.schedule();
-        }
+        addTask(name, task);
     }
 
     public void scheduleTimeSeries(String name, String timeoutSetName) {
         EvictionTask task = new TimeSeriesEvictionTask(name, timeoutSetName, executor);
-        EvictionTask prevTask = tasks.putIfAbsent(name, task);
-        if (prevTask == null) {
-            task.schedule();
-        }
+        addTask(name, task);
     }
 
     public void schedule(String name, long shiftInMilliseconds) {
         EvictionTask task = new ScoredSetEvictionTask(name, executor, shiftInMilliseconds);
-        EvictionTask prevTask = tasks.putIfAbsent(name, task);
-        if (prevTask == null) {
-            task.schedule();
-        }
+        addTask(name, task);
     }
 
     public void schedule(String name, String timeoutSetName, String maxIdleSetName,
@@ -80,15 +84,18 @@ public class EvictionScheduler {
 
         EvictionTask task = new MapCacheEvictionTask(name, timeoutSetName, maxIdleSetName, expiredChannelName, lastAccessTimeSetName,
                 executor, removeEmpty, this);
-        EvictionTask prevTask = tasks.putIfAbsent(name, task);
-        if (prevTask == null) {
-            task.schedule();
-        }
+        addTask(name, task);
     }
 
     public void remove(String name) {
         EvictionTask task = tasks.remove(name);
-        if (task != null && task.getScheduledFuture() != null) {
+        if (task == null) {
+            return;
+        }
+        if (queue != null) {
+            queue.remove(task);
+        }
+        if (task.getScheduledFuture() != null) {
             task.getScheduledFuture().cancel(false);
         }
     }
@@ -21,8 +21,11 @@ import org.redisson.command.CommandAsyncExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.Deque;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Delayed;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -30,7 +33,7 @@ import java.util.concurrent.TimeUnit;
  * @author Nikita Koksharov
  *
  */
-abstract class EvictionTask implements Runnable {
+abstract class EvictionTask implements Runnable, Delayed {
 
     private final Logger log = LoggerFactory.getLogger(getClass());
     
@@ -44,6 +47,9 @@ abstract class EvictionTask implements Runnable {
     final CommandAsyncExecutor executor;
 
     ScheduledFuture<?> scheduledFuture;
+
+    EvictionQueue queue;
+    volatile long nextRunTime;
     
     EvictionTask(CommandAsyncExecutor executor) {
         super();
@@ -54,9 +60,55 @@ abstract class EvictionTask implements Runnable {
     }
 
     public void schedule() {
+        if (queue != null) {
+            queue.add(this, TimeUnit.SECONDS.toMillis(delay));
+            return;
+        }
         scheduledFuture = executor.getServiceManager().getGroup().schedule(this, delay, TimeUnit.SECONDS);
     }
 
+    /**
+     * Postpones clean up process if there are no expired entries.
+     *
+     * @param expirationTime - the earliest expiration time of entries
+     *                         or <code>Long.MAX_VALUE</code> if object is empty
+     */
+    void postpone(long expirationTime) {
+        if (expirationTime == Long.MAX_VALUE) {
+            delay = Math.min(maxDelay, (int) (delay*1.5));
+        }
+
+        long delayMillis = expirationTime - System.currentTimeMillis();
+        delayMillis = Math.min(TimeUnit.SECONDS.toMillis(delay), delayMillis);
+        delayMillis = Math.max(TimeUnit.SECONDS.toMillis(minDelay), delayMillis);
+        queue.add(this, delayMillis);
+    }
+
+    /**
+     * Returns names of sorted sets which hold expiration time of entries as score.
+     * Used to check the earliest expiration time before clean up process execution.
+     * Empty list means that clean up process is always executed.
+     *
+     * @return names of sorted sets
+     */
+    List<String> getExpirationSetNames() {
+        return Collections.emptyList();
+    }
+
+    long toExpirationTime(double score) {
+        return (long) score;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(nextRunTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed o) {
+        return Long.compare(nextRunTime, ((EvictionTask) o).nextRunTime);
+    }
+
     public ScheduledFuture<?> getScheduledFuture() {
         return scheduledFuture;
     }
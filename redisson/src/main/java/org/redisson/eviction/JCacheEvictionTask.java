@@ -16,6 +16,8 @@
 package org.redisson.eviction;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.redisson.api.RFuture;
 import org.redisson.client.codec.LongCodec;
@@ -45,6 +47,11 @@ public class JCacheEvictionTask extends EvictionTask {
         return name;
     }
     
+    @Override
+    List<String> getExpirationSetNames() {
+        return Collections.singletonList(timeoutSetName);
+    }
+    
     @Override
     RFuture<Integer> execute() {
         return executor.evalWriteAsync(name, LongCodec.INSTANCE, RedisCommands.EVAL_INTEGER,
@@ -24,6 +24,7 @@ import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.misc.CompletableFutureWrapper;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
@@ -63,6 +64,11 @@ public class MapCacheEvictionTask extends EvictionTask {
         return name;
     }
 
+    @Override
+    List<String> getExpirationSetNames() {
+        return Arrays.asList(timeoutSetName, maxIdleSetName);
+    }
+
     @Override
     RFuture<Integer> execute() {
         int latchExpireTime = Math.min(delay, 30);
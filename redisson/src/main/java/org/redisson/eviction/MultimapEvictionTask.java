@@ -16,6 +16,8 @@
 package org.redisson.eviction;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.redisson.api.RFuture;
 import org.redisson.client.codec.LongCodec;
@@ -43,6 +45,11 @@ public class MultimapEvictionTask extends EvictionTask {
         return name;
     }
     
+    @Override
+    List<String> getExpirationSetNames() {
+        return Collections.singletonList(timeoutSetName);
+    }
+    
     RFuture<Integer> execute() {
         return executor.evalWriteAsync(name, LongCodec.INSTANCE, RedisCommands.EVAL_INTEGER,
                 "local expiredKeys = redis.call('zrangebyscore', KEYS[2], 0, ARGV[1], 'limit', 0, ARGV[2]); "
@@ -20,6 +20,9 @@ import org.redisson.client.codec.LongCodec;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.command.CommandAsyncExecutor;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * 
  * @author Nikita Koksharov
@@ -41,6 +44,16 @@ public class ScoredSetEvictionTask extends EvictionTask {
         return name;
     }
     
+    @Override
+    List<String> getExpirationSetNames() {
+        return Collections.singletonList(name);
+    }
+
+    @Override
+    long toExpirationTime(double score) {
+        return (long) score + shiftInMilliseconds;
+    }
+    
     @Override
     RFuture<Integer> execute() {
         return executor.writeAsync(name, LongCodec.INSTANCE, RedisCommands.ZREMRANGEBYSCORE, name, 0, System.currentTimeMillis() - shiftInMilliseconds);
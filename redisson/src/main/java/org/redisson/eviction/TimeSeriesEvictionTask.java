@@ -21,6 +21,8 @@ import org.redisson.client.protocol.RedisCommands;
 import org.redisson.command.CommandAsyncExecutor;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  *
@@ -55,4 +57,9 @@ public class TimeSeriesEvictionTask extends EvictionTask {
     String getName() {
         return name;
     }
+
+    @Override
+    List<String> getExpirationSetNames() {
+        return Collections.singletonList(timeoutSetName);
+    }
 }
@@ -19,9 +19,12 @@ import org.redisson.api.RFuture;
 import org.redisson.client.codec.Codec;
 import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.command.CommandBatchService;
+import org.redisson.executor.params.TaskParameters;
+import org.redisson.remote.RemoteServiceRequest;
 import org.redisson.remote.ResponseEntry;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentMap;
 
 /**
@@ -43,6 +46,19 @@ public class TasksBatchService extends TasksService {
         return batchCommandService;
     }
 
+    @Override
+    protected CompletableFuture<Boolean> addAsync(String requestQueueName, RemoteServiceRequest request) {
+        // batch can't resubmit a single task if class registry entry is lost,
+        // so bytecode is always sent along with task
+        TaskParameters params = (TaskParameters) request.getArgs()[0];
+        if (classBodyResolver != null
+                && params.getClassBody() == null
+                    && params.getClassHash() != null) {
+            params.setClassBody(classBodyResolver.apply(params.getClassHash()));
+        }
+        return super.addAsync(requestQueueName, request);
+    }
+
     public List<Boolean> executeAdd() {
         return (List<Boolean>) batchCommandService.execute().getResponses();
     }
@@ -24,6 +24,7 @@ import org.redisson.api.RedissonClient;
 import org.redisson.api.RemoteInvocationOptions;
 import org.redisson.cache.LRUCacheMap;
 import org.redisson.client.RedisException;
+import org.redisson.client.codec.ByteArrayCodec;
 import org.redisson.client.codec.Codec;
 import org.redisson.client.codec.LongCodec;
 import org.redisson.client.codec.StringCodec;
@@ -32,7 +33,6 @@ import org.redisson.codec.CustomObjectInputStream;
 import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.executor.params.*;
 import org.redisson.misc.Hash;
-import org.redisson.misc.HashValue;
 import org.redisson.misc.Injector;
 import org.redisson.remote.ResponseEntry;
 
@@ -55,7 +55,7 @@ import java.util.concurrent.TimeUnit;
  */
 public class TasksRunnerService implements RemoteExecutorService {
 
-    private static final Map<HashValue, Codec> CODECS = new LRUCacheMap<HashValue, Codec>(500, 0, 0);
+    private static final Map<String, Codec> CODECS = new LRUCacheMap<String, Codec>(500, 0, 0);
     
     private final Codec codec;
     private final String name;
@@ -71,6 +71,7 @@ public class TasksRunnerService implements RemoteExecutorService {
     private String schedulerChannelName;
     private String tasksRetryIntervalName;
     private String tasksExpirationTimeName;
+    private String classesName;
 
     private TasksInjector tasksInjector;
     private ConcurrentMap<String, ResponseEntry> responses;
@@ -107,6 +108,10 @@ public class TasksRunnerService implements RemoteExecutorService {
     public void setTasksName(String tasksName) {
         this.tasksName = tasksName;
     }
+
+    public void setClassesName(String classesName) {
+        this.classesName = classesName;
+    }
     
     public void setTasksCounterName(String tasksCounterName) {
         this.tasksCounterName = tasksCounterName;
@@ -272,14 +277,30 @@ public class TasksRunnerService implements RemoteExecutorService {
     
     @SuppressWarnings("unchecked")
     private <T> T decode(TaskParameters params) {
-        ByteBuf classBodyBuf = Unpooled.wrappedBuffer(params.getClassBody());
         ByteBuf stateBuf = Unpooled.wrappedBuffer(params.getState());
         try {
-            HashValue hash = new HashValue(Hash.hash128(classBodyBuf));
+            String hash = params.getClassHash();
+            if (hash == null) {
+                ByteBuf classBodyBuf = Unpooled.wrappedBuffer(params.getClassBody());
+                try {
+                    hash = Hash.hash128toBase64(classBodyBuf);
+                } finally {
+                    classBodyBuf.release();
+                }
+            }
+
             Codec classLoaderCodec = CODECS.get(hash);
             if (classLoaderCodec == null) {
+                byte[] classBody = params.getClassBody();
+                if (classBody == null) {
+                    classBody = loadClassBody(hash);
+                    if (classBody == null) {
+                        throw new IllegalStateException("Class " + params.getClassName() + " can't be found in registry by hash " + hash);
+                    }
+                }
+
                 RedissonClassLoader cl = new RedissonClassLoader(codec.getClassLoader());
-                cl.loadClass(params.getClassName(), params.getClassBody());
+                cl.loadClass(params.getClassName(), classBody);
                 
                 classLoaderCodec = this.codec.getClass().getConstructor(ClassLoader.class).newInstance(cl);
                 CODECS.put(hash, classLoaderCodec);
@@ -315,11 +336,20 @@ public class TasksRunnerService implements RemoteExecutorService {
         } catch (Exception e) {
             throw new IllegalStateException("Unable to initialize codec with ClassLoader parameter", e);
         } finally {
-            classBodyBuf.release();
             stateBuf.release();
         }
     }
 
+    private byte[] loadClassBody(String hash) {
+        if (classesName == null) {
+            return null;
+        }
+
+        RFuture<byte[]> future = commandExecutor.readAsync(classesName, ByteArrayCodec.INSTANCE,
+                                                            RedisCommands.HGET, classesName, hash);
+        return commandExecutor.get(future);
+    }
+
     public void executeRunnable(TaskParameters params, boolean removeTask) {
         try {
             if (params.getRequestId() != null && !(params instanceof ScheduledParameters)) {
@@ -28,10 +28,13 @@ import org.redisson.executor.params.TaskParameters;
 import org.redisson.misc.CompletableFutureWrapper;
 import org.redisson.remote.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * 
@@ -49,11 +52,21 @@ public class TasksService extends BaseRemoteService {
     protected String tasksRetryIntervalName;
     protected String tasksExpirationTimeName;
     protected long tasksRetryInterval;
+    protected String classesName;
+    protected Function<String, byte[]> classBodyResolver;
     
     public TasksService(Codec codec, String name, CommandAsyncExecutor commandExecutor, String executorId, ConcurrentMap<String, ResponseEntry> responses) {
         super(codec, name, commandExecutor, executorId, responses);
     }
 
+    public void setClassesName(String classesName) {
+        this.classesName = classesName;
+    }
+
+    public void setClassBodyResolver(Function<String, byte[]> classBodyResolver) {
+        this.classBodyResolver = classBodyResolver;
+    }
+
     public void setTasksExpirationTimeName(String tasksExpirationTimeName) {
         this.tasksExpirationTimeName = tasksExpirationTimeName;
     }
@@ -111,6 +124,36 @@ public class TasksService extends BaseRemoteService {
     
     protected CompletableFuture<Boolean> addAsync(String requestQueueName, RemoteServiceRequest request) {
         TaskParameters params = (TaskParameters) request.getArgs()[0];
+        if (classBodyResolver == null
+                || params.getClassBody() != null
+                    || params.getClassHash() == null) {
+            return addAsync(requestQueueName, request, "", "");
+        }
+
+        CompletableFuture<Boolean> f = addAsync(requestQueueName, request, params.getClassHash(), "");
+        return f.thenCompose(res -> {
+            if (res != null) {
+                return CompletableFuture.completedFuture(res);
+            }
+
+            // class registry entry is lost, so bytecode is sent along with task and stored again
+            byte[] classBody = classBodyResolver.apply(params.getClassHash());
+            if (classBody == null) {
+                throw new IllegalStateException("Bytecode of class " + params.getClassName() + " isn't available");
+            }
+            params.setClassBody(classBody);
+            return addAsync(requestQueueName, request, params.getClassHash(), classBody);
+        });
+    }
+
+    private CompletableFuture<Boolean> addAsync(String requestQueueName, RemoteServiceRequest request,
+                                                String classHash, Object classBody) {
+        TaskParameters params = (TaskParameters) request.getArgs()[0];
+        List<Object> keys = new ArrayList<>(Arrays.asList(tasksCounterName, statusName, schedulerQueueName, schedulerChannelName,
+                                            tasksName, requestQueueName, tasksRetryIntervalName, tasksExpirationTimeName));
+        if (!classHash.isEmpty()) {
+            keys.add(classesName);
+        }
 
         long retryStartTime = 0;
         if (tasksRetryInterval > 0) {
@@ -122,8 +165,16 @@ public class TasksService extends BaseRemoteService {
         }
 
         RFuture<Boolean> f = getAddCommandExecutor().evalWriteNoRetryAsync(name, StringCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                        // check if class bytecode is available in registry
+                        "if ARGV[6] ~= '' then "
+                            + "if ARGV[7] ~= '' then "
+                                + "redis.call('hset', KEYS[9], ARGV[6], ARGV[7]); "
+                            + "elseif redis.call('hexists', KEYS[9], ARGV[6]) == 0 then "
+                                + "return nil; "
+                            + "end; "
+                        + "end; "
                         // check if executor service not in shutdown state
-                        "if redis.call('exists', KEYS[2]) == 0 then "
+                        + "if redis.call('exists', KEYS[2]) == 0 then "
                             + "redis.call('hset', KEYS[5], ARGV[2], ARGV[3]);"
                             + "redis.call('rpush', KEYS[6], ARGV[2]); "
                             + "redis.call('incr', KEYS[1]);"
@@ -145,9 +196,9 @@ public class TasksService extends BaseRemoteService {
                             + "return 1;"
                         + "end;"
                         + "return 0;",
-                        Arrays.asList(tasksCounterName, statusName, schedulerQueueName, schedulerChannelName,
-                                            tasksName, requestQueueName, tasksRetryIntervalName, tasksExpirationTimeName),
-                        retryStartTime, request.getId(), encode(request), tasksRetryInterval, expireTime);
+                        keys,
+                        retryStartTime, request.getId(), encode(request), tasksRetryInterval, expireTime,
+                        classHash, classBody);
         return f.toCompletableFuture();
     }
     
@@ -28,6 +28,7 @@ public class TaskParameters implements Serializable {
     
     private String className;
     private byte[] classBody;
+    private String classHash;
     private byte[] lambdaBody;
     private byte[] state;
     private String requestId;
@@ -77,6 +78,13 @@ public class TaskParameters implements Serializable {
         this.classBody = classBody;
     }
     
+    public String getClassHash() {
+        return classHash;
+    }
+    public void setClassHash(String classHash) {
+        this.classHash = classHash;
+    }
+
     public byte[] getState() {
         return state;
     }
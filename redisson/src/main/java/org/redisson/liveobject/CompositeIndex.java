@@ -0,0 +1,614 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.liveobject;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.redisson.RedissonKeys;
+import org.redisson.api.RFuture;
+import org.redisson.api.annotation.RCompositeIndex;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.liveobject.misc.ClassUtils;
+import org.redisson.liveobject.resolver.NamingScheme;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Composite index defined by {@link RCompositeIndex} annotation.
+ * <p>
+ * Index is stored as sorted set with zero scores. Each member consists of
+ * order-preserving encoding of indexed field values followed by encoded object id,
+ * so members are ordered by field values and queries on leading fields
+ * are resolved with single ZRANGEBYLEX command.
+ * Current member of each object is kept in separate hash to remove it on update.
+ * <p>
+ * Index is used by search only after it has been marked as built. Indexes of entity class
+ * without objects are marked automatically, otherwise {@link #rebuild} method
+ * indexes already existing objects and marks index as built.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public final class CompositeIndex {
+
+    static final byte NULL = 1;
+    static final byte BOOLEAN = 2;
+    static final byte NUMBER = 3;
+    static final byte STRING = 4;
+
+    private static final String INDEX_SCRIPT =
+              "local pos = 3; "
+            + "for i = 1, #KEYS, 2 do "
+                + "local oldMember = redis.call('hget', KEYS[i + 1], ARGV[1]); "
+                + "if oldMember ~= false then "
+                    + "redis.call('zrem', KEYS[i], oldMember); "
+                + "end; "
+                + "if ARGV[2] == '1' then "
+                    + "redis.call('zadd', KEYS[i], 0, ARGV[pos]); "
+                    + "redis.call('hset', KEYS[i + 1], ARGV[1], ARGV[pos]); "
+                    + "pos = pos + 1; "
+                + "else "
+                    + "redis.call('hdel', KEYS[i + 1], ARGV[1]); "
+                + "end; "
+            + "end; ";
+
+    private static final String UPDATE_SCRIPT =
+              "local pos = 6; "
+            + "for i = 1, tonumber(ARGV[5]) do "
+                + "local value = redis.call('hget', KEYS[1], ARGV[pos]); "
+                + "if ARGV[pos + 1] == '1' then "
+                    + "if value ~= ARGV[pos + 2] then "
+                        + "return 0; "
+                    + "end; "
+                + "elseif value ~= false then "
+                    + "return 0; "
+                + "end; "
+                + "pos = pos + 3; "
+            + "end; "
+            + "if ARGV[3] == '1' then "
+                + "redis.call('hset', KEYS[1], ARGV[2], ARGV[4]); "
+            + "else "
+                + "redis.call('hdel', KEYS[1], ARGV[2]); "
+            + "end; "
+            + "for i = 2, #KEYS, 2 do "
+                + "local oldMember = redis.call('hget', KEYS[i + 1], ARGV[1]); "
+                + "if oldMember ~= false then "
+                    + "redis.call('zrem', KEYS[i], oldMember); "
+                + "end; "
+                + "redis.call('zadd', KEYS[i], 0, ARGV[pos]); "
+                + "redis.call('hset', KEYS[i + 1], ARGV[1], ARGV[pos]); "
+                + "pos = pos + 1; "
+            + "end; "
+            + "return 1; ";
+
+    private static final Map<Class<?>, List<CompositeIndex>> INDEXES = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final List<String> fields;
+    private final String indexName;
+    private final String membersName;
+    private final String builtName;
+
+    private CompositeIndex(String name, List<String> fields, String indexName) {
+        this.name = name;
+        this.fields = fields;
+        this.indexName = indexName;
+        this.membersName = indexName + ":members";
+        this.builtName = indexName + ":built";
+    }
+
+    public static List<CompositeIndex> of(Class<?> entityClass, NamingScheme namingScheme) {
+        return INDEXES.computeIfAbsent(entityClass, c -> {
+            List<CompositeIndex> result = new ArrayList<>();
+            for (RCompositeIndex index : c.getAnnotationsByType(RCompositeIndex.class)) {
+                String indexName = namingScheme.getIndexName(c, "composite:" + index.name());
+                result.add(new CompositeIndex(index.name(), Arrays.asList(index.fields()), indexName));
+            }
+            return Collections.unmodifiableList(result);
+        });
+    }
+
+    public static List<CompositeIndex> of(Class<?> entityClass, NamingScheme namingScheme, String fieldName) {
+        List<CompositeIndex> result = new ArrayList<>();
+        for (CompositeIndex index : of(entityClass, namingScheme)) {
+            if (index.getFields().contains(fieldName)) {
+                result.add(index);
+            }
+        }
+        return result;
+    }
+
+    public static Set<String> getFields(Class<?> entityClass, NamingScheme namingScheme) {
+        Set<String> result = new HashSet<>();
+        for (CompositeIndex index : of(entityClass, namingScheme)) {
+            result.addAll(index.getFields());
+        }
+        return result;
+    }
+
+    public static void validate(Class<?> entityClass) {
+        Set<String> names = new HashSet<>();
+        for (RCompositeIndex index : entityClass.getAnnotationsByType(RCompositeIndex.class)) {
+            if (!names.add(index.name())) {
+                throw new IllegalArgumentException("RCompositeIndex with name '" + index.name() + "' is already defined");
+            }
+            if (index.fields().length == 0) {
+                throw new IllegalArgumentException("RCompositeIndex '" + index.name() + "' should contain at least one field");
+            }
+            for (String fieldName : index.fields()) {
+                Field field;
+                try {
+                    field = ClassUtils.getDeclaredField(entityClass, fieldName);
+                } catch (NoSuchFieldException e) {
+                    throw new IllegalArgumentException("RCompositeIndex '" + index.name() + "' refers to unknown field '" + fieldName + "'");
+                }
+                if (!isSupported(field.getType())) {
+                    throw new IllegalArgumentException("RCompositeIndex couldn't be defined for field '" + fieldName + "' with type '" + field.getType() + "'");
+                }
+            }
+        }
+    }
+
+    private static boolean isSupported(Class<?> type) {
+        return type.isPrimitive()
+                || Number.class.isAssignableFrom(type)
+                || Boolean.class == type
+                || Character.class == type
+                || CharSequence.class.isAssignableFrom(type)
+                || type.isEnum()
+                || Date.class.isAssignableFrom(type);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public String getMembersName() {
+        return membersName;
+    }
+
+    public String getBuiltName() {
+        return builtName;
+    }
+
+    private String getSignature() {
+        return String.join(",", fields);
+    }
+
+    /**
+     * Returns order-preserving encoding of field values.
+     *
+     * @param values field values
+     * @return encoded values
+     */
+    public static byte[] encode(List<?> values) {
+        ByteBuf out = Unpooled.buffer();
+        for (Object value : values) {
+            encode(out, value);
+        }
+        return ByteBufUtil.getBytes(out);
+    }
+
+    private static void encode(ByteBuf out, Object value) {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeByte((Boolean) value ? 1 : 0);
+        } else if (value instanceof Number || value instanceof Date) {
+            double v;
+            if (value instanceof Date) {
+                v = ((Date) value).getTime();
+            } else {
+                v = ((Number) value).doubleValue();
+            }
+            if (v == 0) {
+                v = 0;
+            }
+            long bits = Double.doubleToLongBits(v);
+            if (bits < 0) {
+                bits = ~bits;
+            } else {
+                bits ^= Long.MIN_VALUE;
+            }
+            out.writeByte(NUMBER);
+            out.writeLong(bits);
+        } else if (value instanceof CharSequence || value instanceof Enum || value instanceof Character) {
+            String s;
+            if (value instanceof Enum) {
+                s = ((Enum<?>) value).name();
+            } else {
+                s = value.toString();
+            }
+            out.writeByte(STRING);
+            for (byte b : s.getBytes(StandardCharsets.UTF_8)) {
+                out.writeByte(b);
+                if (b == 0) {
+                    out.writeByte(0xFF);
+                }
+            }
+            out.writeByte(0);
+            out.writeByte(1);
+        } else {
+            throw new IllegalArgumentException("Value of type " + value.getClass() + " can't be stored in composite index");
+        }
+    }
+
+    private byte[] member(CommandAsyncExecutor commandExecutor, Codec codec, Map<String, ?> values, Object id) {
+        List<Object> fieldValues = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            fieldValues.add(values.get(field));
+        }
+        byte[] prefix = encode(fieldValues);
+        byte[] encodedId = toBytes(commandExecutor.encode(codec, id));
+        byte[] member = Arrays.copyOf(prefix, prefix.length + encodedId.length);
+        System.arraycopy(encodedId, 0, member, prefix.length, encodedId.length);
+        return member;
+    }
+
+    private static byte[] toBytes(ByteBuf buf) {
+        try {
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Stores object in composite indexes using defined field values.
+     *
+     * @param commandExecutor executor
+     * @param indexes indexes
+     * @param codec codec
+     * @param id object id
+     * @param values field values
+     * @return void
+     */
+    public static RFuture<Void> storeAsync(CommandAsyncExecutor commandExecutor, List<CompositeIndex> indexes,
+                                           Codec codec, Object id, Map<String, ?> values) {
+        List<Object> keys = new ArrayList<>(indexes.size() * 2);
+        List<Object> args = new ArrayList<>(indexes.size() + 2);
+        args.add(toBytes(commandExecutor.encode(codec, id)));
+        args.add("1");
+        for (CompositeIndex index : indexes) {
+            keys.add(index.getIndexName());
+            keys.add(index.getMembersName());
+            args.add(index.member(commandExecutor, codec, values, id));
+        }
+        return commandExecutor.evalWriteAsync(indexes.get(0).getIndexName(), ByteArrayCodec.INSTANCE, RedisCommands.EVAL_VOID,
+                INDEX_SCRIPT, keys, args.toArray());
+    }
+
+    /**
+     * Removes object from all composite indexes of entity class.
+     *
+     * @param commandExecutor executor
+     * @param entityClass entity class
+     * @param namingScheme naming scheme
+     * @param id object id
+     * @return void
+     */
+    public static RFuture<Void> removeAsync(CommandAsyncExecutor commandExecutor, Class<?> entityClass,
+                                            NamingScheme namingScheme, Object id) {
+        List<CompositeIndex> indexes = of(entityClass, namingScheme);
+        if (indexes.isEmpty()) {
+            return null;
+        }
+
+        return removeAsync(commandExecutor, indexes, namingScheme.getCodec(), id);
+    }
+
+    private static RFuture<Void> removeAsync(CommandAsyncExecutor commandExecutor, List<CompositeIndex> indexes,
+                                             Codec codec, Object id) {
+        List<Object> keys = new ArrayList<>(indexes.size() * 2);
+        for (CompositeIndex index : indexes) {
+            keys.add(index.getIndexName());
+            keys.add(index.getMembersName());
+        }
+        return commandExecutor.evalWriteAsync(indexes.get(0).getIndexName(), ByteArrayCodec.INSTANCE, RedisCommands.EVAL_VOID,
+                INDEX_SCRIPT, keys, toBytes(commandExecutor.encode(codec, id)), "0");
+    }
+
+    /**
+     * Indexes objects with specified ids in all composite indexes of entity class
+     * and marks indexes as built.
+     *
+     * @param commandExecutor executor
+     * @param entityClass entity class
+     * @param namingScheme naming scheme
+     * @param ids ids of all objects
+     */
+    public static void rebuild(CommandAsyncExecutor commandExecutor, Class<?> entityClass,
+                               NamingScheme namingScheme, Iterable<?> ids) {
+        List<CompositeIndex> indexes = of(entityClass, namingScheme);
+        if (indexes.isEmpty()) {
+            return;
+        }
+
+        Codec codec = namingScheme.getCodec();
+        List<String> fieldNames = new ArrayList<>(getFields(entityClass, namingScheme));
+        List<byte[]> encodedFields = new ArrayList<>(fieldNames.size());
+        for (String field : fieldNames) {
+            encodedFields.add(toBytes(commandExecutor.encodeMapKey(codec, field)));
+        }
+        for (Object id : ids) {
+            String mapName = namingScheme.getName(entityClass, id);
+            store(commandExecutor, indexes, codec, mapName, id, fieldNames, encodedFields,
+                    readValues(commandExecutor, mapName, encodedFields));
+        }
+
+        markBuilt(commandExecutor, indexes);
+    }
+
+    private static void markBuilt(CommandAsyncExecutor commandExecutor, Collection<CompositeIndex> indexes) {
+        for (CompositeIndex index : indexes) {
+            commandExecutor.get(commandExecutor.writeAsync(index.getBuiltName(), StringCodec.INSTANCE, RedisCommands.SET,
+                                                            index.getBuiltName(), index.getSignature()));
+        }
+    }
+
+    /**
+     * Returns built composite indexes of entity class.
+     * Indexes are marked as built if there are no objects of entity class yet,
+     * since objects persisted afterwards are indexed on persist.
+     *
+     * @param commandExecutor executor
+     * @param entityClass entity class
+     * @param namingScheme naming scheme
+     * @return built indexes
+     */
+    public static Set<CompositeIndex> readBuilt(CommandAsyncExecutor commandExecutor, Class<?> entityClass,
+                                                NamingScheme namingScheme) {
+        List<CompositeIndex> indexes = of(entityClass, namingScheme);
+        Set<CompositeIndex> result = readBuilt(commandExecutor, indexes);
+        if (result.size() == indexes.size()) {
+            return result;
+        }
+
+        RedissonKeys keys = new RedissonKeys(commandExecutor);
+        if (keys.getKeysByPattern(namingScheme.getNamePattern(entityClass), 100).iterator().hasNext()) {
+            return result;
+        }
+
+        List<CompositeIndex> unbuilt = new ArrayList<>(indexes);
+        unbuilt.removeAll(result);
+        markBuilt(commandExecutor, unbuilt);
+        return new HashSet<>(indexes);
+    }
+
+    /**
+     * Returns indexes which have been built with the same fields.
+     *
+     * @param commandExecutor executor
+     * @param indexes indexes
+     * @return built indexes
+     */
+    private static Set<CompositeIndex> readBuilt(CommandAsyncExecutor commandExecutor, List<CompositeIndex> indexes) {
+        if (indexes.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        List<Object> names = new ArrayList<>(indexes.size());
+        for (CompositeIndex index : indexes) {
+            names.add(index.getBuiltName());
+        }
+        RFuture<List<Object>> f = commandExecutor.readAsync(indexes.get(0).getBuiltName(), StringCodec.INSTANCE,
+                                                            RedisCommands.MGET, names.toArray());
+        List<Object> signatures = commandExecutor.get(f);
+        Set<CompositeIndex> result = new HashSet<>();
+        for (int i = 0; i < indexes.size(); i++) {
+            if (indexes.get(i).getSignature().equals(signatures.get(i))) {
+                result.add(indexes.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Updates field value of object and all composite indexes which contain this field.
+     * <p>
+     * Values of other indexed fields are read first and verified by update script,
+     * so update is retried if any of them has been changed concurrently.
+     * If live object map and indexes are located in different slots
+     * then field is stored first and indexes are updated by separate commands.
+     * Field values are read again after indexes update and indexes are updated
+     * once more if values have been changed concurrently.
+     *
+     * @param commandExecutor executor
+     * @param indexes indexes which contain the field
+     * @param codec codec
+     * @param mapName live object map name
+     * @param id object id
+     * @param fieldName field name
+     * @param value new field value, <code>null</code> removes the field
+     */
+    public static void update(CommandAsyncExecutor commandExecutor, List<CompositeIndex> indexes, Codec codec,
+                              String mapName, Object id, String fieldName, Object value) {
+        Set<String> fieldNames = new LinkedHashSet<>();
+        for (CompositeIndex index : indexes) {
+            fieldNames.addAll(index.getFields());
+        }
+        fieldNames.remove(fieldName);
+        List<String> otherFields = new ArrayList<>(fieldNames);
+
+        List<byte[]> encodedFields = new ArrayList<>(otherFields.size());
+        for (String field : otherFields) {
+            encodedFields.add(toBytes(commandExecutor.encodeMapKey(codec, field)));
+        }
+        byte[] encodedField = toBytes(commandExecutor.encodeMapKey(codec, fieldName));
+        byte[] encodedValue = new byte[0];
+        if (value != null) {
+            encodedValue = toBytes(commandExecutor.encodeMapValue(codec, value));
+        }
+        byte[] encodedId = toBytes(commandExecutor.encode(codec, id));
+
+        boolean sameSlot = commandExecutor.getConnectionManager().calcSlot(mapName)
+                                == commandExecutor.getConnectionManager().calcSlot(indexes.get(0).getIndexName());
+        if (!sameSlot) {
+            if (value != null) {
+                commandExecutor.get(commandExecutor.writeAsync(mapName, ByteArrayCodec.INSTANCE, RedisCommands.HSET,
+                                                                mapName, encodedField, encodedValue));
+            } else {
+                commandExecutor.get(commandExecutor.writeAsync(mapName, ByteArrayCodec.INSTANCE, RedisCommands.HDEL,
+                                                                mapName, encodedField));
+            }
+
+            List<String> fieldNames = new ArrayList<>(otherFields);
+            fieldNames.add(fieldName);
+            List<byte[]> allFields = new ArrayList<>(encodedFields);
+            allFields.add(encodedField);
+            store(commandExecutor, indexes, codec, mapName, id, fieldNames, allFields,
+                    readValues(commandExecutor, mapName, allFields));
+            return;
+        }
+
+        while (true) {
+            List<byte[]> rawValues = readValues(commandExecutor, mapName, encodedFields);
+            Map<String, Object> values = new HashMap<>();
+            for (int i = 0; i < otherFields.size(); i++) {
+                values.put(otherFields.get(i), decode(codec, rawValues.get(i)));
+            }
+            values.put(fieldName, value);
+
+            List<Object> keys = new ArrayList<>(indexes.size() * 2 + 1);
+            keys.add(mapName);
+            List<Object> args = new ArrayList<>();
+            args.add(encodedId);
+            args.add(encodedField);
+            if (value != null) {
+                args.add("1");
+            } else {
+                args.add("0");
+            }
+            args.add(encodedValue);
+            args.add(otherFields.size());
+            for (int i = 0; i < otherFields.size(); i++) {
+                args.add(encodedFields.get(i));
+                byte[] rawValue = rawValues.get(i);
+                if (rawValue != null) {
+                    args.add("1");
+                    args.add(rawValue);
+                } else {
+                    args.add("0");
+                    args.add(new byte[0]);
+                }
+            }
+            for (CompositeIndex index : indexes) {
+                keys.add(index.getIndexName());
+                keys.add(index.getMembersName());
+                args.add(index.member(commandExecutor, codec, values, id));
+            }
+
+            RFuture<Boolean> f = commandExecutor.evalWriteAsync(mapName, ByteArrayCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                                                                    UPDATE_SCRIPT, keys, args.toArray());
+            if (commandExecutor.get(f)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stores object in indexes using read field values. Object is removed from indexes
+     * if none of their fields is defined. Values are read again after that
+     * and indexes are updated until values stay unchanged.
+     */
+    private static void store(CommandAsyncExecutor commandExecutor, List<CompositeIndex> indexes, Codec codec,
+                              String mapName, Object id, List<String> fieldNames, List<byte[]> encodedFields,
+                              List<byte[]> rawValues) {
+        while (true) {
+            Map<String, Object> values = new HashMap<>();
+            for (int i = 0; i < fieldNames.size(); i++) {
+                values.put(fieldNames.get(i), decode(codec, rawValues.get(i)));
+            }
+
+            List<CompositeIndex> defined = new ArrayList<>();
+            List<CompositeIndex> undefined = new ArrayList<>();
+            for (CompositeIndex index : indexes) {
+                if (index.getFields().stream().anyMatch(f -> values.get(f) != null)) {
+                    defined.add(index);
+                } else {
+                    undefined.add(index);
+                }
+            }
+            if (!defined.isEmpty()) {
+                commandExecutor.get(storeAsync(commandExecutor, defined, codec, id, values));
+            }
+            if (!undefined.isEmpty()) {
+                commandExecutor.get(removeAsync(commandExecutor, undefined, codec, id));
+            }
+
+            List<byte[]> currentValues = readValues(commandExecutor, mapName, encodedFields);
+            if (equals(rawValues, currentValues)) {
+                return;
+            }
+            rawValues = currentValues;
+        }
+    }
+
+    private static boolean equals(List<byte[]> values, List<byte[]> otherValues) {
+        for (int i = 0; i < values.size(); i++) {
+            if (!Arrays.equals(values.get(i), otherValues.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<byte[]> readValues(CommandAsyncExecutor commandExecutor, String mapName, List<byte[]> encodedFields) {
+        if (encodedFields.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Object> params = new ArrayList<>(encodedFields.size() + 1);
+        params.add(mapName);
+        params.addAll(encodedFields);
+        RFuture<List<byte[]>> f = commandExecutor.writeAsync(mapName, ByteArrayCodec.INSTANCE, RedisCommands.HMGET, params.toArray());
+        return commandExecutor.get(f);
+    }
+
+    private static Object decode(Codec codec, byte[] value) {
+        if (value == null) {
+            return null;
+        }
+
+        ByteBuf buf = Unpooled.wrappedBuffer(value);
+        try {
+            return codec.getMapValueDecoder().decode(buf, null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            buf.release();
+        }
+    }
+
+}
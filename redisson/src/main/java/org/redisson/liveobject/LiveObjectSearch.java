@@ -15,317 +15,802 @@
  */
 package org.redisson.liveobject;
 
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import net.bytebuddy.description.type.TypeDescription;
 import org.redisson.RedissonObject;
-import org.redisson.RedissonScoredSortedSet;
-import org.redisson.RedissonSet;
 import org.redisson.RedissonSetMultimap;
-import org.redisson.api.RScoredSortedSet;
-import org.redisson.api.RSet;
+import org.redisson.api.FindOptions;
+import org.redisson.api.RFuture;
 import org.redisson.api.RSetMultimap;
+import org.redisson.api.SortOrder;
+import org.redisson.api.annotation.RIndex;
 import org.redisson.api.condition.Condition;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.RedisCommands;
 import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.liveobject.condition.*;
+import org.redisson.liveobject.misc.Introspectior;
 import org.redisson.liveobject.resolver.NamingScheme;
+import org.redisson.misc.CompletableFutureWrapper;
 
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.*;
-import java.util.Map.Entry;
-import java.util.function.BiFunction;
 
 /**
- * 
+ * Evaluates search conditions on Redis side with single Lua script.
+ * <p>
+ * Condition tree is compiled into script arguments. All indexes of entity class
+ * share the same slot, so they are accessible by single script in cluster mode.
+ * Nested conditions of AND node are evaluated in order of estimated selectivity:
+ * ids of the smallest one are loaded and filtered by membership checks of the others.
+ * If objects are sorted by numeric field and the condition isn't selective,
+ * the sort index is walked in order and ids are matched against condition
+ * until the page is filled. Only requested page of ids is returned to the client
+ * along with position used by the next page request.
+ *
  * @author Nikita Koksharov
  *
  */
 public class LiveObjectSearch {
-    
+
+    private static final String SEARCH_SCRIPT =
+              "local bound = function(s) "
+                + "local exclusive = string.sub(s, 1, 1) == '('; "
+                + "if exclusive then "
+                    + "s = string.sub(s, 2); "
+                + "end; "
+                + "if s == '-inf' then "
+                    + "return -math.huge, exclusive; "
+                + "end; "
+                + "if s == '+inf' or s == 'inf' then "
+                    + "return math.huge, exclusive; "
+                + "end; "
+                + "return tonumber(s), exclusive; "
+            + "end; "
+
+            + "local idOf = function(member, components) "
+                + "local p = 1; "
+                + "for i = 1, components do "
+                    + "local tag = string.byte(member, p); "
+                    + "p = p + 1; "
+                    + "if tag == 2 then "
+                        + "p = p + 1; "
+                    + "elseif tag == 3 then "
+                        + "p = p + 8; "
+                    + "elseif tag == 4 then "
+                        + "while true do "
+                            + "local s = string.find(member, '\\0', p, true); "
+                            + "p = s + 2; "
+                            + "if string.byte(member, s + 1) == 1 then "
+                                + "break; "
+                            + "end; "
+                        + "end; "
+                    + "end; "
+                + "end; "
+                + "return string.sub(member, p); "
+            + "end; "
+
+            + "local pos = 9; "
+            + "local parse; "
+            + "parse = function() "
+                + "local node = {op = ARGV[pos]}; "
+                + "if node.op == 'set' then "
+                    + "node.key = KEYS[tonumber(ARGV[pos + 1])]; "
+                    + "node.size = redis.call('scard', node.key); "
+                    + "pos = pos + 2; "
+                + "elseif node.op == 'range' then "
+                    + "node.key = KEYS[tonumber(ARGV[pos + 1])]; "
+                    + "node.min = ARGV[pos + 2]; "
+                    + "node.max = ARGV[pos + 3]; "
+                    + "node.lo, node.loExclusive = bound(node.min); "
+                    + "node.hi, node.hiExclusive = bound(node.max); "
+                    + "node.size = redis.call('zcount', node.key, node.min, node.max); "
+                    + "pos = pos + 4; "
+                + "elseif node.op == 'lex' then "
+                    + "node.key = KEYS[tonumber(ARGV[pos + 1])]; "
+                    + "node.members = KEYS[tonumber(ARGV[pos + 2])]; "
+                    + "node.min = ARGV[pos + 3]; "
+                    + "node.max = ARGV[pos + 4]; "
+                    + "node.components = tonumber(ARGV[pos + 5]); "
+                    + "node.size = redis.call('zlexcount', node.key, node.min, node.max); "
+                    + "pos = pos + 6; "
+                + "else "
+                    + "local n = tonumber(ARGV[pos + 1]); "
+                    + "pos = pos + 2; "
+                    + "node.children = {}; "
+                    + "node.size = 0; "
+                    + "for i = 1, n do "
+                        + "local child = parse(); "
+                        + "table.insert(node.children, child); "
+                        + "node.size = node.size + child.size; "
+                    + "end; "
+                    + "if node.op == 'and' and n > 0 then "
+                        + "table.sort(node.children, function(a, b) return a.size < b.size; end); "
+                        + "node.size = node.children[1].size; "
+                    + "end; "
+                + "end; "
+                + "return node; "
+            + "end; "
+
+            + "local match; "
+            + "match = function(node, id) "
+                + "if node.op == 'set' then "
+                    + "return redis.call('sismember', node.key, id) == 1; "
+                + "end; "
+                + "if node.op == 'range' then "
+                    + "local score = redis.call('zscore', node.key, id); "
+                    + "if score == false then "
+                        + "return false; "
+                    + "end; "
+                    + "score = tonumber(score); "
+                    + "if score < node.lo or (node.loExclusive and score == node.lo) then "
+                        + "return false; "
+                    + "end; "
+                    + "if score > node.hi or (node.hiExclusive and score == node.hi) then "
+                        + "return false; "
+                    + "end; "
+                    + "return true; "
+                + "end; "
+                + "if node.op == 'lex' then "
+                    + "local member = redis.call('hget', node.members, id); "
+                    + "if member == false then "
+                        + "return false; "
+                    + "end; "
+                    + "return redis.call('zlexcount', node.key, node.min, '[' .. member) > 0 "
+                        + "and redis.call('zlexcount', node.key, '[' .. member, node.max) > 0; "
+                + "end; "
+                + "local any = node.op == 'or'; "
+                + "for i, child in ipairs(node.children) do "
+                    + "if match(child, id) == any then "
+                        + "return any; "
+                    + "end; "
+                + "end; "
+                + "return not any; "
+            + "end; "
+
+            + "local collect; "
+            + "collect = function(node, result) "
+                + "if node.op == 'set' then "
+                    + "for i, id in ipairs(redis.call('smembers', node.key)) do "
+                        + "result[id] = true; "
+                    + "end; "
+                + "elseif node.op == 'range' then "
+                    + "for i, id in ipairs(redis.call('zrangebyscore', node.key, node.min, node.max)) do "
+                        + "result[id] = true; "
+                    + "end; "
+                + "elseif node.op == 'lex' then "
+                    + "for i, member in ipairs(redis.call('zrangebylex', node.key, node.min, node.max)) do "
+                        + "result[idOf(member, node.components)] = true; "
+                    + "end; "
+                + "elseif node.op == 'or' then "
+                    + "for i, child in ipairs(node.children) do "
+                        + "collect(child, result); "
+                    + "end; "
+                + "elseif #node.children > 0 then "
+                    + "local candidates = {}; "
+                    + "collect(node.children[1], candidates); "
+                    + "for id in pairs(candidates) do "
+                        + "local matched = true; "
+                        + "for i = 2, #node.children do "
+                            + "if not match(node.children[i], id) then "
+                                + "matched = false; "
+                                + "break; "
+                            + "end; "
+                        + "end; "
+                        + "if matched then "
+                            + "result[id] = true; "
+                        + "end; "
+                    + "end; "
+                + "end; "
+            + "end; "
+
+            + "local root = parse(); "
+            + "if ARGV[1] == 'count' then "
+                + "local result = {}; "
+                + "if root.size > 0 then "
+                    + "collect(root, result); "
+                + "end; "
+                + "local n = 0; "
+                + "for id in pairs(result) do "
+                    + "n = n + 1; "
+                + "end; "
+                + "return n; "
+            + "end; "
+
+            + "local sortKey = tonumber(ARGV[2]); "
+            + "local desc = ARGV[3] == 'desc'; "
+            + "local offset = tonumber(ARGV[4]); "
+            + "local limit = tonumber(ARGV[5]); "
+            // search continues after object defined by cursor:
+            // 's' - object with score ARGV[7] and id ARGV[8], 'i' - object with id ARGV[8] ordered by id
+            + "local cursor = ARGV[6]; "
+            + "local cursorScore = bound(ARGV[7]); "
+            + "local cursorId = ARGV[8]; "
+
+            + "local before = function(a, b) "
+                + "if desc then "
+                    + "return a > b; "
+                + "end; "
+                + "return a < b; "
+            + "end; "
+
+            + "local page = {}; "
+            + "local lastType = ''; "
+            + "local lastScore = ''; "
+            + "local full = limit == 0; "
+            + "local add = function(id, type, score) "
+                + "if offset > 0 then "
+                    + "offset = offset - 1; "
+                    + "return; "
+                + "end; "
+                + "table.insert(page, id); "
+                + "lastType = type; "
+                + "lastScore = score; "
+                + "full = limit >= 0 and #page >= limit; "
+            + "end; "
+
+            + "if root.size > 0 and sortKey > 0 and cursor ~= 'i' then "
+                + "if root.size * 16 < redis.call('zcard', KEYS[sortKey]) then "
+                    // selective condition, matched ids are sorted by score
+                    + "local result = {}; "
+                    + "collect(root, result); "
+                    + "local entries = {}; "
+                    + "for id in pairs(result) do "
+                        + "local score = redis.call('zscore', KEYS[sortKey], id); "
+                        + "if score ~= false then "
+                            + "local s = bound(score); "
+                            + "if cursor ~= 's' "
+                                    + "or (s == cursorScore and before(cursorId, id)) "
+                                    + "or (s ~= cursorScore and before(cursorScore, s)) then "
+                                + "table.insert(entries, {s, id, score}); "
+                            + "end; "
+                        + "end; "
+                    + "end; "
+                    + "table.sort(entries, function(a, b) "
+                        + "if a[1] == b[1] then "
+                            + "return before(a[2], b[2]); "
+                        + "end; "
+                        + "return before(a[1], b[1]); "
+                    + "end); "
+                    + "for i, e in ipairs(entries) do "
+                        + "if full then "
+                            + "break; "
+                        + "end; "
+                        + "add(e[2], 's', e[3]); "
+                    + "end; "
+                + "else "
+                    // sort index is walked in order from cursor position and its ids are matched against condition
+                    + "local start = 0; "
+                    + "if cursor == 's' then "
+                        + "if desc then "
+                            + "start = redis.call('zcount', KEYS[sortKey], '(' .. ARGV[7], '+inf'); "
+                        + "else "
+                            + "start = redis.call('zcount', KEYS[sortKey], '-inf', '(' .. ARGV[7]); "
+                        + "end; "
+                    + "end; "
+                    + "local command = 'zrange'; "
+                    + "if desc then "
+                        + "command = 'zrevrange'; "
+                    + "end; "
+                    + "while not full do "
+                        + "local chunk = redis.call(command, KEYS[sortKey], start, start + 999, 'withscores'); "
+                        + "if #chunk == 0 then "
+                            + "break; "
+                        + "end; "
+                        + "for i = 1, #chunk, 2 do "
+                            + "local id = chunk[i]; "
+                            + "if (cursor ~= 's' or bound(chunk[i + 1]) ~= cursorScore or before(cursorId, id)) "
+                                    + "and match(root, id) then "
+                                + "add(id, 's', chunk[i + 1]); "
+                                + "if full then "
+                                    + "break; "
+                                + "end; "
+                            + "end; "
+                        + "end; "
+                        + "start = start + 1000; "
+                    + "end; "
+                + "end; "
+            + "end; "
+
+            // objects ordered by id, with sorting by field only objects without its value
+            + "if root.size > 0 and not full then "
+                + "local result = {}; "
+                + "collect(root, result); "
+                + "local ids = {}; "
+                + "for id in pairs(result) do "
+                    + "if (cursor ~= 'i' or before(cursorId, id)) "
+                            + "and (sortKey == 0 or redis.call('zscore', KEYS[sortKey], id) == false) then "
+                        + "table.insert(ids, id); "
+                    + "end; "
+                + "end; "
+                + "table.sort(ids, before); "
+                + "for i, id in ipairs(ids) do "
+                    + "if full then "
+                        + "break; "
+                    + "end; "
+                    + "add(id, 'i', ''); "
+                + "end; "
+            + "end; "
+
+            + "table.insert(page, lastType); "
+            + "table.insert(page, lastScore); "
+            + "return page;";
+
     private final CommandAsyncExecutor commandExecutor;
 
     public LiveObjectSearch(CommandAsyncExecutor commandExecutor) {
         this.commandExecutor = commandExecutor;
     }
 
-    private Set<Object> traverseAnd(ANDCondition condition, NamingScheme namingScheme, Class<?> entityClass) {
-        Set<Object> allIds = new HashSet<Object>();
-        
-        List<String> eqNames = new ArrayList<String>();
-        
-        Map<RScoredSortedSet<Object>, Number> gtNumericNames = new HashMap<>();
-        Map<RScoredSortedSet<Object>, Number> geNumericNames = new HashMap<>();
-        Map<RScoredSortedSet<Object>, Number> ltNumericNames = new HashMap<>();
-        Map<RScoredSortedSet<Object>, Number> leNumericNames = new HashMap<>();
-        Map<RScoredSortedSet<Object>, Number> eqNumericNames = new HashMap<>();
-        
-        for (Condition cond : condition.getConditions()) {
-            if (cond instanceof EQCondition) {
-                EQCondition eqc = (EQCondition) cond;
-                
-                String indexName = namingScheme.getIndexName(entityClass, eqc.getName());
-                if (eqc.getValue() instanceof Number) {
-                    RScoredSortedSet<Object> values = new RedissonScoredSortedSet<>(namingScheme.getCodec(), commandExecutor, indexName, null);
-                    eqNumericNames.put(values, (Number) eqc.getValue());
-                } else {
-                    RSetMultimap<Object, Object> map = new RedissonSetMultimap<>(namingScheme.getCodec(), commandExecutor, indexName);
-                    RSet<Object> values = map.get(eqc.getValue());
-                    eqNames.add(((RedissonObject) values).getRawName());
-                }
-            }
-            if (cond instanceof LTCondition) {
-                LTCondition ltc = (LTCondition) cond;
-                
-                String indexName = namingScheme.getIndexName(entityClass, ltc.getName());
-                RScoredSortedSet<Object> values = new RedissonScoredSortedSet<>(namingScheme.getCodec(), commandExecutor, indexName, null);
-                ltNumericNames.put(values, ltc.getValue());
-            }
-            if (cond instanceof LECondition) {
-                LECondition lec = (LECondition) cond;
-                
-                String indexName = namingScheme.getIndexName(entityClass, lec.getName());
-                RScoredSortedSet<Object> values = new RedissonScoredSortedSet<>(namingScheme.getCodec(), commandExecutor, indexName, null);
-                leNumericNames.put(values, lec.getValue());
-            }
-            if (cond instanceof GECondition) {
-                GECondition gec = (GECondition) cond;
-                
-                String indexName = namingScheme.getIndexName(entityClass, gec.getName());
-                RScoredSortedSet<Object> values = new RedissonScoredSortedSet<>(namingScheme.getCodec(), commandExecutor, indexName, null);
-                geNumericNames.put(values, gec.getValue());
-            }
-            if (cond instanceof GTCondition) {
-                GTCondition gtc = (GTCondition) cond;
-                
-                String indexName = namingScheme.getIndexName(entityClass, gtc.getName());
-                RScoredSortedSet<Object> values = new RedissonScoredSortedSet<>(namingScheme.getCodec(), commandExecutor, indexName, null);
-                gtNumericNames.put(values, gtc.getValue());
-            }
-            
-            if (cond instanceof ORCondition) {
-                Collection<Object> ids = traverseOr((ORCondition) cond, namingScheme, entityClass);
-                if (ids.isEmpty()) {
-                    return Collections.emptySet();
-                }
-                if (!allIds.isEmpty()) {
-                    allIds.retainAll(ids);
-                } else {
-                    allIds.addAll(ids);
-                }
-                if (allIds.isEmpty()) {
-                    return Collections.emptySet();
-                }
-            }
-        }
-        
-        if (!eqNames.isEmpty()) {
-            RSet<Object> set = new RedissonSet<>(commandExecutor, eqNames.get(0), null);
-            Set<Object> intersect = set.readIntersection(eqNames.toArray(new String[eqNames.size()]));
-            if (!allIds.isEmpty()) {
-                allIds.retainAll(intersect);
-                if (allIds.isEmpty()) {
-                    return Collections.emptySet();
-                }
-            } else {
-                allIds.addAll(intersect);
-            }
-            if (allIds.isEmpty()) {
-                return allIds;
-            }
+    public Set<Object> find(Class<?> entityClass, Condition condition) {
+        return new LinkedHashSet<>(find(entityClass, condition, FindOptions.defaults()));
+    }
+
+    public List<Object> find(Class<?> entityClass, Condition condition, FindOptions options) {
+        return find(entityClass, condition, options, options.getOffset(), options.getLimit(), null).ids;
+    }
+
+    private static final class Page {
+
+        private final List<Object> ids;
+        private final byte[] cursorId;
+        private final String cursorType;
+        private final String cursorScore;
+
+        Page(List<Object> ids, byte[] cursorId, String cursorType, String cursorScore) {
+            this.ids = ids;
+            this.cursorId = cursorId;
+            this.cursorType = cursorType;
+            this.cursorScore = cursorScore;
         }
 
-        if (!checkValueRange(allIds, eqNumericNames, (r, v) -> {
-            return r.valueRange(v.doubleValue(), true, v.doubleValue(), true);
-        })) {
-            return Collections.emptySet();
+    }
+
+    private Page find(Class<?> entityClass, Condition condition, FindOptions options, int offset, int limit, Page after) {
+        List<Object> args = new ArrayList<>();
+        args.add("find");
+        args.add(0);
+        if (options.getSortOrder() == SortOrder.DESC) {
+            args.add("desc");
+        } else {
+            args.add("asc");
+        }
+        args.add(offset);
+        args.add(limit);
+        if (after != null) {
+            args.add(after.cursorType);
+            args.add(after.cursorScore);
+            args.add(after.cursorId);
+        } else {
+            args.add("");
+            args.add("");
+            args.add("");
         }
 
-        if (!checkValueRange(allIds, gtNumericNames, (r, v) -> {
-            return r.valueRange(v.doubleValue(), false, Double.POSITIVE_INFINITY, false);
-        })) {
-            return Collections.emptySet();
+        // ids are decoded after search since the last two elements are cursor type and score
+        RFuture<List<Object>> f = searchAsync(entityClass, condition, ByteArrayCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                                                options.getSortField(), args, Collections.emptyList());
+        List<Object> result = commandExecutor.get(f);
+        if (result.isEmpty()) {
+            return new Page(Collections.emptyList(), null, "", "");
         }
 
-        if (!checkValueRange(allIds, geNumericNames, (r, v) -> {
-            return r.valueRange(v.doubleValue(), true, Double.POSITIVE_INFINITY, false);
-        })) {
-            return Collections.emptySet();
+        Codec codec = commandExecutor.getObjectBuilder().getNamingScheme(entityClass).getCodec();
+        int size = result.size() - 2;
+        List<Object> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            try {
+                ids.add(codec.getValueDecoder().decode(Unpooled.wrappedBuffer((byte[]) result.get(i)), new State()));
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to decode id", e);
+            }
         }
-        
-        if (!checkValueRange(allIds, ltNumericNames, (r, v) -> {
-            return r.valueRange(Double.NEGATIVE_INFINITY, false, v.doubleValue(), false);
-        })) {
-            return Collections.emptySet();
+        byte[] cursorId = null;
+        if (size > 0) {
+            cursorId = (byte[]) result.get(size - 1);
         }
+        return new Page(ids, cursorId,
+                        new String((byte[]) result.get(size), CharsetUtil.UTF_8),
+                        new String((byte[]) result.get(size + 1), CharsetUtil.UTF_8));
+    }
 
-        if (!checkValueRange(allIds, leNumericNames, (r, v) -> {
-            return r.valueRange(Double.NEGATIVE_INFINITY, false, v.doubleValue(), true);
-        })) {
-            return Collections.emptySet();
-        }
-        
-        return allIds;
+    public long count(Class<?> entityClass, Condition condition) {
+        List<Object> args = new ArrayList<>(Arrays.asList("count", 0, "asc", 0, -1, "", "", ""));
+        Codec codec = commandExecutor.getObjectBuilder().getNamingScheme(entityClass).getCodec();
+        RFuture<Long> f = searchAsync(entityClass, condition, codec, RedisCommands.EVAL_LONG, null, args, 0L);
+        return commandExecutor.get(f);
     }
 
-    private boolean checkValueRange(Set<Object> allIds, Map<RScoredSortedSet<Object>, Number> numericNames, 
-                        BiFunction<RScoredSortedSet<Object>, Number, Collection<Object>> func) {
-        if (numericNames.isEmpty()) {
-            return true;
-        }
+    /**
+     * Returns iterator over ids of matched objects. Each page is loaded
+     * by separate search request which continues after the last returned object,
+     * so added or deleted objects don't shift the pages.
+     *
+     * @param entityClass entity class
+     * @param condition condition object
+     * @param options search options
+     * @return iterator
+     */
+    public Iterator<Object> iterator(Class<?> entityClass, Condition condition, FindOptions options) {
+        return new Iterator<Object>() {
 
-        for (Entry<RScoredSortedSet<Object>, Number> e : numericNames.entrySet()) {
-            Collection<Object> gtIds = func.apply(e.getKey(), e.getValue());
-            if (gtIds.isEmpty()) {
-                return false;
-            }
-            if (!allIds.isEmpty()) {
-                allIds.retainAll(gtIds);
-                if (allIds.isEmpty()) {
-                    return false;
+            private Iterator<Object> page = Collections.emptyIterator();
+            private Page last;
+            private int remaining = options.getLimit();
+            private boolean completed;
+
+            @Override
+            public boolean hasNext() {
+                while (!page.hasNext()) {
+                    if (completed || remaining == 0) {
+                        return false;
+                    }
+
+                    int size = options.getBatchSize();
+                    if (remaining > 0) {
+                        size = Math.min(size, remaining);
+                    }
+                    int offset = 0;
+                    if (last == null) {
+                        offset = options.getOffset();
+                    }
+                    Page p = find(entityClass, condition, options, offset, size, last);
+                    if (p.ids.size() < size) {
+                        completed = true;
+                    }
+                    if (!p.ids.isEmpty()) {
+                        last = p;
+                    }
+                    if (remaining > 0) {
+                        remaining -= p.ids.size();
+                    }
+                    page = p.ids.iterator();
                 }
-            } else {
-                allIds.addAll(gtIds);
+                return true;
             }
-        }
-        return true;
-    }
 
-    private Set<Object> traverseOr(ORCondition condition, NamingScheme namingScheme, Class<?> entityClass) {
-        Set<Object> allIds = new HashSet<Object>();
-        
-        List<String> eqNames = new ArrayList<String>();
-
-        Map<RScoredSortedSet<Object>, Number> ltNumericNames = new HashMap<>();
-        Map<RScoredSortedSet<Object>, Number> leNumericNames = new HashMap<>();
-        Map<RScoredSortedSet<Object>, Number> gtNumericNames = new HashMap<>();
-        Map<RScoredSortedSet<Object>, Number> geNumericNames = new HashMap<>();
-        Map<RScoredSortedSet<Object>, Number> eqNumericNames = new HashMap<>();
-        
-        for (Condition cond : condition.getConditions()) {
-            if (cond instanceof EQCondition) {
-                EQCondition eqc = (EQCondition) cond;
-                
-                String indexName = namingScheme.getIndexName(entityClass, eqc.getName());
-                if (eqc.getValue() instanceof Number) {
-                    RScoredSortedSet<Object> values = new RedissonScoredSortedSet<>(namingScheme.getCodec(), commandExecutor, indexName, null);
-                    eqNumericNames.put(values, (Number) eqc.getValue());
-                } else {
-                    RSetMultimap<Object, Object> map = new RedissonSetMultimap<>(namingScheme.getCodec(), commandExecutor, indexName);
-                    RSet<Object> values = map.get(eqc.getValue());
-                    eqNames.add(((RedissonObject) values).getRawName());
+            @Override
+            public Object next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
                 }
+                return page.next();
             }
-            if (cond instanceof GTCondition) {
-                GTCondition gtc = (GTCondition) cond;
-                
-                String indexName = namingScheme.getIndexName(entityClass, gtc.getName());
-                RScoredSortedSet<Object> values = new RedissonScoredSortedSet<>(namingScheme.getCodec(), commandExecutor, indexName, null);
-                gtNumericNames.put(values, gtc.getValue());
-            }
-            if (cond instanceof GECondition) {
-                GECondition gec = (GECondition) cond;
-                
-                String indexName = namingScheme.getIndexName(entityClass, gec.getName());
-                RScoredSortedSet<Object> values = new RedissonScoredSortedSet<>(namingScheme.getCodec(), commandExecutor, indexName, null);
-                geNumericNames.put(values, gec.getValue());
-            }
-            if (cond instanceof LTCondition) {
-                LTCondition ltc = (LTCondition) cond;
-                
-                String indexName = namingScheme.getIndexName(entityClass, ltc.getName());
-                RScoredSortedSet<Object> values = new RedissonScoredSortedSet<>(namingScheme.getCodec(), commandExecutor, indexName, null);
-                ltNumericNames.put(values, ltc.getValue());
-            }
-            if (cond instanceof LECondition) {
-                LECondition lec = (LECondition) cond;
-                
-                String indexName = namingScheme.getIndexName(entityClass, lec.getName());
-                RScoredSortedSet<Object> values = new RedissonScoredSortedSet<>(namingScheme.getCodec(), commandExecutor, indexName, null);
-                leNumericNames.put(values, lec.getValue());
-            }
-            if (cond instanceof ANDCondition) {
-                Collection<Object> ids = traverseAnd((ANDCondition) cond, namingScheme, entityClass);
-                allIds.addAll(ids);
-            }
-        }
+        };
+    }
 
-        if (!eqNames.isEmpty()) {
-            RSet<Object> set = new RedissonSet<>(commandExecutor, eqNames.get(0), null);
-            allIds.addAll(set.readUnion(eqNames.toArray(new String[eqNames.size()])));
-        }
-        
-        for (Entry<RScoredSortedSet<Object>, Number> e : eqNumericNames.entrySet()) {
-            Collection<Object> ids = e.getKey().valueRange(e.getValue().doubleValue(), true, e.getValue().doubleValue(), true);
-            allIds.addAll(ids);
-        }
-        
-        for (Entry<RScoredSortedSet<Object>, Number> e : gtNumericNames.entrySet()) {
-            Collection<Object> ids = e.getKey().valueRange(e.getValue().doubleValue(), false, Double.POSITIVE_INFINITY, false);
-            allIds.addAll(ids);
-        }
+    private <R> RFuture<R> searchAsync(Class<?> entityClass, Condition condition, Codec codec, RedisCommand<?> command,
+                                       String sortField, List<Object> args, R emptyResult) {
+        NamingScheme namingScheme = commandExecutor.getObjectBuilder().getNamingScheme(entityClass);
 
-        for (Entry<RScoredSortedSet<Object>, Number> e : geNumericNames.entrySet()) {
-            Collection<Object> ids = e.getKey().valueRange(e.getValue().doubleValue(), true, Double.POSITIVE_INFINITY, false);
-            allIds.addAll(ids);
+        List<Object> keys = new ArrayList<>();
+        if (sortField != null) {
+            checkSortField(entityClass, sortField);
+            args.set(1, keyIndex(keys, namingScheme.getIndexName(entityClass, sortField)));
         }
-        
-        for (Entry<RScoredSortedSet<Object>, Number> e : ltNumericNames.entrySet()) {
-            Collection<Object> ids = e.getKey().valueRange(Double.NEGATIVE_INFINITY, false, e.getValue().doubleValue(), false);
-            allIds.addAll(ids);
+
+        Set<CompositeIndex> builtIndexes = CompositeIndex.readBuilt(commandExecutor, entityClass, namingScheme);
+        compile(condition, namingScheme, entityClass, builtIndexes, keys, args);
+        if (keys.isEmpty()) {
+            return new CompletableFutureWrapper<>(emptyResult);
         }
 
-        for (Entry<RScoredSortedSet<Object>, Number> e : leNumericNames.entrySet()) {
-            Collection<Object> ids = e.getKey().valueRange(Double.NEGATIVE_INFINITY, false, e.getValue().doubleValue(), true);
-            allIds.addAll(ids);
+        return commandExecutor.evalReadAsync((String) keys.get(0), codec, command,
+                SEARCH_SCRIPT, keys, args.toArray());
+    }
+
+    private void checkSortField(Class<?> entityClass, String sortField) {
+        TypeDescription.Generic number = TypeDescription.Generic.Builder.rawType(Number.class).build();
+        boolean numeric = Introspectior.getFieldsWithAnnotation(entityClass, RIndex.class).stream()
+                                .filter(f -> f.getName().equals(sortField))
+                                .anyMatch(f -> number.accept(TypeDescription.Generic.Visitor.Assigner.INSTANCE)
+                                                    .isAssignableFrom(f.getType().asErasure().asBoxed().asGenericType()));
+        if (!numeric) {
+            throw new IllegalArgumentException("Objects can be sorted only by numeric field annotated with RIndex. "
+                                                + "Field '" + sortField + "' of " + entityClass.getName() + " isn't");
         }
+    }
 
-        return allIds;
+    private void compile(Condition condition, NamingScheme namingScheme, Class<?> entityClass,
+                         Set<CompositeIndex> builtIndexes, List<Object> keys, List<Object> args) {
+        if (condition instanceof ANDCondition) {
+            Condition[] conditions = ((ANDCondition) condition).getConditions();
+            CompositeRange range = planCompositeRange(Arrays.asList(conditions), namingScheme, entityClass, builtIndexes);
+            if (range == null) {
+                compile("and", conditions, namingScheme, entityClass, builtIndexes, keys, args);
+                return;
+            }
+
+            List<Condition> rest = new ArrayList<>(Arrays.asList(conditions));
+            rest.removeAll(range.conditions);
+            if (rest.isEmpty()) {
+                addLexRange(keys, args, range);
+                return;
+            }
+
+            args.add("and");
+            args.add(rest.size() + 1);
+            addLexRange(keys, args, range);
+            for (Condition c : rest) {
+                compile(c, namingScheme, entityClass, builtIndexes, keys, args);
+            }
+        } else if (condition instanceof ORCondition) {
+            compile("or", ((ORCondition) condition).getConditions(), namingScheme, entityClass, builtIndexes, keys, args);
+        } else {
+            CompositeRange range = planCompositeRange(Collections.singletonList(condition), namingScheme, entityClass, builtIndexes);
+            if (range != null) {
+                addLexRange(keys, args, range);
+            } else {
+                compileIndex(condition, namingScheme, entityClass, builtIndexes, keys, args);
+            }
+        }
     }
-    
-    public Set<Object> find(Class<?> entityClass, Condition condition) {
-        NamingScheme namingScheme = commandExecutor.getObjectBuilder().getNamingScheme(entityClass);
+
+    private void compileIndex(Condition condition, NamingScheme namingScheme, Class<?> entityClass,
+                              Set<CompositeIndex> builtIndexes, List<Object> keys, List<Object> args) {
+        String field = getFieldName(condition);
+        if (field != null && !isIndexed(entityClass, field)) {
+            for (CompositeIndex index : CompositeIndex.of(entityClass, namingScheme, field)) {
+                if (!builtIndexes.contains(index)) {
+                    throw new IllegalStateException("RCompositeIndex '" + index.getName() + "' of " + entityClass.getName()
+                            + " isn't built, since objects have been persisted before the index was defined. "
+                            + "Use RLiveObjectService.rebuildIndexes() method once to index them");
+                }
+            }
+        }
 
         if (condition instanceof EQCondition) {
             EQCondition c = (EQCondition) condition;
             String indexName = namingScheme.getIndexName(entityClass, c.getName());
-            
             if (c.getValue() instanceof Number) {
-                RScoredSortedSet<Object> set = new RedissonScoredSortedSet<>(namingScheme.getCodec(), commandExecutor, indexName, null);
-                double v = ((Number) c.getValue()).doubleValue();
-                Collection<Object> gtIds = set.valueRange(v, true, v, true);
-                return new HashSet<>(gtIds);
+                Number v = (Number) c.getValue();
+                addRange(keys, args, indexName, value(v, true), value(v, true));
             } else {
                 RSetMultimap<Object, Object> map = new RedissonSetMultimap<>(namingScheme.getCodec(), commandExecutor, indexName);
-                return map.getAll(c.getValue());
+                String setName = ((RedissonObject) map.get(c.getValue())).getRawName();
+                args.add("set");
+                args.add(keyIndex(keys, setName));
             }
         } else if (condition instanceof GTCondition) {
             GTCondition c = (GTCondition) condition;
             String indexName = namingScheme.getIndexName(entityClass, c.getName());
-            RScoredSortedSet<Object> set = new RedissonScoredSortedSet<>(namingScheme.getCodec(), commandExecutor, indexName, null);
-            Collection<Object> gtIds = set.valueRange(c.getValue().doubleValue(), false, Double.POSITIVE_INFINITY, false);
-            return new HashSet<>(gtIds);
+            addRange(keys, args, indexName, value(c.getValue(), false), "+inf");
         } else if (condition instanceof GECondition) {
             GECondition c = (GECondition) condition;
             String indexName = namingScheme.getIndexName(entityClass, c.getName());
-            RScoredSortedSet<Object> set = new RedissonScoredSortedSet<>(namingScheme.getCodec(), commandExecutor, indexName, null);
-            Collection<Object> gtIds = set.valueRange(c.getValue().doubleValue(), true, Double.POSITIVE_INFINITY, false);
-            return new HashSet<>(gtIds);
+            addRange(keys, args, indexName, value(c.getValue(), true), "+inf");
         } else if (condition instanceof LTCondition) {
             LTCondition c = (LTCondition) condition;
             String indexName = namingScheme.getIndexName(entityClass, c.getName());
-            RScoredSortedSet<Object> set = new RedissonScoredSortedSet<>(namingScheme.getCodec(), commandExecutor, indexName, null);
-            Collection<Object> gtIds = set.valueRange(Double.NEGATIVE_INFINITY, false, c.getValue().doubleValue(), false);
-            return new HashSet<>(gtIds);
+            addRange(keys, args, indexName, "-inf", value(c.getValue(), false));
         } else if (condition instanceof LECondition) {
             LECondition c = (LECondition) condition;
             String indexName = namingScheme.getIndexName(entityClass, c.getName());
-            RScoredSortedSet<Object> set = new RedissonScoredSortedSet<>(namingScheme.getCodec(), commandExecutor, indexName, null);
-            Collection<Object> gtIds = set.valueRange(Double.NEGATIVE_INFINITY, false, c.getValue().doubleValue(), true);
-            return new HashSet<>(gtIds);
-        } else if (condition instanceof ORCondition) {
-            return traverseOr((ORCondition) condition, namingScheme, entityClass);
-        } else if (condition instanceof ANDCondition) {
-            return traverseAnd((ANDCondition) condition, namingScheme, entityClass);
+            addRange(keys, args, indexName, "-inf", value(c.getValue(), true));
+        } else {
+            throw new IllegalArgumentException("Unsupported condition: " + condition);
+        }
+    }
+
+    private static final class CompositeRange {
+
+        private final CompositeIndex index;
+        private final List<Condition> conditions;
+        private final byte[] min;
+        private final byte[] max;
+
+        CompositeRange(CompositeIndex index, List<Condition> conditions, byte[] min, byte[] max) {
+            this.index = index;
+            this.conditions = conditions;
+            this.min = min;
+            this.max = max;
+        }
+
+    }
+
+    /**
+     * Finds built composite index which covers the most of conditions.
+     * Index is used if it covers more than one condition or
+     * the field of covered condition isn't annotated with RIndex.
+     */
+    private CompositeRange planCompositeRange(List<Condition> conditions, NamingScheme namingScheme, Class<?> entityClass,
+                                              Set<CompositeIndex> builtIndexes) {
+        CompositeRange best = null;
+        for (CompositeIndex index : CompositeIndex.of(entityClass, namingScheme)) {
+            if (!builtIndexes.contains(index)) {
+                continue;
+            }
+
+            List<Condition> covered = new ArrayList<>();
+            List<Object> prefix = new ArrayList<>();
+            Condition lower = null;
+            Condition upper = null;
+            for (String field : index.getFields()) {
+                Condition eq = findCondition(conditions, field, EQCondition.class);
+                if (eq != null) {
+                    covered.add(eq);
+                    prefix.add(((EQCondition) eq).getValue());
+                    continue;
+                }
+
+                lower = findCondition(conditions, field, GECondition.class, GTCondition.class);
+                upper = findCondition(conditions, field, LECondition.class, LTCondition.class);
+                break;
+            }
+            if (lower != null) {
+                covered.add(lower);
+            }
+            if (upper != null) {
+                covered.add(upper);
+            }
+            if (covered.isEmpty()
+                    || (best != null && best.conditions.size() >= covered.size())) {
+                continue;
+            }
+
+            byte[] encodedPrefix = CompositeIndex.encode(prefix);
+            byte[] min;
+            byte[] max;
+            if (lower == null && upper == null) {
+                min = lexBound(true, encodedPrefix);
+                max = lexBound(false, successor(encodedPrefix));
+            } else {
+                byte[] numberPrefix = concat(encodedPrefix, new byte[] {CompositeIndex.NUMBER});
+                if (lower instanceof GECondition) {
+                    min = lexBound(true, concat(encodedPrefix, encode(((GECondition) lower).getValue())));
+                } else if (lower instanceof GTCondition) {
+                    min = lexBound(true, successor(concat(encodedPrefix, encode(((GTCondition) lower).getValue()))));
+                } else {
+                    min = lexBound(true, numberPrefix);
+                }
+                if (upper instanceof LECondition) {
+                    max = lexBound(false, successor(concat(encodedPrefix, encode(((LECondition) upper).getValue()))));
+                } else if (upper instanceof LTCondition) {
+                    max = lexBound(false, concat(encodedPrefix, encode(((LTCondition) upper).getValue())));
+                } else {
+                    max = lexBound(false, successor(numberPrefix));
+                }
+            }
+            best = new CompositeRange(index, covered, min, max);
+        }
+
+        if (best == null) {
+            return null;
+        }
+        if (best.conditions.size() > 1) {
+            return best;
         }
+        if (isIndexed(entityClass, getFieldName(best.conditions.get(0)))) {
+            return null;
+        }
+        return best;
+    }
+
+    private boolean isIndexed(Class<?> entityClass, String field) {
+        return Introspectior.getFieldsWithAnnotation(entityClass, RIndex.class).stream()
+                                .anyMatch(f -> f.getName().equals(field));
+    }
 
-        throw new IllegalArgumentException();
+    @SafeVarargs
+    private final Condition findCondition(List<Condition> conditions, String field, Class<? extends Condition>... types) {
+        for (Condition condition : conditions) {
+            for (Class<? extends Condition> type : types) {
+                if (type.isInstance(condition) && field.equals(getFieldName(condition))) {
+                    return condition;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String getFieldName(Condition condition) {
+        if (condition instanceof EQCondition) {
+            return ((EQCondition) condition).getName();
+        }
+        if (condition instanceof GTCondition) {
+            return ((GTCondition) condition).getName();
+        }
+        if (condition instanceof GECondition) {
+            return ((GECondition) condition).getName();
+        }
+        if (condition instanceof LTCondition) {
+            return ((LTCondition) condition).getName();
+        }
+        if (condition instanceof LECondition) {
+            return ((LECondition) condition).getName();
+        }
+        return null;
+    }
+
+    private byte[] encode(Number value) {
+        return CompositeIndex.encode(Collections.singletonList(value));
+    }
+
+    private byte[] concat(byte[] a, byte[] b) {
+        byte[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    /**
+     * Returns the smallest value which is greater than any value starting with specified prefix
+     * or <code>null</code> if there is no such value.
+     */
+    private byte[] successor(byte[] value) {
+        for (int i = value.length - 1; i >= 0; i--) {
+            if (value[i] != (byte) 0xFF) {
+                byte[] result = Arrays.copyOf(value, i + 1);
+                result[i]++;
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private byte[] lexBound(boolean inclusive, byte[] value) {
+        if (value == null) {
+            return new byte[] {'+'};
+        }
+        byte[] prefix;
+        if (inclusive) {
+            prefix = new byte[] {'['};
+        } else {
+            prefix = new byte[] {'('};
+        }
+        return concat(prefix, value);
+    }
+
+    private void addLexRange(List<Object> keys, List<Object> args, CompositeRange range) {
+        args.add("lex");
+        args.add(keyIndex(keys, range.index.getIndexName()));
+        args.add(keyIndex(keys, range.index.getMembersName()));
+        args.add(range.min);
+        args.add(range.max);
+        args.add(range.index.getFields().size());
+    }
+
+    private void compile(String op, Condition[] conditions, NamingScheme namingScheme, Class<?> entityClass,
+                         Set<CompositeIndex> builtIndexes, List<Object> keys, List<Object> args) {
+        args.add(op);
+        args.add(conditions.length);
+        for (Condition c : conditions) {
+            compile(c, namingScheme, entityClass, builtIndexes, keys, args);
+        }
+    }
+
+    private void addRange(List<Object> keys, List<Object> args, String indexName, String min, String max) {
+        args.add("range");
+        args.add(keyIndex(keys, indexName));
+        args.add(min);
+        args.add(max);
+    }
+
+    private int keyIndex(List<Object> keys, String name) {
+        int index = keys.indexOf(name);
+        if (index == -1) {
+            keys.add(name);
+            return keys.size();
+        }
+        return index + 1;
+    }
+
+    private String value(Number value, boolean inclusive) {
+        double v = value.doubleValue();
+        String element;
+        if (Double.isInfinite(v)) {
+            element = v > 0 ? "+inf" : "-inf";
+        } else {
+            element = BigDecimal.valueOf(v).toPlainString();
+        }
+        if (inclusive) {
+            return element;
+        }
+        return "(" + element;
     }
 
-    
 }
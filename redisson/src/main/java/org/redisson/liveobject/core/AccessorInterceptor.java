@@ -29,6 +29,7 @@ import org.redisson.client.codec.Codec;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.command.CommandBatchService;
+import org.redisson.liveobject.CompositeIndex;
 import org.redisson.liveobject.misc.ClassUtils;
 import org.redisson.liveobject.misc.Introspectior;
 import org.redisson.liveobject.resolver.NamingScheme;
@@ -168,7 +169,11 @@ public class AccessorInterceptor {
             removeIndex(liveMap, me, field);
             if (arg != null) {
                 storeIndex(field, me, arg);
-
+            }
+            if (updateCompositeIndexes(liveMap, me, fieldName, arg)) {
+                return me;
+            }
+            if (arg != null) {
                 if (commandExecutor instanceof CommandBatchService) {
                     liveMap.fastPutAsync(fieldName, arg);
                 } else {
@@ -216,6 +221,10 @@ public class AccessorInterceptor {
             } else {
                 removeAsync(ce, indexName, ((RedissonObject) liveMap).getRawName(),
                         namingScheme.getCodec(), ((RLiveObject) me).getLiveObjectId(), field.getName());
+                // field is removed by script above
+                if (liveMap instanceof LiveObjectMap) {
+                    ((LiveObjectMap<String, Object>) liveMap).cache(field.getName(), null);
+                }
             }
         }
 
@@ -272,6 +281,27 @@ public class AccessorInterceptor {
         }
     }
 
+    private boolean updateCompositeIndexes(RMap<String, Object> liveMap, Object me, String fieldName, Object arg) {
+        // batch executor is used by persist operation which stores composite indexes by itself
+        if (commandExecutor instanceof CommandBatchService) {
+            return false;
+        }
+
+        Class<?> entityClass = me.getClass().getSuperclass();
+        NamingScheme namingScheme = commandExecutor.getObjectBuilder().getNamingScheme(entityClass);
+        List<CompositeIndex> indexes = CompositeIndex.of(entityClass, namingScheme, fieldName);
+        if (indexes.isEmpty()) {
+            return false;
+        }
+
+        CompositeIndex.update(commandExecutor, indexes, namingScheme.getCodec(), ((RedissonObject) liveMap).getRawName(),
+                                ((RLiveObject) me).getLiveObjectId(), fieldName, arg);
+        if (liveMap instanceof LiveObjectMap) {
+            ((LiveObjectMap<String, Object>) liveMap).cache(fieldName, arg);
+        }
+        return true;
+    }
+
     private String getFieldName(Class<?> clazz, Method method) {
         String fieldName = FIELD_PATTERN.matcher(method.getName()).replaceFirst("");
         String propName = fieldName.substring(0, 1).toLowerCase() + fieldName.substring(1);
@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.liveobject.core;
+
+import org.redisson.RedissonMap;
+import org.redisson.api.RFuture;
+import org.redisson.client.codec.Codec;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.command.CommandBatchService;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Live object state map which serves field values from prefetched state
+ * and optionally buffers field updates until {@link #flush(CommandBatchService)} invocation.
+ * <p>
+ * Updates of fields from <code>writeThroughFields</code> set are always
+ * applied immediately since index maintenance relies on actual field value in Redis.
+ * All write operations update prefetched state, so it never diverges from Redis.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class LiveObjectMap<K, V> extends RedissonMap<K, V> {
+
+    private final Map<K, V> values;
+    private final Map<K, V> writes;
+    private final Set<K> writeThroughFields;
+
+    public LiveObjectMap(Codec codec, CommandAsyncExecutor commandExecutor, String name,
+                         Map<K, V> values, boolean bufferWrites, Set<K> writeThroughFields) {
+        super(codec, commandExecutor, name, null, null, null);
+        this.values = new ConcurrentHashMap<>(values);
+        this.writeThroughFields = writeThroughFields;
+        if (bufferWrites) {
+            this.writes = new ConcurrentHashMap<>();
+        } else {
+            this.writes = null;
+        }
+    }
+
+    @Override
+    public RFuture<V> getOperationAsync(K key) {
+        return new CompletableFutureWrapper<>(values.get(key));
+    }
+
+    @Override
+    protected RFuture<Boolean> fastPutOperationAsync(K key, V value) {
+        boolean isNew = values.put(key, value) == null;
+        if (writes == null || writeThroughFields.contains(key)) {
+            return super.fastPutOperationAsync(key, value);
+        }
+
+        writes.put(key, value);
+        return new CompletableFutureWrapper<>(isNew);
+    }
+
+    @Override
+    protected RFuture<V> putOperationAsync(K key, V value) {
+        cache(key, value);
+        return super.putOperationAsync(key, value);
+    }
+
+    @Override
+    protected RFuture<Void> putAllOperationAsync(Map<? extends K, ? extends V> map) {
+        map.forEach(this::cache);
+        return super.putAllOperationAsync(map);
+    }
+
+    @Override
+    protected RFuture<V> removeOperationAsync(K key) {
+        cache(key, null);
+        return super.removeOperationAsync(key);
+    }
+
+    @Override
+    protected RFuture<Long> fastRemoveOperationAsync(K... keys) {
+        for (K key : keys) {
+            cache(key, null);
+        }
+        return super.fastRemoveOperationAsync(keys);
+    }
+
+    @Override
+    protected RFuture<List<Long>> fastRemoveOperationBatchAsync(K... keys) {
+        for (K key : keys) {
+            cache(key, null);
+        }
+        return super.fastRemoveOperationBatchAsync(keys);
+    }
+
+    @Override
+    protected RFuture<V> putIfExistsOperationAsync(K key, V value) {
+        return conditionalWrite(key, () -> super.putIfExistsOperationAsync(key, value));
+    }
+
+    @Override
+    protected RFuture<V> putIfAbsentOperationAsync(K key, V value) {
+        return conditionalWrite(key, () -> super.putIfAbsentOperationAsync(key, value));
+    }
+
+    @Override
+    protected RFuture<Boolean> fastPutIfAbsentOperationAsync(K key, V value) {
+        return conditionalWrite(key, () -> super.fastPutIfAbsentOperationAsync(key, value));
+    }
+
+    @Override
+    protected RFuture<Boolean> fastPutIfExistsOperationAsync(K key, V value) {
+        return conditionalWrite(key, () -> super.fastPutIfExistsOperationAsync(key, value));
+    }
+
+    @Override
+    protected RFuture<Boolean> removeOperationAsync(Object key, Object value) {
+        return conditionalWrite((K) key, () -> super.removeOperationAsync(key, value));
+    }
+
+    @Override
+    protected RFuture<Boolean> replaceOperationAsync(K key, V oldValue, V newValue) {
+        return conditionalWrite(key, () -> super.replaceOperationAsync(key, oldValue, newValue));
+    }
+
+    @Override
+    protected RFuture<V> replaceOperationAsync(K key, V value) {
+        return conditionalWrite(key, () -> super.replaceOperationAsync(key, value));
+    }
+
+    @Override
+    protected RFuture<Boolean> fastReplaceOperationAsync(K key, V value) {
+        return conditionalWrite(key, () -> super.fastReplaceOperationAsync(key, value));
+    }
+
+    @Override
+    protected RFuture<V> addAndGetOperationAsync(K key, Number value) {
+        return conditionalWrite(key, () -> super.addAndGetOperationAsync(key, value));
+    }
+
+    /**
+     * Executes write operation which result depends on field value in Redis.
+     * Buffered update of the field is written first and
+     * prefetched value is reloaded once operation has been completed.
+     *
+     * @param key - field name
+     * @param operation - write operation
+     * @return operation result
+     */
+    private <R> RFuture<R> conditionalWrite(K key, Supplier<RFuture<R>> operation) {
+        CompletionStage<Boolean> flushFuture = CompletableFuture.completedFuture(false);
+        V bufferedValue = null;
+        if (writes != null) {
+            bufferedValue = writes.remove(key);
+        }
+        if (bufferedValue != null) {
+            flushFuture = super.fastPutOperationAsync(key, bufferedValue);
+        }
+
+        CompletionStage<R> f = flushFuture.thenCompose(r -> operation.get())
+                .thenCompose(res -> super.getOperationAsync(key).thenApply(value -> {
+                    cache(key, value);
+                    return res;
+                }));
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    /**
+     * Updates prefetched field value after it has been written by other command.
+     *
+     * @param key - field name
+     * @param value - field value, <code>null</code> if field has been removed
+     */
+    void cache(K key, V value) {
+        if (value == null) {
+            values.remove(key);
+        } else {
+            values.put(key, value);
+        }
+        if (writes != null) {
+            writes.remove(key);
+        }
+    }
+
+    /**
+     * Adds buffered field updates to the batch as single HSET command.
+     *
+     * @param batch - batch executor
+     */
+    public void flush(CommandBatchService batch) {
+        if (writes == null || writes.isEmpty()) {
+            return;
+        }
+
+        Map<K, V> entries = new HashMap<>(writes);
+        entries.forEach(writes::remove);
+
+        RedissonMap<K, V> map = new RedissonMap<>(getCodec(), batch, getName(), null, null, null);
+        map.putAllAsync(entries);
+    }
+
+}
@@ -21,6 +21,7 @@ import java.util.List;
 
 import org.redisson.api.RedissonClient;
 import org.redisson.api.annotation.RInject;
+import org.redisson.api.mapreduce.RCombiner;
 
 /**
  * 
@@ -43,6 +44,7 @@ public abstract class BaseMapperTask<KOut, VOut> implements Runnable, Serializab
     protected int workersAmount;
     protected String collectorMapName;
     protected long timeout;
+    protected RCombiner<KOut, VOut> combiner;
     
     public BaseMapperTask() {
     }
@@ -72,5 +74,9 @@ public abstract class BaseMapperTask<KOut, VOut> implements Runnable, Serializab
     public void setCollectorMapName(String collatorMapName) {
         this.collectorMapName = collatorMapName;
     }
+
+    public void setCombiner(RCombiner<KOut, VOut> combiner) {
+        this.combiner = combiner;
+    }
     
 }
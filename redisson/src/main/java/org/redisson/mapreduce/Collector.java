@@ -16,17 +16,26 @@
 package org.redisson.mapreduce;
 
 import io.netty.buffer.ByteBuf;
-import org.redisson.api.RListMultimap;
+import org.redisson.api.RBatch;
+import org.redisson.api.RMultimapAsync;
 import org.redisson.api.RedissonClient;
 import org.redisson.api.mapreduce.RCollector;
+import org.redisson.api.mapreduce.RCombiner;
 import org.redisson.client.codec.Codec;
 import org.redisson.misc.Hash;
 
 import java.io.IOException;
 import java.time.Duration;
-import java.util.BitSet;
+import java.util.*;
 
 /**
+ * Buffers emitted values and stores them using pipelined batches
+ * into list multimaps partitioned by reducer.
+ * <p>
+ * If combiner is defined then values with the same key
+ * are combined in memory before they are stored.
+ * <p>
+ * Not thread-safe. {@link #flush()} method should be invoked once mapping is done.
  * 
  * @author Nikita Koksharov
  *
@@ -35,41 +44,93 @@ import java.util.BitSet;
  */
 public class Collector<K, V> implements RCollector<K, V> {
 
+    private static final int MAX_BUFFERED_VALUES = 1000;
+    private static final int MAX_COMBINED_KEYS = 10000;
+
     private RedissonClient client;
     private String name;
     private int parts;
     private Codec codec;
     private long timeout;
     private BitSet expirationsBitSet = new BitSet();
+    private RCombiner<K, V> combiner;
+    private final Map<Integer, Map<K, List<V>>> buffer = new HashMap<>();
+    private int bufferedSize;
     
     public Collector(Codec codec, RedissonClient client, String name, int parts, long timeout) {
+        this(codec, client, name, parts, timeout, null);
+    }
+
+    public Collector(Codec codec, RedissonClient client, String name, int parts, long timeout, RCombiner<K, V> combiner) {
         super();
         this.client = client;
         this.name = name;
         this.parts = parts;
         this.codec = codec;
         this.timeout = timeout;
+        this.combiner = combiner;
         expirationsBitSet = new BitSet(parts);
     }
 
     @Override
     public void emit(K key, V value) {
+        int part;
         try {
             ByteBuf encodedKey = codec.getValueEncoder().encode(key);
             long hash = Hash.hash64(encodedKey);
             encodedKey.release();
-            int part = (int) Math.abs(hash % parts);
-            String partName = name + ":" + part;
-            
-            RListMultimap<K, V> multimap = client.getListMultimap(partName, codec);
-            multimap.put(key, value);
+            part = (int) Math.abs(hash % parts);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+
+        Map<K, List<V>> partBuffer = buffer.computeIfAbsent(part, k -> new LinkedHashMap<>());
+        List<V> values = partBuffer.get(key);
+        if (values != null && combiner != null) {
+            values.set(0, combiner.combine(key, values.get(0), value));
+            return;
+        }
+
+        if (values == null) {
+            values = new ArrayList<>(1);
+            partBuffer.put(key, values);
+        }
+        values.add(value);
+        bufferedSize++;
+
+        int limit = MAX_BUFFERED_VALUES;
+        if (combiner != null) {
+            limit = MAX_COMBINED_KEYS;
+        }
+        if (bufferedSize >= limit) {
+            flush();
+        }
+    }
+
+    /**
+     * Stores buffered values using single pipelined batch
+     */
+    public void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+
+        RBatch batch = client.createBatch();
+        for (Map.Entry<Integer, Map<K, List<V>>> entry : buffer.entrySet()) {
+            int part = entry.getKey();
+            RMultimapAsync<K, V> multimap = batch.getListMultimap(name + ":" + part, codec);
+            for (Map.Entry<K, List<V>> e : entry.getValue().entrySet()) {
+                multimap.putAllAsync(e.getKey(), e.getValue());
+            }
             if (timeout > 0 && !expirationsBitSet.get(part)) {
-                multimap.expire(Duration.ofMillis(timeout));
+                multimap.expireAsync(Duration.ofMillis(timeout));
                 expirationsBitSet.set(part);
             }
-        } catch (IOException e) {
-            throw new IllegalArgumentException(e);
         }
+        batch.execute();
+
+        buffer.clear();
+        bufferedSize = 0;
     }
 
 }
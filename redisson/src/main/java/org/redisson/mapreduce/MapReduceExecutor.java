@@ -17,6 +17,7 @@ package org.redisson.mapreduce;
 
 import org.redisson.api.*;
 import org.redisson.api.mapreduce.RCollator;
+import org.redisson.api.mapreduce.RCombiner;
 import org.redisson.api.mapreduce.RMapReduceExecutor;
 import org.redisson.api.mapreduce.RReducer;
 import org.redisson.client.codec.Codec;
@@ -53,6 +54,7 @@ abstract class MapReduceExecutor<M, VIn, KOut, VOut> implements RMapReduceExecut
 
 
     RReducer<KOut, VOut> reducer;
+    RCombiner<KOut, VOut> combiner;
     M mapper;
     long timeout;
     
@@ -18,6 +18,7 @@ package org.redisson.mapreduce;
 import org.redisson.api.RObject;
 import org.redisson.api.RedissonClient;
 import org.redisson.api.mapreduce.RCollator;
+import org.redisson.api.mapreduce.RCombiner;
 import org.redisson.api.mapreduce.RMapReduce;
 import org.redisson.api.mapreduce.RMapper;
 import org.redisson.api.mapreduce.RReducer;
@@ -62,9 +63,17 @@ public class RedissonMapReduce<KIn, VIn, KOut, VOut> extends MapReduceExecutor<R
         return this;
     }
 
+    @Override
+    public RMapReduce<KIn, VIn, KOut, VOut> combiner(RCombiner<KOut, VOut> combiner) {
+        check(combiner);
+        this.combiner = combiner;
+        return this;
+    }
+
     @Override
     protected Callable<Object> createTask(String resultMapName, RCollator<KOut, VOut, Object> collator) {
         MapperTask<KIn, VIn, KOut, VOut> mapperTask = new MapperTask<KIn, VIn, KOut, VOut>(mapper, objectClass, objectCodec.getClass());
+        mapperTask.setCombiner(combiner);
         return new CoordinatorTask<KOut, VOut>(mapperTask, reducer, objectName, resultMapName, objectCodec.getClass(), objectClass, collator, timeout, System.currentTimeMillis());
     }
 
@@ -15,6 +15,7 @@
  */
 package org.redisson.mapreduce;
 
+import org.redisson.api.RList;
 import org.redisson.api.RListMultimap;
 import org.redisson.api.RMap;
 import org.redisson.api.RedissonClient;
@@ -25,7 +26,7 @@ import org.redisson.misc.Injector;
 
 import java.io.Serializable;
 import java.time.Duration;
-import java.util.List;
+import java.util.*;
 
 /**
  * 
@@ -38,6 +39,47 @@ public class ReducerTask<KOut, VOut> implements Runnable, Serializable {
 
     private static final long serialVersionUID = 3556632668150314703L;
 
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * Iterates over values of list loading them by chunks
+     */
+    private static final class ValuesIterator<V> implements Iterator<V> {
+
+        private final RList<V> list;
+        private Iterator<V> chunk = Collections.emptyIterator();
+        private int offset;
+        private boolean lastChunk;
+
+        ValuesIterator(RList<V> list) {
+            this.list = list;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!chunk.hasNext()) {
+                if (lastChunk) {
+                    return false;
+                }
+
+                List<V> values = list.range(offset, offset + CHUNK_SIZE - 1);
+                offset += values.size();
+                lastChunk = values.size() < CHUNK_SIZE;
+                chunk = values.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return chunk.next();
+        }
+
+    }
+
     @RInject
     private RedissonClient redisson;
     
@@ -71,13 +113,21 @@ public class ReducerTask<KOut, VOut> implements Runnable, Serializable {
         
         RMap<KOut, VOut> map = redisson.getMap(resultMapName);
         RListMultimap<KOut, VOut> multimap = redisson.getListMultimap(name, codec);
+        Map<KOut, VOut> results = new HashMap<>();
         for (KOut key : multimap.keySet()) {
             if (Thread.currentThread().isInterrupted()) {
                 break;
             }
-            List<VOut> values = multimap.get(key);
-            VOut out = reducer.reduce(key, values.iterator());
-            map.put(key, out);
+            RList<VOut> values = multimap.get(key);
+            VOut out = reducer.reduce(key, new ValuesIterator<>(values));
+            results.put(key, out);
+            if (results.size() >= CHUNK_SIZE) {
+                map.putAll(results);
+                results.clear();
+            }
+        }
+        if (!results.isEmpty()) {
+            map.putAll(results);
         }
         if (timeout > 0) {
             map.expire(Duration.ofMillis(timeout));
@@ -161,14 +161,18 @@ public class PubSubConnectionEntry {
     }
 
     public void subscribe(Codec codec, PubSubType type, ChannelName channelName, CompletableFuture<Void> subscribeFuture) {
+        subscribe(codec, type, new ChannelName[] {channelName}, subscribeFuture);
+    }
+
+    public void subscribe(Codec codec, PubSubType type, ChannelName[] channelNames, CompletableFuture<Void> subscribeFuture) {
         ChannelFuture future;
         CompletableFuture<Void> promise = new CompletableFuture<>();
         if (PubSubType.SUBSCRIBE == type) {
-            future = conn.subscribe(promise, codec, channelName);
+            future = conn.subscribe(promise, codec, channelNames);
         } else if (PubSubType.SSUBSCRIBE == type) {
-            future = conn.ssubscribe(promise, codec, channelName);
+            future = conn.ssubscribe(promise, codec, channelNames);
         } else {
-            future = conn.psubscribe(promise, codec, channelName);
+            future = conn.psubscribe(promise, codec, channelNames);
         }
 
         promise.whenComplete((r, ex) -> {
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.pubsub;
+
+import org.redisson.api.RFuture;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.command.CommandBatchService;
+import org.redisson.connection.MasterSlaveEntry;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces published messages into pipelined writes per Redis node.
+ * <p>
+ * Messages are sent after <code>lingerTime</code> or right after completion
+ * of the previous write to the same node. Single write per node is in flight,
+ * so messages order is preserved.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class PublishAccumulator {
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final class Message {
+
+        final RedisCommand<Long> command;
+        final String channel;
+        final Object payload;
+        final CompletableFuture<Long> promise = new CompletableFuture<>();
+
+        Message(RedisCommand<Long> command, String channel, Object payload) {
+            this.command = command;
+            this.channel = channel;
+            this.payload = payload;
+        }
+
+    }
+
+    private final class NodeQueue {
+
+        final Queue<Message> messages = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void add(Message message) {
+            messages.add(message);
+            if (scheduled.compareAndSet(false, true)) {
+                executor.getServiceManager().newTimeout(t -> flush(), lingerTime, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        void flush() {
+            List<Message> batch = new ArrayList<>();
+            while (batch.size() < MAX_BATCH_SIZE) {
+                Message message = messages.poll();
+                if (message == null) {
+                    break;
+                }
+                batch.add(message);
+            }
+
+            if (batch.isEmpty()) {
+                scheduled.set(false);
+                if (!messages.isEmpty() && scheduled.compareAndSet(false, true)) {
+                    flush();
+                }
+                return;
+            }
+
+            CommandBatchService batchService = new CommandBatchService(executor);
+            for (Message message : batch) {
+                RFuture<Long> f = batchService.writeAsync(message.channel, StringCodec.INSTANCE,
+                                                            message.command, message.channel, message.payload);
+                f.whenComplete((r, e) -> {
+                    if (e != null) {
+                        message.promise.completeExceptionally(e);
+                        return;
+                    }
+                    message.promise.complete(r);
+                });
+            }
+
+            batchService.executeAsync().whenComplete((r, e) -> {
+                if (e != null) {
+                    for (Message message : batch) {
+                        message.promise.completeExceptionally(e);
+                    }
+                }
+
+                // messages published during write are sent without delay
+                flush();
+            });
+        }
+
+    }
+
+    private final Map<MasterSlaveEntry, NodeQueue> queues = new ConcurrentHashMap<>();
+    private final CommandAsyncExecutor executor;
+    private final long lingerTime;
+
+    public PublishAccumulator(CommandAsyncExecutor executor, long lingerTime) {
+        this.executor = executor;
+        this.lingerTime = lingerTime;
+    }
+
+    public RFuture<Long> publishAsync(RedisCommand<Long> command, String channel, Object payload) {
+        int slot = executor.getConnectionManager().calcSlot(channel);
+        MasterSlaveEntry entry = executor.getConnectionManager().getWriteEntry(slot);
+        if (entry == null) {
+            return executor.writeAsync(channel, StringCodec.INSTANCE, command, channel, payload);
+        }
+
+        Message message = new Message(command, channel, payload);
+        queues.computeIfAbsent(entry, e -> new NodeQueue()).add(message);
+        return new CompletableFutureWrapper<>(message.promise);
+    }
+
+}
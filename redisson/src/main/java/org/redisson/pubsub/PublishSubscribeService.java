@@ -16,12 +16,15 @@
 package org.redisson.pubsub;
 
 import io.netty.util.Timeout;
+import org.redisson.PubSubMessageListener;
+import org.redisson.PubSubPatternMessageListener;
 import org.redisson.PubSubPatternStatusListener;
 import org.redisson.PubSubStatusListener;
 import org.redisson.client.*;
 import org.redisson.client.codec.Codec;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.client.protocol.pubsub.PubSubType;
+import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.config.MasterSlaveServersConfig;
 import org.redisson.connection.ClientConnectionsEntry;
 import org.redisson.connection.ConnectionManager;
@@ -34,6 +37,7 @@ import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -92,6 +96,36 @@ public class PublishSubscribeService {
         }
     }
 
+    private final class ResubscribeProgress {
+
+        private final PubSubType type;
+        private final int total;
+        private final long startTime = System.currentTimeMillis();
+        private final AtomicInteger resubscribed = new AtomicInteger();
+
+        ResubscribeProgress(PubSubType type, int total) {
+            this.type = type;
+            this.total = total;
+            pendingResubscriptions.addAndGet(total);
+        }
+
+        void onResubscribed(int amount) {
+            if (amount == 0) {
+                return;
+            }
+
+            pendingResubscriptions.addAndGet(-amount);
+            int value = resubscribed.addAndGet(amount);
+            if (value == total) {
+                log.info("{} channels have been resubscribed using {} in {} ms",
+                            total, type, System.currentTimeMillis() - startTime);
+            } else if (log.isDebugEnabled()) {
+                log.debug("{} of {} channels have been resubscribed using {}", value, total, type);
+            }
+        }
+
+    }
+
     private static final Logger log = LoggerFactory.getLogger(PublishSubscribeService.class);
 
     private final ConnectionManager connectionManager;
@@ -117,6 +151,15 @@ public class PublishSubscribeService {
 
     private final Map<PubSubType, PubSubType> subscribe2unsubscribe = new HashMap<>();
 
+    private final Map<PubSubType, PubSubType> unsubscribe2subscribe = new HashMap<>();
+
+    private final AtomicInteger pendingResubscriptions = new AtomicInteger();
+
+    // listeners of channels detached by failover and not resubscribed yet
+    private final Map<ChannelName, Collection<RedisPubSubListener<?>>> resubscribeListeners = new ConcurrentHashMap<>();
+
+    private volatile PublishAccumulator publishAccumulator;
+
     public PublishSubscribeService(ConnectionManager connectionManager) {
         super();
         this.connectionManager = connectionManager;
@@ -128,6 +171,19 @@ public class PublishSubscribeService {
         subscribe2unsubscribe.put(PubSubType.SUBSCRIBE, PubSubType.UNSUBSCRIBE);
         subscribe2unsubscribe.put(PubSubType.SSUBSCRIBE, PubSubType.SUNSUBSCRIBE);
         subscribe2unsubscribe.put(PubSubType.PSUBSCRIBE, PubSubType.PUNSUBSCRIBE);
+        subscribe2unsubscribe.forEach((k, v) -> unsubscribe2subscribe.put(v, k));
+    }
+
+    public PublishAccumulator getPublishAccumulator(CommandAsyncExecutor executor) {
+        if (publishAccumulator == null) {
+            synchronized (this) {
+                if (publishAccumulator == null) {
+                    int lingerTime = connectionManager.getServiceManager().getCfg().getPublishLingerTime();
+                    publishAccumulator = new PublishAccumulator(executor, lingerTime);
+                }
+            }
+        }
+        return publishAccumulator;
     }
 
     public LockPubSub getLockPubSub() {
@@ -312,6 +368,27 @@ public class PublishSubscribeService {
         return locks[Math.abs(channelName.hashCode() % locks.length)];
     }
 
+    private List<AsyncSemaphore> getSemaphores(List<ChannelName> channels) {
+        // locks are acquired in the same order to avoid deadlock between concurrent batches
+        SortedSet<Integer> indexes = new TreeSet<>();
+        for (ChannelName channelName : channels) {
+            indexes.add(Math.abs(channelName.hashCode() % locks.length));
+        }
+        List<AsyncSemaphore> result = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            result.add(locks[index]);
+        }
+        return result;
+    }
+
+    private CompletableFuture<Void> acquire(List<AsyncSemaphore> semaphores) {
+        CompletableFuture<Void> f = CompletableFuture.completedFuture(null);
+        for (AsyncSemaphore semaphore : semaphores) {
+            f = f.thenCompose(r -> semaphore.acquire());
+        }
+        return f;
+    }
+
     private PubSubKey createKey(ChannelName channelName) {
         MasterSlaveEntry entry = getEntry(channelName);
         return new PubSubKey(channelName, entry);
@@ -687,33 +764,31 @@ public class PublishSubscribeService {
     }
 
     public void reattachPubSub(int slot) {
-        name2PubSubConnection.entrySet().stream()
-            .filter(e -> connectionManager.calcSlot(e.getKey().getChannelName().getName()) == slot)
-            .forEach(entry -> {
-                PubSubConnectionEntry pubSubEntry = entry.getValue();
-                MasterSlaveEntry ee = entry.getKey().getEntry();
-
-                Codec codec = pubSubEntry.getConnection().getChannels().get(entry.getKey().getChannelName());
-                if (codec != null) {
-                    Queue<RedisPubSubListener<?>> listeners = pubSubEntry.getListeners(entry.getKey().getChannelName());
-                    unsubscribe(entry.getKey().getChannelName(), ee, PubSubType.UNSUBSCRIBE);
-                    subscribe(codec, entry.getKey().getChannelName(), listeners.toArray(new RedisPubSubListener[0]));
-                }
+        Map<MasterSlaveEntry, Map<PubSubType, Set<ChannelName>>> channels = new HashMap<>();
+        for (Map.Entry<PubSubKey, PubSubConnectionEntry> entry : name2PubSubConnection.entrySet()) {
+            ChannelName channelName = entry.getKey().getChannelName();
+            if (connectionManager.calcSlot(channelName.getName()) != slot) {
+                continue;
+            }
 
-                Codec scodec = pubSubEntry.getConnection().getShardedChannels().get(entry.getKey().getChannelName());
-                if (scodec != null) {
-                    Queue<RedisPubSubListener<?>> listeners = pubSubEntry.getListeners(entry.getKey().getChannelName());
-                    unsubscribe(entry.getKey().getChannelName(), ee, PubSubType.SUNSUBSCRIBE);
-                    subscribe(codec, entry.getKey().getChannelName(), listeners.toArray(new RedisPubSubListener[0]));
-                }
+            Map<PubSubType, Set<ChannelName>> type2channels = channels.computeIfAbsent(entry.getKey().getEntry(), k -> new HashMap<>());
+            RedisPubSubConnection connection = entry.getValue().getConnection();
+            if (connection.getChannels().containsKey(channelName)) {
+                type2channels.computeIfAbsent(PubSubType.UNSUBSCRIBE, k -> new HashSet<>()).add(channelName);
+            }
+            if (connection.getShardedChannels().containsKey(channelName)) {
+                type2channels.computeIfAbsent(PubSubType.SUNSUBSCRIBE, k -> new HashSet<>()).add(channelName);
+            }
+            if (connection.getPatternChannels().containsKey(channelName)) {
+                type2channels.computeIfAbsent(PubSubType.PUNSUBSCRIBE, k -> new HashSet<>()).add(channelName);
+            }
+        }
 
-                Codec patternCodec = pubSubEntry.getConnection().getPatternChannels().get(entry.getKey().getChannelName());
-                if (patternCodec != null) {
-                    Queue<RedisPubSubListener<?>> listeners = pubSubEntry.getListeners(entry.getKey().getChannelName());
-                    unsubscribe(entry.getKey().getChannelName(), ee, PubSubType.PUNSUBSCRIBE);
-                    psubscribe(entry.getKey().getChannelName(), patternCodec, listeners.toArray(new RedisPubSubListener[0]));
-                }
+        channels.forEach((entry, type2channels) -> {
+            type2channels.forEach((type, names) -> {
+                reattachPubSubListeners(names, entry, type);
             });
+        });
     }
 
     public void reattachPubSub(RedisPubSubConnection redisPubSubConnection) {
@@ -727,36 +802,241 @@ public class PublishSubscribeService {
         reattachPubSubListeners(redisPubSubConnection.getPatternChannels().keySet(), en, PubSubType.PUNSUBSCRIBE);
     }
 
+    /**
+     * Returns amount of channels which are waiting for resubscription
+     * after failover or slot migration.
+     *
+     * @return amount of channels
+     */
+    public int getPendingResubscriptions() {
+        return pendingResubscriptions.get();
+    }
+
     private void reattachPubSubListeners(Set<ChannelName> channels, MasterSlaveEntry en, PubSubType topicType) {
+        Map<ChannelName, Codec> channel2codec = new ConcurrentHashMap<>();
+        Map<ChannelName, Collection<RedisPubSubListener<?>>> channel2listeners = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
         for (ChannelName channelName : channels) {
             PubSubConnectionEntry entry = name2PubSubConnection.get(new PubSubKey(channelName, en));
             if (entry == null) {
                 continue;
             }
-            Collection<RedisPubSubListener<?>> listeners = entry.getListeners(channelName);
+            Collection<RedisPubSubListener<?>> listeners = new CopyOnWriteArrayList<>(entry.getListeners(channelName));
+            if (!listeners.isEmpty()) {
+                resubscribeListeners.put(channelName, listeners);
+            }
             CompletableFuture<Codec> subscribeCodecFuture = unsubscribe(channelName, en, topicType);
             if (listeners.isEmpty()) {
                 continue;
             }
 
-            subscribeCodecFuture.whenComplete((subscribeCodec, e) -> {
-                if (subscribeCodec == null) {
-                    return;
+            CompletableFuture<Void> f = subscribeCodecFuture.handle((subscribeCodec, e) -> {
+                if (subscribeCodec != null) {
+                    channel2listeners.put(channelName, listeners);
+                    channel2codec.put(channelName, subscribeCodec);
+                } else {
+                    resubscribeListeners.remove(channelName, listeners);
                 }
+                return null;
+            });
+            futures.add(f);
+        }
 
-                if (topicType == PubSubType.PUNSUBSCRIBE) {
-                    psubscribe(en, channelName, listeners, subscribeCodec);
-                } else if (topicType == PubSubType.SUNSUBSCRIBE) {
-                    ssubscribe(channelName, listeners, subscribeCodec);
-                } else {
-                    subscribe(channelName, listeners, subscribeCodec);
+        if (futures.isEmpty()) {
+            return;
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((r, e) -> {
+            resubscribe(en, unsubscribe2subscribe.get(topicType), channel2codec, channel2listeners);
+        });
+    }
+
+    private void resubscribe(MasterSlaveEntry oldEntry, PubSubType type, Map<ChannelName, Codec> channel2codec,
+                             Map<ChannelName, Collection<RedisPubSubListener<?>>> channel2listeners) {
+        if (channel2codec.isEmpty()) {
+            return;
+        }
+
+        ResubscribeProgress progress = new ResubscribeProgress(type, channel2codec.size());
+        Map<MasterSlaveEntry, Map<Codec, List<ChannelName>>> groups = new HashMap<>();
+        for (Map.Entry<ChannelName, Codec> e : channel2codec.entrySet()) {
+            ChannelName channelName = e.getKey();
+            MasterSlaveEntry entry = null;
+            if (!isMultiEntity(channelName)) {
+                entry = getEntry(channelName);
+            }
+            if (entry == null) {
+                resubscribeListeners.remove(channelName);
+                resubscribe(type, oldEntry, channelName, channel2listeners.get(channelName), e.getValue(), progress);
+                continue;
+            }
+
+            groups.computeIfAbsent(entry, k -> new HashMap<>())
+                    .computeIfAbsent(e.getValue(), k -> new ArrayList<>())
+                    .add(channelName);
+        }
+
+        groups.forEach((entry, codec2channels) -> {
+            codec2channels.forEach((codec, names) -> {
+                resubscribe(type, codec, entry, names, channel2listeners, progress);
+            });
+        });
+    }
+
+    private void resubscribe(PubSubType type, Codec codec, MasterSlaveEntry entry, List<ChannelName> channels,
+                             Map<ChannelName, Collection<RedisPubSubListener<?>>> channel2listeners,
+                             ResubscribeProgress progress) {
+        if (channels.isEmpty()
+                || connectionManager.getServiceManager().isShuttingDown()) {
+            return;
+        }
+
+        // channel locks are held until batch is subscribed,
+        // so concurrent subscribe() and unsubscribe() calls of the same channels wait for it
+        int size = Math.min(channels.size(), RedisPubSubConnection.MAX_CHANNELS_PER_COMMAND);
+        List<AsyncSemaphore> channelLocks = getSemaphores(channels.subList(0, size));
+        acquire(channelLocks).thenCompose(r -> freePubSubLock.acquire()).thenAccept(c -> {
+            PubSubEntry freePubSubConnections = entry2PubSubConnection.computeIfAbsent(entry, k -> new PubSubEntry());
+            PubSubConnectionEntry freeEntry = freePubSubConnections.getEntries().peek();
+            if (freeEntry == null) {
+                freePubSubLock.release();
+                channelLocks.forEach(AsyncSemaphore::release);
+                connect(type, codec, entry, channels, channel2listeners, progress);
+                return;
+            }
+
+            // channels are reserved on the connection under freePubSubLock,
+            // so concurrent subscribe() calls join the same connection entry
+            List<ChannelName> batch = new ArrayList<>();
+            int index = 0;
+            while (index < size) {
+                ChannelName channelName = channels.get(index);
+                // listeners might be removed during resubscription
+                Collection<RedisPubSubListener<?>> listeners = resubscribeListeners.remove(channelName);
+                if (listeners == null || listeners.isEmpty()) {
+                    progress.onResubscribed(1);
+                    index++;
+                    continue;
+                }
+
+                PubSubKey key = new PubSubKey(channelName, entry);
+                PubSubConnectionEntry oldEntry = name2PubSubConnection.get(key);
+                if (oldEntry != null) {
+                    for (RedisPubSubListener<?> listener : listeners) {
+                        oldEntry.addListener(channelName, listener);
+                    }
+                    progress.onResubscribed(1);
+                    index++;
+                    continue;
+                }
+
+                int remainFreeAmount = freeEntry.tryAcquire();
+                if (remainFreeAmount == -1) {
+                    resubscribeListeners.put(channelName, listeners);
+                    freePubSubConnections.getEntries().remove(freeEntry);
+                    break;
+                }
+
+                name2PubSubConnection.put(key, freeEntry);
+                Collection<MasterSlaveEntry> coll = name2entry.computeIfAbsent(channelName, k -> Collections.newSetFromMap(new ConcurrentHashMap<>()));
+                coll.add(entry);
+                for (RedisPubSubListener<?> listener : listeners) {
+                    freeEntry.addListener(channelName, listener);
+                }
+                batch.add(channelName);
+                index++;
+
+                if (remainFreeAmount == 0) {
+                    freePubSubConnections.getEntries().remove(freeEntry);
+                    break;
+                }
+            }
+            freePubSubLock.release();
+
+            List<ChannelName> remaining = channels.subList(index, channels.size());
+            if (batch.isEmpty()) {
+                channelLocks.forEach(AsyncSemaphore::release);
+                resubscribe(type, codec, entry, remaining, channel2listeners, progress);
+                return;
+            }
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>(batch.size());
+            for (ChannelName channelName : batch) {
+                futures.add(freeEntry.getSubscribeFuture(channelName, type).getSuccessFuture());
+            }
+            CompletableFuture<Void> subscribeFuture = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+            freeEntry.subscribe(codec, type, batch.toArray(new ChannelName[0]), subscribeFuture);
+            subscribeFuture.whenComplete((r, e) -> {
+                channelLocks.forEach(AsyncSemaphore::release);
+
+                int subscribed = 0;
+                for (int i = 0; i < batch.size(); i++) {
+                    CompletableFuture<Void> f = futures.get(i);
+                    if (f.isDone() && !f.isCompletedExceptionally()) {
+                        subscribed++;
+                        continue;
+                    }
+
+                    ChannelName channelName = batch.get(i);
+                    unsubscribe(channelName, entry, subscribe2unsubscribe.get(type)).whenComplete((rr, ee) -> {
+                        connectionManager.getServiceManager().newTimeout(task -> {
+                            resubscribe(type, entry, channelName, channel2listeners.get(channelName), codec, progress);
+                        }, 1, TimeUnit.SECONDS);
+                    });
                 }
+                progress.onResubscribed(subscribed);
+                if (e != null) {
+                    log.warn("Unable to resubscribe {} of {} channels to {}", batch.size() - subscribed, batch.size(), freeEntry, e);
+                }
+
+                resubscribe(type, codec, entry, remaining, channel2listeners, progress);
             });
+        });
+    }
+
+    private void connect(PubSubType type, Codec codec, MasterSlaveEntry entry, List<ChannelName> channels,
+                         Map<ChannelName, Collection<RedisPubSubListener<?>>> channel2listeners,
+                         ResubscribeProgress progress) {
+        CompletableFuture<RedisPubSubConnection> connFuture = entry.nextPubSubConnection(null);
+        connectionManager.getServiceManager().newTimeout(t -> {
+            if (!connFuture.cancel(false)
+                    && !connFuture.isCompletedExceptionally()) {
+                return;
+            }
+
+            // connection isn't available, channels might be moved to another entry
+            for (ChannelName channelName : channels) {
+                resubscribeListeners.remove(channelName);
+                resubscribe(type, entry, channelName, channel2listeners.get(channelName), codec, progress);
+            }
+        }, config.getRetryInterval(), TimeUnit.MILLISECONDS);
+
+        connFuture.thenAccept(conn -> {
+            freePubSubLock.acquire().thenAccept(c -> {
+                PubSubConnectionEntry connEntry = new PubSubConnectionEntry(conn, connectionManager.getServiceManager());
+                PubSubEntry psEntry = entry2PubSubConnection.computeIfAbsent(entry, e -> new PubSubEntry());
+                psEntry.getEntries().add(connEntry);
+                freePubSubLock.release();
+
+                resubscribe(type, codec, entry, channels, channel2listeners, progress);
+            });
+        });
+    }
+
+    private void resubscribe(PubSubType type, MasterSlaveEntry oldEntry, ChannelName channelName,
+                             Collection<RedisPubSubListener<?>> listeners, Codec subscribeCodec,
+                             ResubscribeProgress progress) {
+        if (type == PubSubType.PSUBSCRIBE) {
+            psubscribe(oldEntry, channelName, listeners, subscribeCodec, progress);
+        } else if (type == PubSubType.SSUBSCRIBE) {
+            ssubscribe(channelName, listeners, subscribeCodec, progress);
+        } else {
+            subscribe(channelName, listeners, subscribeCodec, progress);
         }
     }
 
     private void subscribe(ChannelName channelName, Collection<RedisPubSubListener<?>> listeners,
-            Codec subscribeCodec) {
+            Codec subscribeCodec, ResubscribeProgress progress) {
         MasterSlaveEntry entry = getEntry(channelName);
         if (isMultiEntity(channelName)) {
             entry = connectionManager.getEntrySet()
@@ -775,33 +1055,35 @@ public class PublishSubscribeService {
         subscribeFuture.whenComplete((res, e) -> {
             if (e != null) {
                 connectionManager.getServiceManager().newTimeout(task -> {
-                    subscribe(channelName, listeners, subscribeCodec);
+                    subscribe(channelName, listeners, subscribeCodec, progress);
                 }, 1, TimeUnit.SECONDS);
                 return;
             }
 
+            progress.onResubscribed(1);
             log.info("listeners of '{}' channel have been resubscribed to '{}'", channelName, res);
         });
     }
 
     private void ssubscribe(ChannelName channelName, Collection<RedisPubSubListener<?>> listeners,
-                           Codec subscribeCodec) {
+                           Codec subscribeCodec, ResubscribeProgress progress) {
         CompletableFuture<PubSubConnectionEntry> subscribeFuture =
                                         ssubscribe(subscribeCodec, channelName, listeners.toArray(new RedisPubSubListener[0]));
         subscribeFuture.whenComplete((res, e) -> {
             if (e != null) {
                 connectionManager.getServiceManager().newTimeout(task -> {
-                    ssubscribe(channelName, listeners, subscribeCodec);
+                    ssubscribe(channelName, listeners, subscribeCodec, progress);
                 }, 1, TimeUnit.SECONDS);
                 return;
             }
 
+            progress.onResubscribed(1);
             log.info("listeners of '{}' channel have been resubscribed to '{}'", channelName, res);
         });
     }
 
     private void psubscribe(MasterSlaveEntry oldEntry, ChannelName channelName, Collection<RedisPubSubListener<?>> listeners,
-                            Codec subscribeCodec) {
+                            Codec subscribeCodec, ResubscribeProgress progress) {
         MasterSlaveEntry entry = getEntry(channelName);
         if (isMultiEntity(channelName)) {
             entry = connectionManager.getEntrySet()
@@ -812,7 +1094,7 @@ public class PublishSubscribeService {
         }
         if (entry == null) {
             connectionManager.getServiceManager().newTimeout(task -> {
-                psubscribe(oldEntry, channelName, listeners, subscribeCodec);
+                psubscribe(oldEntry, channelName, listeners, subscribeCodec, progress);
             }, 1, TimeUnit.SECONDS);
             return;
         }
@@ -822,11 +1104,12 @@ public class PublishSubscribeService {
         subscribeFuture.whenComplete((res, e) -> {
             if (e != null) {
                 connectionManager.getServiceManager().newTimeout(task -> {
-                    psubscribe(oldEntry, channelName, listeners, subscribeCodec);
+                    psubscribe(oldEntry, channelName, listeners, subscribeCodec, progress);
                 }, 1, TimeUnit.SECONDS);
                 return;
             }
 
+            progress.onResubscribed(1);
             log.info("listeners of '{}' channel-pattern have been resubscribed to '{}'", channelName, res);
         });
     }
@@ -834,7 +1117,8 @@ public class PublishSubscribeService {
     public CompletableFuture<Void> removeListenerAsync(PubSubType type, ChannelName channelName, EventListener listener) {
         return removeListenerAsync(type, channelName, entry -> {
             entry.removeListener(channelName, listener);
-        });
+        }, l -> (l instanceof PubSubMessageListener && ((PubSubMessageListener<?>) l).getListener() == listener)
+                    || (l instanceof PubSubPatternMessageListener && ((PubSubPatternMessageListener<?>) l).getListener() == listener));
     }
 
     public CompletableFuture<Void> removeListenerAsync(PubSubType type, ChannelName channelName, Integer... listenerIds) {
@@ -842,11 +1126,13 @@ public class PublishSubscribeService {
             for (int id : listenerIds) {
                 entry.removeListener(channelName, id);
             }
-        });
+        }, l -> Arrays.asList(listenerIds).contains(System.identityHashCode(l)));
     }
 
-    private CompletableFuture<Void> removeListenerAsync(PubSubType type, ChannelName channelName, Consumer<PubSubConnectionEntry> consumer) {
-        if (!name2entry.containsKey(channelName)) {
+    private CompletableFuture<Void> removeListenerAsync(PubSubType type, ChannelName channelName, Consumer<PubSubConnectionEntry> consumer,
+                                                        Predicate<RedisPubSubListener<?>> resubscribeFilter) {
+        if (!name2entry.containsKey(channelName)
+                && !resubscribeListeners.containsKey(channelName)) {
             return CompletableFuture.completedFuture(null);
         }
 
@@ -858,6 +1144,11 @@ public class PublishSubscribeService {
         }, timeout, TimeUnit.MILLISECONDS);
 
         return sf.thenCompose(res -> {
+            Collection<RedisPubSubListener<?>> listeners = resubscribeListeners.get(channelName);
+            if (listeners != null) {
+                listeners.removeIf(resubscribeFilter);
+            }
+
             Collection<MasterSlaveEntry> entries = name2entry.get(channelName);
             if (entries == null || entries.isEmpty()) {
                 semaphore.release();
@@ -890,7 +1181,8 @@ public class PublishSubscribeService {
     }
 
     public CompletableFuture<Void> removeAllListenersAsync(PubSubType type, ChannelName channelName) {
-        if (!name2entry.containsKey(channelName)) {
+        if (!name2entry.containsKey(channelName)
+                && !resubscribeListeners.containsKey(channelName)) {
             return CompletableFuture.completedFuture(null);
         }
 
@@ -903,6 +1195,8 @@ public class PublishSubscribeService {
         }, timeout, TimeUnit.MILLISECONDS);
 
         CompletableFuture<Void> f = sf.thenCompose(r -> {
+            resubscribeListeners.remove(channelName);
+
             PubSubConnectionEntry entry = getPubSubEntry(channelName);
             if (entry == null) {
                 semaphore.release();
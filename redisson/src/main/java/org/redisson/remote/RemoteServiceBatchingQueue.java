@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2013-2022 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.remote;
+
+import io.netty.util.Timeout;
+import org.redisson.api.RFuture;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.command.CommandBatchService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Accumulates commands of remote service worker
+ * and sends them as a single pipelined batch
+ * once batch size is reached or batching delay is elapsed.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class RemoteServiceBatchingQueue {
+
+    private static final class Command<R> {
+
+        final Function<CommandAsyncExecutor, RFuture<R>> function;
+        final CompletableFuture<R> promise = new CompletableFuture<>();
+
+        Command(Function<CommandAsyncExecutor, RFuture<R>> function) {
+            this.function = function;
+        }
+
+    }
+
+    private final CommandAsyncExecutor commandExecutor;
+    private final int batchSize;
+    private final long batchDelay;
+
+    private List<Command<?>> commands = new ArrayList<>();
+    private Timeout timeout;
+
+    public RemoteServiceBatchingQueue(CommandAsyncExecutor commandExecutor, int batchSize, long batchDelay) {
+        this.commandExecutor = commandExecutor;
+        this.batchSize = batchSize;
+        this.batchDelay = batchDelay;
+    }
+
+    public <R> CompletableFuture<R> add(Function<CommandAsyncExecutor, RFuture<R>> function) {
+        Command<R> command = new Command<>(function);
+        List<Command<?>> batch = null;
+        synchronized (this) {
+            commands.add(command);
+            if (commands.size() >= batchSize || batchDelay <= 0) {
+                batch = poll();
+            } else if (timeout == null) {
+                timeout = commandExecutor.getServiceManager().newTimeout(t -> {
+                    List<Command<?>> b;
+                    synchronized (this) {
+                        if (timeout != t) {
+                            return;
+                        }
+                        b = poll();
+                    }
+                    send(b);
+                }, batchDelay, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (batch != null) {
+            send(batch);
+        }
+        return command.promise;
+    }
+
+    private List<Command<?>> poll() {
+        if (timeout != null) {
+            timeout.cancel();
+            timeout = null;
+        }
+        List<Command<?>> batch = commands;
+        commands = new ArrayList<>();
+        return batch;
+    }
+
+    private void send(List<Command<?>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        CommandBatchService batchService = new CommandBatchService(commandExecutor);
+        List<RFuture<?>> futures = new ArrayList<>(batch.size());
+        for (Command<?> command : batch) {
+            futures.add(command.function.apply(batchService));
+        }
+
+        batchService.executeAsync().whenComplete((r, e) -> {
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), futures.get(i), e);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> void complete(Command<R> command, RFuture<?> future, Throwable e) {
+        if (e != null) {
+            command.promise.completeExceptionally(e);
+            return;
+        }
+
+        ((RFuture<R>) future).whenComplete((res, ex) -> {
+            if (ex != null) {
+                command.promise.completeExceptionally(ex);
+                return;
+            }
+            command.promise.complete(res);
+        });
+    }
+
+}
@@ -16,6 +16,8 @@
 package org.redisson.transaction;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import org.redisson.RedissonMap;
 import org.redisson.RedissonObject;
 import org.redisson.ScanResult;
@@ -23,6 +25,9 @@ import org.redisson.api.RFuture;
 import org.redisson.api.RLock;
 import org.redisson.api.RMap;
 import org.redisson.client.RedisClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.RedisCommands;
 import org.redisson.client.protocol.convertor.NumberConvertor;
 import org.redisson.client.protocol.decoder.MapScanResult;
 import org.redisson.command.CommandAsyncExecutor;
@@ -32,10 +37,14 @@ import org.redisson.misc.HashValue;
 import org.redisson.transaction.operation.*;
 import org.redisson.transaction.operation.map.*;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -81,14 +90,40 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
     Boolean deleted;
     boolean hasExpiration;
 
+    final boolean optimistic;
+    final Map<HashValue, byte[]> encodedKeys = new HashMap<>();
+    final Map<HashValue, String> readSet = new LinkedHashMap<>();
+    boolean cleared;
+    int readSize = -1;
+    List<Object> expireArgs;
+
     public BaseTransactionalMap(CommandAsyncExecutor commandExecutor, long timeout, List<TransactionalOperation> operations, RMap<K, V> map, String transactionId) {
+        this(commandExecutor, timeout, operations, map, transactionId, false);
+    }
+
+    public BaseTransactionalMap(CommandAsyncExecutor commandExecutor, long timeout, List<TransactionalOperation> operations,
+                                RMap<K, V> map, String transactionId, boolean optimistic) {
         super(transactionId, getLockName(map.getName()), commandExecutor);
         this.timeout = timeout;
         this.operations = operations;
         this.map = map;
+        this.optimistic = optimistic;
     }
 
     HashValue toKeyHash(Object key) {
+        ByteBuf keyState = ((RedissonObject) map).encodeMapKey(key);
+        try {
+            HashValue keyHash = new HashValue(Hash.hash128(keyState));
+            if (optimistic && !encodedKeys.containsKey(keyHash)) {
+                encodedKeys.put(keyHash, ByteBufUtil.getBytes(keyState));
+            }
+            return keyHash;
+        } finally {
+            keyState.release();
+        }
+    }
+
+    private HashValue hashKey(Object key) {
         ByteBuf keyState = ((RedissonObject) map).encodeMapKey(key);
         try {
             return new HashValue(Hash.hash128(keyState));
@@ -96,6 +131,154 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
             keyState.release();
         }
     }
+
+    String getRawName() {
+        return ((RedissonObject) map).getRawName();
+    }
+
+    /**
+     * Returns <code>true</code> if map has been read or modified in optimistic transaction.
+     */
+    boolean isTouched() {
+        return cleared || readSize >= 0 || !readSet.isEmpty() || !state.isEmpty() || expireArgs != null;
+    }
+
+    /**
+     * Appends read set and write set to arguments of commit script.
+     * <p>
+     * Layout: clear flag, size of map read as a whole or -1, reads amount, (key, value hash) pairs,
+     * writes amount, (operation, key, value) triples, expiration arguments amount, expiration command and arguments.
+     */
+    void appendCommitArgs(List<Object> args) {
+        args.add(cleared ? "1" : "0");
+        args.add(readSize);
+        args.add(readSet.size());
+        for (Entry<HashValue, String> entry : readSet.entrySet()) {
+            args.add(encodedKeys.get(entry.getKey()));
+            args.add(entry.getValue());
+        }
+
+        args.add(state.size());
+        for (Entry<HashValue, MapEntry> entry : state.entrySet()) {
+            byte[] key = encodedKeys.get(entry.getKey());
+            if (entry.getValue() == MapEntry.NULL) {
+                args.add("0");
+                args.add(key);
+                args.add("");
+                continue;
+            }
+
+            ByteBuf valueState = ((RedissonObject) map).encodeMapValue(entry.getValue().getValue());
+            try {
+                args.add("1");
+                args.add(key);
+                args.add(ByteBufUtil.getBytes(valueState));
+            } finally {
+                valueState.release();
+            }
+        }
+
+        if (expireArgs == null) {
+            args.add(0);
+        } else {
+            args.add(expireArgs.size());
+            args.addAll(expireArgs);
+        }
+    }
+
+    /**
+     * Reads all map entries and records them in read set.
+     * Map size is recorded as well, so entries added concurrently are detected during commit.
+     */
+    private CompletionStage<Map<K, V>> loadAllEntriesAsync() {
+        String name = getRawName();
+        RFuture<Map<Object, Object>> future = commandExecutor.readAsync(name, ByteArrayCodec.INSTANCE, RedisCommands.HGETALL, name);
+        return future.thenApply(entries -> {
+            Map<K, V> result = new LinkedHashMap<>();
+            for (Entry<Object, Object> entry : entries.entrySet()) {
+                byte[] key = (byte[]) entry.getKey();
+                HashValue keyHash = new HashValue(Hash.hash128(Unpooled.wrappedBuffer(key)));
+                encodedKeys.putIfAbsent(keyHash, key);
+                V value = recordRead(keyHash, (byte[]) entry.getValue());
+                try {
+                    K k = (K) map.getCodec().getMapKeyDecoder().decode(Unpooled.wrappedBuffer(key), new State());
+                    result.put(k, value);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }
+            if (readSize == -1) {
+                readSize = entries.size();
+            }
+            return result;
+        });
+    }
+
+    private CompletionStage<V> loadAsync(K key, HashValue keyHash) {
+        if (!optimistic) {
+            return map.getAsync(key);
+        }
+
+        String name = getRawName();
+        RFuture<byte[]> future = commandExecutor.readAsync(name, ByteArrayCodec.INSTANCE, RedisCommands.HGET,
+                                                                name, encodedKeys.get(keyHash));
+        return future.thenApply(value -> recordRead(keyHash, value));
+    }
+
+    private CompletionStage<Map<K, V>> loadAllAsync(Set<K> keys) {
+        if (!optimistic) {
+            return map.getAllAsync(keys);
+        }
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(new HashMap<>());
+        }
+
+        String name = getRawName();
+        List<K> keyList = new ArrayList<>(keys);
+        List<HashValue> keyHashes = new ArrayList<>(keys.size());
+        List<Object> params = new ArrayList<>(keys.size() + 1);
+        params.add(name);
+        for (K key : keyList) {
+            HashValue keyHash = toKeyHash(key);
+            keyHashes.add(keyHash);
+            params.add(encodedKeys.get(keyHash));
+        }
+
+        RFuture<List<Object>> future = commandExecutor.readAsync(name, ByteArrayCodec.INSTANCE, RedisCommands.HMGET, params.toArray());
+        return future.thenApply(values -> {
+            Map<K, V> result = new HashMap<>();
+            for (int i = 0; i < keyList.size(); i++) {
+                V value = recordRead(keyHashes.get(i), (byte[]) values.get(i));
+                if (value != null) {
+                    result.put(keyList.get(i), value);
+                }
+            }
+            return result;
+        });
+    }
+
+    private V recordRead(HashValue keyHash, byte[] value) {
+        if (value == null) {
+            readSet.putIfAbsent(keyHash, "");
+            return null;
+        }
+
+        readSet.putIfAbsent(keyHash, hash(value));
+        try {
+            return (V) map.getCodec().getMapValueDecoder().decode(Unpooled.wrappedBuffer(value), new State());
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static String hash(byte[] value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return ByteBufUtil.hexDump(digest.digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
     
     public RFuture<Boolean> isExistsAsync() {
         if (deleted != null) {
@@ -135,6 +318,7 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
             CompletableFuture<Boolean> result = new CompletableFuture<>();
             result.complete(!deleted);
             deleted = true;
+            cleared = true;
             return new CompletableFutureWrapper<>(result);
         }
 
@@ -142,6 +326,7 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
             operations.add(operation);
             state.replaceAll((k, v) -> MapEntry.NULL);
             deleted = true;
+            cleared = true;
             return res;
         });
         return new CompletableFutureWrapper<>(f);
@@ -149,12 +334,17 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
     
     protected ScanResult<Map.Entry<Object, Object>> scanIterator(String name, RedisClient client,
             long startPos, String pattern, int count) {
+        if (optimistic && startPos == 0) {
+            // iteration results depend on the whole map
+            commandExecutor.get(loadAllEntriesAsync());
+        }
+
         ScanResult<Map.Entry<Object, Object>> res = ((RedissonMap<?, ?>) map).scanIterator(name, client, startPos, pattern, count);
         Map<HashValue, MapEntry> newstate = new HashMap<>(state);
         Map<Object, Object> newres = null;
         for (Iterator<Map.Entry<Object, Object>> iterator = res.getValues().iterator(); iterator.hasNext();) {
             Map.Entry<Object, Object> entry = iterator.next();
-            MapEntry mapEntry = newstate.remove(toKeyHash(entry.getKey()));
+            MapEntry mapEntry = newstate.remove(hashKey(entry.getKey()));
             if (mapEntry != null) {
                 if (mapEntry == MapEntry.NULL) {
                     iterator.remove();
@@ -206,7 +396,11 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
                 return new CompletableFutureWrapper<>(true);
             }
         }
-        
+
+        if (optimistic) {
+            CompletionStage<Boolean> f = loadAsync((K) key, keyHash).thenApply(Objects::nonNull);
+            return new CompletableFutureWrapper<>(f);
+        }
         return map.containsKeyAsync(key);
     }
     
@@ -217,8 +411,22 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
             }
         }
 
+        if (optimistic) {
+            CompletionStage<Boolean> f = readAllMapAsync().thenApply(res -> {
+                return res.values().stream().anyMatch(v -> isEqual(v, value));
+            });
+            return new CompletableFutureWrapper<>(f);
+        }
         return map.containsValueAsync(value);
     }
+
+    public RFuture<Integer> sizeAsync() {
+        if (optimistic) {
+            CompletionStage<Integer> f = readAllMapAsync().thenApply(res -> res.size());
+            return new CompletableFutureWrapper<>(f);
+        }
+        return map.sizeAsync();
+    }
     
     protected RFuture<V> addAndGetOperationAsync(K key, Number value) {
         long threadId = Thread.currentThread().getId();
@@ -242,7 +450,7 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
                 return CompletableFuture.completedFuture((V) convertor.convert(res.toPlainString()));
             }
 
-            return map.getAsync(key).thenApply(r -> {
+            return loadAsync(key, keyHash).thenApply(r -> {
                 BigDecimal currentValue = new BigDecimal(r.toString());
                 BigDecimal res = currentValue.add(new BigDecimal(value.toString()));
 
@@ -280,7 +488,7 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
                 return CompletableFuture.completedFuture(null);
             }
 
-            return map.getAsync(key).thenApply(res -> {
+            return loadAsync(key, keyHash).thenApply(res -> {
                 operations.add(mapOperation);
                 if (res != null) {
                     state.put(keyHash, new MapEntry(key, value));
@@ -315,7 +523,7 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
                 return CompletableFuture.completedFuture((V) entry.getValue());
             }
 
-            return map.getAsync(key).thenApply(res -> {
+            return loadAsync(key, keyHash).thenApply(res -> {
                 operations.add(mapOperation);
                 if (res == null) {
                     state.put(keyHash, new MapEntry(key, value));
@@ -350,7 +558,7 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
                 return CompletableFuture.completedFuture((V) entry.getValue());
             }
 
-            return map.getAsync(key).thenApply(res -> {
+            return loadAsync(key, keyHash).thenApply(res -> {
                 operations.add(operation);
                 state.put(keyHash, new MapEntry(key, value));
                 if (deleted != null) {
@@ -383,7 +591,7 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
                 return CompletableFuture.completedFuture(false);
             }
 
-            return map.getAsync(key).thenApply(res -> {
+            return loadAsync(key, keyHash).thenApply(res -> {
                 operations.add(mapOperation);
                 if (res != null) {
                     state.put(keyHash, new MapEntry(key, value));
@@ -417,7 +625,7 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
                 return CompletableFuture.completedFuture(false);
             }
 
-            return map.getAsync(key).thenApply(res -> {
+            return loadAsync(key, keyHash).thenApply(res -> {
                 operations.add(mapOperation);
                 boolean isUpdated = res == null;
                 if (isUpdated) {
@@ -450,7 +658,7 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
                 return CompletableFuture.completedFuture(entry == MapEntry.NULL);
             }
 
-            return map.getAsync(key).thenApply(res -> {
+            return loadAsync(key, keyHash).thenApply(res -> {
                 operations.add(operation);
                 state.put(keyHash, new MapEntry(key, value));
                 if (deleted != null) {
@@ -484,7 +692,7 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
             }
 
             // TODO optimize
-            return map.getAllAsync(new HashSet<>(keyList)).thenApply(res -> {
+            return loadAllAsync(new HashSet<>(keyList)).thenApply(res -> {
                 for (K key : res.keySet()) {
                     HashValue keyHash = toKeyHash(key);
                     operations.add(new MapFastRemoveOperation(map, key, transactionId, threadId));
@@ -511,7 +719,21 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
                 }
             }
         }
-        
+
+        if (optimistic) {
+            CompletionStage<Integer> f = loadAsync(key, keyHash).thenApply(value -> {
+                if (value == null) {
+                    return null;
+                }
+                ByteBuf valueState = ((RedissonObject) map).encodeMapValue(value);
+                try {
+                    return valueState.readableBytes();
+                } finally {
+                    valueState.release();
+                }
+            });
+            return new CompletableFutureWrapper<>(f);
+        }
         return map.valueSizeAsync(key);
     }
     
@@ -525,16 +747,24 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
                 return new CompletableFutureWrapper<>((V) entry.getValue());
             }
         }
+        if (optimistic) {
+            return new CompletableFutureWrapper<>(loadAsync(key, keyHash));
+        }
         return ((RedissonMap<K, V>) map).getOperationAsync(key);
     }
 
     public RFuture<Set<K>> readAllKeySetAsync() {
+        if (optimistic) {
+            CompletionStage<Set<K>> f = readAllMapAsync().thenApply(res -> res.keySet());
+            return new CompletableFutureWrapper<>(f);
+        }
+
         RFuture<Set<K>> future = map.readAllKeySetAsync();
         CompletionStage<Set<K>> f = future.thenApply(res -> {
             Map<HashValue, MapEntry> newstate = new HashMap<>(state);
             for (Iterator<K> iterator = res.iterator(); iterator.hasNext();) {
                 K key = iterator.next();
-                MapEntry value = newstate.remove(toKeyHash(key));
+                MapEntry value = newstate.remove(hashKey(key));
                 if (value == MapEntry.NULL) {
                     iterator.remove();
                 }
@@ -564,12 +794,17 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
     }
     
     public RFuture<Map<K, V>> readAllMapAsync() {
-        RFuture<Map<K, V>> future = map.readAllMapAsync();
+        CompletionStage<Map<K, V>> future;
+        if (optimistic) {
+            future = loadAllEntriesAsync();
+        } else {
+            future = map.readAllMapAsync();
+        }
         CompletionStage<Map<K, V>> f = future.thenApply(map -> {
             Map<HashValue, MapEntry> newstate = new HashMap<>(state);
             for (Iterator<K> iterator = map.keySet().iterator(); iterator.hasNext();) {
                 K key = iterator.next();
-                MapEntry entry = newstate.remove(toKeyHash(key));
+                MapEntry entry = newstate.remove(hashKey(key));
                 if (entry == MapEntry.NULL) {
                     iterator.remove();
                 } else if (entry != null) {
@@ -592,7 +827,7 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
         Set<K> keysToLoad = new HashSet<>();
         Map<K, V> map = new HashMap<>();
         for (K key : keys) {
-            HashValue keyHash = toKeyHash(key);
+            HashValue keyHash = hashKey(key);
             
             MapEntry entry = state.get(keyHash);
             if (entry != null) {
@@ -608,7 +843,12 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
             return new CompletableFutureWrapper<>(map);
         }
         
-        RFuture<Map<K, V>> future = ((RedissonMap<K, V>) this.map).getAllOperationAsync(keysToLoad);
+        CompletionStage<Map<K, V>> future;
+        if (optimistic) {
+            future = loadAllAsync(keysToLoad);
+        } else {
+            future = ((RedissonMap<K, V>) this.map).getAllOperationAsync(keysToLoad);
+        }
         CompletionStage<Map<K, V>> f = future.thenApply(res -> {
             map.putAll(res);
             return map;
@@ -630,7 +870,7 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
                 return CompletableFuture.completedFuture((V) entry.getValue());
             }
 
-            return map.getAsync(key).thenApply(res -> {
+            return loadAsync(key, keyHash).thenApply(res -> {
                 operations.add(new MapRemoveOperation(map, key, transactionId, threadId));
                 if (res != null) {
                     state.put(keyHash, MapEntry.NULL);
@@ -659,7 +899,7 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
                 return CompletableFuture.completedFuture(false);
             }
 
-            return map.getAsync((K) key).thenApply(r -> {
+            return loadAsync((K) key, keyHash).thenApply(r -> {
                 operations.add(new MapRemoveOperation(map, key, value, transactionId, threadId));
                 boolean res = isEqual(r, value);
                 if (res) {
@@ -719,7 +959,7 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
                 return CompletableFuture.completedFuture(false);
             }
 
-            return map.getAsync(key).thenApply(r -> {
+            return loadAsync(key, keyHash).thenApply(r -> {
                 operations.add(new MapReplaceOperation(map, key, newValue, oldValue, transactionId, threadId));
                 boolean res = isEqual(r, oldValue);
                 if (res) {
@@ -745,7 +985,7 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
                 return CompletableFuture.completedFuture((V) entry.getValue());
             }
 
-            return map.getAsync(key).thenApply(res -> {
+            return loadAsync(key, keyHash).thenApply(res -> {
                 operations.add(new MapReplaceOperation(map, key, value, transactionId, threadId));
                 if (res != null) {
                     state.put(keyHash, new MapEntry(key, value));
@@ -765,12 +1005,55 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
         return new RedissonTransactionalLock(commandExecutor, lockName, transactionId);
     }
 
+    private RFuture<Boolean> expireOptimisticAsync(List<Object> args) {
+        if (isExists()) {
+            expireArgs = args;
+            return new CompletableFutureWrapper<>(true);
+        }
+
+        CompletionStage<Boolean> f = isExistsAsync().thenApply(res -> {
+            expireArgs = args;
+            return res;
+        });
+        return new CompletableFutureWrapper<>(f);
+    }
+
+    private List<Object> expireArgs(String command, long value, String param) {
+        List<Object> args = new ArrayList<>(3);
+        args.add(command);
+        args.add(value);
+        if (param != null && !param.isEmpty()) {
+            args.add(param);
+        }
+        return args;
+    }
+
+    @Override
+    protected <R> RFuture<R> executeLocked(long timeout, Supplier<CompletionStage<R>> runnable, RLock lock) {
+        if (optimistic) {
+            return new CompletableFutureWrapper<>(runnable.get());
+        }
+        return super.executeLocked(timeout, runnable, lock);
+    }
+
+    @Override
+    protected <R> RFuture<R> executeLocked(long timeout, Supplier<CompletionStage<R>> runnable, List<RLock> locks) {
+        if (optimistic) {
+            return new CompletableFutureWrapper<>(runnable.get());
+        }
+        return super.executeLocked(timeout, runnable, locks);
+    }
+
     private boolean isExists() {
         boolean notExists = state.values().stream().noneMatch(v -> v != MapEntry.NULL);
         return !notExists;
     }
 
     public RFuture<Boolean> expireAsync(long timeToLive, TimeUnit timeUnit, String param, String... keys) {
+        if (optimistic) {
+            return expireOptimisticAsync(expireArgs("pexpire", timeUnit.toMillis(timeToLive), param));
+        }
+
         long currentThreadId = Thread.currentThread().getId();
         return executeLocked(timeout, () -> {
             if (isExists()) {
@@ -788,6 +1071,10 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
     }
 
     public RFuture<Boolean> expireAtAsync(long timestamp, String param, String... keys) {
+        if (optimistic) {
+            return expireOptimisticAsync(expireArgs("pexpireat", timestamp, param));
+        }
+
         long currentThreadId = Thread.currentThread().getId();
         return executeLocked(timeout, () -> {
             if (isExists()) {
@@ -805,6 +1092,19 @@ public class BaseTransactionalMap<K, V> extends BaseTransactionalObject {
     }
 
     public RFuture<Boolean> clearExpireAsync() {
+        if (optimistic) {
+            if (expireArgs != null) {
+                expireArgs = Collections.singletonList("persist");
+                return new CompletableFutureWrapper<>(true);
+            }
+
+            CompletionStage<Boolean> f = map.remainTimeToLiveAsync().thenApply(res -> {
+                expireArgs = Collections.singletonList("persist");
+                return res > 0;
+            });
+            return new CompletableFutureWrapper<>(f);
+        }
+
         long currentThreadId = Thread.currentThread().getId();
         return executeLocked(timeout, () -> {
             if (hasExpiration) {
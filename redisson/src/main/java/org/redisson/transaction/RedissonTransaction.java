@@ -26,7 +26,9 @@ import org.redisson.cache.LocalCachedMapDisable;
 import org.redisson.cache.LocalCachedMapDisabledKey;
 import org.redisson.cache.LocalCachedMapEnable;
 import org.redisson.cache.LocalCachedMessageCodec;
+import org.redisson.client.codec.ByteArrayCodec;
 import org.redisson.client.codec.Codec;
+import org.redisson.client.protocol.RedisCommands;
 import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.command.CommandBatchService;
 import org.redisson.connection.MasterSlaveEntry;
@@ -48,6 +50,54 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class RedissonTransaction implements RTransaction {
 
+    private static final String OPTIMISTIC_COMMIT_SCRIPT =
+              "local pos = 1; "
+            + "for i = 1, #KEYS do "
+                + "local size = tonumber(ARGV[pos + 1]); "
+                + "if size >= 0 and redis.call('hlen', KEYS[i]) ~= size then "
+                    + "return 0; "
+                + "end; "
+                + "local reads = tonumber(ARGV[pos + 2]); "
+                + "pos = pos + 3; "
+                + "for j = 1, reads do "
+                    + "local value = redis.call('hget', KEYS[i], ARGV[pos]); "
+                    + "if value == false then "
+                        + "if ARGV[pos + 1] ~= '' then "
+                            + "return 0; "
+                        + "end; "
+                    + "elseif redis.sha1hex(value) ~= ARGV[pos + 1] then "
+                        + "return 0; "
+                    + "end; "
+                    + "pos = pos + 2; "
+                + "end; "
+                + "pos = pos + 1 + 3 * tonumber(ARGV[pos]); "
+                + "pos = pos + 1 + tonumber(ARGV[pos]); "
+            + "end; "
+
+            + "pos = 1; "
+            + "for i = 1, #KEYS do "
+                + "if ARGV[pos] == '1' then "
+                    + "redis.call('del', KEYS[i]); "
+                + "end; "
+                + "pos = pos + 3 + 2 * tonumber(ARGV[pos + 2]); "
+                + "local writes = tonumber(ARGV[pos]); "
+                + "pos = pos + 1; "
+                + "for j = 1, writes do "
+                    + "if ARGV[pos] == '1' then "
+                        + "redis.call('hset', KEYS[i], ARGV[pos + 1], ARGV[pos + 2]); "
+                    + "else "
+                        + "redis.call('hdel', KEYS[i], ARGV[pos + 1]); "
+                    + "end; "
+                    + "pos = pos + 3; "
+                + "end; "
+                + "local expireArgs = tonumber(ARGV[pos]); "
+                + "if expireArgs > 0 then "
+                    + "redis.call(ARGV[pos + 1], KEYS[i], unpack(ARGV, pos + 2, pos + expireArgs)); "
+                + "end; "
+                + "pos = pos + 1 + expireArgs; "
+            + "end; "
+            + "return 1;";
+
     private final CommandAsyncExecutor commandExecutor;
     private final AtomicBoolean executed = new AtomicBoolean();
     
@@ -62,6 +112,8 @@ public class RedissonTransaction implements RTransaction {
     private final long startTime = System.currentTimeMillis();
     
     private final String id;
+    private String optimisticMapName;
+    private int optimisticSlot;
     
     public RedissonTransaction(CommandAsyncExecutor commandExecutor, TransactionOptions options) {
         super();
@@ -83,6 +135,7 @@ public class RedissonTransaction implements RTransaction {
     @Override
     public <K, V> RLocalCachedMap<K, V> getLocalCachedMap(RLocalCachedMap<K, V> fromInstance) {
         checkState();
+        checkPessimistic("getLocalCachedMap");
 
         localCaches.add(fromInstance.getName());
         return (RLocalCachedMap<K, V>) localCacheInstances.computeIfAbsent(fromInstance, k -> {
@@ -94,6 +147,7 @@ public class RedissonTransaction implements RTransaction {
     @Override
     public <V> RBucket<V> getBucket(String name) {
         checkState();
+        checkPessimistic("getBucket");
 
         return (RBucket<V>) instances.computeIfAbsent(name, k -> {
             return new RedissonTransactionalBucket<V>(commandExecutor, options.getTimeout(), name, operations, executed, id);
@@ -103,6 +157,7 @@ public class RedissonTransaction implements RTransaction {
     @Override
     public <V> RBucket<V> getBucket(String name, Codec codec) {
         checkState();
+        checkPessimistic("getBucket");
 
         return (RBucket<V>) instances.computeIfAbsent(name, k -> {
             return new RedissonTransactionalBucket<V>(codec, commandExecutor, options.getTimeout(), name, operations, executed, id);
@@ -112,6 +167,7 @@ public class RedissonTransaction implements RTransaction {
     @Override
     public RBuckets getBuckets() {
         checkState();
+        checkPessimistic("getBuckets");
 
         if (bucketsInstance == null) {
             bucketsInstance = new RedissonTransactionalBuckets(commandExecutor, options.getTimeout(), operations, executed, id);
@@ -122,6 +178,7 @@ public class RedissonTransaction implements RTransaction {
     @Override
     public RBuckets getBuckets(Codec codec) {
         checkState();
+        checkPessimistic("getBuckets");
 
         if (bucketsCodecInstance == null) {
             bucketsCodecInstance = new RedissonTransactionalBuckets(codec, commandExecutor, options.getTimeout(), operations, executed, id);
@@ -132,6 +189,7 @@ public class RedissonTransaction implements RTransaction {
     @Override
     public <V> RSet<V> getSet(String name) {
         checkState();
+        checkPessimistic("getSet");
 
         return (RSet<V>) instances.computeIfAbsent(name, k -> {
             return new RedissonTransactionalSet<V>(commandExecutor, name, operations, options.getTimeout(), executed, id);
@@ -141,6 +199,7 @@ public class RedissonTransaction implements RTransaction {
     @Override
     public <V> RSet<V> getSet(String name, Codec codec) {
         checkState();
+        checkPessimistic("getSet");
 
         return (RSet<V>) instances.computeIfAbsent(name, k -> {
             return new RedissonTransactionalSet<V>(codec, commandExecutor, name, operations, options.getTimeout(), executed, id);
@@ -150,6 +209,7 @@ public class RedissonTransaction implements RTransaction {
     @Override
     public <V> RSetCache<V> getSetCache(String name) {
         checkState();
+        checkPessimistic("getSetCache");
 
         return (RSetCache<V>) instances.computeIfAbsent(name, k -> {
             return new RedissonTransactionalSetCache<V>(commandExecutor, name, operations, options.getTimeout(), executed, id);
@@ -159,6 +219,7 @@ public class RedissonTransaction implements RTransaction {
     @Override
     public <V> RSetCache<V> getSetCache(String name, Codec codec) {
         checkState();
+        checkPessimistic("getSetCache");
 
         return (RSetCache<V>) instances.computeIfAbsent(name, k -> {
             return new RedissonTransactionalSetCache<V>(codec, commandExecutor, name, operations, options.getTimeout(), executed, id);
@@ -170,7 +231,9 @@ public class RedissonTransaction implements RTransaction {
         checkState();
 
         return (RMap<K, V>) instances.computeIfAbsent(name, k -> {
-            return new RedissonTransactionalMap<K, V>(commandExecutor, name, operations, options.getTimeout(), executed, id);
+            RedissonTransactionalMap<K, V> map = new RedissonTransactionalMap<K, V>(commandExecutor, name, operations, options.getTimeout(), executed, id, options.isOptimistic());
+            checkSlot(map);
+            return map;
         });
     }
 
@@ -179,13 +242,16 @@ public class RedissonTransaction implements RTransaction {
         checkState();
 
         return (RMap<K, V>) instances.computeIfAbsent(name, k -> {
-            return new RedissonTransactionalMap<K, V>(codec, commandExecutor, name, operations, options.getTimeout(), executed, id);
+            RedissonTransactionalMap<K, V> map = new RedissonTransactionalMap<K, V>(codec, commandExecutor, name, operations, options.getTimeout(), executed, id, options.isOptimistic());
+            checkSlot(map);
+            return map;
         });
     }
 
     @Override
     public <K, V> RMapCache<K, V> getMapCache(String name) {
         checkState();
+        checkPessimistic("getMapCache");
 
         return (RMapCache<K, V>) instances.computeIfAbsent(name, k -> {
             return new RedissonTransactionalMapCache<K, V>(commandExecutor, name, operations, options.getTimeout(), executed, id);
@@ -195,6 +261,7 @@ public class RedissonTransaction implements RTransaction {
     @Override
     public <K, V> RMapCache<K, V> getMapCache(String name, Codec codec) {
         checkState();
+        checkPessimistic("getMapCache");
 
         return (RMapCache<K, V>) instances.computeIfAbsent(name, k -> {
             return new RedissonTransactionalMapCache<K, V>(codec, commandExecutor, name, operations, options.getTimeout(), executed, id);
@@ -206,6 +273,10 @@ public class RedissonTransaction implements RTransaction {
         checkState();
         
         checkTimeout();
+
+        if (options.isOptimistic()) {
+            return commitOptimisticAsync();
+        }
         
         BatchOptions batchOptions = createOptions();
         
@@ -248,6 +319,61 @@ public class RedissonTransaction implements RTransaction {
         return new CompletableFutureWrapper<>(ff);
     }
 
+    private void checkSlot(RedissonTransactionalMap<?, ?> map) {
+        if (!options.isOptimistic()) {
+            return;
+        }
+
+        String name = map.getTransactionalMap().getRawName();
+        int slot = commandExecutor.getConnectionManager().calcSlot(name);
+        if (optimisticMapName == null) {
+            optimisticMapName = name;
+            optimisticSlot = slot;
+            return;
+        }
+        if (optimisticSlot != slot) {
+            throw new TransactionException("Map " + name + " is stored in a different slot than map " + optimisticMapName
+                    + ". Optimistic transaction is committed by a single script, so map names should share the same hash tag");
+        }
+    }
+
+    private RFuture<Void> commitOptimisticAsync() {
+        List<Object> keys = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        for (Object instance : instances.values()) {
+            BaseTransactionalMap<?, ?> map = ((RedissonTransactionalMap<?, ?>) instance).getTransactionalMap();
+            if (map.isTouched()) {
+                keys.add(map.getRawName());
+                map.appendCommitArgs(args);
+            }
+        }
+
+        if (keys.isEmpty()) {
+            executed.set(true);
+            return new CompletableFutureWrapper<>((Void) null);
+        }
+
+        // all maps are in the same slot, so validation and writes are applied atomically
+        CommandBatchService transactionExecutor = new CommandBatchService(commandExecutor, createOptions());
+        RFuture<Boolean> future = transactionExecutor.evalWriteAsync((String) keys.get(0), ByteArrayCodec.INSTANCE,
+                                        RedisCommands.EVAL_BOOLEAN, OPTIMISTIC_COMMIT_SCRIPT, keys, args.toArray());
+
+        RFuture<BatchResult<?>> transactionFuture = transactionExecutor.executeAsync();
+        CompletionStage<Void> f = transactionFuture.handle((r, exc) -> {
+            executed.set(true);
+            if (exc != null) {
+                throw new CompletionException(new TransactionException("Unable to execute transaction", exc));
+            }
+
+            if (!future.toCompletableFuture().join()) {
+                throw new CompletionException(new TransactionConflictException(
+                        "Transaction was discarded since values read by it have been modified concurrently"));
+            }
+            return null;
+        });
+        return new CompletableFutureWrapper<>(f);
+    }
+
     private BatchOptions createOptions() {
         MasterSlaveEntry entry = commandExecutor.getConnectionManager().getEntrySet().iterator().next();
         int syncSlaves = entry.getAvailableSlaves();
@@ -275,6 +401,11 @@ public class RedissonTransaction implements RTransaction {
         checkState();
         
         checkTimeout();
+
+        if (options.isOptimistic()) {
+            commandExecutor.get(commitOptimisticAsync());
+            return;
+        }
         
         BatchOptions batchOptions = createOptions();
         
@@ -543,6 +674,12 @@ public class RedissonTransaction implements RTransaction {
     public void rollback(List<TransactionalOperation> operations) {
         checkState();
 
+        if (options.isOptimistic()) {
+            operations.clear();
+            executed.set(true);
+            return;
+        }
+
         CommandBatchService executorService = new CommandBatchService(commandExecutor);
         for (TransactionalOperation transactionalOperation : operations) {
             transactionalOperation.rollback(executorService);
@@ -562,6 +699,12 @@ public class RedissonTransaction implements RTransaction {
     public RFuture<Void> rollbackAsync() {
         checkState();
 
+        if (options.isOptimistic()) {
+            operations.clear();
+            executed.set(true);
+            return new CompletableFutureWrapper<>((Void) null);
+        }
+
         CommandBatchService executorService = new CommandBatchService(commandExecutor);
         for (TransactionalOperation transactionalOperation : operations) {
             transactionalOperation.rollback(executorService);
@@ -588,6 +731,13 @@ public class RedissonTransaction implements RTransaction {
         return operations;
     }
 
+    private void checkPessimistic(String method) {
+        if (options.isOptimistic()) {
+            throw new TransactionException(method + " method can't be used in optimistic transaction. "
+                    + "Only RMap objects are supported in optimistic mode, use TransactionOptions.optimistic(false) for other objects");
+        }
+    }
+
     protected void checkState() {
         if (executed.get()) {
             throw new IllegalStateException("Unable to execute operation. Transaction was finished!");
@@ -52,18 +52,32 @@ public class RedissonTransactionalMap<K, V> extends RedissonMap<K, V> {
     
     public RedissonTransactionalMap(CommandAsyncExecutor commandExecutor, String name, 
             List<TransactionalOperation> operations, long timeout, AtomicBoolean executed, String transactionId) {
+        this(commandExecutor, name, operations, timeout, executed, transactionId, false);
+    }
+
+    public RedissonTransactionalMap(CommandAsyncExecutor commandExecutor, String name,
+            List<TransactionalOperation> operations, long timeout, AtomicBoolean executed, String transactionId, boolean optimistic) {
         super(commandExecutor, name, null, null, null);
         this.executed = executed;
         RedissonMap<K, V> innerMap = new RedissonMap<K, V>(commandExecutor, name, null, null, null);
-        this.transactionalMap = new BaseTransactionalMap<K, V>(commandExecutor, timeout, operations, innerMap, transactionId);
+        this.transactionalMap = new BaseTransactionalMap<K, V>(commandExecutor, timeout, operations, innerMap, transactionId, optimistic);
     }
 
     public RedissonTransactionalMap(Codec codec, CommandAsyncExecutor commandExecutor, String name,
             List<TransactionalOperation> operations, long timeout, AtomicBoolean executed, String transactionId) {
+        this(codec, commandExecutor, name, operations, timeout, executed, transactionId, false);
+    }
+
+    public RedissonTransactionalMap(Codec codec, CommandAsyncExecutor commandExecutor, String name,
+            List<TransactionalOperation> operations, long timeout, AtomicBoolean executed, String transactionId, boolean optimistic) {
         super(codec, commandExecutor, name, null, null, null);
         this.executed = executed;
         RedissonMap<K, V> innerMap = new RedissonMap<K, V>(codec, commandExecutor, name, null, null, null);
-        this.transactionalMap = new BaseTransactionalMap<K, V>(commandExecutor, timeout, operations, innerMap, transactionId);
+        this.transactionalMap = new BaseTransactionalMap<K, V>(commandExecutor, timeout, operations, innerMap, transactionId, optimistic);
+    }
+
+    BaseTransactionalMap<K, V> getTransactionalMap() {
+        return transactionalMap;
     }
     
     @Override
@@ -164,6 +178,12 @@ public class RedissonTransactionalMap<K, V> extends RedissonMap<K, V> {
         return transactionalMap.fastRemoveOperationAsync(keys);
     }
     
+    @Override
+    public RFuture<Integer> sizeAsync() {
+        checkState();
+        return transactionalMap.sizeAsync();
+    }
+
     @Override
     public RFuture<Integer> valueSizeAsync(K key) {
         checkState();
@@ -0,0 +1,85 @@
+package org.redisson;
+
+import org.junit.jupiter.api.Test;
+import org.redisson.api.BulkLoadOptions;
+import org.redisson.api.BulkLoadProgress;
+import org.redisson.api.RMap;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RSet;
+import org.redisson.client.protocol.ScoredEntry;
+import reactor.core.publisher.Flux;
+
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RedissonBulkLoaderTest extends BaseTest {
+
+    @Test
+    public void testLoadMap() {
+        List<BulkLoadProgress> progresses = new CopyOnWriteArrayList<>();
+        BulkLoadOptions options = BulkLoadOptions.defaults()
+                                                .chunkSize(100)
+                                                .progressListener(progresses::add);
+        BulkLoadProgress result = redisson.getBulkLoader(options)
+                .loadMap("map", IntStream.range(0, 10000).mapToObj(i -> new AbstractMap.SimpleEntry<>(i, "value" + i)));
+
+        assertThat(result.getEntries()).isEqualTo(10000);
+        assertThat(result.getChunks()).isEqualTo(100);
+        assertThat(progresses).hasSize(100);
+
+        RMap<Integer, String> map = redisson.getMap("map");
+        assertThat(map.size()).isEqualTo(10000);
+        assertThat(map.get(9999)).isEqualTo("value9999");
+    }
+
+    @Test
+    public void testLoadSetChunkSizeInBytes() {
+        BulkLoadOptions options = BulkLoadOptions.defaults()
+                                                .chunkSizeInBytes(1024)
+                                                .maxInFlightChunks(1);
+        BulkLoadProgress result = redisson.getBulkLoader(options)
+                .loadSetAsync("set", Flux.range(0, 1000).map(i -> "element" + i)).toCompletableFuture().join();
+
+        assertThat(result.getEntries()).isEqualTo(1000);
+        assertThat(result.getChunks()).isGreaterThan(1);
+
+        RSet<String> set = redisson.getSet("set");
+        assertThat(set.size()).isEqualTo(1000);
+        assertThat(set.contains("element999")).isTrue();
+    }
+
+    @Test
+    public void testLoadScoredSortedSet() {
+        BulkLoadProgress result = redisson.getBulkLoader()
+                .loadScoredSortedSet("zset", IntStream.range(0, 1000).mapToObj(i -> new ScoredEntry<>((double) i, "element" + i)).iterator());
+
+        assertThat(result.getEntries()).isEqualTo(1000);
+
+        RScoredSortedSet<String> set = redisson.getScoredSortedSet("zset");
+        assertThat(set.size()).isEqualTo(1000);
+        assertThat(set.first()).isEqualTo("element0");
+        assertThat(set.getScore("element999")).isEqualTo(999);
+    }
+
+    @Test
+    public void testSwap() {
+        RMap<Integer, String> map = redisson.getMap("map");
+        map.put(-1, "stale");
+
+        BulkLoadOptions options = BulkLoadOptions.defaults().swap(true);
+        redisson.getBulkLoader(options)
+                .loadMap("map", IntStream.range(0, 100).mapToObj(i -> new AbstractMap.SimpleEntry<>(i, "value" + i)));
+
+        assertThat(map.size()).isEqualTo(100);
+        assertThat(map.containsKey(-1)).isFalse();
+        assertThat(redisson.getKeys().count()).isEqualTo(1);
+
+        redisson.getBulkLoader(options).loadMap("map", IntStream.range(0, 0).mapToObj(i -> new AbstractMap.SimpleEntry<>(i, "value" + i)));
+        assertThat(map.isExists()).isFalse();
+    }
+
+}
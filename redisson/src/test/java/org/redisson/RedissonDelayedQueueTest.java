@@ -1,11 +1,17 @@
 package org.redisson;
 
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
 import org.redisson.api.RBlockingQueue;
 import org.redisson.api.RDelayedQueue;
 import org.redisson.api.RQueue;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -301,7 +307,39 @@ public class RedissonDelayedQueueTest extends BaseTest {
         
         dealyedQueue.destroy();
     }
-    
 
-    
+    @Test
+    public void testSharedTransfer() {
+        Config config = createConfig();
+        config.setSharedDelayedQueueTransfer(true);
+        RedissonClient r = Redisson.create(config);
+
+        List<RDelayedQueue<Integer>> delayedQueues = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            RQueue<Integer> queue = r.getQueue("test" + i);
+            RDelayedQueue<Integer> delayedQueue = r.getDelayedQueue(queue);
+            delayedQueue.offer(i, 1, TimeUnit.SECONDS);
+            delayedQueues.add(delayedQueue);
+        }
+
+        RQueue<Integer> backlogQueue = r.getQueue("backlog");
+        RDelayedQueue<Integer> backlogDelayedQueue = r.getDelayedQueue(backlogQueue);
+        for (int i = 0; i < 1000; i++) {
+            backlogDelayedQueue.offerAsync(i, 500, TimeUnit.MILLISECONDS);
+        }
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(backlogQueue.size()).isEqualTo(1000);
+            for (int i = 0; i < 200; i++) {
+                assertThat(r.getQueue("test" + i).peek()).isEqualTo(i);
+            }
+        });
+
+        backlogDelayedQueue.destroy();
+        for (RDelayedQueue<Integer> delayedQueue : delayedQueues) {
+            delayedQueue.destroy();
+        }
+        r.shutdown();
+    }
+
 }
@@ -705,6 +705,188 @@ public class RedissonLiveObjectServiceTest extends BaseTest {
         assertThat(objects6.iterator().next().getId()).isEqualTo("4");
     }
 
+    @Test
+    public void testFindWithOptions() {
+        RLiveObjectService s = redisson.getLiveObjectService();
+        for (int i = 0; i < 10; i++) {
+            TestIndexed t = new TestIndexed("" + i);
+            t.setName1(i % 2 == 0 ? "even" : "odd");
+            t.setNum1(i * 10);
+            s.persist(t);
+        }
+
+        List<TestIndexed> objects = s.find(TestIndexed.class,
+                Conditions.and(Conditions.eq("name1", "even"), Conditions.ge("num1", 20)),
+                FindOptions.defaults().sortBy("num1", SortOrder.DESC).offset(1).limit(2));
+        assertThat(objects).extracting(TestIndexed::getId).containsExactly("6", "4");
+
+        List<TestIndexed> objects2 = s.find(TestIndexed.class,
+                Conditions.or(Conditions.eq("name1", "odd"), Conditions.lt("num1", 30)),
+                FindOptions.defaults());
+        assertThat(objects2).extracting(TestIndexed::getId).containsExactly("0", "1", "2", "3", "5", "7", "9");
+        assertThat(s.count(TestIndexed.class, Conditions.or(Conditions.eq("name1", "odd"), Conditions.lt("num1", 30)))).isEqualTo(7);
+
+        List<String> ids = new ArrayList<>();
+        for (TestIndexed t : s.findIterable(TestIndexed.class, Conditions.gt("num1", 0),
+                                        FindOptions.defaults().sortBy("num1", SortOrder.ASC).batchSize(4))) {
+            ids.add(t.getId());
+        }
+        assertThat(ids).containsExactly("1", "2", "3", "4", "5", "6", "7", "8", "9");
+    }
+
+    @Test
+    public void testFindIterableContinuesAfterLastObject() {
+        RLiveObjectService s = redisson.getLiveObjectService();
+        for (int i = 0; i < 40; i++) {
+            TestIndexed t = new TestIndexed("" + i);
+            t.setName1(i < 2 ? "rare" : "common");
+            t.setNum1(i % 20);
+            s.persist(t);
+        }
+
+        List<String> ids = new ArrayList<>();
+        List<Integer> nums = new ArrayList<>();
+        Iterator<TestIndexed> iterator = s.findIterable(TestIndexed.class, Conditions.eq("name1", "common"),
+                                                FindOptions.defaults().sortBy("num1", SortOrder.DESC).batchSize(5)).iterator();
+        for (int i = 0; i < 5; i++) {
+            TestIndexed t = iterator.next();
+            ids.add(t.getId());
+            nums.add(t.getNum1());
+        }
+        // deleted objects don't shift the next pages
+        s.delete(TestIndexed.class, ids.get(0), ids.get(1));
+        iterator.forEachRemaining(t -> {
+            ids.add(t.getId());
+            nums.add(t.getNum1());
+        });
+
+        assertThat(ids).hasSize(38).doesNotHaveDuplicates();
+        assertThat(nums).isSortedAccordingTo(Comparator.reverseOrder());
+
+        List<String> rare = new ArrayList<>();
+        for (TestIndexed t : s.findIterable(TestIndexed.class, Conditions.eq("name1", "rare"),
+                                        FindOptions.defaults().sortBy("num1", SortOrder.ASC).batchSize(1))) {
+            rare.add(t.getId());
+        }
+        assertThat(rare).containsExactly("0", "1");
+    }
+
+    @Test
+    public void testFindSortByStringField() {
+        RLiveObjectService s = redisson.getLiveObjectService();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            s.find(TestIndexed.class, Conditions.eq("name1", "test"), FindOptions.defaults().sortBy("name1", SortOrder.ASC));
+        });
+    }
+
+    @REntity
+    @RCompositeIndex(name = "tenantStatus", fields = {"tenantId", "status", "amount"})
+    public static class TestOrder implements Serializable {
+
+        @RId
+        private String id;
+        private String tenantId;
+        private String status;
+        private Integer amount;
+
+        protected TestOrder() {
+        }
+
+        public TestOrder(String id, String tenantId, String status, Integer amount) {
+            this.id = id;
+            this.tenantId = tenantId;
+            this.status = status;
+            this.amount = amount;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getTenantId() {
+            return tenantId;
+        }
+
+        public void setTenantId(String tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public Integer getAmount() {
+            return amount;
+        }
+
+        public void setAmount(Integer amount) {
+            this.amount = amount;
+        }
+    }
+
+    @Test
+    public void testCompositeIndex() {
+        RLiveObjectService s = redisson.getLiveObjectService();
+        s.persist(new TestOrder("0", "t1", "open", 0));
+        s.persist(new TestOrder("1", "t1", "closed", 10));
+        s.persist(new TestOrder("2", "t1", "open", 20));
+        s.persist(new TestOrder("3", "t1", "closed", 30),
+                    new TestOrder("4", "t2", "open", 40),
+                    new TestOrder("5", "t2", "closed", 50));
+
+        assertThat(s.find(TestOrder.class, Conditions.eq("tenantId", "t1")))
+                .extracting(TestOrder::getId).containsExactlyInAnyOrder("0", "1", "2", "3");
+        assertThat(s.find(TestOrder.class, Conditions.and(Conditions.eq("tenantId", "t1"), Conditions.eq("status", "open"))))
+                .extracting(TestOrder::getId).containsExactlyInAnyOrder("0", "2");
+        assertThat(s.find(TestOrder.class, Conditions.and(Conditions.eq("tenantId", "t1"), Conditions.eq("status", "open"),
+                                                            Conditions.gt("amount", 0))))
+                .extracting(TestOrder::getId).containsExactly("2");
+        assertThat(s.find(TestOrder.class, Conditions.and(Conditions.eq("tenantId", "t1"), Conditions.eq("status", "closed"),
+                                                            Conditions.ge("amount", 10), Conditions.le("amount", 30))))
+                .extracting(TestOrder::getId).containsExactlyInAnyOrder("1", "3");
+
+        TestOrder order = s.get(TestOrder.class, "2");
+        order.setStatus("closed");
+        assertThat(s.find(TestOrder.class, Conditions.and(Conditions.eq("tenantId", "t1"), Conditions.eq("status", "closed"))))
+                .extracting(TestOrder::getId).containsExactlyInAnyOrder("1", "2", "3");
+
+        s.delete(TestOrder.class, "3");
+        assertThat(s.count(TestOrder.class, Conditions.and(Conditions.eq("tenantId", "t1"), Conditions.eq("status", "closed")))).isEqualTo(2);
+        assertThat(s.count(TestOrder.class, Conditions.and(Conditions.eq("tenantId", "t2"), Conditions.eq("status", "open")))).isEqualTo(1);
+    }
+
+    @Test
+    public void testCompositeIndexRebuild() {
+        RLiveObjectService s = redisson.getLiveObjectService();
+        s.persist(new TestOrder("0", "t1", "open", 0));
+        s.persist(new TestOrder("1", "t1", "closed", 10));
+        s.persist(new TestOrder("2", "t2", "open", 20));
+
+        // objects persisted before the index was defined
+        redisson.getKeys().deleteByPattern("redisson_live_object_index:*");
+
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            s.find(TestOrder.class, Conditions.eq("tenantId", "t1"));
+        });
+
+        s.rebuildIndexes(TestOrder.class);
+        assertThat(s.find(TestOrder.class, Conditions.eq("tenantId", "t1")))
+                .extracting(TestOrder::getId).containsExactlyInAnyOrder("0", "1");
+        assertThat(s.find(TestOrder.class, Conditions.and(Conditions.eq("tenantId", "t2"), Conditions.eq("status", "open"))))
+                .extracting(TestOrder::getId).containsExactly("2");
+
+        TestOrder order = s.get(TestOrder.class, "2");
+        order.setTenantId("t1");
+        order.setStatus(null);
+        assertThat(s.find(TestOrder.class, Conditions.eq("tenantId", "t1")))
+                .extracting(TestOrder::getId).containsExactlyInAnyOrder("0", "1", "2");
+        assertThat(s.count(TestOrder.class, Conditions.eq("tenantId", "t2"))).isZero();
+    }
+
     @Test
     public void testCountEq() {
         RLiveObjectService s = redisson.getLiveObjectService();
@@ -894,6 +1076,69 @@ public class RedissonLiveObjectServiceTest extends BaseTest {
         assertThat(redisson.getMap(scheme.getName(TestREntity.class, "3333")).get("myClass")).isNull();
     }
 
+    @Test
+    public void testGetByIds() {
+        RLiveObjectService s = redisson.getLiveObjectService();
+        s.persist(new TestREntity("1", "value1"), new TestREntity("2", "value2"));
+
+        List<TestREntity> objects = s.get(TestREntity.class, Arrays.asList("1", "3", "2"));
+        assertThat(objects).extracting(TestREntity::getName).containsExactly("1", "2");
+        assertThat(objects).extracting(TestREntity::getValue).containsExactly("value1", "value2");
+
+        DefaultNamingScheme scheme = new DefaultNamingScheme(redisson.getConfig().getCodec());
+        RMap<String, Object> map = redisson.getMap(scheme.getName(TestREntity.class, "1"));
+        map.put("value", "changed");
+        assertThat(objects.get(0).getValue()).isEqualTo("value1");
+
+        objects.get(0).setValue("value3");
+        assertThat(objects.get(0).getValue()).isEqualTo("value3");
+        assertThat(map.get("value")).isEqualTo("value3");
+    }
+
+    @Test
+    public void testGetByIdsIndexedFieldSetToNull() {
+        RLiveObjectService s = redisson.getLiveObjectService();
+        TestIndexed ti = new TestIndexed("1");
+        ti.setName1("test1");
+        s.persist(ti);
+
+        TestIndexed ti1 = s.get(TestIndexed.class, Collections.singletonList("1")).get(0);
+        assertThat(ti1.getName1()).isEqualTo("test1");
+        ti1.setName1(null);
+        assertThat(ti1.getName1()).isNull();
+        assertThat(s.get(TestIndexed.class, "1").getName1()).isNull();
+        assertThat(s.find(TestIndexed.class, Conditions.eq("name1", "test1"))).isEmpty();
+
+        ti1.setName1("test2");
+        assertThat(ti1.getName1()).isEqualTo("test2");
+        assertThat(s.find(TestIndexed.class, Conditions.eq("name1", "test2"))).hasSize(1);
+    }
+
+    @Test
+    public void testBufferedWrites() {
+        RLiveObjectService s = redisson.getLiveObjectService();
+        s.persist(new TestREntity("1", "value1"));
+
+        TestREntity t1 = s.get(TestREntity.class, Collections.singletonList("1"), true).get(0);
+        t1.setValue("value2");
+        assertThat(t1.getValue()).isEqualTo("value2");
+
+        TestREntity t2 = s.get(TestREntity.class, "1");
+        assertThat(t2.getValue()).isEqualTo("value1");
+
+        s.flush(t1);
+        assertThat(t2.getValue()).isEqualTo("value2");
+
+        TestIndexed ti = new TestIndexed("1");
+        ti.setName1("test1");
+        s.persist(ti);
+
+        TestIndexed ti1 = s.get(TestIndexed.class, Collections.singletonList("1"), true).get(0);
+        ti1.setName1("test2");
+        assertThat(s.get(TestIndexed.class, "1").getName1()).isEqualTo("test2");
+        assertThat(s.find(TestIndexed.class, Conditions.eq("name1", "test2"))).hasSize(1);
+    }
+
     @Test
     public void testBasics() {
         RLiveObjectService s = redisson.getLiveObjectService();
@@ -26,12 +26,14 @@ import org.redisson.codec.JsonJacksonCodec;
 import org.redisson.codec.TypedJsonJacksonCodec;
 import org.redisson.config.Config;
 
+import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 public class RedissonLocalCachedMapTest extends BaseMapTest {
 
@@ -112,6 +114,35 @@ public class RedissonLocalCachedMapTest extends BaseMapTest {
         assertThat(cachedMap.containsKey("a")).isFalse();
     }
 
+    @Test
+    public void testSnapshot() throws IOException {
+        File file = File.createTempFile("redisson-snapshot", ".bin");
+        file.delete();
+
+        LocalCachedMapOptions<String, String> options = LocalCachedMapOptions.<String, String>defaults()
+                .reconnectionStrategy(ReconnectionStrategy.LOAD)
+                .snapshotPath(file.getAbsolutePath());
+
+        RLocalCachedMap<String, String> map1 = redisson.getLocalCachedMap("test", options);
+        map1.put("1", "11");
+        map1.put("2", "22");
+        map1.put("3", "33");
+        map1.destroy();
+        assertThat(file).exists();
+
+        RLocalCachedMap<String, String> map = redisson.getLocalCachedMap("test", LocalCachedMapOptions.<String, String>defaults()
+                .reconnectionStrategy(ReconnectionStrategy.LOAD));
+        map.put("2", "23");
+        map.destroy();
+
+        RLocalCachedMap<String, String> map2 = redisson.getLocalCachedMap("test", options);
+        assertThat(map2.getCachedMap()).containsOnly(entry("1", "11"), entry("3", "33"));
+        assertThat(map2.get("2")).isEqualTo("23");
+        map2.destroy();
+
+        file.delete();
+    }
+
     @Test
     public void testPutAfterDelete() {
         RMap<String, String> map = redisson.getLocalCachedMap("test", LocalCachedMapOptions.defaults());
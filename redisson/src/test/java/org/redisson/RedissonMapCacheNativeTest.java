@@ -0,0 +1,98 @@
+package org.redisson;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RMapCacheNative;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RedissonMapCacheNativeTest extends BaseTest {
+
+    @BeforeEach
+    public void checkVersion() {
+        Assumptions.assumeTrue(RedisRunner.getDefaultRedisServerInstance().getRedisVersion().compareTo("7.4.0") >= 0);
+    }
+
+    private <K, V> RMapCacheNative<K, V> getMap(String name) {
+        return redisson.getMapCacheNative(name);
+    }
+
+    @Test
+    public void testPutTTL() throws InterruptedException {
+        RMapCacheNative<String, String> map = getMap("test");
+        assertThat(map).isInstanceOf(RedissonMapCacheNative.class);
+
+        assertThat(map.put("1", "11", Duration.ofSeconds(1))).isNull();
+        assertThat(map.put("1", "12", Duration.ofSeconds(1))).isEqualTo("11");
+        assertThat(map.fastPut("2", "22", Duration.ofSeconds(1))).isTrue();
+        assertThat(map.putIfAbsent("2", "23", Duration.ofSeconds(1))).isEqualTo("22");
+        assertThat(map.fastPutIfAbsent("3", "33", Duration.ofSeconds(1))).isTrue();
+        map.put("4", "44");
+
+        assertThat(map.get("1")).isEqualTo("12");
+        assertThat(map.remainTimeToLive("1")).isBetween(1L, 1000L);
+        assertThat(map.remainTimeToLive("4")).isEqualTo(-1);
+        assertThat(map.remainTimeToLive("5")).isEqualTo(-2);
+
+        Thread.sleep(1100);
+
+        assertThat(map.get("1")).isNull();
+        assertThat(map.get("2")).isNull();
+        assertThat(map.get("3")).isNull();
+        assertThat(map.get("4")).isEqualTo("44");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testPutAllTTL() throws InterruptedException {
+        RMapCacheNative<String, String> map = getMap("test");
+        Map<String, String> entries = new HashMap<>();
+        entries.put("1", "11");
+        entries.put("2", "22");
+        map.putAll(entries, Duration.ofSeconds(1));
+        assertThat(map.readAllMap()).isEqualTo(entries);
+
+        Thread.sleep(1100);
+
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testExpireEntry() throws InterruptedException {
+        RMapCacheNative<String, String> map = getMap("test");
+        map.put("1", "11");
+        map.put("2", "22", Duration.ofSeconds(10));
+
+        assertThat(map.expireEntry("1", Duration.ofSeconds(1))).isTrue();
+        assertThat(map.expireEntry("3", Duration.ofSeconds(1))).isFalse();
+        assertThat(map.expireEntryIfNotSet("2", Duration.ofSeconds(1))).isFalse();
+        assertThat(map.expireEntries(Collections.singleton("2"), Duration.ZERO)).isEqualTo(1);
+        assertThat(map.remainTimeToLive("2")).isEqualTo(-1);
+
+        Thread.sleep(1100);
+
+        assertThat(map.containsKey("1")).isFalse();
+        assertThat(map.get("2")).isEqualTo("22");
+    }
+
+    @Test
+    public void testSizeInMemory() {
+        RMapCacheNative<Integer, String> nativeMap = getMap("native");
+        RMapCache<Integer, String> map = redisson.getMapCache("scripted");
+        for (int i = 0; i < 1000; i++) {
+            nativeMap.fastPut(i, "value" + i, Duration.ofMinutes(1));
+            map.fastPut(i, "value" + i, 1, TimeUnit.MINUTES);
+        }
+
+        assertThat(nativeMap.sizeInMemory()).isLessThan(map.sizeInMemory());
+    }
+
+}
@@ -5,10 +5,12 @@ import static org.awaitility.Awaitility.await;
 
 import java.time.Duration;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ExecutionException;
@@ -62,6 +64,33 @@ public class RedissonMapCacheTest extends BaseMapTest {
         redisson.shutdown();
     }
 
+    @Test
+    public void testConsolidatedCleanUp() throws InterruptedException {
+        Config config = createConfig();
+        config.setMaxCleanUpDelay(2);
+        config.setMinCleanUpDelay(1);
+        config.setConsolidatedCleanUp(true);
+        RedissonClient redisson = Redisson.create(config);
+
+        List<RMapCache<Integer, Integer>> maps = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            RMapCache<Integer, Integer> map = redisson.getMapCache("simple" + i);
+            map.fastPut(1, 1, 1, TimeUnit.SECONDS);
+            map.fastPut(2, 2);
+            maps.add(map);
+        }
+
+        Thread.sleep(5000);
+
+        for (RMapCache<Integer, Integer> map : maps) {
+            assertThat(redisson.getKeys().countExists(map.getName())).isEqualTo(1);
+            assertThat(map.readAllMap()).containsOnlyKeys(2);
+        }
+        assertThat(redisson.getScoredSortedSet("redisson__timeout__set:{simple0}").size()).isZero();
+
+        redisson.shutdown();
+    }
+
     @Test
     public void testFastPutExpiration() throws Exception {
         RMapCache<String, Object> mapCache = redisson.getMapCache("testFastPutExpiration");
@@ -45,6 +45,15 @@ public class RedissonMapReduceTest extends BaseTest {
         
     }
 
+    public static class WordCombiner implements RCombiner<String, Integer> {
+
+        @Override
+        public Integer combine(String key, Integer previousValue, Integer value) {
+            return previousValue + value;
+        }
+
+    }
+
     public static class WordCollator implements RCollator<String, Integer, Integer> {
 
         @Override
@@ -229,6 +238,24 @@ public class RedissonMapReduceTest extends BaseTest {
         
     }
 
+    @ParameterizedTest
+    @MethodSource("mapClasses")
+    public void testCombiner(Class<?> mapClass) {
+        RMap<String, String> map = getMap(mapClass);
+        for (int i = 0; i < 100; i++) {
+            map.put("" + i, "Alice was beginning to get very tired of sitting by her sister");
+        }
+
+        RMapReduce<String, String, String, Integer> mapReduce = map.<String, Integer>mapReduce()
+                                                                        .mapper(new WordMapper())
+                                                                        .combiner(new WordCombiner())
+                                                                        .reducer(new WordReducer());
+        Map<String, Integer> result = mapReduce.execute();
+        assertThat(result).hasSize(12);
+        assertThat(result.values()).containsOnly(100);
+        assertThat(mapReduce.execute(new WordCollator())).isEqualTo(1200);
+    }
+
     @ParameterizedTest
     @MethodSource("mapClasses")
     public void testCollatorTimeout(Class<?> mapClass) {
@@ -3,11 +3,17 @@ package org.redisson;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
 import org.redisson.api.RReliableTopic;
+import org.redisson.api.RStream;
+import org.redisson.api.StreamMessageId;
 import org.redisson.api.RedissonClient;
 import org.redisson.api.listener.MessageListener;
+import org.redisson.api.stream.StreamCreateGroupArgs;
+import org.redisson.api.stream.StreamReadGroupArgs;
+import org.redisson.client.codec.StringCodec;
 import org.redisson.config.Config;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.concurrent.*;
@@ -57,6 +63,42 @@ public class RedissonReliableTopicTest extends BaseTest {
         rt.removeAllListeners();
     }
 
+    @Test
+    public void testBatchParallelListeners() throws InterruptedException {
+        Config config = createConfig();
+        config.setReliableTopicBatchSize(10);
+        config.setReliableTopicParallelListeners(true);
+        RedissonClient r = Redisson.create(config);
+
+        RReliableTopic rt = r.getReliableTopic("test1");
+        Queue<Integer> messages1 = new ConcurrentLinkedQueue<>();
+        rt.addListener(Integer.class, (ch, m) -> {
+            messages1.add(m);
+        });
+        Queue<Integer> messages2 = new ConcurrentLinkedQueue<>();
+        rt.addListener(Integer.class, (ch, m) -> {
+            messages2.add(m);
+        });
+        RReliableTopic rt2 = r.getReliableTopic("test1");
+        AtomicInteger counter = new AtomicInteger();
+        rt2.addListener(Integer.class, (ch, m) -> {
+            counter.incrementAndGet();
+        });
+
+        for (int i = 0; i < 95; i++) {
+            rt.publish(i);
+        }
+
+        Awaitility.waitAtMost(Duration.ofSeconds(2)).until(() -> counter.get() == 95
+                                                                    && messages1.size() == 95
+                                                                    && messages2.size() == 95);
+        assertThat(new ArrayList<>(messages1)).isSorted();
+        assertThat(new ArrayList<>(messages2)).isSorted();
+        Awaitility.waitAtMost(Duration.ofSeconds(1)).until(() -> rt.size() == 0);
+
+        r.shutdown();
+    }
+
     @Test
     public void testRemoveExpiredSubscribers() throws InterruptedException {
         RReliableTopic rt = redisson.getReliableTopic("test1");
@@ -114,6 +156,27 @@ public class RedissonReliableTopicTest extends BaseTest {
         assertThat(rt.size()).isEqualTo(0);
     }
 
+    @Test
+    public void testAutoTrimKeepsUnconsumedGroup() throws InterruptedException {
+        RStream<String, String> stream = redisson.getStream("test3", StringCodec.INSTANCE);
+        stream.createGroup(StreamCreateGroupArgs.name("external").id(StreamMessageId.ALL).makeStream());
+
+        RReliableTopic rt = redisson.getReliableTopic("test3");
+        AtomicInteger counter = new AtomicInteger();
+        rt.addListener(Integer.class, (ch, m) -> {
+            counter.incrementAndGet();
+        });
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(rt.publish(i)).isEqualTo(2);
+        }
+
+        Awaitility.waitAtMost(Duration.ofSeconds(2)).until(() -> counter.get() == 10);
+        Thread.sleep(500);
+        assertThat(rt.size()).isEqualTo(10);
+        assertThat(stream.readGroup("external", "consumer", StreamReadGroupArgs.neverDelivered())).hasSize(10);
+    }
+
     @Test
     public void testListenerOldMessages() throws InterruptedException {
         RReliableTopic rt = redisson.getReliableTopic("test2");
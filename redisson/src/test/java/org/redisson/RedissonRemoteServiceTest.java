@@ -19,6 +19,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 import org.redisson.api.RFuture;
 import org.redisson.api.RRemoteService;
@@ -26,6 +27,7 @@ import org.redisson.api.RedissonClient;
 import org.redisson.api.RedissonReactiveClient;
 import org.redisson.api.RedissonRxClient;
 import org.redisson.api.RemoteInvocationOptions;
+import org.redisson.api.RemoteWorkerOptions;
 import org.redisson.api.annotation.RRemoteAsync;
 import org.redisson.api.annotation.RRemoteReactive;
 import org.redisson.api.annotation.RRemoteRx;
@@ -285,6 +287,34 @@ public class RedissonRemoteServiceTest extends BaseTest {
         remoteService.deregister(RemoteInterface.class);
     }
 
+    @Test
+    public void testBatchedInvocations() throws InterruptedException, ExecutionException {
+        Assumptions.assumeTrue(RedisRunner.getDefaultRedisServerInstance().getRedisVersion().compareTo("7.0.0") >= 0);
+
+        RRemoteService remoteService = redisson.getRemoteService();
+        remoteService.register(RemoteInterface.class, new RemoteImpl(),
+                RemoteWorkerOptions.defaults()
+                        .workers(8)
+                        .batchSize(50)
+                        .batchDelay(5, TimeUnit.MILLISECONDS));
+        RemoteInterface service = redisson.getRemoteService().get(RemoteInterface.class);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            long value = i;
+            futures.add(executorService.submit(() -> service.resultMethod(value)));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertThat(futures.get(i).get()).isEqualTo(i * 2L);
+        }
+        assertThat(remoteService.getFreeWorkers(RemoteInterface.class)).isEqualTo(8);
+
+        executorService.shutdown();
+        remoteService.deregister(RemoteInterface.class);
+    }
+
     @Test
     public void testConcurrentInvocations() {
         ExecutorService executorService = Executors.newFixedThreadPool(2);
@@ -0,0 +1,265 @@
+package org.redisson;
+
+import org.junit.jupiter.api.Test;
+import org.redisson.ClusterRunner.ClusterProcesses;
+import org.redisson.api.MapOptions;
+import org.redisson.api.RShardedMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.map.MapLoader;
+import org.redisson.config.Config;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RedissonShardedMapTest extends BaseTest {
+
+    @Test
+    public void testPutGet() {
+        RShardedMap<Integer, String> map = redisson.getShardedMap("map", 8);
+        for (int i = 0; i < 100; i++) {
+            assertThat(map.put(i, "value" + i)).isNull();
+        }
+
+        assertThat(map.getShards()).isEqualTo(8);
+        assertThat(map.size()).isEqualTo(100);
+        assertThat(map.get(10)).isEqualTo("value10");
+        assertThat(map.containsKey(99)).isTrue();
+        assertThat(map.putIfAbsent(1, "value")).isEqualTo("value1");
+        assertThat(map.remove(1)).isEqualTo("value1");
+        assertThat(map.size()).isEqualTo(99);
+
+        // map data, shards and layout object
+        assertThat(redisson.getKeys().count()).isEqualTo(9);
+    }
+
+    @Test
+    public void testPutAllGetAll() {
+        RShardedMap<Integer, Integer> map = redisson.getShardedMap("map", 4);
+        Map<Integer, Integer> values = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            values.put(i, i * 10);
+        }
+        map.putAll(values);
+
+        assertThat(map.readAllMap()).isEqualTo(values);
+        assertThat(map.readAllKeySet()).isEqualTo(values.keySet());
+        assertThat(map.getAll(new HashSet<>(Arrays.asList(1, 2, 2000)))).containsOnly(
+                                                        org.assertj.core.api.Assertions.entry(1, 10),
+                                                        org.assertj.core.api.Assertions.entry(2, 20));
+        assertThat(map.fastRemove(1, 2, 2000)).isEqualTo(2);
+        assertThat(map.size()).isEqualTo(998);
+    }
+
+    @Test
+    public void testIterator() {
+        RShardedMap<Integer, Integer> map = redisson.getShardedMap("map", 4);
+        for (int i = 0; i < 500; i++) {
+            map.fastPut(i, i);
+        }
+
+        assertThat(new HashSet<>(map.keySet(50))).hasSize(500);
+        assertThat(map.values()).hasSize(500);
+        assertThat(map.entrySet()).hasSize(500);
+
+        map.keySet().removeIf(k -> k % 2 == 0);
+        assertThat(map.size()).isEqualTo(250);
+    }
+
+    @Test
+    public void testReshard() {
+        RShardedMap<Integer, Integer> map = redisson.getShardedMap("map", 4);
+        RShardedMap<Integer, Integer> map2 = redisson.getShardedMap("map", 4);
+        for (int i = 0; i < 1000; i++) {
+            map.fastPut(i, i);
+        }
+        assertThat(map2.get(10)).isEqualTo(10);
+
+        map.reshard(7);
+
+        assertThat(map.getShards()).isEqualTo(7);
+        assertThat(map.size()).isEqualTo(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(map.get(i)).isEqualTo(i);
+        }
+
+        map.reshard(2);
+        assertThat(map2.size()).isEqualTo(1000);
+        assertThat(map2.readAllKeySet()).hasSize(1000);
+
+        map.delete();
+        assertThat(map.isExists()).isFalse();
+        map.destroy();
+        map2.destroy();
+    }
+
+    @Test
+    public void testReshardWithConcurrentWriters() throws Exception {
+        RShardedMap<Integer, Integer> map = redisson.getShardedMap("map", 4);
+        for (int i = 0; i < 1000; i++) {
+            map.fastPut(i, i);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            int writer = w;
+            // each writer keeps layout loaded before resharding
+            RShardedMap<Integer, Integer> writerMap = redisson.getShardedMap("map", 4);
+            writerMap.get(0);
+            writers.add(executor.submit(() -> {
+                for (int i = writer; i < 1000; i += 4) {
+                    writerMap.fastPut(i, i * 10);
+                }
+                for (int i = 1000 + writer; i < 3000; i += 4) {
+                    writerMap.fastPut(i, i);
+                    if (i % 3 == 0) {
+                        writerMap.fastRemove(i);
+                    }
+                }
+            }));
+        }
+
+        map.reshard(7);
+        map.reshard(3);
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        executor.shutdown();
+
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.put(i, i * 10);
+        }
+        for (int i = 1000; i < 3000; i++) {
+            if (i % 3 != 0) {
+                expected.put(i, i);
+            }
+        }
+        assertThat(map.getShards()).isEqualTo(3);
+        assertThat(map.readAllMap()).isEqualTo(expected);
+        assertThat(map.size()).isEqualTo(expected.size());
+        assertThat(map.readAllKeySet()).hasSize(expected.size());
+    }
+
+    @Test
+    public void testReshardInCluster() throws Exception {
+        RedisRunner master1 = new RedisRunner().randomPort().randomDir().nosave();
+        RedisRunner master2 = new RedisRunner().randomPort().randomDir().nosave();
+        RedisRunner master3 = new RedisRunner().randomPort().randomDir().nosave();
+        RedisRunner slave1 = new RedisRunner().randomPort().randomDir().nosave();
+        RedisRunner slave2 = new RedisRunner().randomPort().randomDir().nosave();
+        RedisRunner slave3 = new RedisRunner().randomPort().randomDir().nosave();
+
+        ClusterRunner clusterRunner = new ClusterRunner()
+                .addNode(master1, slave1)
+                .addNode(master2, slave2)
+                .addNode(master3, slave3);
+        ClusterProcesses process = clusterRunner.run();
+
+        Config config = new Config();
+        config.useClusterServers()
+                .addNodeAddress(process.getNodes().stream().findAny().get().getRedisServerAddressAndPort());
+        RedissonClient redisson1 = Redisson.create(config);
+        RedissonClient redisson2 = Redisson.create(config);
+
+        RShardedMap<Integer, Integer> map1 = redisson1.getShardedMap("map", 3);
+        RShardedMap<Integer, Integer> map2 = redisson2.getShardedMap("map", 3);
+        for (int i = 0; i < 1000; i++) {
+            map1.fastPut(i, i);
+        }
+        assertThat(map2.getShards()).isEqualTo(3);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> writes = executor.submit(() -> {
+            for (int i = 0; i < 1000; i += 2) {
+                map2.fastRemove(i);
+            }
+            for (int i = 1000; i < 1500; i++) {
+                map2.fastPut(i, i);
+            }
+        });
+
+        map1.reshard(7);
+        writes.get();
+        executor.shutdown();
+
+        assertThat(map2.getShards()).isEqualTo(7);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 1; i < 1000; i += 2) {
+            expected.put(i, i);
+        }
+        for (int i = 1000; i < 1500; i++) {
+            expected.put(i, i);
+        }
+        assertThat(map2.readAllMap()).isEqualTo(expected);
+        assertThat(map1.readAllMap()).isEqualTo(expected);
+
+        map1.rename("map2");
+        assertThat(redisson2.getShardedMap("map2", 1).readAllMap()).isEqualTo(expected);
+        assertThat(map1.readAllMap()).isEqualTo(expected);
+
+        redisson1.shutdown();
+        redisson2.shutdown();
+        process.shutdown();
+    }
+
+    @Test
+    public void testDumpRestore() {
+        RShardedMap<Integer, Integer> map = redisson.getShardedMap("map", 4);
+        for (int i = 0; i < 100; i++) {
+            map.fastPut(i, i);
+        }
+
+        byte[] state = map.dump();
+        RShardedMap<Integer, Integer> map2 = redisson.getShardedMap("map2", 2);
+        map2.restore(state);
+        assertThat(map2.getShards()).isEqualTo(4);
+        assertThat(map2.readAllMap()).isEqualTo(map.readAllMap());
+
+        map.fastPut(1000, 1000);
+        map2.restoreAndReplace(map.dump());
+        assertThat(map2.get(1000)).isEqualTo(1000);
+    }
+
+    @Test
+    public void testRenamenx() {
+        RShardedMap<Integer, Integer> map = redisson.getShardedMap("map", 4);
+        map.fastPut(1, 1);
+        RShardedMap<Integer, Integer> map2 = redisson.getShardedMap("map2", 4);
+        map2.fastPut(2, 2);
+
+        assertThat(map.renamenx("map2")).isFalse();
+        assertThat(map.renamenx("map3")).isTrue();
+        assertThat(map.getName()).isEqualTo("map3");
+        assertThat(map.get(1)).isEqualTo(1);
+        assertThat(redisson.getShardedMap("map", 4).isExists()).isFalse();
+    }
+
+    @Test
+    public void testLoadAll() {
+        Map<Integer, Integer> source = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            source.put(i, i * 10);
+        }
+        MapOptions<Integer, Integer> options = MapOptions.<Integer, Integer>defaults().loader(new MapLoader<Integer, Integer>() {
+            @Override
+            public Integer load(Integer key) {
+                return source.get(key);
+            }
+
+            @Override
+            public Iterable<Integer> loadAllKeys() {
+                return source.keySet();
+            }
+        });
+
+        RShardedMap<Integer, Integer> map = redisson.getShardedMap("map", 4, options);
+        map.loadAll(false, 10);
+        assertThat(map.readAllMap()).isEqualTo(source);
+    }
+
+}
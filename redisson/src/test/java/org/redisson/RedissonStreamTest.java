@@ -10,6 +10,7 @@ import org.redisson.client.RedisException;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,6 +33,41 @@ public class RedissonStreamTest extends BaseTest {
         assertThat(result).hasSize(1);
     }
 
+    @Test
+    public void testConsumer() throws InterruptedException {
+        RStream<String, String> stream = redisson.getStream("test");
+        for (int i = 0; i < 1000; i++) {
+            stream.add(StreamAddArgs.entry("key", "value" + i));
+        }
+
+        stream.createGroup(StreamCreateGroupArgs.name("testGroup").id(StreamMessageId.ALL));
+        Map<StreamMessageId, Map<String, String>> stale = stream.readGroup("testGroup", "deadConsumer",
+                                                                    StreamReadGroupArgs.neverDelivered().count(10));
+        assertThat(stale).hasSize(10);
+
+        Set<String> values = ConcurrentHashMap.newKeySet();
+        RStreamConsumer consumer = stream.createConsumer(StreamConsumerOptions.<String, String>group("testGroup", (id, msg) -> {
+            values.add(msg.get("key"));
+        }).batchSize(50).readsInFlight(2).workers(4).ackBatchSize(20)
+                .claimInterval(Duration.ofMillis(300))
+                .claimMinIdleTime(Duration.ofMillis(100)));
+        consumer.start();
+        assertThat(consumer.isRunning()).isTrue();
+
+        Awaitility.waitAtMost(Duration.ofSeconds(5)).until(() -> values.size() == 1000);
+        consumer.stop();
+        assertThat(consumer.isRunning()).isFalse();
+
+        StreamConsumerMetrics metrics = consumer.getMetrics();
+        assertThat(metrics.getReceived()).isEqualTo(990);
+        // stale messages become claimable only after idle time, so timing defines the exact amount
+        assertThat(metrics.getClaimed()).isGreaterThanOrEqualTo(10);
+        assertThat(metrics.getProcessed()).isGreaterThanOrEqualTo(1000);
+        assertThat(metrics.getAcknowledged()).isEqualTo(1000);
+        assertThat(metrics.getInFlight()).isZero();
+        assertThat(metrics.getPending()).isZero();
+    }
+
     @Test
     public void testAutoClaim() {
         RStream<String, String> stream = redisson.getStream("test");
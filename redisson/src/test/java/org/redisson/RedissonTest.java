@@ -102,6 +102,41 @@ public class RedissonTest extends BaseTest {
         inst.shutdown();
     }
 
+    @Test
+    public void testResponseTimeout() {
+        Config config = new Config();
+        config.useSingleServer()
+                .setTimeout(300)
+                .setRetryAttempts(0)
+                .setConnectionPoolSize(1)
+                .setConnectionMinimumIdleSize(1)
+                .setPingConnectionInterval(0)
+                .setAddress(RedisRunner.getDefaultRedisServerBindAddressAndPort());
+
+        RedissonClient redisson = Redisson.create(config);
+
+        RBucket<String> bucket = redisson.getBucket("test");
+        bucket.set("value");
+
+        long startTime = System.currentTimeMillis();
+        RFuture<Object> f = redisson.getScript(StringCodec.INSTANCE).evalAsync(RScript.Mode.READ_ONLY,
+                "for i = 1, 200000000 do end; return 1;", RScript.ReturnType.INTEGER);
+        Assertions.assertThrows(RedisResponseTimeoutException.class, () -> {
+            try {
+                f.toCompletableFuture().join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        });
+        assertThat(System.currentTimeMillis() - startTime).isBetween(250L, 1500L);
+
+        await().atMost(Duration.ofSeconds(10)).ignoreExceptions().untilAsserted(() -> {
+            assertThat(bucket.get()).isEqualTo("value");
+        });
+
+        redisson.shutdown();
+    }
+
     @Test
     public void testResponseHandling2() throws InterruptedException {
         Config config = new Config();
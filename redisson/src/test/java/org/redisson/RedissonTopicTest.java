@@ -729,6 +729,43 @@ public class RedissonTopicTest {
         redisson2.shutdown();
     }
 
+    @Test
+    public void testDeferredDecoding() throws InterruptedException {
+        Config config = BaseTest.createConfig();
+        config.setDeferredPubSubDecoding(true);
+        RedissonClient redisson1 = Redisson.create(config);
+
+        List<Message> batchMessages = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger batches = new AtomicInteger();
+        RTopic topic1 = redisson1.getTopic("topic");
+        topic1.addListener(Message.class, (BatchMessageListener<Message>) (channel, msgs) -> {
+            assertThat(channel.toString()).isEqualTo("topic");
+            batches.incrementAndGet();
+            batchMessages.addAll(msgs);
+        });
+        List<Message> messages = Collections.synchronizedList(new ArrayList<>());
+        topic1.addListener(Message.class, (channel, msg) -> {
+            messages.add(msg);
+        });
+
+        RedissonClient redisson2 = BaseTest.createInstance();
+        RTopic topic2 = redisson2.getTopic("topic");
+        List<Message> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Message m = new Message("" + i);
+            expected.add(m);
+            topic2.publishAsync(m);
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> messages.size() == 1000 && batchMessages.size() == 1000);
+        assertThat(messages).containsExactlyElementsOf(expected);
+        assertThat(batchMessages).containsExactlyElementsOf(expected);
+        assertThat(batches.get()).isLessThanOrEqualTo(1000);
+
+        redisson1.shutdown();
+        redisson2.shutdown();
+    }
+
     @Test
     public void testHeavyLoad() throws InterruptedException {
         final CountDownLatch messageRecieved = new CountDownLatch(1000);
@@ -836,6 +873,149 @@ public class RedissonTopicTest {
         runner.stop();
     }
 
+    @Test
+    public void testPublishAll() {
+        RTopic topic = redisson.getTopic("topic");
+        List<Integer> messages = Collections.synchronizedList(new ArrayList<>());
+        topic.addListener(Integer.class, (channel, msg) -> {
+            messages.add(msg);
+        });
+
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(i);
+        }
+        assertThat(topic.publishAll(values)).isEqualTo(1000);
+        assertThat(topic.publishAll(Collections.emptyList())).isZero();
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> messages.size() == 1000);
+        assertThat(messages).containsExactlyElementsOf(values);
+    }
+
+    @Test
+    public void testPublishLinger() {
+        Config config = createConfig();
+        config.setPublishLingerTime(5);
+        RedissonClient redisson = Redisson.create(config);
+
+        RTopic topic = redisson.getTopic("topic");
+        List<Integer> messages = Collections.synchronizedList(new ArrayList<>());
+        topic.addListener(Integer.class, (channel, msg) -> {
+            messages.add(msg);
+        });
+
+        List<RFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            futures.add(topic.publishAsync(i));
+        }
+        for (RFuture<Long> future : futures) {
+            assertThat(future.toCompletableFuture().join()).isEqualTo(1);
+        }
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> messages.size() == 5000);
+        assertThat(messages).isSorted();
+
+        redisson.shutdown();
+    }
+
+    @Test
+    public void testReattachManyChannels() throws Exception {
+        RedisProcess runner = new RedisRunner()
+                .nosave()
+                .randomDir()
+                .randomPort()
+                .run();
+
+        Config config = new Config();
+        config.useSingleServer()
+                .setSubscriptionsPerConnection(1000)
+                .setAddress(runner.getRedisServerAddressAndPort());
+        RedissonClient redisson = Redisson.create(config);
+
+        int channels = 2000;
+        AtomicInteger received = new AtomicInteger();
+        for (int i = 0; i < channels; i++) {
+            redisson.getTopic("topic" + i).addListener(Integer.class, (channel, msg) -> {
+                received.incrementAndGet();
+            });
+        }
+
+        runner.stop();
+
+        runner = new RedisRunner()
+                .port(runner.getRedisServerPort())
+                .nosave()
+                .randomDir()
+                .run();
+
+        Thread.sleep(1500);
+
+        for (int i = 0; i < channels; i++) {
+            redisson.getTopic("topic" + i).publish(1);
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> received.get() == channels);
+
+        redisson.shutdown();
+        runner.stop();
+    }
+
+    @Test
+    public void testUnsubscribeDuringReattach() throws Exception {
+        RedisProcess runner = new RedisRunner()
+                .nosave()
+                .randomDir()
+                .randomPort()
+                .run();
+
+        Config config = new Config();
+        config.useSingleServer()
+                .setSubscriptionsPerConnection(1000)
+                .setAddress(runner.getRedisServerAddressAndPort());
+        RedissonClient redisson = Redisson.create(config);
+
+        int channels = 2000;
+        AtomicInteger received = new AtomicInteger();
+        for (int i = 0; i < channels; i++) {
+            redisson.getTopic("topic" + i).addListener(Integer.class, (channel, msg) -> {
+                received.incrementAndGet();
+            });
+        }
+
+        runner.stop();
+
+        runner = new RedisRunner()
+                .port(runner.getRedisServerPort())
+                .nosave()
+                .randomDir()
+                .run();
+
+        // unsubscribed while channels are resubscribed in batches
+        List<RFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < channels; i += 2) {
+            futures.add(redisson.getTopic("topic" + i).removeAllListenersAsync());
+        }
+        for (RFuture<Void> future : futures) {
+            future.toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+
+        Thread.sleep(1500);
+
+        for (int i = 0; i < channels; i++) {
+            assertThat(redisson.getTopic("topic" + i).countSubscribers()).isEqualTo(i % 2);
+        }
+        for (int i = 0; i < channels; i++) {
+            redisson.getTopic("topic" + i).publish(1);
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> received.get() == channels / 2);
+        Thread.sleep(500);
+        assertThat(received.get()).isEqualTo(channels / 2);
+
+        redisson.shutdown();
+        runner.stop();
+    }
+
     @Test
     public void testAddListenerFailover() throws Exception {
         RedisProcess runner = new RedisRunner()
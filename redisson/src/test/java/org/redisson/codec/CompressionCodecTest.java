@@ -0,0 +1,103 @@
+package org.redisson.codec;
+
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.Test;
+import org.redisson.client.codec.Codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressionCodecTest {
+
+    private Map<String, Object> document(int id) {
+        Map<String, Object> document = new HashMap<>();
+        document.put("id", id);
+        document.put("type", "order");
+        document.put("status", id % 2 == 0 ? "CREATED" : "DELIVERED");
+        document.put("customer", "customer-" + id % 100);
+        String description = "Order of the product with standard delivery to the customer address";
+        document.put("description", description);
+        document.put("notes", description + ". " + description);
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add("item-" + (id + i));
+        }
+        document.put("items", items);
+        return document;
+    }
+
+    private Object roundTrip(Codec codec, Object value, byte expectedHeader) throws IOException {
+        ByteBuf buf = codec.getValueEncoder().encode(value);
+        try {
+            assertThat(buf.getByte(buf.readerIndex())).isEqualTo(expectedHeader);
+            return codec.getValueDecoder().decode(buf, null);
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    public void testAlgorithms() throws IOException {
+        Map<String, Object> document = document(1);
+        Codec lz4 = new CompressionCodec(new JsonJacksonCodec(), CompressionCodec.Algorithm.LZ4, 64);
+        assertThat(roundTrip(lz4, document, CompressionCodec.LZ4_HEADER)).isEqualTo(document);
+
+        Codec snappy = new CompressionCodec(new JsonJacksonCodec(), CompressionCodec.Algorithm.SNAPPY, 64);
+        assertThat(roundTrip(snappy, document, CompressionCodec.SNAPPY_HEADER)).isEqualTo(document);
+
+        Codec zstd = new CompressionCodec(new JsonJacksonCodec(), CompressionCodec.Algorithm.ZSTD, 64);
+        assertThat(roundTrip(zstd, document, CompressionCodec.ZSTD_HEADER)).isEqualTo(document);
+
+        // decoding doesn't depend on configured algorithm
+        ByteBuf buf = lz4.getValueEncoder().encode(document);
+        assertThat(zstd.getValueDecoder().decode(buf, null)).isEqualTo(document);
+        buf.release();
+    }
+
+    @Test
+    public void testThreshold() throws IOException {
+        Codec codec = new CompressionCodec(new JsonJacksonCodec(), CompressionCodec.Algorithm.LZ4, 1024);
+        Map<String, Object> document = document(1);
+        assertThat(roundTrip(codec, document, CompressionCodec.RAW_HEADER)).isEqualTo(document);
+        assertThat(roundTrip(codec, "small", CompressionCodec.RAW_HEADER)).isEqualTo("small");
+    }
+
+    @Test
+    public void testUncompressedValues() throws IOException {
+        JsonJacksonCodec innerCodec = new JsonJacksonCodec();
+        Codec codec = new CompressionCodec(innerCodec, CompressionCodec.Algorithm.LZ4, 64);
+        Map<String, Object> document = document(1);
+
+        ByteBuf buf = innerCodec.getValueEncoder().encode(document);
+        assertThat(codec.getValueDecoder().decode(buf, null)).isEqualTo(document);
+        buf.release();
+    }
+
+    @Test
+    public void testDictionary() throws IOException {
+        JsonJacksonCodec innerCodec = new JsonJacksonCodec();
+        List<Object> samples = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            samples.add(document(i));
+        }
+
+        byte[] dictionary = new CompressionCodec(innerCodec).trainDictionary(samples, 4 * 1024);
+        Codec codec = new CompressionCodec(innerCodec, 64, dictionary);
+        Codec plain = new CompressionCodec(innerCodec, CompressionCodec.Algorithm.ZSTD, 64);
+
+        Map<String, Object> document = document(5000);
+        assertThat(roundTrip(codec, document, CompressionCodec.ZSTD_DICTIONARY_HEADER)).isEqualTo(document);
+
+        ByteBuf withDictionary = codec.getValueEncoder().encode(document);
+        ByteBuf withoutDictionary = plain.getValueEncoder().encode(document);
+        assertThat(withDictionary.readableBytes()).isLessThan(withoutDictionary.readableBytes());
+        withDictionary.release();
+        withoutDictionary.release();
+    }
+
+}
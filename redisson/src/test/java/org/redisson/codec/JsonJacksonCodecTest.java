@@ -7,9 +7,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class JsonJacksonCodecTest {
 
     static class Bean1599 {
@@ -50,4 +57,31 @@ public class JsonJacksonCodecTest {
         Assertions.assertFalse(objectMapper.getDeserializationConfig().isEnabled(DeserializationFeature.UNWRAP_ROOT_VALUE));
         Assertions.assertFalse(codec.getObjectMapper().getDeserializationConfig().isEnabled(DeserializationFeature.UNWRAP_ROOT_VALUE));
     }
+
+    @Test
+    public void testDecodeBuffers() throws IOException {
+        JsonJacksonCodec codec = new JsonJacksonCodec();
+        List<String> value = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            value.add("value" + i);
+        }
+
+        ByteBuf encoded = codec.getValueEncoder().encode(value);
+        ByteBuf direct = Unpooled.directBuffer().writeBytes(encoded, encoded.readerIndex(), encoded.readableBytes());
+        ByteBuf heap = Unpooled.buffer().writeZero(3).writeBytes(encoded, encoded.readerIndex(), encoded.readableBytes());
+        heap.skipBytes(3);
+
+        assertThat(codec.getValueDecoder().decode(direct, null)).isEqualTo(value);
+        assertThat(codec.getValueDecoder().decode(heap.slice(), null)).isEqualTo(value);
+        assertThat(direct.isReadable()).isFalse();
+
+        ByteBuf next = codec.getValueEncoder().encode(value);
+        assertThat(next.capacity()).isGreaterThanOrEqualTo(encoded.readableBytes());
+
+        encoded.release();
+        next.release();
+        direct.release();
+        heap.release();
+    }
+
 }
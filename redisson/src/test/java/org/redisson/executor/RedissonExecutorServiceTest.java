@@ -5,15 +5,19 @@ import static org.awaitility.Awaitility.await;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.lang.reflect.Field;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.redisson.*;
@@ -21,6 +25,7 @@ import org.redisson.api.*;
 import org.redisson.api.annotation.RInject;
 import org.redisson.api.executor.TaskFinishedListener;
 import org.redisson.api.executor.TaskStartedListener;
+import org.redisson.client.codec.ByteArrayCodec;
 import org.redisson.config.Config;
 import org.redisson.config.RedissonNodeConfig;
 import org.redisson.connection.balancer.RandomLoadBalancer;
@@ -90,6 +95,59 @@ public class RedissonExecutorServiceTest extends BaseTest {
         assertThat(redisson.getKeys().count()).isZero();
     }
     
+    @Test
+    public void testClassRegistry() throws Exception {
+        RExecutorService e = redisson.getExecutorService("test", ExecutorOptions.defaults().classRegistry(true));
+        assertThat(e.submit(new IncrementCallableTask("myCounter")).get(5, TimeUnit.SECONDS)).isEqualTo("1234");
+
+        RMap<String, byte[]> classes = redisson.getMap("{test:" + RemoteExecutorService.class.getName() + "}:classes",
+                                                        ByteArrayCodec.INSTANCE);
+        await().atMost(Duration.ofSeconds(1)).until(() -> classes.size() == 1);
+
+        // force worker to load bytecode from registry
+        clearCodecs();
+        for (int i = 0; i < 20; i++) {
+            assertThat(e.submit(new IncrementCallableTask("myCounter")).get(5, TimeUnit.SECONDS)).isEqualTo("1234");
+        }
+        assertThat(redisson.getAtomicLong("myCounter").get()).isEqualTo(21);
+        assertThat(classes.size()).isEqualTo(1);
+
+        // registry is lost
+        classes.delete();
+        clearCodecs();
+        assertThat(e.submit(new IncrementCallableTask("myCounter")).get(5, TimeUnit.SECONDS)).isEqualTo("1234");
+        assertThat(classes.size()).isEqualTo(1);
+
+        clearCodecs();
+        assertThat(e.submit(new IncrementCallableTask("myCounter")).get(5, TimeUnit.SECONDS)).isEqualTo("1234");
+        assertThat(redisson.getAtomicLong("myCounter").get()).isEqualTo(23);
+    }
+
+    private void clearCodecs() throws ReflectiveOperationException {
+        Field field = TasksRunnerService.class.getDeclaredField("CODECS");
+        field.setAccessible(true);
+        ((Map<?, ?>) field.get(null)).clear();
+    }
+
+    @Test
+    public void testPrefetch() throws InterruptedException, ExecutionException, TimeoutException {
+        Assumptions.assumeTrue(RedisRunner.getDefaultRedisServerInstance().getRedisVersion().compareTo("7.0.0") >= 0);
+
+        RExecutorService e = redisson.getExecutorService("prefetch");
+        e.registerWorkers(WorkerOptions.defaults().workers(50).prefetch(10));
+
+        List<RExecutorFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(e.submit(new IncrementCallableTask("myCounter")));
+        }
+        for (RExecutorFuture<String> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("1234");
+        }
+        assertThat(redisson.getAtomicLong("myCounter").get()).isEqualTo(200);
+
+        e.shutdown();
+    }
+
     @Test
     public void testBatchSubmitCallable() throws InterruptedException, ExecutionException, TimeoutException {
         RExecutorService e = redisson.getExecutorService("test");
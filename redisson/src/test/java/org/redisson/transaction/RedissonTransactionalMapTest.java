@@ -1,7 +1,14 @@
 package org.redisson.transaction;
 
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.redisson.api.RMap;
 import org.redisson.api.RTransaction;
+import org.redisson.api.TransactionOptions;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class RedissonTransactionalMapTest extends RedissonBaseTransactionalMapTest {
 
@@ -15,5 +22,99 @@ public class RedissonTransactionalMapTest extends RedissonBaseTransactionalMapTe
         return transaction.getMap("test");
     }
 
-    
+    @Test
+    public void testOptimistic() {
+        RMap<String, String> m = getMap();
+        m.put("1", "2");
+        m.put("3", "4");
+
+        RTransaction t = redisson.createTransaction(TransactionOptions.defaults().optimistic(true));
+        RMap<String, String> map = getTransactionalMap(t);
+        assertThat(map.get("1")).isEqualTo("2");
+        assertThat(map.put("3", "5")).isEqualTo("4");
+        assertThat(map.remove("1")).isEqualTo("2");
+        map.fastPut("6", "7");
+        assertThat(m.get("3")).isEqualTo("4");
+
+        t.commit();
+
+        assertThat(m.readAllMap()).containsOnlyKeys("3", "6");
+        assertThat(m.get("3")).isEqualTo("5");
+        assertThat(m.get("6")).isEqualTo("7");
+    }
+
+    @Test
+    public void testOptimisticConflict() {
+        RMap<String, String> m = getMap();
+        m.put("1", "2");
+
+        RTransaction t = redisson.createTransaction(TransactionOptions.defaults().optimistic(true));
+        RMap<String, String> map = getTransactionalMap(t);
+        assertThat(map.get("1")).isEqualTo("2");
+        assertThat(map.get("2")).isNull();
+        map.put("3", "4");
+
+        m.put("2", "5");
+
+        Assertions.assertThrows(TransactionConflictException.class, () -> {
+            t.commit();
+        });
+        assertThat(m.containsKey("3")).isFalse();
+
+        RTransaction t2 = redisson.createTransaction(TransactionOptions.defaults().optimistic(true));
+        RMap<String, String> map2 = getTransactionalMap(t2);
+        assertThat(map2.get("2")).isEqualTo("5");
+        map2.put("3", "4");
+        t2.commit();
+        assertThat(m.get("3")).isEqualTo("4");
+    }
+
+    @Test
+    public void testOptimisticWholeMapReadConflict() {
+        RMap<String, String> m = getMap();
+        m.put("1", "2");
+
+        RTransaction t = redisson.createTransaction(TransactionOptions.defaults().optimistic(true));
+        RMap<String, String> map = getTransactionalMap(t);
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.keySet()).containsOnly("1");
+        map.put("3", "4");
+
+        m.put("2", "5");
+
+        Assertions.assertThrows(TransactionConflictException.class, () -> {
+            t.commit();
+        });
+        assertThat(m.containsKey("3")).isFalse();
+
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            t.commit();
+        });
+    }
+
+    @Test
+    public void testOptimisticExpire() {
+        RMap<String, String> m = getMap();
+        m.put("1", "2");
+
+        RTransaction t = redisson.createTransaction(TransactionOptions.defaults().optimistic(true));
+        RMap<String, String> map = getTransactionalMap(t);
+        map.put("3", "4");
+        assertThat(map.expire(Duration.ofSeconds(10))).isTrue();
+        assertThat(m.remainTimeToLive()).isEqualTo(-1);
+        t.commit();
+
+        assertThat(m.get("3")).isEqualTo("4");
+        assertThat(m.remainTimeToLive()).isBetween(9000L, 10000L);
+    }
+
+    @Test
+    public void testOptimisticUnsupportedObject() {
+        RTransaction t = redisson.createTransaction(TransactionOptions.defaults().optimistic(true));
+        Assertions.assertThrows(TransactionException.class, () -> {
+            t.getBucket("test");
+        });
+        t.rollback();
+    }
+
 }